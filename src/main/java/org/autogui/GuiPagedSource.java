@@ -0,0 +1,52 @@
+package org.autogui;
+
+import java.util.List;
+
+/**
+ * a source of elements fetched by pages, for unbounded or streaming collections like database cursors or huge files.
+ *  a property of the type is displayed as a table like a {@link List} property,
+ *   but the table only fetches pages of rows needed for the viewport, and holds a bounded number of pages.
+ * <pre>
+ *   &#64;GuiIncluded public class Table {
+ *         &#64;GuiIncluded public GuiPagedSource&lt;E&gt; rows = new MyCursorSource();
+ *         ...
+ *   }
+ *   public class MyCursorSource implements GuiPagedSource&lt;E&gt; {
+ *         public int size() { ... } //known or estimated size
+ *         public List&lt;E&gt; getPage(int offset, int length) { ... }
+ *   }
+ * </pre>
+ * Pages are fetched from the task-runner of the context, not from the event dispatching thread.
+ * If elements or the size are changed, the source notifies listeners added by {@link #addChangeListener(Runnable)},
+ *  and then the table discards fetched pages and re-fetches visible rows.
+ * @param <E> the element type
+ * @since 1.8
+ */
+public interface GuiPagedSource<E> {
+    /**
+     * @return the known or estimated number of elements.
+     *     if it is an estimation, the source notifies a change when the estimation is updated
+     */
+    int size();
+
+    /**
+     * @param offset the index of the first element of the page
+     * @param length the number of requested elements
+     * @return elements from the offset. the list can be shorter than the length at the end of the source
+     */
+    List<E> getPage(int offset, int length);
+
+    /**
+     * @return the preferred number of elements of a page
+     */
+    default int getPageSize() {
+        return 256;
+    }
+
+    /**
+     * @param listener a listener called after elements or the size of the source are changed, from any thread
+     */
+    default void addChangeListener(Runnable listener) {}
+
+    default void removeChangeListener(Runnable listener) {}
+}
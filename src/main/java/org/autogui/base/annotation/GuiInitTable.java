@@ -29,4 +29,16 @@ public @interface GuiInitTable {
      *  Note: always auto-resizing if the table only has static columns
      */
     boolean dynamicColumnAutoResize() default false;
+
+    /**
+     * @return if true, adds a text-field for filtering rows to the tool-bar of the table.
+     *   rows containing all words of the input text are displayed.  the default is false.
+     */
+    boolean rowFilter() default false;
+
+    /**
+     * @return if true, adds a footer row displaying aggregates of columns, like sums of number columns.
+     *   the default is false.
+     */
+    boolean aggregateFooter() default false;
 }
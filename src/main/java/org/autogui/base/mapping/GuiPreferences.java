@@ -27,7 +27,7 @@ import java.util.stream.Collectors;
  *               "$history"/
  *                  "0"/    //key-index
  *                     "index" = ...
- *                     "value" = ...
+ *                     "value" = ... //a large value becomes a reference to {@link GuiPreferencesBlobStore}
  *                     "time"  = ... //{@link Instant#toString()}
  *                  ...
  *               propertyName/   //the name of a sub-context
@@ -52,6 +52,8 @@ public class GuiPreferences {
     protected List<PreferencesStoreChangeListener> storeChangeListeners;
     /** @since 1.6 */
     protected PreferencesLock lock;
+    /** @since 1.8 */
+    protected GuiPreferencesBlobStore blobStore;
     /** the key for the default {@link GuiPreferences} node under the root */
     public static final String KEY_DEFAULT = "$default";
     /** the key for {@link GuiPreferences#getCurrentValue()} */
@@ -278,16 +280,75 @@ public class GuiPreferences {
     }
 
     public void resetAsRoot() {
+        GuiPreferencesBlobStore blobs = getBlobStore();
         clearAll();
         GuiValueStore root = getPreferencesNodeAsRoot();
         root.removeThisNode();
         root.flush();
         valueStore = null;
+        if (blobs != null) {
+            blobs.gc(null);
+        }
         synchronized (this) {
             lock = null;
         }
     }
 
+    /**
+     * @return the blob store shared by the root and its saved prefs,
+     *     or null if the root is not backed by {@link Preferences} (e.g. an on-memory copy without the source)
+     * @since 1.8
+     */
+    public GuiPreferencesBlobStore getBlobStore() {
+        if (parent != null) {
+            return parent.getBlobStore();
+        }
+        if (blobStore == null && getValueStore() instanceof GuiValueStoreDefault) {
+            GuiValueStore root = getPreferencesNodeAsRoot();
+            if (root instanceof GuiValueStoreDefault rootDefault && rootDefault.getStore() != null) {
+                blobStore = GuiPreferencesBlobStore.create(rootDefault.getStore());
+            }
+        }
+        return blobStore;
+    }
+
+    /**
+     * @param jsonSource a JSON source to be stored, or null
+     * @return a reference to a blob if the source is large, or the source itself
+     * @since 1.8
+     */
+    public String toStoredValueSource(String jsonSource) {
+        GuiPreferencesBlobStore blobs = getBlobStore();
+        return blobs == null ? GuiPreferencesBlobStore.escape(jsonSource) : blobs.toStoredValue(jsonSource);
+    }
+
+    /**
+     * @param storedValue a stored string which might be a reference to a blob, or null
+     * @return the JSON source
+     * @since 1.8
+     */
+    public String fromStoredValueSource(String storedValue) {
+        if (GuiPreferencesBlobStore.isReference(storedValue)) {
+            GuiPreferencesBlobStore blobs = getBlobStore();
+            if (blobs == null) {
+                throw new IllegalStateException("no blob store: " + storedValue);
+            }
+            return blobs.read(storedValue);
+        } else {
+            return GuiPreferencesBlobStore.unescape(storedValue);
+        }
+    }
+
+    /**
+     * removes blobs not referenced from any entries of the default and saved prefs
+     * @return the number of removed blobs
+     * @since 1.8
+     */
+    public int gcBlobsAsRoot() {
+        GuiPreferencesBlobStore blobs = getBlobStore();
+        return blobs == null ? 0 : blobs.gc(getPreferencesNodeAsRoot());
+    }
+
     /**
      * @return lock object with holding the lock
      * @since 1.6
@@ -453,6 +514,41 @@ public class GuiPreferences {
         syncHistoryValues((maxIndex + 1) > ((long) getHistoryValueLimit()) * 100L);
     }
 
+    /**
+     * adds an entry of another prefs to the history.
+     *  If the value of the entry is not yet decoded, the stored string is transferred without decoding.
+     *   This is valid only for prefs sharing the same blob store, i.e. the root and its saved prefs.
+     * @param entry an entry of another prefs for the same context
+     * @since 1.8
+     */
+    public void addHistoryValueEntry(HistoryValueEntry entry) {
+        String src = entry.getValueSource();
+        if (src == null || !context.isHistoryValueStored(null)) {
+            addHistoryValue(entry.getValue(), entry.getTime());
+            return;
+        }
+        if (historyValues == null) {
+            loadHistoryValues();
+        }
+        HistoryValueEntry e = null;
+        for (var existing : historyValues) {
+            if (existing.matchEntry(entry)) {
+                historyValues.remove(existing);
+                e = existing;
+                break;
+            }
+        }
+        if (e == null) {
+            e = getHistoryValueFree();
+            e.setValueSource(src);
+        }
+        int maxIndex = historyValues.isEmpty() ? -1 : historyValues.getLast().getIndex();
+        e.setIndex(maxIndex + 1);
+        e.setTime(entry.getTime());
+        historyValues.add(e);
+        syncHistoryValues((maxIndex + 1) > ((long) getHistoryValueLimit()) * 100L);
+    }
+
     public int getHistoryValueLimit() {
         return historyValueLimit;
     }
@@ -535,6 +631,16 @@ public class GuiPreferences {
     }
 
     public void overwriteByAnotherPrefs(GuiPreferences prefs) {
+        overwriteByAnotherPrefs(prefs, null);
+    }
+
+    /**
+     * compares the tree of the prefs with this tree and writes only different entries and history values.
+     * @param prefs the source prefs
+     * @param changedContexts if non-null, contexts of prefs whose entries, sub-nodes or history values are actually changed will be added
+     * @since 1.8
+     */
+    public void overwriteByAnotherPrefs(GuiPreferences prefs, Set<GuiMappingContext> changedContexts) {
         //keep structure of the self store
         var storeSelf = this.getValueStore();
         var storeOthr = prefs.getValueStore();
@@ -542,6 +648,7 @@ public class GuiPreferences {
         var childrenSelf = this.childrenSet();
         var chidlrenOthr = prefs.childrenSet();
         remainingKeysSelf.remove(KEY_HISTORY);
+        boolean changed = false;
         for (var key : storeOthr.getKeys()) {
             if (key.equals(KEY_HISTORY)) {
                 //continue; //processed always later
@@ -549,26 +656,28 @@ public class GuiPreferences {
                 if (storeSelf.hasNodeKey(key)) { //incompatible: the key becomes a sub-node
                     var childSelf = removeFromChildrenSet(childrenSelf, key);
                     if (childSelf != null) {
-                        childSelf.overwriteToEmpty();
+                        childSelf.overwriteToEmpty(changedContexts);
                     } else {
                         storeSelf.remove(key);
+                        changed = true;
                     }
                 } else { //compatible,  not yet saved, or incompatible: the key disappears
                     var value = storeOthr.getString(key, "");
-                    storeSelf.putString(key, value);
+                    changed |= putStringIfChanged(storeSelf, key, value);
                 }
                 remainingKeysSelf.remove(key);
             } else if (storeOthr.hasNodeKey(key)) { //child prefs
                 var childSelf = removeFromChildrenSet(childrenSelf, key);
                 var childOthr = removeFromChildrenSet(chidlrenOthr, key);
                 if (childSelf != null && childOthr != null) {
-                    childSelf.overwriteByAnotherPrefs(childOthr);
+                    childSelf.overwriteByAnotherPrefs(childOthr, changedContexts);
                 } else if (childSelf == null && childOthr != null) { //incompatbile: the sub-node disappears
                     storeSelf.remove(key);
+                    changed = true;
                 } else if (childSelf != null && childOthr == null) { //incompatbile: the unkown structure node becomes a sub-node
-                    childSelf.overwriteToEmpty();
+                    childSelf.overwriteToEmpty(changedContexts);
                 } else { //unkown structure node
-                    overwirteStore(storeSelf.getChild(key), storeOthr.getChild(key));
+                    changed |= overwirteStore(storeSelf.getChild(key), storeOthr.getChild(key));
                 }
                 remainingKeysSelf.remove(key);
             }
@@ -576,59 +685,129 @@ public class GuiPreferences {
         for (var key : remainingKeysSelf) {
             var childSelf = removeFromChildrenSet(childrenSelf, key);
             if (childSelf != null) {
-                childSelf.overwriteToEmpty();
+                childSelf.overwriteToEmpty(changedContexts);
             } else {
                 storeSelf.remove(key);
+                changed = true;
             }
         }
-        setHistoryValues(prefs.getHistoryValues());
+        var historyOthr = prefs.getHistoryValues();
+        if (!equalsHistoryValues(historyOthr)) {
+            setHistoryValues(historyOthr);
+            changed = true;
+        }
+        if (changed && changedContexts != null) {
+            changedContexts.add(getContext());
+        }
+    }
+
+    private static boolean putStringIfChanged(GuiValueStore store, String key, String value) {
+        if (store.hasEntryKey(key) && Objects.equals(store.getString(key, null), value)) {
+            return false;
+        } else {
+            store.putString(key, value);
+            return true;
+        }
     }
 
-    private void overwirteStore(GuiValueStore storeSelf, GuiValueStore storeOthr) {
+    /**
+     * @param es entries from another prefs
+     * @return true if the loaded history values have the same indices, times and values as es.
+     *     values stored as blobs are compared by their references without reading
+     * @since 1.8
+     */
+    public boolean equalsHistoryValues(List<HistoryValueEntry> es) {
+        var self = getHistoryValues();
+        var othr = es.stream()
+                .sorted(Comparator.comparing(HistoryValueEntry::getIndex))
+                .limit(getHistoryValueLimit())
+                .toList();
+        if (self.size() != othr.size()) {
+            return false;
+        }
+        for (int i = 0, l = self.size(); i < l; ++i) {
+            var e = self.get(i);
+            var o = othr.get(i);
+            if (e.getIndex() != o.getIndex() ||
+                    !Objects.equals(e.getTime(), o.getTime()) ||
+                    !e.matchEntry(o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if any entry is changed
+     */
+    private boolean overwirteStore(GuiValueStore storeSelf, GuiValueStore storeOthr) {
         if (storeSelf == null) { //immutable store
-            return;
+            return false;
         }
+        boolean changed = false;
         var remainingKeys = new HashSet<>(storeSelf.getKeys());
         for (var key : storeOthr.getKeys()) {
             remainingKeys.remove(key);
             if (storeOthr.hasEntryKey(key)) {
                 if (storeSelf.hasEntryKey(key)) {
                     var value = storeOthr.getString(key, "");
-                    storeSelf.putString(key, value);
+                    changed |= putStringIfChanged(storeSelf, key, value);
                 } else if (storeSelf.hasNodeKey(key)) { //incompatible
                     storeSelf.remove(key);
+                    changed = true;
                 } else { //not yet set or incompatible
                     var value = storeOthr.getString(key, "");
                     storeSelf.putString(key, value);
+                    changed = true;
                 }
             } else if (storeOthr.hasNodeKey(key)) {
                 if (storeSelf.hasEntryKey(key)) { //incompatible
                     storeSelf.remove(key);
+                    changed = true;
                 } else {
-                    overwirteStore(storeSelf.getChild(key), storeOthr.getChild(key));
+                    changed |= overwirteStore(storeSelf.getChild(key), storeOthr.getChild(key));
                 }
             }
         }
+        changed |= !remainingKeys.isEmpty();
         remainingKeys.forEach(storeSelf::remove);
+        return changed;
     }
 
     public void overwriteToEmpty() {
+        overwriteToEmpty(null);
+    }
+
+    /**
+     * @param changedContexts if non-null, contexts of actually changed prefs will be added
+     * @since 1.8
+     */
+    public void overwriteToEmpty(Set<GuiMappingContext> changedContexts) {
         var storeSelf = getValueStore();
         var childrenSelf = this.childrenSet();
+        boolean changed = false;
         for (var key : storeSelf.getKeys()) {
             if (key.equals(KEY_HISTORY)) {
-                setHistoryValues(List.of());
+                if (!getHistoryValues().isEmpty()) {
+                    setHistoryValues(List.of());
+                    changed = true;
+                }
             } else if (storeSelf.hasEntryKey(key)) {
                 storeSelf.remove(key);
+                changed = true;
             } else if (storeSelf.hasNodeKey(key)) {
                 var childSelf = removeFromChildrenSet(childrenSelf, key);
                 if (childSelf != null) {
-                    childSelf.overwriteToEmpty();
+                    childSelf.overwriteToEmpty(changedContexts);
                 } else {
                     storeSelf.remove(key);
+                    changed = true;
                 }
             }
         }
+        if (changed && changedContexts != null) {
+            changedContexts.add(getContext());
+        }
     }
 
     private GuiPreferences removeFromChildrenSet(Set<GuiPreferences> children, String key) {
@@ -710,8 +889,9 @@ public class GuiPreferences {
         if (historyValues == null) {
             loadHistoryValues();
         }
+        HistoryValueSource vSource = new HistoryValueSource(v); //serialized at most once for all entries
         for (var existing : historyValues) {
-            if (existing.match(v)) { //reuse matched item
+            if (existing.match(v, vSource)) { //reuse matched item
                 historyValues.remove(existing);
                 return existing;
             }
@@ -942,33 +1122,48 @@ public class GuiPreferences {
         protected Supplier<Preferences> parentStore;
         protected String storeName;
         protected String storeNameActual;
+        /** true if the existing node has been looked up. @since 1.8 */
+        protected boolean storeResolved;
 
         public GuiValueStoreDefault(GuiPreferences preferences, Preferences store) {
             super(preferences);
             this.store = store;
+            this.storeResolved = true;
         }
 
-        @SuppressWarnings("this-escape")
+        /**
+         * the node of the store is looked up at the first access, not at the construction
+         * @param preferences the associated prefs
+         * @param parentStore the supplier of the parent node
+         * @param storeName the name of the node
+         */
         public GuiValueStoreDefault(GuiPreferences preferences, Supplier<Preferences> parentStore, String storeName) {
             super(preferences);
             this.parentStore = parentStore;
             this.storeName = storeName;
             this.storeNameActual = toStoreKey(storeName);
-            try {
-                Preferences parent = parentStore.get();
-                if (parent.nodeExists(storeNameActual)) {
-                    store = withTry(storeName, () -> parent.node(storeNameActual));
-                }
-            } catch (Exception ex) {
-                throw new RuntimeException(ex);
-            }
         }
 
+        /**
+         * @return the existing node or null. the first call looks up the node
+         */
         public Preferences getStore() {
+            if (!storeResolved) {
+                storeResolved = true;
+                try {
+                    Preferences parent = parentStore.get();
+                    if (parent.nodeExists(storeNameActual)) {
+                        store = withTry(storeName, () -> parent.node(storeNameActual));
+                    }
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
             return store;
         }
 
         public Preferences getOrCreateStore() {
+            storeResolved = true;
             if (store == null) {
                 store = getStoreFromParent();
             } else if (parentStore != null) {
@@ -1005,6 +1200,7 @@ public class GuiPreferences {
 
         @Override
         public String getString(String key, String def) {
+            Preferences store = getStore();
             return store == null ? def : withTry(key, () -> store.get(toStoreKey(key), def));
         }
 
@@ -1017,6 +1213,7 @@ public class GuiPreferences {
 
         @Override
         public int getInt(String key, int def) {
+            Preferences store = getStore();
             return store == null ? def : withTry(key, () -> store.getInt(toStoreKey(key), def));
         }
 
@@ -1138,6 +1335,8 @@ public class GuiPreferences {
      *        if {@link #isJsonValue()}, value itself, otherwise, converted JSON by repr. </li>
      *     <li>source : JSON source by {@link #getStoredJsonValue()}</li>
      * </ol>
+     * A loaded entry only holds the stored string, a JSON source or a reference to {@link GuiPreferencesBlobStore},
+     *   and decodes it at the first {@link #getValue()}.
      */
     public static class HistoryValueEntry {
         protected GuiPreferences preferences;
@@ -1146,6 +1345,8 @@ public class GuiPreferences {
         protected int index = -1;
         protected GuiValueStore valueStore;
         protected Instant time;
+        /** a loaded stored string, a JSON source or a reference to a blob, which is not yet decoded. @since 1.8 */
+        protected String valueSource;
 
         @SuppressWarnings("this-escape")
         public HistoryValueEntry(GuiPreferences preferences, Object rawObject) {
@@ -1169,17 +1370,106 @@ public class GuiPreferences {
             }
         }
 
+        /**
+         * @param v the compared value
+         * @return true if the value equals to the value of the entry.
+         *   if the value of the entry is not yet decoded,
+         *    it compares the JSON source of v with the stored string without decoding:
+         *    a reference to a blob is compared by the digest without reading the blob
+         */
         public boolean match(Object v) {
-            return Objects.equals(value, v);
+            return match(v, new HistoryValueSource(v));
+        }
+
+        /**
+         * @param v the compared value
+         * @param vSource the lazily serialized source of v, shared by matching entries
+         * @return true if the value equals to the value of the entry
+         * @since 1.8
+         */
+        public boolean match(Object v, HistoryValueSource vSource) {
+            String src = valueSource;
+            if (src != null) {
+                String source = vSource.getSource(this);
+                if (source != null) {
+                    if (GuiPreferencesBlobStore.isReference(src)) {
+                        return GuiPreferencesBlobStore.getDigest(src).equals(vSource.getDigest(this));
+                    } else {
+                        return GuiPreferencesBlobStore.unescape(src).equals(source);
+                    }
+                }
+            }
+            return Objects.equals(getValue(), v);
         }
 
+        /**
+         * @param entry an entry of another prefs
+         * @return true if the entry has the same value;
+         *    both entries not yet decoded are compared by their stored strings
+         * @since 1.8
+         */
+        public boolean matchEntry(HistoryValueEntry entry) {
+            String src = valueSource;
+            String srcEntry = entry.valueSource;
+            if (src != null && srcEntry != null && src.equals(srcEntry)) {
+                return true;
+            } else if (src == null && srcEntry != null) {
+                return entry.match(value);
+            } else {
+                return match(entry.getValue());
+            }
+        }
+
+        /**
+         * @return the value of the entry; a loaded value is decoded at the first call
+         */
         public Object getValue() {
+            String src = valueSource;
+            if (src != null) {
+                valueSource = null;
+                try {
+                    value = fromJsonSource(preferences.fromStoredValueSource(src));
+                } catch (Exception ex) {
+                    value = null; //failed to decode the value or to read the blob
+                }
+            }
             return value;
         }
 
+        /**
+         * @return true if the value is loaded but not yet decoded
+         * @since 1.8
+         */
+        public boolean isValueDeferred() {
+            return valueSource != null;
+        }
+
+        /**
+         * @return the stored string of the value not yet decoded, or null
+         * @since 1.8
+         */
+        public String getValueSource() {
+            return valueSource;
+        }
+
+        /**
+         * sets the stored string of an entry in another prefs sharing the same blob store, without decoding it
+         * @param valueSource a stored string obtained by {@link #getValueSource()}
+         * @since 1.8
+         */
+        public void setValueSource(String valueSource) {
+            boolean diff = !Objects.equals(this.valueSource, valueSource);
+            this.value = null;
+            this.valueSource = valueSource;
+            if (diff && keyIndex != -1) {
+                storeValue();
+            }
+        }
+
         public void setValue(Object value) {
-            boolean diff = !Objects.equals(this.value, value);
+            boolean diff = !match(value);
             this.value = value;
+            this.valueSource = null;
             if (diff && keyIndex != -1) {
                 storeValue();
             }
@@ -1187,8 +1477,13 @@ public class GuiPreferences {
 
         protected void storeValue() {
             GuiValueStore store = getValueStore();
-            String jsonSource = getStoredJsonValue();
-            store.putString(KEY_HISTORY_ENTRY_VALUE, jsonSource);
+            String src = valueSource;
+            if (src != null) { //already the stored form
+                store.putString(KEY_HISTORY_ENTRY_VALUE, src);
+            } else {
+                String jsonSource = getStoredJsonValue();
+                store.putString(KEY_HISTORY_ENTRY_VALUE, preferences.toStoredValueSource(jsonSource));
+            }
         }
 
         public int getKeyIndex() {
@@ -1223,7 +1518,7 @@ public class GuiPreferences {
         public void setKeyIndexWithLoadOrStore(int keyIndex) {
             if (this.keyIndex == -1 && keyIndex != -1) {
                 this.keyIndex = keyIndex;
-                if (value != null) {
+                if (value != null || valueSource != null) {
                     store();
                 } else {
                     load();
@@ -1234,7 +1529,8 @@ public class GuiPreferences {
 
         /** load the "$history/index" value,
          *   and if the value is not -1, then also load "$history/value" and
-         *   decode it as JSON and {@link GuiRepresentation#fromJson(GuiMappingContext, Object, Object)}.
+         *   defer decoding it as JSON and {@link GuiRepresentation#fromJson(GuiMappingContext, Object, Object)}
+         *   until {@link #getValue()}.
          *   Also, when the value is not -1, load "$history/time" and decode it as a {@link Instant} string.
          *  {@link #getValue()} will be null if it failed.
          *    */
@@ -1243,8 +1539,8 @@ public class GuiPreferences {
             int index = store.getInt(KEY_HISTORY_ENTRY_INDEX, -1);
             if (index != -1) {
                 this.index = index;
-                String v = store.getString(KEY_HISTORY_ENTRY_VALUE, "null");
-                this.value = fromJsonSource(v);
+                this.value = null;
+                this.valueSource = store.getString(KEY_HISTORY_ENTRY_VALUE, "null"); //deferred until getValue()
 
                 String timeVal = store.getString(KEY_HISTORY_ENTRY_TIME, null);
                 //Note: the time is stored directly as a string created by Instant#toString()
@@ -1300,12 +1596,25 @@ public class GuiPreferences {
         }
 
         public String getStoredJsonValue() {
+            Object value = getValue();
             if (value == null || getValueStore() == null) {
                 return null;
             }
-            Object json = isJsonValue() ? this.value :
+            return toJsonSource(value);
+        }
+
+        /**
+         * @param value a value of the entry
+         * @return the JSON source of the value, or null
+         * @since 1.8
+         */
+        protected String toJsonSource(Object value) {
+            if (value == null) {
+                return null;
+            }
+            Object json = isJsonValue() ? value :
                     preferences.getContext().getRepresentation()
-                            .toJsonWithNamed(preferences.getContext(), this.value);
+                            .toJsonWithNamed(preferences.getContext(), value);
             return JsonWriter.create().withNewLines(false).write(json).toSource();
         }
 
@@ -1342,14 +1651,14 @@ public class GuiPreferences {
         public void storeAsCurrentValue() {
             String jsonSource = getStoredJsonValue();
             if (jsonSource != null) {
-                preferences.getValueStore().putString(KEY_CURRENT_VALUE, jsonSource);
+                preferences.getValueStore().putString(KEY_CURRENT_VALUE, preferences.toStoredValueSource(jsonSource));
             }
         }
 
         public Object loadAsCurrentValue() {
             String jsonSource = preferences.getValueStore().getString(KEY_CURRENT_VALUE, null);
             if (jsonSource != null && getValueStore() != null) {
-                return this.value = fromJsonSource(jsonSource);
+                return this.value = fromJsonSource(preferences.fromStoredValueSource(jsonSource));
             } else {
                 return null;
             }
@@ -1394,6 +1703,7 @@ public class GuiPreferences {
         public void remove() {
             this.keyIndex = -1;
             this.value = null;
+            this.valueSource = null;
         }
 
         @Override
@@ -1431,7 +1741,13 @@ public class GuiPreferences {
     public GuiPreferences copyOnMemory(GuiPreferences parent) {
         GuiPreferences src = this;
         GuiPreferences prefs = new GuiPreferences(parent, src.context);
+        if (parent == null) {
+            prefs.blobStore = src.getBlobStore(); //the copy shares references
+        }
         prefs.valueStore = copyOnMemoryStore(src, prefs, src.getValueStore(), true);
+        if (parent == null && prefs.blobStore != null) {
+            prefs.blobStore.addMemoryRoot(prefs.valueStore);
+        }
         for (GuiMappingContext subContext : src.getContext().getChildren()) {
             GuiPreferences subPrefs = src.getChild(subContext).copyOnMemory(prefs);
             prefs.setChild(subContext, subPrefs);
@@ -1492,14 +1808,56 @@ public class GuiPreferences {
         for (Map.Entry<String,Object> e : json.entrySet()) {
             String key = e.getKey();
             Object val = e.getValue();
-            if (val instanceof String) {
-                store.putString(key, (String) val);
+            if (val instanceof String str) {
+                if (key.equals(KEY_HISTORY_ENTRY_VALUE) || key.equals(KEY_CURRENT_VALUE)) {
+                    str = toStoredValueSource(str); //a large value from an exported file
+                }
+                store.putString(key, str);
             } else if (val instanceof Map<?,?>) {
                 fromJsonChildNodes(store.getChild(key), (Map<String, Object>) val);
             }
         }
     }
 
+    /**
+     * a compared value of history entries with its JSON source and digest computed at the first use
+     * @since 1.8
+     */
+    public static class HistoryValueSource {
+        protected Object value;
+        protected boolean serialized;
+        protected String source;
+        protected String digest;
+
+        public HistoryValueSource(Object value) {
+            this.value = value;
+        }
+
+        /**
+         * @param entry an entry serializing the value
+         * @return the JSON source of the value or null
+         */
+        public String getSource(HistoryValueEntry entry) {
+            if (!serialized) {
+                serialized = true;
+                source = entry.toJsonSource(value);
+            }
+            return source;
+        }
+
+        /**
+         * @param entry an entry serializing the value
+         * @return the digest of the JSON source or null
+         */
+        public String getDigest(HistoryValueEntry entry) {
+            String src = getSource(entry);
+            if (digest == null && src != null) {
+                digest = GuiPreferencesBlobStore.digest(src);
+            }
+            return digest;
+        }
+    }
+
     /**
      * an on-memory impl. of value-store
      */
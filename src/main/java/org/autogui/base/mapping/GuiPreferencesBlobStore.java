@@ -0,0 +1,331 @@
+package org.autogui.base.mapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.prefs.Preferences;
+import java.util.stream.Stream;
+
+/**
+ * a content-addressed store for large values of preferences.
+ *  A large JSON source of a history value or a current value is written to a file named by its SHA-256 digest,
+ *   and the prefs entry only holds a short reference string.
+ *  Saved prefs sets copying the entry share the same file.
+ * <pre>
+ *     ~/.autogui/prefs-blobs/      //{@link #getDefaultBaseDirectory()}
+ *        pack/Type/                //the absolute path of the root prefs node
+ *           ab/                    //the first 2 chars of the digest
+ *              abcdef0123...       //UTF-8 JSON source
+ * </pre>
+ * <pre>
+ *     "value" = "$blob:sha256:abcdef0123..."  //{@link #REFERENCE_PREFIX} + digest
+ *     "value" = "$blob:$blob:..."              //{@link #ESCAPE_PREFIX} + a small source starting with the escape prefix
+ * </pre>
+ * Files are never removed by overwriting entries;
+ *   {@link #gc(GuiPreferences.GuiValueStore)} counts references in the entire prefs tree
+ *    and on-memory copies registered by {@link #addMemoryRoot(GuiPreferences.GuiValueStore)},
+ *   and removes unreferenced files.
+ * An instance is held by a root {@link GuiPreferences} and its on-memory copies.
+ * @since 1.8
+ */
+public class GuiPreferencesBlobStore {
+    /** the prefix of a reference string stored as a prefs entry, followed by a hex SHA-256 digest */
+    public static final String REFERENCE_PREFIX = "$blob:sha256:";
+    /** the prefix prepended to a stored source which is not a reference but starts with the prefix itself */
+    public static final String ESCAPE_PREFIX = "$blob:";
+    /** the system property for the base directory, overriding {@link #getDefaultBaseDirectory()} */
+    public static final String PROPERTY_BASE_DIRECTORY = "autogui.prefs.blobs";
+
+    protected Path directory;
+    /** a JSON source longer than the length will be a blob */
+    protected int threshold = 1024;
+
+    /** on-memory stores sharing references with the prefs tree, weakly held */
+    protected Map<GuiPreferences.GuiValueStore, Boolean> memoryRoots = new WeakHashMap<>();
+
+    /**
+     * @param rootNode a root prefs node, like "/pack/Type"
+     * @return a new instance under {@link #getDefaultBaseDirectory()} for the node
+     */
+    public static GuiPreferencesBlobStore create(Preferences rootNode) {
+        return new GuiPreferencesBlobStore(getDirectory(rootNode));
+    }
+
+    /**
+     * @param rootNode a root prefs node, like "/pack/Type"
+     * @return the blob directory for the node under {@link #getDefaultBaseDirectory()}
+     */
+    public static Path getDirectory(Preferences rootNode) {
+        Path dir = getDefaultBaseDirectory();
+        for (String name : rootNode.absolutePath().split("/")) {
+            if (!name.isEmpty()) {
+                dir = dir.resolve(toFileName(name));
+            }
+        }
+        return dir.toAbsolutePath().normalize();
+    }
+
+    public static Path getDefaultBaseDirectory() {
+        String dir = System.getProperty(PROPERTY_BASE_DIRECTORY, "");
+        if (dir.isEmpty()) {
+            return Paths.get(System.getProperty("user.home", "."), ".autogui", "prefs-blobs");
+        } else {
+            return Paths.get(dir);
+        }
+    }
+
+    public static String toFileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._$-]", "_");
+    }
+
+    public GuiPreferencesBlobStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public static boolean isReference(String storedValue) {
+        return storedValue != null && storedValue.startsWith(REFERENCE_PREFIX);
+    }
+
+    /**
+     * @param source a source stored as is
+     * @return the source prefixed by {@link #ESCAPE_PREFIX} if it starts with the prefix, otherwise the source itself
+     */
+    public static String escape(String source) {
+        return source != null && source.startsWith(ESCAPE_PREFIX) ? ESCAPE_PREFIX + source : source;
+    }
+
+    /**
+     * @param storedValue a stored value which is not a reference
+     * @return the value without the leading {@link #ESCAPE_PREFIX}
+     */
+    public static String unescape(String storedValue) {
+        return storedValue != null && storedValue.startsWith(ESCAPE_PREFIX) ? storedValue.substring(ESCAPE_PREFIX.length()) : storedValue;
+    }
+
+    /**
+     * @param reference a reference string
+     * @return the hex digest part of the reference
+     */
+    public static String getDigest(String reference) {
+        return reference.substring(REFERENCE_PREFIX.length());
+    }
+
+    public static String toReference(String digest) {
+        return REFERENCE_PREFIX + digest;
+    }
+
+    /**
+     * @param source a JSON source
+     * @return the hex SHA-256 digest of the UTF-8 source
+     */
+    public static String digest(String source) {
+        try {
+            byte[] bs = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            StringBuilder buf = new StringBuilder(bs.length * 2);
+            for (byte b : bs) {
+                buf.append(Character.forDigit((b >> 4) & 0xF, 16))
+                   .append(Character.forDigit(b & 0xF, 16));
+            }
+            return buf.toString();
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    public Path getFile(String digest) {
+        return directory.resolve(digest.substring(0, 2)).resolve(digest);
+    }
+
+    /**
+     * @param source a JSON source or null
+     * @return a reference to a blob if the source is longer than {@link #getThreshold()}, otherwise the escaped source
+     */
+    public String toStoredValue(String source) {
+        if (source != null && source.length() > threshold) {
+            return put(source);
+        } else {
+            return escape(source);
+        }
+    }
+
+    /**
+     * @param storedValue a stored value or null
+     * @return the contents of the blob if the value is a reference, otherwise the unescaped value
+     */
+    public String fromStoredValue(String storedValue) {
+        if (isReference(storedValue)) {
+            return read(storedValue);
+        } else {
+            return unescape(storedValue);
+        }
+    }
+
+    /**
+     * writes the source to the file of the digest if the file does not exist yet
+     * @param source the JSON source
+     * @return the reference for the source
+     */
+    public String put(String source) {
+        String digest = digest(source);
+        Path file = getFile(digest);
+        if (!Files.exists(file)) {
+            try {
+                Files.createDirectories(file.getParent());
+                Path tmp = Files.createTempFile(file.getParent(), digest, ".tmp");
+                try {
+                    Files.writeString(tmp, source, StandardCharsets.UTF_8);
+                    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (FileAlreadyExistsException ex) {
+                //written by another writer with the same contents
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        } else {
+            touch(file);
+        }
+        return toReference(digest);
+    }
+
+    private void touch(Path file) {
+        try { //protects the file from a concurrent gc
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (Exception ex) {
+            //
+        }
+    }
+
+    /**
+     * @param reference the reference string
+     * @return the contents of the blob
+     */
+    public String read(String reference) {
+        try {
+            return Files.readString(getFile(getDigest(reference)), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new RuntimeException(reference, ex);
+        }
+    }
+
+    /**
+     * @param root the root store to be scanned, or null
+     * @return the number of references for each digest in the store tree
+     */
+    public Map<String, Integer> countReferences(GuiPreferences.GuiValueStore root) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (root != null) {
+            countReferences(root, counts);
+        }
+        return counts;
+    }
+
+    protected void countReferences(GuiPreferences.GuiValueStore store, Map<String, Integer> counts) {
+        for (String key : store.getKeys()) {
+            if (store.hasEntryKey(key)) {
+                String v = store.getString(key, "");
+                if (isReference(v)) {
+                    counts.merge(getDigest(v), 1, Integer::sum);
+                }
+            } else if (store.hasNodeKey(key)) {
+                var child = store.getChild(key);
+                if (child != null) {
+                    countReferences(child, counts);
+                }
+            }
+        }
+    }
+
+    /**
+     * registers an on-memory copy of the prefs tree, whose references are kept by {@link #gc(GuiPreferences.GuiValueStore)}
+     *   while the copy is reachable
+     * @param store the root store of the copy
+     */
+    public void addMemoryRoot(GuiPreferences.GuiValueStore store) {
+        synchronized (memoryRoots) {
+            memoryRoots.put(store, Boolean.TRUE);
+        }
+    }
+
+    public List<GuiPreferences.GuiValueStore> getMemoryRoots() {
+        synchronized (memoryRoots) {
+            return new ArrayList<>(memoryRoots.keySet());
+        }
+    }
+
+    /**
+     * removes blob files which are not referenced from the store tree nor registered on-memory copies.
+     *  files written after starting the process are kept.
+     * @param root the root store including all default and saved prefs, or null for removing all blobs of the tree
+     * @return the number of removed files
+     */
+    public int gc(GuiPreferences.GuiValueStore root) {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> counts = countReferences(root);
+        for (GuiPreferences.GuiValueStore memoryRoot : getMemoryRoots()) {
+            countReferences(memoryRoot, counts);
+        }
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                String name = file.getFileName().toString();
+                if (!counts.containsKey(name) &&
+                        Files.getLastModifiedTime(file).toMillis() < start &&
+                        Files.deleteIfExists(file)) {
+                    ++removed;
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        return removed;
+    }
+
+    /**
+     * @param json a JSON object of a prefs tree which might contain references
+     * @return a copy of the JSON whose values of {@link GuiPreferences#KEY_HISTORY_ENTRY_VALUE}
+     *    and {@link GuiPreferences#KEY_CURRENT_VALUE} are replaced with their sources; for exporting prefs.
+     *   other strings are kept as is
+     */
+    public Object resolveReferences(Object json) {
+        if (json instanceof Map<?,?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            map.forEach((k, v) -> copy.put(k, isValueKey(k) && v instanceof String str ?
+                    fromStoredValue(str) : resolveReferences(v)));
+            return copy;
+        } else if (json instanceof List<?> list) {
+            return list.stream()
+                    .map(this::resolveReferences)
+                    .toList();
+        } else {
+            return json;
+        }
+    }
+
+    /**
+     * @param key a key of a prefs entry
+     * @return true if the entry holds a stored value of this store
+     */
+    public static boolean isValueKey(Object key) {
+        return GuiPreferences.KEY_HISTORY_ENTRY_VALUE.equals(key) || GuiPreferences.KEY_CURRENT_VALUE.equals(key);
+    }
+}
@@ -1,14 +1,13 @@
 package org.autogui.base.mapping;
 
+import org.autogui.GuiPagedSource;
 import org.autogui.base.mapping.GuiMappingContext.GuiSourceValue;
 import org.autogui.base.type.*;
 import org.autogui.base.type.GuiUpdatedValue;
 
 import java.lang.reflect.Array;
-import java.util.AbstractList;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -228,9 +227,12 @@ public class GuiReprCollectionTable extends GuiReprValue {
     }
 
     public GuiRepresentation create(GuiMappingContext context) {
+        GuiTypeElement type = context.getTypeElement();
         return new GuiReprCollectionTable(subRepresentation,
-                context.getTypeElement() instanceof GuiTypeCollectionArray ?
-                    new ListConverterArray(getArrayDimension(context.getTypeElement())) :
+                type instanceof GuiTypeCollectionArray ?
+                    new ListConverterArray(getArrayDimension(type)) :
+                type instanceof GuiTypeCollectionPaged ?
+                    new ListConverterPaged() :
                     listConverter);
     }
 
@@ -548,6 +550,208 @@ public class GuiReprCollectionTable extends GuiReprValue {
         }
     }
 
+    /**
+     * a converter for {@link GuiPagedSource}s: converting between a {@link PagedWrappingList} and a source.
+     *  the converter reuses the last list for the same source in order to keep fetched pages
+     * @since 1.8
+     */
+    public static class ListConverterPaged implements ListConverter {
+        protected int maxPages = 16;
+        protected volatile PagedWrappingList lastList;
+
+        public ListConverterPaged() {}
+
+        public ListConverterPaged(int maxPages) {
+            this.maxPages = maxPages;
+        }
+
+        @Override
+        public List<?> toList(Object obj) {
+            if (obj == null) {
+                return Collections.emptyList();
+            } else if (obj instanceof PagedWrappingList list) {
+                return list;
+            } else {
+                PagedWrappingList list = lastList;
+                if (list == null || list.getSource() != obj) {
+                    list = new PagedWrappingList((GuiPagedSource<?>) obj, maxPages);
+                    lastList = list;
+                }
+                return list;
+            }
+        }
+
+        /**
+         * @param list the converted list
+         * @return the list itself if it is a {@link PagedWrappingList}, which is also a {@link GuiPagedSource}
+         */
+        @Override
+        public Object fromList(List<?> list) {
+            if (list instanceof PagedWrappingList) {
+                return list;
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * a read-only list wraps a {@link GuiPagedSource}.
+     *  {@link #get(int)} fetches the page including the index, and retains at most maxPages pages in LRU order.
+     *  the lock of the list is not held while fetching a page, and the event thread can use
+     *   {@link #isLoaded(int)} and {@link #loadLater(int, Executor, Runnable)} for loading a page in the background
+     *   instead of blocking by {@link #get(int)}.
+     *  the list is also a {@link GuiPagedSource} delegating to the source.
+     * @since 1.8
+     */
+    public static class PagedWrappingList extends AbstractList<Object> implements GuiPagedSource<Object>, RandomAccess {
+        protected GuiPagedSource<?> source;
+        protected int pageSize;
+        protected int maxPages;
+        /** page-index to elements in access order. guarded by this */
+        protected LinkedHashMap<Integer, List<?>> pages;
+        /** page-indices requested by {@link #loadLater(int, Executor, Runnable)}. guarded by this */
+        protected Set<Integer> loadingPages = new HashSet<>();
+
+        public PagedWrappingList(GuiPagedSource<?> source, int maxPages) {
+            this.source = source;
+            this.pageSize = Math.max(1, source.getPageSize());
+            this.maxPages = Math.max(1, maxPages);
+            pages = new LinkedHashMap<>(this.maxPages + 1, 0.75f, true);
+        }
+
+        public GuiPagedSource<?> getSource() {
+            return source;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0) {
+                throw new IndexOutOfBoundsException("index " + index);
+            }
+            List<?> page = getPageAt(index / pageSize);
+            int i = index % pageSize;
+            return i < page.size() ? page.get(i) : null;
+        }
+
+        /**
+         * @param pageIndex the page index
+         * @return the cached or fetched page, never null.
+         *    the page is fetched without holding the lock, thus other threads can concurrently obtain cached pages
+         */
+        public List<?> getPageAt(int pageIndex) {
+            synchronized (this) {
+                List<?> page = pages.get(pageIndex);
+                if (page != null) {
+                    return page;
+                }
+            }
+            List<?> page = source.getPage(pageIndex * pageSize, pageSize);
+            if (page == null) {
+                page = Collections.emptyList();
+            }
+            synchronized (this) {
+                pages.put(pageIndex, page);
+                if (pages.size() > maxPages) {
+                    Iterator<Integer> eldest = pages.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+            return page;
+        }
+
+        /**
+         * @param index an element index
+         * @return true if the page of the index is fetched and retained
+         */
+        public synchronized boolean isLoaded(int index) {
+            return index >= 0 && pages.containsKey(index / pageSize);
+        }
+
+        /**
+         * requests fetching the page of the index by the executor unless it is retained or already requested
+         * @param index an element index
+         * @param executor the executor of fetching the page
+         * @param afterLoad called by the executor after the page is fetched, nullable
+         */
+        public void loadLater(int index, Executor executor, Runnable afterLoad) {
+            int pageIndex = index / pageSize;
+            synchronized (this) {
+                if (pages.containsKey(pageIndex) || !loadingPages.add(pageIndex)) {
+                    return;
+                }
+            }
+            executor.execute(() -> {
+                try {
+                    getPageAt(pageIndex);
+                } finally {
+                    synchronized (this) {
+                        loadingPages.remove(pageIndex);
+                    }
+                }
+                if (afterLoad != null) {
+                    afterLoad.run();
+                }
+            });
+        }
+
+        /**
+         * @param index an element index
+         * @return the range of element indices of the page including the index, as {from, to (exclusive)}
+         */
+        public int[] getPageRange(int index) {
+            int from = (index / pageSize) * pageSize;
+            return new int[] {from, from + pageSize};
+        }
+
+        /** discards all fetched pages */
+        public synchronized void clearPages() {
+            pages.clear();
+        }
+
+        public synchronized int getFetchedPageCount() {
+            return pages.size();
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public List<Object> getPage(int offset, int length) {
+            return (List<Object>) source.getPage(offset, length);
+        }
+
+        @Override
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        @Override
+        public void addChangeListener(Runnable listener) {
+            source.addChangeListener(listener);
+        }
+
+        @Override
+        public void removeChangeListener(Runnable listener) {
+            source.removeChangeListener(listener);
+        }
+
+        /** only checks identity: comparing elements requires fetching all pages */
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
     ////////////////////////////////////
 
     /** interface for actions which handle selected-rows;
@@ -484,9 +484,12 @@ public class GuiReprValue implements GuiRepresentation {
      *
      * @param context the context of the repr.
      * @return the result of {@link GuiTypeMemberProperty#isWritable()} and so on.
+     *   false for an element value of a read-only collection
      */
     public boolean isEditable(GuiMappingContext context) {
-        if (context.isTypeElementProperty()) {
+        if (context.isParentCollectionElement() && isElementOfReadOnlyCollection(context.getParent())) {
+            return false;
+        } else if (context.isTypeElementProperty()) {
             return context.getTypeElementAsProperty().isWritable();
         } else if (context.isParentPropertyPane()) {
             return context.getParentPropertyPane().isEditableFromChild(context);
@@ -497,6 +500,17 @@ public class GuiReprValue implements GuiRepresentation {
         }
     }
 
+    /**
+     * @param elementContext the context of a collection element
+     * @return true if the collection of the element does not support setting elements, like a paged source
+     * @since 1.8
+     */
+    protected boolean isElementOfReadOnlyCollection(GuiMappingContext elementContext) {
+        GuiMappingContext collectionContext = elementContext.getParent();
+        return collectionContext != null && collectionContext.isTypeElementCollection() &&
+                !collectionContext.getTypeElementCollection().isElementWritable();
+    }
+
     /**
      * called from a GUI element in order to update its value.
      * subclass can change to returned type and convert the value to the type.
@@ -3,6 +3,7 @@ package org.autogui.base.type;
 import org.autogui.GuiIncluded;
 import org.autogui.GuiListSelectionUpdater;
 import org.autogui.GuiNotifierSetter;
+import org.autogui.GuiPagedSource;
 
 import java.lang.reflect.*;
 import java.util.*;
@@ -65,7 +66,8 @@ public class GuiTypeBuilder {
      * <li>for {@link Class}: {@link #createFromClass(Class)}</li>
      * <li>for {@link ParameterizedType}: obtain the raw class and
      * check it is a {@link Collection} with a type arg &lt;T&gt;.
-     * then, {@link #createCollectionFromType(ParameterizedType)},
+     * then, {@link #createCollectionFromType(ParameterizedType)}.
+     * if it is a {@link GuiPagedSource} with a type arg &lt;E&gt;, {@link #createCollectionPagedFromType(ParameterizedType)},
      * otherwise {@link #createFromClass(Class)} for the raw type</li>
      * <li>otherwise obtains the raw-type of the type, and {@link #createFromClass(Class, Type)}</li>
      * <li>if no raw-type, returns null</li>
@@ -83,6 +85,9 @@ public class GuiTypeBuilder {
             if (Collection.class.isAssignableFrom(rawType) &&
                     pType.getActualTypeArguments().length == 1) { //currently only support C<E>
                 return createCollectionFromType(pType);
+            } else if (GuiPagedSource.class.isAssignableFrom(rawType) &&
+                    pType.getActualTypeArguments().length == 1) {
+                return createCollectionPagedFromType(pType);
             } else {
                 return createFromClass(rawType, pType);
             }
@@ -154,6 +159,19 @@ public class GuiTypeBuilder {
         return collectionType;
     }
 
+    /**
+     * @param type the target type
+     * @return a new {@link GuiTypeCollectionPaged} with the raw type and the element type
+     * @since 1.8
+     */
+    public GuiTypeCollectionPaged createCollectionPagedFromType(ParameterizedType type) {
+        Class<?> rawType = getClass(type);
+        GuiTypeCollectionPaged collectionType = new GuiTypeCollectionPaged(rawType);
+        put(type, collectionType);
+        collectionType.setElementType(get(type.getActualTypeArguments()[0]));
+        return collectionType;
+    }
+
     public GuiTypeCollectionArray createCollectionArrayFromClass(Class<?> cls, Type genericTypeOfCls) {
         GuiTypeCollectionArray array = new GuiTypeCollectionArray(cls);
         put(cls, array);
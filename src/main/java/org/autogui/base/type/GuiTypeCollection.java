@@ -171,6 +171,15 @@ public class GuiTypeCollection extends GuiTypeValue implements GuiTypeElement {
         }
     }
 
+    /**
+     * @return true if elements can be set or added by {@link #executeSetElement(Object, int, Object)}
+     *   and {@link #executeAddElements(Object, List)}. default is true
+     * @since 1.8
+     */
+    public boolean isElementWritable() {
+        return true;
+    }
+
     /**
      * @param list the target list must be a {@link List}
      * @return {@link List#size()}
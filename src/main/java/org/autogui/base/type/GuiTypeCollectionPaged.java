@@ -0,0 +1,76 @@
+package org.autogui.base.type;
+
+import org.autogui.GuiPagedSource;
+
+import java.util.List;
+
+/**
+ * type information about a {@link GuiPagedSource}. a subclass of {@link GuiTypeCollection}.
+ *  the collection is read-only, and an element is obtained from a wrapping list caching pages,
+ *   or a single element page of the source.
+ * @since 1.8
+ */
+public class GuiTypeCollectionPaged extends GuiTypeCollection {
+    public GuiTypeCollectionPaged(String name) {
+        super(name);
+    }
+
+    public GuiTypeCollectionPaged(String name, GuiTypeElement elementType) {
+        super(name, elementType);
+    }
+
+    public GuiTypeCollectionPaged(Class<?> type) {
+        super(type);
+    }
+
+    public GuiTypeCollectionPaged(Class<?> type, GuiTypeElement elementType) {
+        super(type, elementType);
+    }
+
+    @Override
+    public GuiUpdatedValue executeGetElement(Object list, int index) {
+        if (list == null) {
+            return GuiUpdatedValue.NO_UPDATE;
+        } else if (list instanceof List<?> l) {
+            return GuiUpdatedValue.of(l.get(index));
+        } else {
+            List<?> page = ((GuiPagedSource<?>) list).getPage(index, 1);
+            if (page == null || page.isEmpty()) {
+                throw new IndexOutOfBoundsException("index " + index);
+            }
+            return GuiUpdatedValue.of(page.getFirst());
+        }
+    }
+
+    /**
+     * @return false: element values of a paged source are displayed as read-only
+     */
+    @Override
+    public boolean isElementWritable() {
+        return false;
+    }
+
+    @Override
+    public List<Object> executeAddElements(Object list, List<Object> newValues) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    @Override
+    public Object executeSetElement(Object list, int index, Object newValue) {
+        throw new UnsupportedOperationException("unsupported");
+    }
+
+    @Override
+    public int getSize(Object list) {
+        if (list == null) {
+            return 0;
+        } else {
+            return ((GuiPagedSource<?>) list).size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "paged(" + elementType + ")";
+    }
+}
@@ -735,9 +735,8 @@ public class GuiSwingJsonTransfer {
                 Iterable<int[]> is = rows ?
                         target.getSelectedRowAllCellIndices() :
                         target.getSelectedCellIndices();
-                Set<Integer> rows = IntStream.of(target.getSelectedRows())
-                        .boxed()
-                        .collect(Collectors.toSet());
+                BitSet rows = new BitSet();
+                IntStream.of(target.getSelectedRows()).forEach(rows::set);
                 executeContextTask(() -> {
                             JsonFillLoop fillLoop = new JsonFillLoop();
                             if (json instanceof List<?>) { //[ ... ]
@@ -753,7 +752,7 @@ public class GuiSwingJsonTransfer {
                                 fillLoop.addRow(updatedRow);
                             }
                             //if specified rows that are not included in the selected rows, move them to freeRows
-                            fillLoop.moveSpecifiedToFree(r -> !rows.contains(r));
+                            fillLoop.moveSpecifiedToFree(r -> !rows.get(r));
                             return fillLoop;
                         },
                         r -> r.executeIfPresent(
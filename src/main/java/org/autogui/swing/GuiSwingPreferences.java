@@ -5,6 +5,7 @@ import org.autogui.base.JsonWriter;
 import org.autogui.base.log.GuiLogManager;
 import org.autogui.base.mapping.GuiMappingContext;
 import org.autogui.base.mapping.GuiPreferences;
+import org.autogui.base.mapping.GuiPreferencesBlobStore;
 import org.autogui.base.mapping.ScheduledTaskRunner;
 import org.autogui.swing.icons.GuiSwingIcons;
 import org.autogui.swing.prefs.GuiSwingPrefsApplyOptions;
@@ -360,7 +361,7 @@ public class GuiSwingPreferences implements GuiPreferences.PreferencesStoreChang
                 rootPane.loadPreferences(prefs, options);
             } else {
                 if (rootComponent instanceof GuiSwingView.ValuePane<?> valuePane) {
-                    if (!options.isSkippingValue()) {
+                    if (!options.isSkippingValue() && options.isLoadingTarget(valuePane.getSwingViewContext())) {
                         valuePane.loadSwingPreferences(prefs, options);
                     }
                 }
@@ -777,6 +778,11 @@ public class GuiSwingPreferences implements GuiPreferences.PreferencesStoreChang
                 p.clearAll();
                 settingsEditors.remove(p);
             }
+            GuiPreferences rootPrefs = getRootContext().getPreferences();
+            try (var lock = rootPrefs.lock()) {
+                lock.use();
+                rootPrefs.gcBlobsAsRoot();
+            }
             reloadList();
         }
     }
@@ -803,8 +809,13 @@ public class GuiSwingPreferences implements GuiPreferences.PreferencesStoreChang
                 fd.showSaveDialog(getMainPane(), null, name));
         if (file != null) {
             try (Writer w = Files.newBufferedWriter(file)) {
+                Object json = pref.toJson();
+                GuiPreferencesBlobStore blobs = pref.getBlobStore();
+                if (blobs != null) { //the exported file does not depend on the blob directory
+                    json = blobs.resolveReferences(json);
+                }
                 new JsonWriter(w).withNewLines(true)
-                        .write(pref.toJson());
+                        .write(json);
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             }
@@ -839,11 +850,14 @@ public class GuiSwingPreferences implements GuiPreferences.PreferencesStoreChang
     public void apply(GuiPreferences preferences) {
         if (preferences != null) {
             GuiPreferences prefs = getRootContext().getPreferences();
+            Set<GuiMappingContext> changedContexts = new HashSet<>();
             try (var lock = prefs.lock()) {
                 lock.use();
-                prefs.overwriteByAnotherPrefs(preferences);
+                prefs.overwriteByAnotherPrefs(preferences, changedContexts);
+            }
+            if (!changedContexts.isEmpty()) { //only reloads panes affected by the differences
+                applyPreferences(new GuiSwingPrefsApplyOptions.PrefsApplyOptionsForContexts(false, false, changedContexts));
             }
-            applyPreferences(new GuiSwingPrefsApplyOptions.PrefsApplyOptionsDefault(false, false));
         }
     }
 
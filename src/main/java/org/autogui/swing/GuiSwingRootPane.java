@@ -469,6 +469,7 @@ public class GuiSwingRootPane extends JComponent implements GuiSwingPreferences.
     protected void initPrefsLoad() {
         loadPreferences(preferences.getLaunchPreferences(),
                 prefsApplyOptions);
+        GuiSwingView.prefetchHistoryValues(context.getPreferences(), viewComponent);
     }
 
     protected void initSettingWindow() {
@@ -586,6 +587,9 @@ public class GuiSwingRootPane extends JComponent implements GuiSwingPreferences.
 
     @Override
     public void loadPreferences(GuiPreferences prefs, GuiSwingPrefsApplyOptions options) {
+        if (!options.isLoadingTarget(context)) {
+            return;
+        }
         options.begin(this, prefs, GuiSwingPrefsApplyOptions.PrefsApplyOptionsLoadingTargetType.View);
         try {
             withError(() -> options.apply(preferences.getPrefsWindowUpdater(), prefs));
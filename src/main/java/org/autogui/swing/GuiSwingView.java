@@ -627,6 +627,9 @@ public interface GuiSwingView extends GuiSwingElement {
         forEach(ValuePane.class, comp, c -> {
             if (c != comp) { //skip top
                 GuiSwingView.ValuePane<?> valuePane = (GuiSwingView.ValuePane<?>) c;
+                if (!options.isLoadingTarget(valuePane.getSwingViewContext())) {
+                    return;
+                }
                 try {
                     valuePane.loadSwingPreferences(
                             prefs.getDescendant(valuePane.getSwingViewContext()), options);
@@ -637,6 +640,57 @@ public interface GuiSwingView extends GuiSwingElement {
         });
     }
 
+    /**
+     * loads history values of prefs for descendant value-panes visible in the top component,
+     *   as a background task of the context of the prefs.
+     *   Loading history values of other panes, like panes in non-selected tabs, is deferred until the first access.
+     *   Loaded values are not decoded until {@link GuiPreferences.HistoryValueEntry#getValue()}.
+     * @param prefs a top prefs
+     * @param comp a top component
+     * @since 1.8
+     */
+    static void prefetchHistoryValues(GuiPreferences prefs, JComponent comp) {
+        List<GuiPreferences> targets = new ArrayList<>();
+        forEach(ValuePane.class, comp, c -> {
+            GuiSwingView.ValuePane<?> valuePane = (GuiSwingView.ValuePane<?>) c;
+            GuiMappingContext context = valuePane.getSwingViewContext();
+            if (context != null && context.isHistoryValueSupported() &&
+                    isVisibleIn(valuePane.asSwingViewComponent(), comp)) {
+                targets.add(prefs.getDescendant(context));
+            }
+        });
+        if (!targets.isEmpty()) {
+            prefs.getContext().getTaskRunner().execute(() -> {
+                for (GuiPreferences target : targets) {
+                    try (var lock = target.lock()) {
+                        lock.use();
+                        target.getHistoryValues();
+                    } catch (Exception ex) {
+                        GuiLogManager.get().logError(ex);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @param c a descendant component of the top
+     * @param top the top component
+     * @return true if c and its ancestors until the top are all visible
+     * @since 1.8
+     */
+    static boolean isVisibleIn(Component c, Component top) {
+        for (Component p = c; p != null; p = p.getParent()) {
+            if (!p.isVisible()) {
+                return false;
+            }
+            if (p == top) {
+                break;
+            }
+        }
+        return true;
+    }
+
     static <PaneType extends ValuePane<?>> PaneType findChildByType(Component component, Class<PaneType> paneType) {
         return paneType.cast(findChild(component, paneType::isInstance));
     }
@@ -175,7 +175,7 @@ public class GuiSwingViewBooleanCheckBox implements GuiSwingView {
 
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
-            SwingDeferredRunner.invokeLater(() -> setSwingViewValue((Boolean) newValue, contextClock));
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () -> setSwingViewValue((Boolean) newValue, contextClock));
         }
 
         @Override
@@ -1,6 +1,7 @@
 package org.autogui.swing;
 
 import org.autogui.GuiInits;
+import org.autogui.GuiPagedSource;
 import org.autogui.base.annotation.GuiDefaultInits;
 import org.autogui.base.log.GuiLogManager;
 import org.autogui.base.mapping.*;
@@ -137,6 +138,18 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
         protected List<Integer> lastSelectionActionIndices = Collections.emptyList();
         protected TableSelectionSourceForIndices selectionSourceForRowIndices;
         protected TableSelectionSourceForIndices selectionSourceForRowAndColumnIndices;
+        /** @since 1.8 */
+        protected GuiPagedSource<?> pagedSource;
+        /** @since 1.8 */
+        protected Runnable pagedSourceListener;
+        /** @since 1.8 */
+        protected ObjectTableModelRowIndex rowIndex;
+        /** @since 1.8 */
+        protected SearchFilterTextField rowFilterField;
+        /** @since 1.8 */
+        protected ObjectTableModelAggregate aggregate;
+        /** @since 1.8 */
+        protected TableAggregateFooter aggregateFooter;
 
         protected PopupExtensionCollectionColumnHeader popupColumnHeader;
         protected List<PopupCategorized.CategorizedMenuItem> columnHeaderMenuItems;
@@ -241,6 +254,7 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
 
         public void initSelection() {
             selectionRunner = new EditingRunner(200, this::runAutoSelectionActions);
+            setSelectionModel(new TableRangeSelectionModel());
             setCellSelectionEnabled(true);
             setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         }
@@ -332,11 +346,18 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
 
             setupAfterAddingColumns();
 
-            if (this.actions.isEmpty()) {
+            boolean toolBar = !this.actions.isEmpty() || isRowFilterEnabled();
+            if (!toolBar && !isAggregateFooterEnabled()) {
                 return initTableScrollPane();
             } else {
-                JPanel pane = new GuiSwingViewWrapper.ValueWrappingPane<>(initTableScrollPane());
-                pane.add(initActionToolBar(this.actions), BorderLayout.PAGE_START);
+                GuiSwingViewWrapper.ValueScrollPane<?> scrollPane = initTableScrollPane();
+                JPanel pane = new GuiSwingViewWrapper.ValueWrappingPane<>(scrollPane);
+                if (toolBar) {
+                    pane.add(initActionToolBar(this.actions), BorderLayout.PAGE_START);
+                }
+                if (isAggregateFooterEnabled()) {
+                    pane.add(initAggregateFooter(scrollPane), BorderLayout.PAGE_END);
+                }
                 return pane;
             }
         }
@@ -380,6 +401,7 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
             scrollPane.setPreferredSize(new Dimension(width, Math.max(scrollPane.getPreferredSize().height, ui.getScaledSizeInt(100))));
             scrollPane.getVerticalScrollBar().setUnitIncrement(ui.getScaledSizeInt(16));
             scrollPane.getHorizontalScrollBar().setUnitIncrement(ui.getScaledSizeInt(16));
+            getObjectTableModel().initTablePrefetcher(scrollPane);
         }
 
         protected boolean isAutoResizeOff() {
@@ -400,6 +422,9 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
                 }
             });
             actions.forEach(a -> initAction(actionToolBar, a));
+            if (isRowFilterEnabled()) {
+                initRowFilter(actionToolBar);
+            }
 
             if (popup != null) {
                 popup.addListenersTo(actionToolBar);
@@ -408,6 +433,70 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
             return actionToolBar;
         }
 
+        /**
+         * @return true if {@link org.autogui.base.annotation.GuiInitTable#rowFilter()} is set
+         * @since 1.8
+         */
+        protected boolean isRowFilterEnabled() {
+            return getInits().table().rowFilter();
+        }
+
+        /**
+         * creates a row index of the model and adds a text-field for filtering rows by the index
+         * @param toolBar the tool-bar of the table
+         * @since 1.8
+         */
+        public void initRowFilter(JToolBar toolBar) {
+            rowIndex = new ObjectTableModelRowIndex(getObjectTableModel(), this::setRowFilter);
+            rowIndex.install();
+            rowFilterField = new SearchFilterTextField(rowIndex::filter)
+                    .setPlaceHolderText("Filter rows");
+            int bSize = UIManagerUtil.getInstance().getScaledSizeInt(5);
+            toolBar.add(ResizableFlowLayout.create(true)
+                    .withBorder(bSize, bSize)
+                    .add(rowFilterField, true).getContainer());
+        }
+
+        /**
+         * @param filter a filter of rows or null, set to the row-sorter if it is an {@link ObjectTableModelRowSorter}
+         * @since 1.8
+         */
+        public void setRowFilter(RowFilter<ObjectTableModel, Integer> filter) {
+            if (getRowSorter() instanceof ObjectTableModelRowSorter sorter) {
+                sorter.setRowFilter(filter);
+            }
+        }
+
+        public ObjectTableModelRowIndex getRowIndex() {
+            return rowIndex;
+        }
+
+        /**
+         * @return true if {@link org.autogui.base.annotation.GuiInitTable#aggregateFooter()} is set
+         * @since 1.8
+         */
+        protected boolean isAggregateFooterEnabled() {
+            return getInits().table().aggregateFooter();
+        }
+
+        /**
+         * creates aggregates of the model and a footer displaying them
+         * @param scrollPane the scroll-pane of the table, whose horizontal scrolling is followed by the footer
+         * @return the viewport of the footer
+         * @since 1.8
+         */
+        public JComponent initAggregateFooter(JScrollPane scrollPane) {
+            aggregateFooter = new TableAggregateFooter(this);
+            aggregate = new ObjectTableModelAggregate(getObjectTableModel(), aggregateFooter::repaint);
+            aggregateFooter.setAggregate(aggregate);
+            aggregate.install();
+            return aggregateFooter.createViewport(scrollPane.getViewport());
+        }
+
+        public ObjectTableModelAggregate getAggregate() {
+            return aggregate;
+        }
+
         public void runListSelection(ListSelectionEvent e) {
             if (autoSelectionDepth <= 0) {
                 autoSelectionDepth++;
@@ -482,7 +571,7 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
 
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
-            SwingDeferredRunner.invokeLater(() -> setSwingViewValue((List<?>) newValue, contextClock));
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () -> setSwingViewValue((List<?>) newValue, contextClock));
         }
 
         @Override
@@ -499,11 +588,44 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
         private void setSwingViewValueWithoutIncrementClock(List<?> value) {
             GuiReprCollectionTable repr = (GuiReprCollectionTable) context.getRepresentation();
             source = repr.toUpdateValue(context, value);
+            updatePagedSourceListener();
             getObjectTableModel().refreshColumns();
             getObjectTableModel().refreshData();
             resizeAndRepaint();
         }
 
+        /**
+         * moves the change listener from the previous {@link GuiPagedSource} to the current source
+         * @since 1.8
+         */
+        protected void updatePagedSourceListener() {
+            GuiPagedSource<?> next = (source instanceof GuiPagedSource<?> p ? p : null);
+            if (next != pagedSource) {
+                if (pagedSource != null) {
+                    pagedSource.removeChangeListener(pagedSourceListener);
+                }
+                pagedSource = next;
+                if (next != null) {
+                    if (pagedSourceListener == null) {
+                        pagedSourceListener = () -> SwingDeferredRunner.invokeLater(this::pagedSourceChanged);
+                    }
+                    next.addChangeListener(pagedSourceListener);
+                }
+            }
+        }
+
+        /**
+         * executed under the event thread: discards fetched pages and refreshes rows
+         * @since 1.8
+         */
+        public void pagedSourceChanged() {
+            if (source instanceof GuiReprCollectionTable.PagedWrappingList list) {
+                list.clearPages();
+            }
+            getObjectTableModel().refreshData();
+            resizeAndRepaint();
+        }
+
         @Override
         public void setSwingViewValueWithUpdate(List<?> value) {
             GuiSwingView.updateViewClockSync(viewClock, context);
@@ -540,6 +662,19 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
         public void shutdownSwingView() {
             getObjectTableModel().getColumns().shutdown();
             selectionRunner.shutdown();
+            if (getObjectTableModel().getPrefetcher() != null) {
+                getObjectTableModel().getPrefetcher().shutdown();
+            }
+            if (pagedSource != null) {
+                pagedSource.removeChangeListener(pagedSourceListener);
+                pagedSource = null;
+            }
+            if (rowIndex != null) {
+                rowIndex.uninstall();
+            }
+            if (aggregate != null) {
+                aggregate.uninstall();
+            }
         }
 
         @Override
@@ -570,20 +705,24 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
 
         @Override
         public List<?> getSelectedItems() {
-            ListSelectionModel sel = getSelectionModel();
-            List<Object> selected = new ArrayList<>();
-            List<Integer> selectedIndices = new ArrayList<>();
-            if (source != null) {
-                for (int i = sel.getMinSelectionIndex(), max = sel.getMaxSelectionIndex(); i <= max; ++i) {
-                    if (i >= 0 && sel.isSelectedIndex(i)) {
-                        int modelIndex = convertRowIndexToModel(i);
-                        selectedIndices.add(modelIndex);
-                        selected.add(source.get(modelIndex));
-                    }
-                }
+            List<?> src = source;
+            if (src == null) {
+                lastSelectionActionIndices = Collections.emptyList();
+                return Collections.emptyList();
             }
-            lastSelectionActionIndices = selectedIndices;
-            return selected;
+            TableRangeSelectionModel.SelectedRows selectedRows = getSelectedRowsSnapshot();
+            lastSelectionActionIndices = selectedRows;
+            List<Object> items = new ArrayList<>(selectedRows.size()); //copying elements at the selection: the action might modify the source
+            selectedRows.modelRows().forEach(r -> items.add(src.get(r)));
+            return items;
+        }
+
+        /**
+         * @return an immutable snapshot of selected model rows in the view order, lazily converted from ranges of the selection
+         * @since 1.8
+         */
+        public TableRangeSelectionModel.SelectedRows getSelectedRowsSnapshot() {
+            return TableRangeSelectionModel.SelectedRows.of(getSelectionModel(), getRowSorter());
         }
 
         @Override
@@ -593,15 +732,21 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
             }
 
             int rows = getRowCount();
-            int[] selectedModelRowsIndices = lastSelectionActionIndices.stream()
+            IntStream selectedIndices = (lastSelectionActionIndices instanceof TableRangeSelectionModel.SelectedRows selectedRows ?
+                    selectedRows.modelRows() :
+                    lastSelectionActionIndices.stream().mapToInt(Integer::intValue));
+            int[] selectedModelRowsIndices = selectedIndices
                     .filter(i -> i >= 0 && i < rows)
-                    .mapToInt(Integer::intValue).toArray();
+                    .toArray();
             getObjectTableModel().refreshRows(selectedModelRowsIndices);
 
             //after execution an action, source will be updated by invokeLater
-            // change contains info. of the updated source, so the following code intends to be executed after the updating
+            // change contains info. of the updated source, so the following code intends to be executed after the updating.
+            // the updating is coalesced per frame, and thus pending updates of the table are flushed before the re-selection
             SwingDeferredRunner.invokeLater(() -> {
                 try {
+                    SwingUpdateCoalescer.get().flush(List.of(this, "update"));
+                    SwingUpdateCoalescer.get().flush(List.of(this, "refreshData"));
                     //re-selection
                     changeSelection(selectedModelRowsIndices, change);
                     requestFocusInWindow(); //focusing
@@ -805,7 +950,7 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
         @Override
         public void updateSwingViewSource() {
             ValuePane.super.updateSwingViewSource();
-            SwingDeferredRunner.invokeLater(getObjectTableModel()::refreshData);
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "refreshData"), getObjectTableModel()::refreshData);
         }
 
         /**
@@ -815,7 +960,7 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
         @Override
         public void updateSwingViewSourceFromRoot() {
             ValuePane.super.updateSwingViewSourceFromRoot();
-            SwingDeferredRunner.invokeLater(getObjectTableModel()::refreshData);
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "refreshData"), getObjectTableModel()::refreshData);
         }
 
         @Override
@@ -1201,10 +1346,8 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
                 //List<int[]>
                 return cellTargets.getSelectedRowAllCellIndicesAsList();
             } else {
-                //List<Integer>
-                return IntStream.of(cellTargets.getSelectedRows())
-                        .boxed()
-                        .collect(Collectors.toList());
+                //List<Integer>: a lazy view of the selection
+                return table.getSelectedRowsSnapshot();
             }
         }
 
@@ -1286,6 +1429,102 @@ public class GuiSwingViewCollectionTable implements GuiSwingView {
         }
     }
 
+    /**
+     * a single-row table displaying aggregates of columns, sharing the column-model of the source table
+     * @since 1.8
+     */
+    public static class TableAggregateFooter extends JTable {
+        @Serial private static final long serialVersionUID = 1L;
+        protected JTable table;
+        protected ObjectTableModelAggregate aggregate;
+        protected DefaultTableCellRenderer renderer;
+
+        @SuppressWarnings("this-escape")
+        public TableAggregateFooter(JTable table) {
+            super(new AggregateFooterModel(table.getModel()), table.getColumnModel());
+            this.table = table;
+            ((AggregateFooterModel) getModel()).setFooter(this);
+            renderer = new DefaultTableCellRenderer();
+            renderer.setHorizontalAlignment(SwingConstants.RIGHT);
+            setFocusable(false);
+            setShowGrid(false);
+            setRowHeight(table.getFont().getSize() + UIManagerUtil.getInstance().getScaledSizeInt(8));
+        }
+
+        public void setAggregate(ObjectTableModelAggregate aggregate) {
+            this.aggregate = aggregate;
+        }
+
+        public ObjectTableModelAggregate getAggregate() {
+            return aggregate;
+        }
+
+        /**
+         * @param tableViewport the viewport of the source table
+         * @return a new viewport of the footer following horizontal scrolling of the source table
+         */
+        public JViewport createViewport(JViewport tableViewport) {
+            JViewport viewport = new JViewport();
+            viewport.setView(this);
+            viewport.setPreferredSize(new Dimension(0, getRowHeight()));
+            tableViewport.addChangeListener(e ->
+                    viewport.setViewPosition(new Point(tableViewport.getViewPosition().x, 0)));
+            return viewport;
+        }
+
+        @Override
+        public TableCellRenderer getCellRenderer(int row, int column) {
+            return renderer;
+        }
+
+        @Override
+        public String getToolTipText(MouseEvent event) {
+            int column = columnAtPoint(event.getPoint());
+            return (column < 0 || aggregate == null) ? null :
+                    aggregate.getDescription(convertColumnIndexToModel(column));
+        }
+
+        @Override
+        public void changeSelection(int rowIndex, int columnIndex, boolean toggle, boolean extend) {
+            //not selectable: the footer has its own row selection-model,
+            // but the column-model, including its column selection, is shared with the source table
+        }
+    }
+
+    /**
+     * the model of {@link TableAggregateFooter}
+     * @since 1.8
+     */
+    public static class AggregateFooterModel extends AbstractTableModel {
+        @Serial private static final long serialVersionUID = 1L;
+        protected TableModel source;
+        protected TableAggregateFooter footer;
+
+        public AggregateFooterModel(TableModel source) {
+            this.source = source;
+        }
+
+        public void setFooter(TableAggregateFooter footer) {
+            this.footer = footer;
+        }
+
+        @Override
+        public int getRowCount() {
+            return 1;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return source.getColumnCount();
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            ObjectTableModelAggregate aggregate = (footer == null ? null : footer.getAggregate());
+            return aggregate == null ? "" : aggregate.getText(columnIndex);
+        }
+    }
+
     public static class TablePreferencesUpdater implements TableColumnModelListener, RowSorterListener {
         protected JTable table;
         protected GuiMappingContext context;
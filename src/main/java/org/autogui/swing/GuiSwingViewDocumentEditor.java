@@ -430,7 +430,7 @@ public class GuiSwingViewDocumentEditor implements GuiSwingView {
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
             if (viewClock.isOlderWithSet(contextClock)) { //the source from target precedes other GUI generated values
-                SwingDeferredRunner.invokeLater(() ->
+                SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () ->
                         GuiSwingViewDocumentEditor.setSwingViewValue(this, specifierManager, context, newValue, false, viewClock));
             }
         }
@@ -580,7 +580,7 @@ public class GuiSwingViewDocumentEditor implements GuiSwingView {
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
             if (viewClock.isOlderWithSet(contextClock)) {  //the source from target precedes other GUI generated values
-                SwingDeferredRunner.invokeLater(() ->
+                SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () ->
                         GuiSwingViewDocumentEditor.setSwingViewValue(this, specifierManager, context, newValue, false, viewClock));
             }
         }
@@ -163,7 +163,7 @@ public class GuiSwingViewEnumComboBox implements GuiSwingView {
 
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
-            SwingDeferredRunner.invokeLater(() -> setSwingViewValue(newValue, contextClock));
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () -> setSwingViewValue(newValue, contextClock));
         }
 
         @Override
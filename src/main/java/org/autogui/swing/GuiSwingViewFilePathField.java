@@ -179,7 +179,7 @@ public class GuiSwingViewFilePathField implements GuiSwingView {
 
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
-            SwingDeferredRunner.invokeLater(() -> setSwingViewValue(newValue, contextClock));
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () -> setSwingViewValue(newValue, contextClock));
         }
 
         @Override
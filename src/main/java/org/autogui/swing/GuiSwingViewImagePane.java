@@ -1,11 +1,14 @@
 package org.autogui.swing;
 
+import org.autogui.base.log.GuiLogManager;
 import org.autogui.base.mapping.*;
 import org.autogui.swing.mapping.GuiReprValueImagePane;
 import org.autogui.swing.table.TableTargetColumnAction;
 import org.autogui.swing.util.*;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.datatransfer.*;
@@ -13,11 +16,15 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
 import java.io.File;
+import java.io.IOException;
 import java.io.Serial;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -73,6 +80,14 @@ public class GuiSwingViewImagePane implements GuiSwingView {
         protected ImageScaleSwitchFitAction switchFitAction;
         protected PopupExtension popup;
         protected List<PopupCategorized.CategorizedMenuItem> menuItems;
+        /** @since 1.8 */
+        protected ScaledImageCache scaledImageCache = ScaledImageCache.getShared();
+        /** @since 1.8 */
+        protected int imageLoadingCount;
+        /** @since 1.8 */
+        protected long tiledImageMinPixels = 4096L * 4096L;
+        /** @since 1.8 */
+        protected boolean scaledImagePlaceholder;
 
         /** the constructor calling {@link #init()} */
         public ImagePaneBase() {
@@ -259,13 +274,142 @@ public class GuiSwingViewImagePane implements GuiSwingView {
          * @param image the new image
          */
         public void setImage(Image image) {
+            invalidateScaledImage(image);
             this.image = image;
-            imageSize = GuiReprValueImagePane.ImageSizeGetter.getSizeNonNull(image);
+            TiledImageSource tiled = TiledImageSource.get(image);
+            imageSize = tiled != null ? tiled.getSize() : GuiReprValueImagePane.ImageSizeGetter.getSizeNonNull(image);
             setPreferredSizeFromImageSize();
             revalidate();
             repaint();
         }
 
+        /**
+         * removes renditions of the image from {@link #getScaledImageCache()}:
+         *  the set image might be the same instance edited in place
+         * @param image the new image, nullable
+         * @since 1.8
+         */
+        protected void invalidateScaledImage(Image image) {
+            if (scaledImageCache != null && image != null) {
+                scaledImageCache.remove(image);
+            }
+        }
+
+        /**
+         * @param scaledImageCache the cache of scaled renditions of the image, or null for scaling at every painting
+         * @since 1.8
+         */
+        public void setScaledImageCache(ScaledImageCache scaledImageCache) {
+            this.scaledImageCache = scaledImageCache;
+            repaint();
+        }
+
+        /**
+         * @return the cache of scaled renditions, nullable
+         * @since 1.8
+         */
+        public ScaledImageCache getScaledImageCache() {
+            return scaledImageCache;
+        }
+
+        /**
+         * executed in the event thread: reads the file by {@link #readImageOrTiled(File)} on {@link #executeImageTask(Runnable)}.
+         *  while reading, the pane paints a placeholder
+         * @param file the image file
+         * @param callback executed in the event thread with the read image or null for an error
+         * @since 1.8
+         */
+        public void loadImage(File file, Consumer<Image> callback) {
+            ++imageLoadingCount;
+            repaint();
+            executeImageTask(() -> {
+                Image img = null;
+                try {
+                    img = readImageOrTiled(file);
+                } catch (Exception ex) {
+                    GuiLogManager.get().logError(ex);
+                }
+                Image loaded = img;
+                SwingDeferredRunner.invokeLater(() -> {
+                    --imageLoadingCount;
+                    repaint();
+                    callback.accept(loaded);
+                });
+            });
+        }
+
+        /**
+         * @return true while images are loaded by {@link #loadImage(File, Consumer)}
+         * @since 1.8
+         */
+        public boolean isImageLoading() {
+            return imageLoadingCount > 0;
+        }
+
+        /**
+         * @param task a task of loading an image
+         * @since 1.8
+         */
+        public void executeImageTask(Runnable task) {
+            SwingDeferredRunner.getDefaultService().execute(task);
+        }
+
+        /**
+         * @param tiledImageMinPixels the minimum number of pixels of an image file loaded as a {@link TiledImageSource}
+         * @since 1.8
+         */
+        public void setTiledImageMinPixels(long tiledImageMinPixels) {
+            this.tiledImageMinPixels = tiledImageMinPixels;
+        }
+
+        public long getTiledImageMinPixels() {
+            return tiledImageMinPixels;
+        }
+
+        /**
+         * @param file the image file
+         * @return if the image has at least {@link #getTiledImageMinPixels()} pixels,
+         *     an overview image of a {@link TiledImageSource} by {@link TiledImageSource#load(Path)}, painted by tiles
+         *     and decoded at the full resolution only on demand by {@link TiledImageSource#getFullImage(Image)},
+         *     otherwise the fully decoded image by {@link #readImage(File)}
+         * @throws IOException reading error
+         * @since 1.8
+         */
+        public Image readImageOrTiled(File file) throws IOException {
+            Dimension size = TiledImageSource.readSize(file.toPath());
+            if (size != null && (long) size.width * (long) size.height >= tiledImageMinPixels) {
+                return TiledImageSource.load(file.toPath());
+            } else {
+                return readImage(file);
+            }
+        }
+
+        /**
+         * reads the first image of the file by an {@link ImageReader}, equivalent to {@link ImageIO#read(File)}
+         * @param file the image file
+         * @return the decoded image, or null if no reader supports the file
+         * @throws IOException reading error
+         * @since 1.8
+         */
+        public static BufferedImage readImage(File file) throws IOException {
+            try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+                if (in == null) {
+                    return null;
+                }
+                Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+                if (!readers.hasNext()) {
+                    return null;
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    return reader.read(0, reader.getDefaultReadParam());
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+
         /** call {@link #setPreferredSize(Dimension)} with imageSize */
         public void setPreferredSizeFromImageSize() {
             setPreferredSize(imageSize);
@@ -295,7 +439,9 @@ public class GuiSwingViewImagePane implements GuiSwingView {
         protected void paintComponent(Graphics g) {
             g.setColor(getBackground());
             g.fillRect(0, 0, getWidth(), getHeight());
-            if (image != null) {
+            if (isImageLoading()) {
+                paintPlaceholder(g);
+            } else if (image != null) {
                 Dimension paneSize = getViewSize();
                 Dimension size = getImageScaledSize();
 
@@ -314,16 +460,97 @@ public class GuiSwingViewImagePane implements GuiSwingView {
                     top = (paneSize.height - size.height) / 2 + insets.top;
                 }
 
-                try {
-                    while (!g.drawImage(image, left, top, size.width, size.height, this)) {
-                        Thread.sleep(10);
-                    }
-                } catch (InterruptedException ex) {
-                    //nothing
+                //an incomplete image is repainted by imageUpdate(...) of the component as the observer
+                TiledImageSource tiled = TiledImageSource.get(image);
+                BufferedImage scaled = (tiled == null ? getScaledImage(size) : null);
+                if (tiled != null) {
+                    tiled.paint((Graphics2D) g, tiled.getOverview(), left, top, size, getScaledImageCallback());
+                } else if (scaled != null) {
+                    g.drawImage(scaled, left, top, this);
+                } else if (scaledImagePlaceholder && isScaledImageApplicable(size)) {
+                    paintScaledImagePlaceholder(g, left, top, size);
+                } else {
+                    g.drawImage(image, left, top, size.width, size.height, this);
                 }
             }
         }
 
+        /**
+         * @param scaledImagePlaceholder if true, a placeholder is painted until a scaled rendition becomes ready,
+         *                                 instead of drawing the source image with scaling
+         * @since 1.8
+         */
+        public void setScaledImagePlaceholder(boolean scaledImagePlaceholder) {
+            this.scaledImagePlaceholder = scaledImagePlaceholder;
+        }
+
+        public boolean isScaledImagePlaceholder() {
+            return scaledImagePlaceholder;
+        }
+
+        /**
+         * @param size the scaled size of the image
+         * @return true if the image is drawn by a rendition of the {@link #getScaledImageCache()}
+         * @since 1.8
+         */
+        public boolean isScaledImageApplicable(Dimension size) {
+            return scaledImageCache != null && image instanceof BufferedImage && !size.equals(imageSize) &&
+                    scaledImageCache.isCacheable(size.width, size.height);
+        }
+
+        /**
+         * @return a task executed after a scaled rendition or a tile becomes ready, the default is {@link #repaint()}
+         * @since 1.8
+         */
+        protected Runnable getScaledImageCallback() {
+            return this::repaint;
+        }
+
+        /**
+         * paints a placeholder for the scaled image while the rendition is not ready
+         * @param g the graphics
+         * @param left the x position of the image
+         * @param top the y position of the image
+         * @param size the scaled size
+         * @since 1.8
+         */
+        protected void paintScaledImagePlaceholder(Graphics g, int left, int top, Dimension size) {
+            Color fg = getForeground();
+            g.setColor(fg == null ? Color.gray : new Color(fg.getRed(), fg.getGreen(), fg.getBlue(), 32));
+            g.fillRect(left, top, size.width, size.height);
+        }
+
+        /**
+         * @param size the scaled size of the image
+         * @return a cached rendition of the image for the size,
+         *   or null if the size is the original size, the image is not a {@link BufferedImage},
+         *     or the rendition is not yet ready. the pane is repainted after the rendition becomes ready
+         * @since 1.8
+         */
+        public BufferedImage getScaledImage(Dimension size) {
+            if (!isScaledImageApplicable(size)) {
+                return null;
+            } else {
+                return scaledImageCache.request(this, image, size.width, size.height, getScaledImageCallback());
+            }
+        }
+
+        /**
+         * paints a placeholder while loading an image
+         * @param g the graphics
+         * @since 1.8
+         */
+        protected void paintPlaceholder(Graphics g) {
+            String text = "Loading...";
+            g.setColor(getForeground());
+            g.setFont(getFont() != null ? getFont() : UIManagerUtil.getInstance().getLabelFont());
+            FontMetrics m = g.getFontMetrics();
+            Dimension size = getViewSize();
+            Insets insets = getInsets();
+            g.drawString(text, insets.left + Math.max(0, (size.width - m.stringWidth(text)) / 2),
+                    insets.top + Math.max(m.getAscent(), (size.height + m.getAscent()) / 2));
+        }
+
         /**
          * @return size - insets , or if the parent is a viewport, the parent-size - insets
          */
@@ -638,11 +865,12 @@ public class GuiSwingViewImagePane implements GuiSwingView {
 
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
-            SwingDeferredRunner.invokeLater(() -> setSwingViewValue((Image) newValue, contextClock));
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () -> setSwingViewValue((Image) newValue, contextClock));
         }
 
         public void setImageWithoutContextUpdate(Image image) {
             GuiReprValueImagePane img = (GuiReprValueImagePane) context.getRepresentation();
+            invalidateScaledImage(image);
             this.image = image;
             imageSize = img.getSize(context, image);
             updateScale();
@@ -737,6 +965,19 @@ public class GuiSwingViewImagePane implements GuiSwingView {
             viewClock.clear();
         }
 
+        /**
+         * @param task a task of loading an image, executed by the task-runner of the context
+         * @since 1.8
+         */
+        @Override
+        public void executeImageTask(Runnable task) {
+            if (context != null) {
+                context.getTaskRunner().execute(task);
+            } else {
+                super.executeImageTask(task);
+            }
+        }
+
         @Override
         public RenderedImage getRenderedImage(Image image) {
             GuiReprValueImagePane imagePane = (GuiReprValueImagePane) getSwingViewContext().getRepresentation();
@@ -1291,7 +1532,13 @@ public class GuiSwingViewImagePane implements GuiSwingView {
                     if (suffIdx > 0) {
                         format = name.substring(name.lastIndexOf('.') + 1).toLowerCase();
                     }
-                    ImageIO.write(pane.getRenderedImage(image), format, path.toFile());
+                    TiledImageSource tiled = TiledImageSource.get(image);
+                    if (tiled != null && tiled.getPath().getFileName().toString().toLowerCase().endsWith("." + format)) {
+                        //the value of a tiled image is the overview, and the original file has the full resolution
+                        Files.copy(tiled.getPath(), path, StandardCopyOption.REPLACE_EXISTING);
+                    } else {
+                        ImageIO.write(pane.getRenderedImage(TiledImageSource.getFullImage(image)), format, path.toFile());
+                    }
                 } catch (Exception ex) {
                     throw new RuntimeException(ex);
                 }
@@ -1323,13 +1570,12 @@ public class GuiSwingViewImagePane implements GuiSwingView {
         public void paste(Consumer<Image> c) {
             Path path = SettingsWindow.getFileDialogManager().showOpenDialog(pane, null);
             if (path != null) {
-                try {
-                    Image img = ImageIO.read(path.toFile());
-                    pane.setImagePath(img, path);
-                    c.accept(img);
-                } catch (Exception ex) {
-                    throw new RuntimeException(ex);
-                }
+                pane.loadImage(path.toFile(), img -> {
+                    if (img != null) {
+                        pane.setImagePath(img, path);
+                        c.accept(img);
+                    }
+                });
             }
         }
 
@@ -1386,9 +1632,9 @@ public class GuiSwingViewImagePane implements GuiSwingView {
 
         @Override
         public Object getTransferData(DataFlavor flavor)
-                throws UnsupportedFlavorException {
+                throws UnsupportedFlavorException, IOException {
             if (DataFlavor.imageFlavor.equals(flavor)) {
-                return image;
+                return TiledImageSource.getFullImage(image);
             } else if (context != null && DataFlavor.javaFileListFlavor.equals(flavor)) {
                 Path p = ((GuiReprValueImagePane) context.getReprValue()).getImagePath(image);
                 if (p != null) {
@@ -1428,7 +1674,7 @@ public class GuiSwingViewImagePane implements GuiSwingView {
             if (support.isDataFlavorSupported(DataFlavor.imageFlavor)) {
                 return select(getTransferableAsImage(support, DataFlavor.imageFlavor));
             } else if (support.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                return select(loadTransferableFilesAsImage(support, DataFlavor.javaFileListFlavor));
+                return loadTransferableFilesAsImageLater(support, DataFlavor.javaFileListFlavor);
             } else if (support.isDataFlavorSupported(DataFlavor.stringFlavor)) {
                 return select(getTransferableStringAsImage(support, DataFlavor.stringFlavor));
             } else {
@@ -1479,6 +1725,32 @@ public class GuiSwingViewImagePane implements GuiSwingView {
             }
         }
 
+        /**
+         * starts loading the first file by {@link ImagePaneBase#loadImage(File, Consumer)} and selects the image after loading
+         * @param support the transfer
+         * @param flavor the file-list flavor
+         * @return true if the file exists
+         * @since 1.8
+         */
+        public boolean loadTransferableFilesAsImageLater(TransferSupport support, DataFlavor flavor) {
+            File file;
+            try {
+                file = getTransferableFile(support, flavor);
+            } catch (Exception ex) {
+                return false;
+            }
+            if (file == null || !file.isFile()) {
+                return false;
+            }
+            imagePane.loadImage(file, img -> {
+                if (img != null) {
+                    imagePane.setImagePath(img, file.toPath());
+                    select(img);
+                }
+            });
+            return true;
+        }
+
         public Image getTransferableStringAsImage(TransferSupport support, DataFlavor flavor) {
             try {
                 String data = (String) support.getTransferable().getTransferData(flavor);
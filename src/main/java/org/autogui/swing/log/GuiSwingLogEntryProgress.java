@@ -16,6 +16,7 @@ import java.io.Serial;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -430,6 +431,12 @@ public class GuiSwingLogEntryProgress extends GuiLogEntryProgress implements Gui
             followingLineStyle = GuiSwingLogEntryString.getBodyStyle();
 
             setFont(GuiSwingLogManager.getFont());
+            setLinesCache(LinesCache.getShared());
+        }
+
+        @Override
+        public Object getLinesCacheStyle() {
+            return Arrays.asList(timeStyle, followingLineStyle);
         }
 
         @Override
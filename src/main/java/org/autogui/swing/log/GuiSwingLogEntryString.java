@@ -14,6 +14,7 @@ import java.io.Serial;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -181,6 +182,12 @@ public class GuiSwingLogEntryString extends GuiLogEntryString implements GuiSwin
 
             setFont(GuiSwingLogManager.getFont());
             setOpaque(false);
+            setLinesCache(LinesCache.getShared());
+        }
+
+        @Override
+        public Object getLinesCacheStyle() {
+            return Arrays.asList(timeStyle, followingLineStyle);
         }
 
         @Override
@@ -239,14 +246,25 @@ public class GuiSwingLogEntryString extends GuiLogEntryString implements GuiSwin
         @Override
         public String format(GuiLogEntry value) {
             if (value instanceof GuiLogEntryString str) {
-                return formatPreProcess(String.format("%s %s",
-                        manager.formatTime(str.getTime()),
-                        str.getData()));
+                return formatEntry(manager, str);
             } else {
                 return super.format(value);
             }
         }
 
+        /**
+         * executed from any thread
+         * @param manager the manager formatting the time
+         * @param str the entry
+         * @return the text displayed by the renderer, also searched by {@link GuiSwingLogFindIndex}:
+         *    the time and the data, with tabs expanded as {@link #formatPreProcess(String)}
+         * @since 1.8
+         */
+        public static String formatEntry(GuiLogManager manager, GuiLogEntryString str) {
+            return String.format("%s %s", manager.formatTime(str.getTime()), str.getData())
+                    .replace("\t", "    ");
+        }
+
         @Override
         public float[] buildSize() {
             if (value instanceof GuiSwingLogEntry) {
@@ -353,6 +371,14 @@ public class GuiSwingLogEntryString extends GuiLogEntryString implements GuiSwin
         public LineInfoHead(AttributedString attributedString, int start, int end) {
             super(attributedString, start, end);
         }
+
+        @Override
+        public TextCellRenderer.LineInfo copy() {
+            LineInfoHead l = new LineInfoHead(attributedString, start, end);
+            l.headerEnd = headerEnd;
+            copyTo(l);
+            return l;
+        }
     }
 
 }
@@ -0,0 +1,243 @@
+package org.autogui.swing.log;
+
+import org.autogui.base.log.GuiLogEntry;
+import org.autogui.base.log.GuiLogEntryString;
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.swing.util.SwingDeferredRunner;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * a sorted index of rows of a {@link GuiSwingLogList.GuiSwingLogListModel} which might match a find keyword.
+ *  <p>
+ *  {@link #setQuery(String)} starts a background task scanning a snapshot of entries once for the keyword.
+ *   After the task, rows of candidate entries are held in a sorted set,
+ *    and {@link #rows(int, int, boolean)} enumerates them for find-next and find-previous
+ *    without rendering non-matching entries.
+ *   While the task is running, {@link #isComplete()} returns false and users need to scan all rows.
+ *  <p>
+ *  The index is updated incrementally by events of the model: rows from an insertion to the end are re-checked,
+ *   as entries are usually appended,
+ *   and removed rows are dropped with shifting rows after them.
+ *  <p>
+ *  An entry of {@link GuiLogEntryString} is matched with the same text as {@link GuiSwingLogEntryString.GuiSwingLogStringRenderer}.
+ *   Other entries are rendered with their own formats, and thus always become candidates to be checked by their renderers.
+ *  The index is accessed from the event thread except for the scanning task.
+ * @since 1.8
+ */
+public class GuiSwingLogFindIndex implements ListDataListener {
+    protected GuiSwingLogList.GuiSwingLogListModel model;
+    protected GuiLogManager manager;
+    protected String query;
+    protected int generation;
+    protected boolean complete;
+    protected TreeSet<Integer> rows = new TreeSet<>();
+    protected Future<?> task;
+    protected boolean listening;
+
+    public GuiSwingLogFindIndex(GuiSwingLogList.GuiSwingLogListModel model, GuiLogManager manager) {
+        this.model = model;
+        this.manager = manager;
+    }
+
+    /**
+     * @return the service executing scanning tasks
+     */
+    public ExecutorService getService() {
+        return SwingDeferredRunner.getDefaultService();
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return true if the index holds all candidate rows for the query
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * executed under the event thread: starts scanning entries if the query is changed.
+     *  the index starts listening to the model at the first call
+     * @param query the find keyword, nullable
+     */
+    public void setQuery(String query) {
+        if (query != null && query.isEmpty()) {
+            query = null;
+        }
+        if (Objects.equals(this.query, query) && (query == null || complete || task != null)) {
+            return;
+        }
+        if (!listening) {
+            model.addListDataListener(this);
+            listening = true;
+        }
+        this.query = query;
+        ++generation;
+        complete = false;
+        rows.clear();
+        if (task != null) {
+            task.cancel(true);
+            task = null;
+        }
+        if (query != null) {
+            List<GuiLogEntry> snapshot = new ArrayList<>(model.getEntries());
+            int gen = generation;
+            String q = query;
+            task = getService().submit(() -> scan(snapshot, q, gen));
+        }
+    }
+
+    /**
+     * executed by the background task
+     * @param snapshot a copy of entries
+     * @param query the keyword
+     * @param gen the generation of the query
+     */
+    protected void scan(List<GuiLogEntry> snapshot, String query, int gen) {
+        Map<GuiLogEntry, Boolean> results = new IdentityHashMap<>(snapshot.size());
+        for (GuiLogEntry e : snapshot) {
+            if (Thread.interrupted()) {
+                return;
+            }
+            results.put(e, isCandidate(e, query));
+        }
+        SwingUtilities.invokeLater(() -> publish(results, gen));
+    }
+
+    /**
+     * executed under the event thread: builds the row set from the results of the scanning.
+     *  entries added after taking the snapshot are checked here
+     * @param results entries to whether they are candidates
+     * @param gen the generation of the query
+     */
+    protected void publish(Map<GuiLogEntry, Boolean> results, int gen) {
+        if (gen != generation) {
+            return;
+        }
+        task = null;
+        rows.clear();
+        List<GuiLogEntry> entries = model.getEntries();
+        for (int i = 0, n = entries.size(); i < n; ++i) {
+            GuiLogEntry e = entries.get(i);
+            Boolean c = results.get(e);
+            if (c == null ? isCandidate(e, query) : c) {
+                rows.add(i);
+            }
+        }
+        complete = true;
+    }
+
+    /**
+     * executed from any thread
+     * @param e the entry
+     * @param query the keyword
+     * @return true if the entry might match the query
+     */
+    public boolean isCandidate(GuiLogEntry e, String query) {
+        if (e instanceof GuiLogEntryString str) {
+            return GuiSwingLogEntryString.GuiSwingLogStringRenderer.formatEntry(manager, str).contains(query);
+        } else {
+            return e != null;
+        }
+    }
+
+    /**
+     * @param from the first row, inclusive
+     * @param to the last row, inclusive
+     * @param forward if true, ascending order, otherwise descending order and from &gt;= to
+     * @return candidate rows in the range, empty if from and to are reversed
+     */
+    public NavigableSet<Integer> rows(int from, int to, boolean forward) {
+        if (forward) {
+            return from > to ? Collections.emptyNavigableSet() : rows.subSet(from, true, to, true);
+        } else {
+            return from < to ? Collections.emptyNavigableSet() : rows.subSet(to, true, from, true).descendingSet();
+        }
+    }
+
+    /**
+     * @return the number of candidate rows
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * stops the task and listening to the model
+     */
+    public void close() {
+        model.removeListDataListener(this);
+        listening = false;
+        setQuery(null);
+    }
+
+    @Override
+    public void intervalAdded(ListDataEvent e) {
+        if (!complete) {
+            return;
+        }
+        //the model notifies an insertion with the range to the end, including moved active entries
+        int from = Math.max(0, Math.min(e.getIndex0(), e.getIndex1()));
+        rows.tailSet(from, true).clear();
+        List<GuiLogEntry> entries = model.getEntries();
+        for (int i = from, n = entries.size(); i < n; ++i) {
+            if (isCandidate(entries.get(i), query)) {
+                rows.add(i);
+            }
+        }
+    }
+
+    @Override
+    public void intervalRemoved(ListDataEvent e) {
+        if (!complete) {
+            return;
+        }
+        int from = e.getIndex0();
+        int to = e.getIndex1();
+        rows.subSet(from, true, to, true).clear();
+        shift(to + 1, -(to - from + 1));
+    }
+
+    @Override
+    public void contentsChanged(ListDataEvent e) {
+        if (!complete) {
+            return;
+        }
+        List<GuiLogEntry> entries = model.getEntries();
+        int from = Math.max(0, e.getIndex0());
+        int to = Math.min(entries.size() - 1, e.getIndex1());
+        if (e.getIndex0() < 0 || e.getIndex1() < 0) { //unknown range
+            from = 0;
+            to = entries.size() - 1;
+            rows.clear();
+        }
+        for (int i = from; i <= to; ++i) {
+            if (isCandidate(entries.get(i), query)) {
+                rows.add(i);
+            } else {
+                rows.remove(i);
+            }
+        }
+        if (!rows.isEmpty() && rows.last() >= entries.size()) {
+            rows.tailSet(entries.size(), true).clear();
+        }
+    }
+
+    protected void shift(int from, int diff) {
+        NavigableSet<Integer> tail = rows.tailSet(from, true);
+        List<Integer> shifted = new ArrayList<>(tail.size());
+        for (int r : tail) {
+            shifted.add(r + diff);
+        }
+        tail.clear();
+        rows.addAll(shifted);
+    }
+}
@@ -83,6 +83,9 @@ public class GuiSwingLogList extends JList<GuiLogEntry> implements GuiSwingLogMa
     public void removeFromManager() {
         manager.removeView(managerKey);
         getLogListModel().clearEntries();
+        if (eventDispatcher.findIndex != null) {
+            eventDispatcher.findIndex.close();
+        }
 
         ListCellRenderer<? super GuiLogEntry> r = getCellRenderer();
         if (r instanceof GuiSwingLogManager.GuiSwingLogRenderer) {
@@ -523,6 +526,8 @@ public class GuiSwingLogList extends JList<GuiLogEntry> implements GuiSwingLogMa
         protected int pressIndex;
 
         protected FindState findState = new FindState();
+        /** @since 1.8 */
+        protected GuiSwingLogFindIndex findIndex;
 
         public GuiSwingLogEventDispatcher(GuiSwingLogList table) {
             this.table = table;
@@ -780,7 +785,19 @@ public class GuiSwingLogList extends JList<GuiLogEntry> implements GuiSwingLogMa
         @Override
         public void mouseMoved(MouseEvent e) { }
 
+        /**
+         * @return the index of candidate rows for finding, created at the first call
+         * @since 1.8
+         */
+        public GuiSwingLogFindIndex getFindIndex() {
+            if (findIndex == null) {
+                findIndex = new GuiSwingLogFindIndex(table.getLogListModel(), table.manager);
+            }
+            return findIndex;
+        }
+
         public void findText(String str) {
+            getFindIndex().setQuery(str); //starts scanning entries in background
             boolean updated = false;
             for (GuiSwingLogEntry.LogEntryRenderer r : getRendererList()) {
                 if (r.updateFindPattern(str)) {
@@ -832,30 +849,58 @@ public class GuiSwingLogList extends JList<GuiLogEntry> implements GuiSwingLogMa
             }
         }
 
+        /**
+         * checks rows by their renderers.
+         *  if {@link #getFindIndex()} is complete for the str, only candidate rows in the index are checked
+         * @param str the searched text
+         * @param forward forward=true, or backward=false
+         * @param startRow the first checked row
+         * @param endRow the last checked row
+         */
         public void findTextRows(String str, boolean forward, int startRow, int endRow) {
+            GuiSwingLogFindIndex index = getFindIndex();
+            index.setQuery(str);
+            if (index.isComplete()) {
+                for (int i : new ArrayList<>(index.rows(startRow, endRow, forward))) { //the index might be updated by expanding entries
+                    if (findTextRow(str, forward, i)) {
+                        break;
+                    }
+                }
+                return;
+            }
             for (int i = startRow;
                     forward ? i <= endRow : i >= endRow;
                     i += (forward ? 1 : -1)) {
                 if (i < 0) {
                     continue;
                 }
+                if (findTextRow(str, forward, i)) {
+                    break;
+                }
+            }
+        }
 
-                GuiLogEntry rowValue = table.getValueAt(i);
-                if (rowValue instanceof GuiSwingLogEntry e) {
-                    int row = i;
-                    runEntry(i, e, r -> {
-                        findState.entryIndex = row;
-                        if (r.findText(e, str) > 0) {
-                            findState.entryFocusIndex = r.focusNextFound(e, findState.entryFocusIndex, forward);
-                        } else {
-                            findState.entryFocusIndex = null;
-                        }
-                    });
-
-                    if (findState.found()) {
-                        break;
+        /**
+         * @param str the searched text
+         * @param forward forward=true, or backward=false
+         * @param i the checked row
+         * @return true if found
+         * @since 1.8
+         */
+        public boolean findTextRow(String str, boolean forward, int i) {
+            GuiLogEntry rowValue = i < table.getRowCount() ? table.getValueAt(i) : null;
+            if (rowValue instanceof GuiSwingLogEntry e) {
+                runEntry(i, e, r -> {
+                    findState.entryIndex = i;
+                    if (r.findText(e, str) > 0) {
+                        findState.entryFocusIndex = r.focusNextFound(e, findState.entryFocusIndex, forward);
+                    } else {
+                        findState.entryFocusIndex = null;
                     }
-                }
+                });
+                return findState.found();
+            } else {
+                return false;
             }
         }
 
@@ -1,5 +1,6 @@
 package org.autogui.swing.prefs;
 
+import org.autogui.base.mapping.GuiMappingContext;
 import org.autogui.base.mapping.GuiPreferences;
 import org.autogui.swing.*;
 import org.autogui.swing.table.GuiSwingTableColumnString;
@@ -7,6 +8,8 @@ import org.autogui.swing.table.GuiSwingTableModelCollection;
 import org.autogui.swing.table.ObjectTableColumn;
 import org.autogui.swing.table.ObjectTableModelColumns;
 
+import java.util.Set;
+
 public interface GuiSwingPrefsApplyOptions {
 
     /**
@@ -25,6 +28,15 @@ public interface GuiSwingPrefsApplyOptions {
      */
     boolean isSkippingValue();
 
+    /**
+     * @param context the context of a loading target pane
+     * @return if false, the pane skips loading. the default impl. returns true
+     * @since 1.8
+     */
+    default boolean isLoadingTarget(GuiMappingContext context) {
+        return true;
+    }
+
     default boolean hasHistoryValues(GuiPreferences targetPrefs, GuiPreferences ctxPrefs) {
         return !targetPrefs.equals(ctxPrefs);
     }
@@ -46,7 +58,7 @@ public interface GuiSwingPrefsApplyOptions {
         tabPrefs.apply(prefs);
     }
     default void addHistoryValue(GuiPreferences.HistoryValueEntry entry, GuiPreferences prefs) {
-        prefs.addHistoryValue(entry.getValue(), entry.getTime());
+        prefs.addHistoryValueEntry(entry); //the value is not decoded if not yet
     }
     default void loadFrom(GuiSwingViewDocumentEditor.DocumentSettingPane pane, GuiPreferences prefs) {
         pane.loadFrom(prefs);
@@ -140,4 +152,36 @@ public interface GuiSwingPrefsApplyOptions {
             return skippingValue;
         }
     }
+
+    /**
+     * options for loading only panes affected by changed prefs,
+     *   obtained by {@link GuiPreferences#overwriteByAnotherPrefs(GuiPreferences, Set)}.
+     *   A pane is loaded if its context is the same as or an ancestor of a changed context,
+     *    as a pane might load prefs of descendant contexts without their own panes (e.g. table columns).
+     * @since 1.8
+     */
+    class PrefsApplyOptionsForContexts extends PrefsApplyOptionsDefault {
+        protected Set<GuiMappingContext> changedContexts;
+
+        public PrefsApplyOptionsForContexts(boolean init, boolean skippingValue, Set<GuiMappingContext> changedContexts) {
+            super(init, skippingValue);
+            this.changedContexts = changedContexts;
+        }
+
+        public Set<GuiMappingContext> getChangedContexts() {
+            return changedContexts;
+        }
+
+        @Override
+        public boolean isLoadingTarget(GuiMappingContext context) {
+            for (GuiMappingContext changed : changedContexts) {
+                for (GuiMappingContext c = changed; c != null; c = c.getParent()) {
+                    if (c.equals(context)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -18,6 +18,8 @@ import org.autogui.swing.util.UIManagerUtil;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
@@ -31,8 +33,17 @@ public interface GuiSwingTableColumn extends GuiSwingElement {
      *  For columns of nested lists, the managers are also nested.
      *    In order to specify the indices Map&lt;SpecifierManagerIndex,Integer&gt; is used.
      *     This means that instances of the class are created for each nested structure
-     *      and identify of them are used. */
+     *      and identify of them are used.
+     *  <p>
+     *  Since 1.8, indices can be scoped to the current thread by {@link #withIndex(int, Supplier)} and {@link #withIndices(Map, Supplier)}
+     *   without modifying the shared index:
+     *   creating specifiers within the scopes can be done concurrently from multiple threads.
+     *   Created specifiers are immutable paths and can be passed to other threads. */
     class SpecifierManagerIndex implements SpecifierManager {
+        /** indices of managers scoped to the current thread, overriding {@link #index}.
+         * @since 1.8 */
+        protected static final ThreadLocal<Map<SpecifierManagerIndex, Integer>> scopedIndices = ThreadLocal.withInitial(IdentityHashMap::new);
+
         protected Supplier<ObjectSpecifier> tableSpecifier;
         protected int index;
 
@@ -53,9 +64,19 @@ public interface GuiSwingTableColumn extends GuiSwingElement {
             this.index = index;
         }
 
+        /**
+         * @return the index scoped to the current thread, or the shared index
+         * @since 1.8
+         */
+        public int getIndex() {
+            Map<SpecifierManagerIndex, Integer> scoped = scopedIndices.get();
+            Integer i = (scoped.isEmpty() ? null : scoped.get(this));
+            return i != null ? i : index;
+        }
+
         @Override
         public ObjectSpecifier getSpecifier() {
-            return new ObjectSpecifierIndex(tableSpecifier.get(), index);
+            return new ObjectSpecifierIndex(tableSpecifier.get(), getIndex());
         }
 
         public ObjectSpecifier getSpecifierWithSettingIndex(int index) {
@@ -63,6 +84,60 @@ public interface GuiSwingTableColumn extends GuiSwingElement {
             return new ObjectSpecifierIndex(tableSpecifier.get(), index);
         }
 
+        /**
+         * @param index the index of the specifier
+         * @return a specifier with the index, without modifying the shared index
+         * @since 1.8
+         */
+        public ObjectSpecifier getSpecifierForIndex(int index) {
+            return withIndex(index, this::getSpecifier);
+        }
+
+        /**
+         * runs the task with scoping the index of this manager to the current thread
+         * @param index the scoped index
+         * @param task the task, typically creating specifiers
+         * @return the result of the task
+         * @param <T> the result type
+         * @since 1.8
+         */
+        public <T> T withIndex(int index, Supplier<T> task) {
+            Map<SpecifierManagerIndex, Integer> scoped = scopedIndices.get();
+            Integer prev = scoped.put(this, index);
+            try {
+                return task.get();
+            } finally {
+                restore(scoped, this, prev);
+            }
+        }
+
+        /**
+         * runs the task with scoping indices of managers to the current thread
+         * @param indices managers and their scoped indices
+         * @param task the task, typically creating specifiers
+         * @return the result of the task
+         * @param <T> the result type
+         * @since 1.8
+         */
+        public static <T> T withIndices(Map<SpecifierManagerIndex, Integer> indices, Supplier<T> task) {
+            Map<SpecifierManagerIndex, Integer> scoped = scopedIndices.get();
+            Map<SpecifierManagerIndex, Integer> prevs = new IdentityHashMap<>(indices.size());
+            indices.forEach((m, i) -> prevs.put(m, scoped.put(m, i)));
+            try {
+                return task.get();
+            } finally {
+                prevs.forEach((m, prev) -> restore(scoped, m, prev));
+            }
+        }
+
+        private static void restore(Map<SpecifierManagerIndex, Integer> scoped, SpecifierManagerIndex m, Integer prev) {
+            if (prev == null) {
+                scoped.remove(m);
+            } else {
+                scoped.put(m, prev);
+            }
+        }
+
         @Override
         public String toString() {
             return String.format("[%x]", System.identityHashCode(this));
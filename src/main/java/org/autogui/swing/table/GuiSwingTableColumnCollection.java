@@ -23,10 +23,13 @@ import org.autogui.swing.table.ObjectTableModelColumns.DynamicColumnContainer;
 import org.autogui.swing.table.ObjectTableModelColumns.DynamicColumnFactory;
 import org.autogui.swing.table.ObjectTableModelColumns.ObjectTableColumnSize;
 import org.autogui.swing.table.ObjectTableModelColumns.ObjectTableColumnSizeComposite;
+import org.autogui.swing.util.MenuBuilder;
 import org.autogui.swing.util.PopupCategorized;
 import org.autogui.swing.util.SettingsWindow;
 
 import javax.swing.*;
+import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableColumn;
 import java.io.PrintStream;
 import java.io.Serial;
@@ -382,10 +385,9 @@ public class GuiSwingTableColumnCollection implements GuiSwingTableColumnDynamic
          */
         public Object getValue(Map<SpecifierManagerIndex, Integer> indexInjection) {
             try {
-                indexInjection.forEach(SpecifierManagerIndex::setIndex);
                 GuiMappingContext context = getContext();
                 return context.getReprValue().getUpdatedValueWithoutNoUpdate(context,
-                        getSpecifierManager().getSpecifier()); //the created specifier is an immutable path, and can be passed to the task executed in another thread
+                        SpecifierManagerIndex.withIndices(indexInjection, getSpecifierManager()::getSpecifier)); //the created specifier is an immutable path, and can be passed to the task executed in another thread
             } catch (Throwable ex) {
                 throw new RuntimeException(ex);
             }
@@ -881,6 +883,22 @@ public class GuiSwingTableColumnCollection implements GuiSwingTableColumnDynamic
 
             if (diff < 0) {
                 targetContainer.removeColumnsFromEnd(-diff);
+            } else if (diff > 0 && size() >= targetContainer.getColumns().getVirtualColumnThreshold()) {
+                ObjectTableColumnWithContext prototype = getVirtualPrototype(targetContainer);
+                boolean primary = (prototype == null);
+                for (int n = 0; n < diff; ++n) {
+                    if (prototype == null) {
+                        ObjectTableColumn c = column.createColumn(factoryBase.getContext(), null, parentSpecifier);
+                        if (!(c instanceof ObjectTableColumnWithContext cc)) {
+                            createSingle(targetContainer, existing + n);
+                            continue;
+                        }
+                        factoryBase.setSpecifierManager(cc.getSpecifierManager());
+                        prototype = cc;
+                    }
+                    targetContainer.add(createSingleColumnVirtual(existing + n, prototype, primary));
+                    primary = false;
+                }
             } else if (diff > 0) {
                 for (int n = 0; n < diff; ++n) {
                     createSingle(targetContainer, existing + n);
@@ -888,6 +906,38 @@ public class GuiSwingTableColumnCollection implements GuiSwingTableColumnDynamic
             }
         }
 
+        /**
+         * @param targetContainer the adding target
+         * @return the prototype shared by existing virtual columns in the container, or null
+         * @since 1.8
+         */
+        public ObjectTableColumnWithContext getVirtualPrototype(DynamicColumnContainer targetContainer) {
+            for (ObjectTableColumn c : targetContainer.getColumnsInSize()) {
+                if (c instanceof ObjectTableColumnCollectionVirtual v) {
+                    return v.getPrototype();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @param indexInSize the index for the column
+         * @param prototype the column shared by virtual columns of the container
+         * @param primary true if the created column owns the prototype
+         * @return a {@link ObjectTableColumnCollectionVirtual} for the index
+         * @since 1.8
+         */
+        public ObjectTableColumn createSingleColumnVirtual(int indexInSize, ObjectTableColumnWithContext prototype, boolean primary) {
+            SpecifierManagerIndex rootRowSpec = getIndexSpecifiers().getFirst();
+            Map<SpecifierManagerIndex,Integer> indexInjections = toIndexInjection(indexInSize);
+            return new ObjectTableColumnCollectionVirtual(getHeaderName(indexInjections),
+                    prototype,
+                    indexInjections,
+                    rootRowSpec,
+                    toIndices(indexInjections),
+                    primary);
+        }
+
         /**
          * create a column from the static column factory and wraps
          *   the returned {@link ObjectTableColumnWithContext} with {@link ObjectTableColumnCollectionWrapper}
@@ -1041,7 +1091,7 @@ public class GuiSwingTableColumnCollection implements GuiSwingTableColumnDynamic
             this.indexInjection = indexInjection;
             this.indices = indices;
             this.rowSpecifier = rowSpecifier;
-            if (this.column != null) {
+            if (this.column != null && headerName != null) {
                 this.column.withHeaderValue(headerName);//this.column.getTableColumn().getHeaderValue() +
                         //Arrays.toString(Arrays.copyOfRange(indices, 1, indices.length)));
             }
@@ -1095,14 +1145,13 @@ public class GuiSwingTableColumnCollection implements GuiSwingTableColumnDynamic
          *
          * @param rowIndex the row index
          * @param columnIndex the column index. ignored
-         * @return  a created specifier with setting the row index and indexInjection.
+         * @return  a created specifier with scoping the row index and indexInjection to the current thread.
          *    the row index can be variable, and the column index (sub-indices except for the row index) is fixed as a dynamically created column.
          */
         @Override
         public GuiReprValue.ObjectSpecifier getSpecifier(int rowIndex, int columnIndex) {
-            rowSpecifier.setIndex(rowIndex);
-            indexInjection.forEach(SpecifierManagerIndex::setIndex);
-            return column.getSpecifier(rowIndex, columnIndex);
+            return rowSpecifier.withIndex(rowIndex, () ->
+                    SpecifierManagerIndex.withIndices(indexInjection, () -> column.getSpecifier(rowIndex, columnIndex)));
         }
 
         @Override
@@ -1227,6 +1276,123 @@ public class GuiSwingTableColumnCollection implements GuiSwingTableColumnDynamic
         }
     }
 
+    /**
+     * a light-weight version of {@link ObjectTableColumnCollectionWrapper} for a nested list with many elements
+     *   (the size is at least {@link ObjectTableModelColumns#getVirtualColumnThreshold()} of the table).
+     *  Virtual columns of a list share a single prototype column:
+     *    the prototype provides the renderer, the editor and the context for obtaining cell values with the index-injection of each column.
+     *  Each virtual column only has a {@link VirtualTableColumn} holding the header and the width,
+     *   and thus columns out of the visible range do not create any cell component.
+     * @since 1.8
+     */
+    public static class ObjectTableColumnCollectionVirtual extends ObjectTableColumnCollectionWrapper {
+        protected VirtualTableColumn virtualTableColumn;
+        /** the primary column shuts down and receives view updates of the prototype */
+        protected boolean primary;
+
+        public ObjectTableColumnCollectionVirtual(String headerName, ObjectTableColumnWithContext prototype,
+                                                  Map<SpecifierManagerIndex, Integer> indexInjection,
+                                                  SpecifierManagerIndex rowSpecifier,
+                                                  int[] indices, boolean primary) {
+            super(null, prototype, indexInjection, rowSpecifier, indices);
+            this.primary = primary;
+            virtualTableColumn = new VirtualTableColumn(column.getTableColumn());
+            virtualTableColumn.setHeaderValue(headerName);
+        }
+
+        public ObjectTableColumnWithContext getPrototype() {
+            return (ObjectTableColumnWithContext) column;
+        }
+
+        public boolean isPrimary() {
+            return primary;
+        }
+
+        @Override
+        public boolean isVirtual() {
+            return true;
+        }
+
+        @Override
+        public TableColumn getTableColumn() {
+            return virtualTableColumn;
+        }
+
+        @Override
+        public void setTableColumn(TableColumn tableColumn) {
+            if (tableColumn instanceof VirtualTableColumn v) {
+                virtualTableColumn = v;
+            }
+        }
+
+        @Override
+        public void setColumnViewUpdater(Consumer<ObjectTableColumn> updater) {
+            if (primary) {
+                super.setColumnViewUpdater(updater);
+            }
+        }
+
+        @Override
+        public void viewUpdateAsDynamic(ObjectTableColumn source) {
+            if (primary) {
+                super.viewUpdateAsDynamic(source);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            if (primary) {
+                super.shutdown();
+            }
+        }
+
+        @Override
+        public List<PopupCategorized.CategorizedMenuItem> getHeaderMenuItemsInfo() {
+            return List.of(MenuBuilder.get().createLabel("Column: " + virtualTableColumn.getHeaderValue()));
+        }
+    }
+
+    /**
+     * a table-column without own renderers and editor:
+     *   those are obtained from the table-column of the prototype if not set
+     * @since 1.8
+     */
+    public static class VirtualTableColumn extends TableColumn {
+        @Serial private static final long serialVersionUID = 1L;
+        protected TableColumn prototype;
+
+        @SuppressWarnings("this-escape")
+        public VirtualTableColumn(TableColumn prototype) {
+            super(0, prototype.getPreferredWidth());
+            this.prototype = prototype;
+            setMinWidth(prototype.getMinWidth());
+            setMaxWidth(prototype.getMaxWidth());
+            setResizable(prototype.getResizable());
+        }
+
+        public TableColumn getPrototype() {
+            return prototype;
+        }
+
+        @Override
+        public TableCellRenderer getCellRenderer() {
+            TableCellRenderer r = super.getCellRenderer();
+            return r != null ? r : prototype.getCellRenderer();
+        }
+
+        @Override
+        public TableCellEditor getCellEditor() {
+            TableCellEditor e = super.getCellEditor();
+            return e != null ? e : prototype.getCellEditor();
+        }
+
+        @Override
+        public TableCellRenderer getHeaderRenderer() {
+            TableCellRenderer r = super.getHeaderRenderer();
+            return r != null ? r : prototype.getHeaderRenderer();
+        }
+    }
+
     /** the base class for dynamic table-selection-sources */
     public static class TableSelectionSourceDynamicBase {
         protected TableColumnHost model;
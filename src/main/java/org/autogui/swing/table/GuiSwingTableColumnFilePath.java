@@ -64,10 +64,19 @@ public class GuiSwingTableColumnFilePath implements GuiSwingTableColumn {
             }
         }
 
+        /**
+         * @param o a cell value, a File or a Path
+         * @return the converted path, nullable
+         * @since 1.8
+         */
+        public Path toPath(Object o) {
+            return filePathField.toUpdateValue(context, o);
+        }
+
         @Override
         public int compare(Object o1, Object o2) {
-            Path p1 = filePathField.toUpdateValue(context, o1);
-            Path p2 = filePathField.toUpdateValue(context, o2);
+            Path p1 = toPath(o1);
+            Path p2 = toPath(o2);
             if (p1 == null) {
                 return p2 == null ? 0 : -1;
             } else if (p2 == null) {
@@ -8,6 +8,7 @@ import org.autogui.swing.GuiSwingViewImagePane;
 import org.autogui.swing.GuiSwingViewImagePane.PropertyImagePane;
 import org.autogui.swing.mapping.GuiReprValueImagePane;
 import org.autogui.swing.table.ObjectTableColumnValue.ObjectTableCellRenderer;
+import org.autogui.swing.util.ImageThumbnailCache;
 import org.autogui.swing.util.MenuBuilder;
 import org.autogui.swing.util.PopupCategorized;
 import org.autogui.swing.util.PopupCategorized.CategorizedMenuItem;
@@ -17,7 +18,9 @@ import org.autogui.swing.util.UIManagerUtil;
 import javax.swing.*;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.Serial;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.*;
 
@@ -42,7 +45,74 @@ public class GuiSwingTableColumnImage implements GuiSwingTableColumn {
                 .withBorderType(ObjectTableColumnValue.CellBorderType.Regular)
                 .withEditorForColumnAlwaysApplying(true)
                 .withRowHeight(img.getPreferredSize().height)
-                .withComparator(Comparator.comparing(Objects::hash));
+                .withComparator(new ImageSortKeys(context)::compare);
+    }
+
+    /**
+     * precomputed keys of images for sorting rows: the registered file path, the width and the height.
+     *  images without any keys are compared by their identity hash-codes
+     * @since 1.8
+     */
+    public static class ImageSortKeys {
+        protected GuiMappingContext context;
+        protected Map<Image, ImageSortKey> keys = new WeakHashMap<>();
+
+        public ImageSortKeys(GuiMappingContext context) {
+            this.context = context;
+        }
+
+        public int compare(Object o1, Object o2) {
+            return getKey(o1).compareTo(getKey(o2));
+        }
+
+        public synchronized ImageSortKey getKey(Object value) {
+            if (value instanceof Image image) {
+                return keys.computeIfAbsent(image, this::createKey);
+            } else {
+                return new ImageSortKey("", 0, 0, value == null ? 0 : System.identityHashCode(value));
+            }
+        }
+
+        protected ImageSortKey createKey(Image image) {
+            Path path = (context.getRepresentation() instanceof GuiReprValueImagePane img) ? img.getImagePath(image) : null;
+            int w = 0;
+            int h = 0;
+            if (image instanceof BufferedImage b) { //other images might need waiting for loading
+                w = b.getWidth();
+                h = b.getHeight();
+            }
+            return new ImageSortKey(path == null ? "" : path.toString(), w, h, System.identityHashCode(image));
+        }
+    }
+
+    /**
+     * a sort key of an image
+     * @since 1.8
+     */
+    public static class ImageSortKey implements Comparable<ImageSortKey> {
+        protected String path;
+        protected int width;
+        protected int height;
+        protected int hash;
+
+        public ImageSortKey(String path, int width, int height, int hash) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.hash = hash;
+        }
+
+        @Override
+        public int compareTo(ImageSortKey o) {
+            int c = path.compareTo(o.path);
+            if (c == 0) {
+                c = Long.compare((long) width * height, (long) o.width * o.height);
+            }
+            if (c == 0) {
+                c = Integer.compare(hash, o.hash);
+            }
+            return c;
+        }
     }
 
     /**
@@ -73,6 +143,9 @@ public class GuiSwingTableColumnImage implements GuiSwingTableColumn {
             TextCellRenderer.setCellDefaultProperties(this);
             setPreferredSizeFromImageSize(); //fixed size
             setCurrentValueSupported(false);
+            if (!editor) {
+                initThumbnail();
+            }
             if (editor) {
                 ObjectTableColumnValue.KeyHandlerFinishEditing.installFinishEditingKeyHandler(this, finishRunners);
             }
@@ -88,6 +161,52 @@ public class GuiSwingTableColumnImage implements GuiSwingTableColumn {
             repaint();
         }
 
+        /**
+         * the renderer draws thumbnails of {@link ImageThumbnailCache#getSharedThumbnails()} with a placeholder
+         * @since 1.8
+         */
+        public void initThumbnail() {
+            setScaledImageCache(ImageThumbnailCache.getSharedThumbnails());
+            setScaledImagePlaceholder(true);
+        }
+
+        /**
+         * @param size the scaled size of the image
+         * @return true also for an image which is not decoded but has a file path, loaded by the thumbnail cache
+         * @since 1.8
+         */
+        @Override
+        public boolean isScaledImageApplicable(Dimension size) {
+            return super.isScaledImageApplicable(size) ||
+                    (scaledImageCache instanceof ImageThumbnailCache && image != null && getImagePath(image) != null &&
+                            !size.equals(imageSize) && scaledImageCache.isCacheable(size.width, size.height));
+        }
+
+        /**
+         * @param size the scaled size of the image
+         * @return a thumbnail requested with the path of the image of the current cell.
+         *    the renderer is shared by cells, and thus requests are not superseded by the renderer
+         * @since 1.8
+         */
+        @Override
+        public BufferedImage getScaledImage(Dimension size) {
+            if (scaledImageCache instanceof ImageThumbnailCache thumbnails && isScaledImageApplicable(size)) {
+                return thumbnails.request(null, image, getImagePath(image), size.width, size.height, getScaledImageCallback());
+            } else {
+                return super.getScaledImage(size);
+            }
+        }
+
+        /**
+         * @return repainting the table of the renderer
+         * @since 1.8
+         */
+        @Override
+        protected Runnable getScaledImageCallback() {
+            Component table = SwingUtilities.getAncestorOfClass(JTable.class, this);
+            return table != null ? table::repaint : super.getScaledImageCallback();
+        }
+
         @Override
         public void addSwingEditFinishHandler(Runnable eventHandler) {
             finishRunners.add(eventHandler);
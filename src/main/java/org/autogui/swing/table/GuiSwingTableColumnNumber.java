@@ -46,7 +46,26 @@ public class GuiSwingTableColumnNumber implements GuiSwingTableColumn {
                 .withBorderType(ObjectTableColumnValue.CellBorderType.Spinner)
                 .withRowHeight(editorSpinner.getPreferredSize().height)
                 .withComparator(new NumberComparator())
-                .withValueType(Number.class);
+                .withValueType(Number.class)
+                .withCellStorageType(getCellStorageType(context));
+    }
+
+    /**
+     * @param context the context of the column
+     * @return the boxed number class of {@link GuiReprValueNumberSpinner} for the context, or null
+     * @since 1.8
+     */
+    public static Class<?> getCellStorageType(GuiMappingContext context) {
+        if (context.getRepresentation() instanceof GuiReprValueNumberSpinner spinner) {
+            try {
+                GuiReprValueNumberSpinner.NumberType type = spinner.getType(context);
+                return type == null ? null : type.getNumberClass();
+            } catch (Exception ex) { //unsupported type
+                return null;
+            }
+        } else {
+            return null;
+        }
     }
 
     /**
@@ -725,7 +725,7 @@ public class GuiSwingTableColumnString implements GuiSwingTableColumn {
 
         @Override
         public void update(GuiMappingContext cause, Object newValue, GuiTaskClock contextClock) {
-            SwingDeferredRunner.invokeLater(() -> setSwingViewValue(newValue, contextClock));
+            SwingDeferredRunner.invokeLaterCoalesced(List.of(this, "update"), () -> setSwingViewValue(newValue, contextClock));
         }
 
         @Override
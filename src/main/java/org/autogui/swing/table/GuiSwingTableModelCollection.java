@@ -72,7 +72,7 @@ public class GuiSwingTableModelCollection extends ObjectTableModel {
     public Object getRowAtIndex(int row) {
         Object collection = getCollectionFromSource();
         try {
-            ObjectSpecifier specifier = rowSpecifierManager.getSpecifierWithSettingIndex(row);
+            ObjectSpecifier specifier = rowSpecifierManager.getSpecifierForIndex(row); //called from the task-runner by row chunks
             return elementContext.getReprValue()
                     .getValueWithoutNoUpdate(elementContext, GuiSourceValue.of(collection), specifier);
         } catch (Throwable ex) {
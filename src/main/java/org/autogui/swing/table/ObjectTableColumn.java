@@ -33,6 +33,8 @@ public class ObjectTableColumn {
     protected int rowHeight;
     protected Comparator<?> comparator;
     protected Class<?> valueType = String.class;
+    /** @since 1.8 */
+    protected Class<?> cellStorageType;
 
     public ObjectTableColumn() {}
 
@@ -70,6 +72,22 @@ public class ObjectTableColumn {
         this.valueType = valueType;
     }
 
+    /**
+     * @return a boxed number type like Integer.class if cells of the column can be cached as primitive values, or null
+     * @since 1.8
+     */
+    public Class<?> getCellStorageType() {
+        return cellStorageType;
+    }
+
+    /**
+     * @param cellStorageType a boxed number type of cell values or null
+     * @since 1.8
+     */
+    public void setCellStorageType(Class<?> cellStorageType) {
+        this.cellStorageType = cellStorageType;
+    }
+
     public void setColumnViewUpdater(Consumer<ObjectTableColumn> updater) { }
 
     public void viewUpdateAsDynamic(ObjectTableColumn source) { }
@@ -105,6 +123,15 @@ public class ObjectTableColumn {
         return null;
     }
 
+    /**
+     * @param cellValue a value obtained by {@link #getCellValue(Object, int, int, ObjectSpecifier)}, nullable
+     * @return a text of the value for searching rows
+     * @since 1.8
+     */
+    public String getCellText(Object cellValue) {
+        return cellValue == null ? "" : cellValue.toString();
+    }
+
     public Object getCellValueFromContext(int rowIndex, int columnIndex, ObjectSpecifier specifier) {
         return null;
     }
@@ -145,6 +172,25 @@ public class ObjectTableColumn {
         return true;
     }
 
+    /**
+     * @return true if the column shares its renderer and editor with other columns added at once,
+     *   like columns of a list with many elements. the model coalesces update events for adding virtual columns
+     * @since 1.8
+     */
+    public boolean isVirtual() {
+        return false;
+    }
+
+    /**
+     * @return true if the cell value only depends on the row object,
+     *   and thus can be cached by {@link ObjectTableModelIdentityCellCache} surviving reordering of rows.
+     *   the row-index column returns false
+     * @since 1.8
+     */
+    public boolean isIdentityCacheable() {
+        return true;
+    }
+
 
     //////////////// setter for table column
 
@@ -153,6 +199,16 @@ public class ObjectTableColumn {
         return this;
     }
 
+    /**
+     * @param cellStorageType a boxed number type of cell values or null
+     * @return this
+     * @since 1.8
+     */
+    public ObjectTableColumn withCellStorageType(Class<?> cellStorageType) {
+        setCellStorageType(cellStorageType);
+        return this;
+    }
+
     public ObjectTableColumn withTableColumn(TableColumn column) {
         setTableColumn(column);
         return this;
@@ -358,6 +414,14 @@ public class ObjectTableColumn {
             return rowIndex;
         }
 
+        /**
+         * @return false: the value is the index of the row, not a property of the row object
+         */
+        @Override
+        public boolean isIdentityCacheable() {
+            return false;
+        }
+
         @Override
         public int[] columnIndexToValueIndex(int columnIndex) {
             return null;
@@ -237,14 +237,13 @@ public class ObjectTableColumnValue extends ObjectTableColumn
 
     @Override
     public ObjectSpecifier getSpecifier(int rowIndex, int columnIndex) {
-        if (specifierIndex != null) {
-            specifierIndex.setIndex(rowIndex);
-        }
         SpecifierManager m = getSpecifierManager();
-        if (m != null) {
-            return m.getSpecifier();
-        } else {
+        if (m == null) {
             return null;
+        } else if (specifierIndex != null) {
+            return specifierIndex.withIndex(rowIndex, m::getSpecifier); //thread-safe: not modifying the shared index
+        } else {
+            return m.getSpecifier();
         }
     }
 
@@ -299,6 +298,23 @@ public class ObjectTableColumnValue extends ObjectTableColumn
         return null;
     }
 
+    /**
+     * @param cellValue a value obtained by {@link #getCellValue(Object, int, int, ObjectSpecifier)}, nullable
+     * @return the human-readable string of the value by the representation of the context
+     * @since 1.8
+     */
+    @Override
+    public String getCellText(Object cellValue) {
+        if (cellValue == null) {
+            return "";
+        }
+        try {
+            return context.getRepresentation().toHumanReadableStringTree(context, cellValue).toString();
+        } catch (Exception ex) {
+            return cellValue.toString();
+        }
+    }
+
     @Override
     public Object getCellValueFromContext(int rowIndex, int columnIndex, ObjectSpecifier specifier) {
         GuiReprValue field = context.getReprValue();
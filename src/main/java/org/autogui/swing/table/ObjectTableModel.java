@@ -1,5 +1,8 @@
 package org.autogui.swing.table;
 
+import org.autogui.GuiPagedSource;
+import org.autogui.base.mapping.GuiMappingContext;
+import org.autogui.base.mapping.GuiReprCollectionTable;
 import org.autogui.base.mapping.GuiReprCollectionTable.TableTargetCell;
 import org.autogui.base.mapping.GuiReprValue;
 import org.autogui.swing.GuiSwingTaskRunner;
@@ -10,6 +13,7 @@ import org.autogui.swing.util.PopupCategorized;
 import org.autogui.swing.util.PopupExtension.PopupMenuBuilder;
 import org.autogui.swing.util.PopupExtension.PopupMenuFilter;
 import org.autogui.swing.util.SwingDeferredRunner;
+import org.autogui.swing.util.SwingUpdateCoalescer;
 import org.autogui.swing.util.UIManagerUtil;
 
 import javax.swing.*;
@@ -22,12 +26,16 @@ import java.util.List;
 import java.util.*;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
- * a table-model based on a list of row objects
+ * a table-model based on a list of row objects.
+ *  <p>
+ *  Since 1.8, cached cells are held by an {@link ObjectTableModelCellCache} ({@link #getCellCache()})
+ *   instead of the former protected field {@code Object[][] data}; {@link #getData()} remains as a deprecated accessor.
  */
 public class ObjectTableModel extends AbstractTableModel
         implements ObjectTableModelColumns.ObjectTableModelColumnsListener {
@@ -36,8 +44,42 @@ public class ObjectTableModel extends AbstractTableModel
     protected Supplier<Object> source;
 
     protected ObjectTableModelColumns columns;
-    /** cached computed values */
-    protected Object[][] data;
+    /** cached computed values. @since 1.8 */
+    protected ObjectTableModelCellCache cells;
+    /** @since 1.8 */
+    protected ObjectTableModelCellCache.CellCacheFactory cellCacheFactory = ObjectTableModelCellCache::createDefault;
+    /** @since 1.8 */
+    protected boolean cellColumnarEnabled = true;
+    /** incremented when cached cells are discarded. @since 1.8 */
+    protected int cellsGeneration;
+    /** cached cells keyed by row objects, surviving reordering of rows. nullable. @since 1.8 */
+    protected ObjectTableModelIdentityCellCache identityCells;
+    /** @since 1.8 */
+    protected ObjectTableModelPrefetcher prefetcher;
+
+    /** if true, {@link #refreshData()} compares snapshots of rows and notifies changed ranges. @since 1.8 */
+    protected boolean rowDiffEnabled = true;
+    /** if true, rows are matched by equals, otherwise by identity. @since 1.8 */
+    protected boolean rowDiffEquality;
+    /** if true, matched rows carry over their cached cells, only for immutable row objects.
+     * false (default) for re-fetching rows modified in place. @since 1.8 */
+    protected boolean rowDiffRetainingCells;
+    /** the maximum number of rows for taking a snapshot. @since 1.8 */
+    protected int rowDiffSnapshotLimit = 1_000_000;
+    /** the maximum number of changed rows for matching by hashing. @since 1.8 */
+    protected int rowDiffMiddleLimit = 10_000;
+    /** the snapshot of rows at the last {@link #refreshData()}, nullable, guarded by {@link #rowsSnapshotLock}. @since 1.8 */
+    protected List<Object> rowsSnapshot;
+    /** incremented by each snapshot, guarded by {@link #rowsSnapshotLock}. @since 1.8 */
+    protected int rowsSnapshotGeneration;
+    /** @since 1.8 */
+    protected final Object rowsSnapshotLock = new Object();
+    /** the generation of the last applied diff, or -1 if cells do not follow the snapshot. accessed from the event thread. @since 1.8 */
+    protected int rowsSnapshotAppliedGeneration = -1;
+    /** the row count during firing an intermediate event, or -1. @since 1.8 */
+    protected int eventRowCount = -1;
+    /** the row count of the pending event of {@link #fireTableRowsUpdatedAll()}, or 0. @since 1.8 */
+    protected final AtomicInteger rowsUpdatedAllPending = new AtomicInteger();
 
     protected Consumer<Runnable> futureWaiter = Runnable::run;
     protected GuiSwingTaskRunner runner;
@@ -74,6 +116,221 @@ public class ObjectTableModel extends AbstractTableModel
         return table;
     }
 
+    /**
+     * sets the factory of the cell cache, used at the next size change of the table
+     * @param cellCacheFactory the factory, e.g. {@link ObjectTableModelCellCache#createDefault(int, int)}
+     * @since 1.8
+     */
+    public void setCellCacheFactory(ObjectTableModelCellCache.CellCacheFactory cellCacheFactory) {
+        this.cellCacheFactory = cellCacheFactory;
+        this.cells = null;
+        ++cellsGeneration;
+    }
+
+    public ObjectTableModelCellCache.CellCacheFactory getCellCacheFactory() {
+        return cellCacheFactory;
+    }
+
+    /**
+     * @param cellColumnarEnabled if true, cells of columns with {@link ObjectTableColumn#getCellStorageType()}
+     *                             are cached as primitive values by {@link ObjectTableModelCellCache.CellCacheColumnar}.
+     *                             used at the next size change of the table
+     * @since 1.8
+     */
+    public void setCellColumnarEnabled(boolean cellColumnarEnabled) {
+        this.cellColumnarEnabled = cellColumnarEnabled;
+    }
+
+    public boolean isCellColumnarEnabled() {
+        return cellColumnarEnabled;
+    }
+
+    /**
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return a new cache by the factory, wrapped by a columnar cache for numeric columns
+     * @since 1.8
+     */
+    public ObjectTableModelCellCache createCellCache(int rows, int cols) {
+        ObjectTableModelCellCache rowCache = cellCacheFactory.create(rows, cols);
+        if (cellColumnarEnabled) {
+            Class<?>[] types = new Class<?>[Math.min(cols, getColumnCount())];
+            for (int c = 0; c < types.length; ++c) {
+                types[c] = getColumnAt(c).getCellStorageType();
+            }
+            return ObjectTableModelCellCache.CellCacheColumnar.wrap(rowCache, types);
+        } else {
+            return rowCache;
+        }
+    }
+
+    /**
+     * sets a factory of {@link ObjectTableModelCellCache.CellCacheLru}
+     *   whose capacity is a multiple of the visible rows of the table
+     * @param visibleRowsFactor the multiplier of the number of visible rows
+     * @since 1.8
+     */
+    public void setCellCacheLru(int visibleRowsFactor) {
+        setCellCacheFactory((rows, cols) -> new ObjectTableModelCellCache.CellCacheLru(rows, cols,
+                () -> getVisibleRowCount() * visibleRowsFactor));
+    }
+
+    /**
+     * @return the cell cache, nullable
+     * @since 1.8
+     */
+    public ObjectTableModelCellCache getCellCache() {
+        return cells;
+    }
+
+    /**
+     * the former field {@code data} is replaced by {@link #getCellCache()}.
+     * @return the row arrays of cached cells: the backing arrays of a {@link ObjectTableModelCellCache.CellCacheDense},
+     *   otherwise copies of rows, including boxed cells of primitive columns. null if no cache
+     * @deprecated since 1.8, the cells are held by {@link #getCellCache()} which might not allocate all rows
+     */
+    @Deprecated
+    protected Object[][] getData() {
+        ObjectTableModelCellCache c = cells;
+        if (c == null) {
+            return null;
+        } else if (c instanceof ObjectTableModelCellCache.CellCacheDense dense) {
+            return dense.getData();
+        }
+        Object[][] data = new Object[c.getRowCount()][c.getColumnCount()];
+        for (int r = 0; r < data.length; ++r) {
+            for (int col = 0; col < data[r].length; ++col) {
+                data[r][col] = c.getCellIfPresent(r, col);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * @return a counter incremented when cached cells are discarded; used for detecting stale asynchronous results
+     * @since 1.8
+     */
+    public int getCellsGeneration() {
+        return cellsGeneration;
+    }
+
+    /**
+     * @return the task runner of the model
+     * @since 1.8
+     */
+    public GuiSwingTaskRunner getTaskRunner() {
+        return runner;
+    }
+
+    /**
+     * creates and installs a prefetcher of cells for the viewport of the scroll-pane
+     * @param scrollPane the scroll-pane of the table
+     * @return the installed prefetcher
+     * @since 1.8
+     */
+    public ObjectTableModelPrefetcher initTablePrefetcher(JScrollPane scrollPane) {
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+        prefetcher = new ObjectTableModelPrefetcher(this);
+        prefetcher.install(scrollPane);
+        return prefetcher;
+    }
+
+    /**
+     * @return the installed prefetcher or null
+     * @since 1.8
+     */
+    public ObjectTableModelPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    /**
+     * sets the cache of cells keyed by identities of row objects:
+     *  after reordering rows, cells of the same row objects are taken from the cache instead of getters.
+     *  valid for rows not modified in place, like {@link #setRowDiffRetainingCells(boolean)}
+     * @param identityCells the cache, or null for disabling
+     * @since 1.8
+     */
+    public void setIdentityCellCache(ObjectTableModelIdentityCellCache identityCells) {
+        this.identityCells = identityCells;
+    }
+
+    /**
+     * @return the cache of cells keyed by identities of row objects, nullable
+     * @since 1.8
+     */
+    public ObjectTableModelIdentityCellCache getIdentityCellCache() {
+        return identityCells;
+    }
+
+    /**
+     * @param rowDiffEnabled if true, {@link #refreshData()} notifies only changed rows by comparing snapshots of rows
+     * @since 1.8
+     */
+    public void setRowDiffEnabled(boolean rowDiffEnabled) {
+        this.rowDiffEnabled = rowDiffEnabled;
+        if (!rowDiffEnabled) {
+            synchronized (rowsSnapshotLock) {
+                rowsSnapshot = null;
+            }
+            rowsSnapshotAppliedGeneration = -1;
+        }
+    }
+
+    public boolean isRowDiffEnabled() {
+        return rowDiffEnabled;
+    }
+
+    /**
+     * @param rowDiffEquality if true, rows are matched by equals, otherwise by identity
+     * @since 1.8
+     */
+    public void setRowDiffEquality(boolean rowDiffEquality) {
+        this.rowDiffEquality = rowDiffEquality;
+    }
+
+    public boolean isRowDiffEquality() {
+        return rowDiffEquality;
+    }
+
+    /**
+     * @param rowDiffRetainingCells if true, matched rows carry over their cached cells without re-fetching,
+     *                               and only the changed range is notified; the row objects must be immutable.
+     *                               if false (the default), all rows are re-fetched as row objects might be modified in place,
+     *                               while inserted or deleted rows are still notified by finer events
+     * @since 1.8
+     */
+    public void setRowDiffRetainingCells(boolean rowDiffRetainingCells) {
+        this.rowDiffRetainingCells = rowDiffRetainingCells;
+    }
+
+    public boolean isRowDiffRetainingCells() {
+        return rowDiffRetainingCells;
+    }
+
+    /**
+     * @param rowDiffSnapshotLimit the maximum number of rows compared; larger lists are refreshed entirely
+     * @param rowDiffMiddleLimit the maximum number of changed rows matched by hashing
+     * @since 1.8
+     */
+    public void setRowDiffLimits(int rowDiffSnapshotLimit, int rowDiffMiddleLimit) {
+        this.rowDiffSnapshotLimit = rowDiffSnapshotLimit;
+        this.rowDiffMiddleLimit = rowDiffMiddleLimit;
+    }
+
+    /**
+     * @return the number of rows in the visible rectangle of the table, or 100 if no table is shown
+     * @since 1.8
+     */
+    public int getVisibleRowCount() {
+        if (table == null || table.getRowHeight() <= 0 || table.getVisibleRect().height <= 0) {
+            return 100;
+        } else {
+            return table.getVisibleRect().height / table.getRowHeight() + 1;
+        }
+    }
+
     ////////// columns
 
     @Override
@@ -176,7 +433,7 @@ public class ObjectTableModel extends AbstractTableModel
 
     public void initTableRowSorter(JTable table) {
         table.setAutoCreateRowSorter(false);
-        table.setRowSorter(new ObjectTableModelColumns.TableRowSorterDynamic(this));
+        table.setRowSorter(new ObjectTableModelRowSorter(this));
     }
 
     public void initTableRowHeight(JTable table) {
@@ -224,13 +481,16 @@ public class ObjectTableModel extends AbstractTableModel
 
     @Override
     public int getRowCount() {
-        if (data == null) {
+        if (eventRowCount >= 0) {
+            return eventRowCount;
+        }
+        if (cells == null) {
             BuildResult d = buildDataArray(this::fireTableRowsUpdatedAll);
             if (d.equals(BuildResult.Delayed)) {
                 return 0;
             }
         }
-        return data.length;
+        return cells.getRowCount();
     }
 
     public int getRowCountUpdated() {
@@ -242,6 +502,41 @@ public class ObjectTableModel extends AbstractTableModel
         }
     }
 
+    /**
+     * @return true if the source is a {@link GuiPagedSource}, whose rows are fetched by pages:
+     *     operations requiring all rows, like sorting, are disabled
+     * @since 1.8
+     */
+    public boolean isSourcePaged() {
+        return getCollectionFromSource() instanceof GuiPagedSource<?>;
+    }
+
+    /**
+     * executed under the event thread.
+     *  if the source is a paged list and the page of the row is not fetched,
+     *   it requests fetching the page by the task-runner of the context, and updates rows of the page after the fetch.
+     *   without a context, the page is fetched by obtaining the row
+     * @param rowIndex the row index
+     * @return true if the row is waiting for the page
+     * @since 1.8
+     */
+    public boolean isRowLoading(int rowIndex) {
+        GuiMappingContext context = getTaskRunner().getContext();
+        if (context != null && getCollectionFromSource() instanceof GuiReprCollectionTable.PagedWrappingList list &&
+                !list.isLoaded(rowIndex)) {
+            int[] range = list.getPageRange(rowIndex);
+            list.loadLater(rowIndex, context.getTaskRunner()::execute, () -> invokeLater(() -> {
+                int rows = getRowCount();
+                if (range[0] < rows) {
+                    fireTableRowsUpdated(range[0], Math.min(range[1], rows) - 1);
+                }
+            }));
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     public Object getRowAtIndex(int row) {
         Object list = getCollectionFromSource();
         if (list instanceof List<?> l) {
@@ -276,10 +571,15 @@ public class ObjectTableModel extends AbstractTableModel
             int[] s = size.getValue();
             int rows = s[0];
             int cols = s[1];
-            if (data == null ||
-                    data.length != rows ||
-                    data.length > 0 && data[0].length != cols) {
-                data = new Object[rows][cols];
+            if (cells == null ||
+                    cells.getRowCount() != rows ||
+                    cells.getColumnCount() != cols) {
+                if (identityCells != null && cells != null && cells.getColumnCount() != cols) {
+                    identityCells.clear(); //column indices might be shifted
+                }
+                cells = createCellCache(rows, cols);
+                ++cellsGeneration;
+                rowsSnapshotAppliedGeneration = -1;
                 return BuildResult.Updated;
             } else {
                 return BuildResult.NoUpdate;
@@ -292,7 +592,7 @@ public class ObjectTableModel extends AbstractTableModel
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
         try {
-            if (data == null) {
+            if (cells == null) {
                 BuildResult res = buildDataArray(() -> fireTableCellUpdated(rowIndex, columnIndex));
                 if (res.equals(BuildResult.Delayed)) {
                     return null;
@@ -321,10 +621,15 @@ public class ObjectTableModel extends AbstractTableModel
      * @return the cell value, nullable (waiting for obtaining the value)
      */
     public Object getValueAtWithError(int rowIndex, int columnIndex) {
-        Object[] rowData = data[rowIndex];
-        Object cellData = rowData[columnIndex];
+        Object cellData = cells.getCell(rowIndex, columnIndex);
         if (cellData == null) {
-            cellData = takeValueFromSource(rowData, rowIndex, columnIndex);
+            if (prefetcher != null && prefetcher.isPending(rowIndex, columnIndex)) {
+                return null; //the prefetcher will publish the value
+            }
+            if (isRowLoading(rowIndex)) {
+                return null; //an empty placeholder until the page is fetched
+            }
+            cellData = takeValueFromSource(cells.getRowForCell(rowIndex, columnIndex), rowIndex, columnIndex);
         }
         if (cellData.equals(NULL_CELL)) {
             return null;
@@ -351,7 +656,7 @@ public class ObjectTableModel extends AbstractTableModel
                 () -> {
                     try {
                         Object rowObject = getRowAtIndex(rowIndex);
-                        return column.getCellValue(rowObject, rowIndex, columnIndex, specifier);
+                        return getCellValueFromRow(column, rowObject, rowIndex, columnIndex, specifier);
                     } catch (Exception ex) {
                         //TODO error reporting
                         return null;
@@ -359,28 +664,95 @@ public class ObjectTableModel extends AbstractTableModel
                 },
                 r -> {
                     if (r.isTimeout()) {
-                        invokeLater(() -> fireTableCellUpdated(rowIndex, columnIndex));
-                    } else if (!r.isCancel()) {
+                        fireTableCellUpdatedLater(rowIndex, columnIndex, null);
+                    } else if (r.isPresentedWithDelay()) { //an immediate value is stored by the returned result
                         invokeLater(() -> taskValueFromSourceAfter(rowData, rowIndex, columnIndex, r.getValue()));
                     }
                 });
         return taskValueFromSourceAfter(rowData, rowIndex, columnIndex, cellObject.getValue());
     }
 
+    /**
+     * executed by the task-runner.
+     *  obtains the cell value from {@link #getIdentityCellCache()} if the row object is cached
+     *    and the column is {@link ObjectTableColumn#isIdentityCacheable()},
+     *   otherwise by {@link ObjectTableColumn#getCellValue(Object, int, int, GuiReprValue.ObjectSpecifier)}
+     *   and caches the value unless it is a {@link Future}
+     * @param column the column
+     * @param rowObject the row object
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @param specifier the specifier of the cell
+     * @return the cell value, nullable
+     * @since 1.8
+     */
+    public Object getCellValueFromRow(ObjectTableColumn column, Object rowObject, int rowIndex, int columnIndex, GuiReprValue.ObjectSpecifier specifier) {
+        ObjectTableModelIdentityCellCache ic = identityCells;
+        if (ic == null || rowObject == null || !column.isIdentityCacheable()) {
+            return column.getCellValue(rowObject, rowIndex, columnIndex, specifier);
+        }
+        Object cell = ic.get(rowObject, columnIndex);
+        if (cell != null) {
+            return cell == NULL_CELL ? null : cell;
+        }
+        Object value = column.getCellValue(rowObject, rowIndex, columnIndex, specifier);
+        if (!(value instanceof Future<?>)) {
+            ic.put(rowObject, columnIndex, value == null ? NULL_CELL : value);
+        }
+        return value;
+    }
+
     public Object taskValueFromSourceAfter(Object[] rowData, int rowIndex, int columnIndex, Object cellObject) {
         if (cellObject instanceof Future<?>) {
-            rowData[columnIndex] = NULL_CELL;
+            storeCell(rowData, rowIndex, columnIndex, NULL_CELL);
             futureWaiter.accept(() -> takeValueFromSourceFuture(rowData, rowIndex, columnIndex, (Future<?>) cellObject));
-            return rowData[columnIndex];
+            return getStoredCell(rowData, rowIndex, columnIndex);
         } else if (cellObject == null) {
-            rowData[columnIndex] = NULL_CELL;
+            storeCell(rowData, rowIndex, columnIndex, NULL_CELL);
             return NULL_CELL;
         } else {
-            rowData[columnIndex] = cellObject;
+            storeCell(rowData, rowIndex, columnIndex, cellObject);
             return cellObject;
         }
     }
 
+    /**
+     * stores the cell to the cache by {@link ObjectTableModelCellCache#setCell(int, int, Object)},
+     *  only if the row array is still held by the current cache ({@link ObjectTableModelCellCache#isCurrentRow(Object[], int)}).
+     *  otherwise, the row array is a stale one.
+     * @param rowData the row array obtained by {@link ObjectTableModelCellCache#getRowForCell(int, int)} when the value was requested
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @param cellObject the stored value
+     * @since 1.8
+     */
+    public void storeCell(Object[] rowData, int rowIndex, int columnIndex, Object cellObject) {
+        ObjectTableModelCellCache c = cells;
+        if (c != null && c.isCurrentRow(rowData, rowIndex)) {
+            c.setCell(rowIndex, columnIndex, cellObject);
+        } else {
+            rowData[columnIndex] = cellObject;
+        }
+    }
+
+    /**
+     * @param rowData the row array obtained when the value was requested
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @return the cell stored by {@link #storeCell(Object[], int, int, Object)}, or {@link #NULL_CELL} if cleared
+     * @since 1.8
+     */
+    public Object getStoredCell(Object[] rowData, int rowIndex, int columnIndex) {
+        ObjectTableModelCellCache c = cells;
+        Object cell;
+        if (c != null && c.isCurrentRow(rowData, rowIndex)) {
+            cell = c.getCellIfPresent(rowIndex, columnIndex);
+        } else {
+            cell = rowData[columnIndex];
+        }
+        return cell == null ? NULL_CELL : cell;
+    }
+
     /**
      * wait the completion of a task up to 1 sec. ,
      *   store the result to the array, and notify the update (as a later event process).
@@ -393,12 +765,14 @@ public class ObjectTableModel extends AbstractTableModel
     public void takeValueFromSourceFuture(Object[] rowData, int rowIndex, int columnIndex, Future<?> future) {
         try {
             Object cellObject = future.get(1, TimeUnit.SECONDS);
-            if (cellObject == null) {
-                cellObject = NULL_CELL;
+            Object cell = (cellObject == null ? NULL_CELL : cellObject);
+            if (SwingUtilities.isEventDispatchThread()) {
+                storeCell(rowData, rowIndex, columnIndex, cell);
+                fireTableCellUpdatedLater(rowIndex, columnIndex, null);
+            } else { //the cache is accessed from the event thread
+                fireTableCellUpdatedLater(rowIndex, columnIndex,
+                        () -> storeCell(rowData, rowIndex, columnIndex, cell));
             }
-            rowData[columnIndex] = cellObject;
-            invokeLater(() ->
-                fireTableCellUpdated(rowIndex, columnIndex));
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -425,8 +799,7 @@ public class ObjectTableModel extends AbstractTableModel
      * @param columnIndex the target column
      */
     public void setValueAtWithError(Object aValue, int rowIndex, int columnIndex) {
-        Object[] rowData = data[rowIndex];
-        rowData[columnIndex] = (aValue == null ? NULL_CELL : aValue);
+        cells.setCell(rowIndex, columnIndex, aValue == null ? NULL_CELL : aValue);
 
         offerValueForSource(aValue, rowIndex, columnIndex);
     }
@@ -466,13 +839,172 @@ public class ObjectTableModel extends AbstractTableModel
 
     ///////////////////////
 
-    /** executed under event thread */
+    /** executed under event thread.
+     *  if {@link #isRowDiffEnabled()}, it compares rows with the previous snapshot by a context task,
+     *   and {@link #refreshDataByDiff(ObjectTableModelRowDiff)} applies the difference.
+     *  Otherwise, it refreshes all rows by {@link #refreshDataAll()}.
+     */
     public void refreshData() {
+        if (rowDiffEnabled && cells != null) {
+            ContextTaskResult<ObjectTableModelRowDiff> diff = executeContextTask(
+                    this::getRowDiffFromSource,
+                    r -> r.executeIfPresentWithDelay(v -> invokeLater(() -> refreshDataByDiff(v))));
+            if (diff != null && diff.isPresented()) {
+                refreshDataByDiff(diff.getValue());
+            }
+        } else {
+            refreshDataAll();
+        }
+    }
+
+    /**
+     * compares rows of {@link #getCollectionFromSource()} with the previous snapshot,
+     *   and updates the snapshot by replacing only the changed range.
+     *  the first snapshot copies the rows.
+     * @return the difference tagged with a new generation,
+     *   or a full diff if no previous snapshot, the source is not a list, a paged source or larger than the snapshot limit
+     * @since 1.8
+     */
+    public ObjectTableModelRowDiff getRowDiffFromSource() {
+        Object list = getCollectionFromSource();
+        synchronized (rowsSnapshotLock) {
+            ObjectTableModelRowDiff diff;
+            if (list instanceof List<?> l && l instanceof RandomAccess &&
+                    !(l instanceof GuiPagedSource<?>) && l.size() <= rowDiffSnapshotLimit) {
+                if (rowsSnapshot == null) {
+                    rowsSnapshot = new ArrayList<>(l);
+                    diff = ObjectTableModelRowDiff.full(l.size());
+                } else {
+                    diff = ObjectTableModelRowDiff.diff(rowsSnapshot, l, rowDiffEquality, rowDiffMiddleLimit);
+                    diff.apply(rowsSnapshot, l);
+                }
+            } else {
+                rowsSnapshot = null;
+                diff = ObjectTableModelRowDiff.full(-1);
+            }
+            diff.setGeneration(++rowsSnapshotGeneration);
+            return diff;
+        }
+    }
+
+    /**
+     * executed under event thread.
+     *  applies the difference to the cell cache and notifies changed rows.
+     *  a diff older than the last applied one is dropped.
+     *  if the diff does not follow the last applied one or cells are rebuilt, it refreshes all rows.
+     * @param diff the difference from the previous snapshot, nullable
+     * @since 1.8
+     */
+    public void refreshDataByDiff(ObjectTableModelRowDiff diff) {
+        if (diff == null) {
+            refreshDataAll();
+            return;
+        }
+        int generation = diff.getGeneration();
+        if (rowsSnapshotAppliedGeneration >= 0 && generation <= rowsSnapshotAppliedGeneration) {
+            return; //out of order
+        }
+        boolean following = rowsSnapshotAppliedGeneration >= 0 && generation == rowsSnapshotAppliedGeneration + 1;
+        if (diff.isFull() || !following || cells == null ||
+                cells.getRowCount() != diff.getOldSize() || cells.getColumnCount() != getColumnCount()) {
+            refreshDataAll();
+            rowsSnapshotAppliedGeneration = diff.isFull() && diff.getNewSize() < 0 ? -1 : generation;
+        } else {
+            rowsSnapshotAppliedGeneration = generation;
+            applyRowDiff(diff);
+        }
+    }
+
+    /**
+     * executed under event thread.
+     *  shifts the cell cache in place by {@link ObjectTableModelCellCache#replaceRows(int, int, int)},
+     *   carrying over cells of rows matched in the middle (if {@link #isRowDiffRetainingCells()}),
+     *   and fires events only for the changed range:
+     *   inserted, deleted, updated, or deleted and then inserted.
+     *   Unless cells are retained, it also clears all cells and fires update events of the other rows for re-fetching.
+     * @param diff the difference of rows
+     * @since 1.8
+     */
+    public void applyRowDiff(ObjectTableModelRowDiff diff) {
+        int cols = cells.getColumnCount();
+        int p = diff.getPrefix();
+        int oldMiddle = diff.getOldMiddleSize();
+        int newMiddle = diff.getNewMiddleSize();
+        Object[][] movedCells = null;
+        if (rowDiffRetainingCells && oldMiddle > 0 && newMiddle > 0) {
+            movedCells = new Object[newMiddle][];
+            for (int i = 0; i < newMiddle; ++i) {
+                int oldIndex = diff.getOldIndex(p + i);
+                if (oldIndex >= 0) {
+                    Object[] rowCells = new Object[cols];
+                    for (int c = 0; c < cols; ++c) {
+                        rowCells[c] = cells.getCellIfPresent(oldIndex, c);
+                    }
+                    movedCells[i] = rowCells;
+                }
+            }
+        }
+        if (!cells.replaceRows(p, oldMiddle, newMiddle)) { //a custom cache: rebuilt with copying matched rows
+            ObjectTableModelCellCache oldCells = cells;
+            ObjectTableModelCellCache newCells = createCellCache(diff.getNewSize(), cols);
+            if (rowDiffRetainingCells) {
+                for (int i = 0, l = diff.getNewSize(); i < l; ++i) {
+                    int oldIndex = diff.getOldIndex(i);
+                    if (oldIndex >= 0 && (i < p || i >= p + newMiddle)) {
+                        newCells.copyRow(oldCells, oldIndex, i);
+                    }
+                }
+            }
+            cells = newCells;
+        }
+        if (movedCells != null) {
+            for (int i = 0; i < newMiddle; ++i) {
+                Object[] rowCells = movedCells[i];
+                for (int c = 0; rowCells != null && c < cols; ++c) {
+                    if (rowCells[c] != null) {
+                        cells.setCell(p + i, c, rowCells[c]);
+                    }
+                }
+            }
+        }
+        if (!rowDiffRetainingCells) {
+            cells.clear();
+        }
+        ++cellsGeneration;
+
+        if (oldMiddle == 0 && newMiddle > 0) {
+            fireTableRowsInserted(p, p + newMiddle - 1);
+        } else if (oldMiddle > 0 && newMiddle == 0) {
+            fireTableRowsDeleted(p, p + oldMiddle - 1);
+        } else if (oldMiddle > 0 && oldMiddle == newMiddle) {
+            fireTableRowsUpdated(p, p + newMiddle - 1);
+        } else if (oldMiddle > 0) {
+            eventRowCount = diff.getOldSize() - oldMiddle;
+            try {
+                fireTableRowsDeleted(p, p + oldMiddle - 1);
+            } finally {
+                eventRowCount = -1;
+            }
+            fireTableRowsInserted(p, p + newMiddle - 1);
+        }
+        if (!rowDiffRetainingCells) {
+            if (p > 0) {
+                fireTableRowsUpdated(0, p - 1);
+            }
+            if (diff.getSuffix() > 0) {
+                fireTableRowsUpdated(p + newMiddle, diff.getNewSize() - 1);
+            }
+        }
+    }
+
+    /** executed under event thread: discards all cached cells
+     * @since 1.8
+     */
+    public void refreshDataAll() {
         BuildResult res = buildDataArray(this::fireTableDataChanged);
         if (res.equals(BuildResult.NoUpdate)) {
-            for (int i = 0, l = data.length; i < l; ++i) {
-                clearRowData(i);
-            }
+            cells.clear();
+            ++cellsGeneration;
             fireTableRowsUpdatedAll();
         } else if (!res.equals(BuildResult.Delayed)) {
             //changed row size
@@ -489,9 +1021,16 @@ public class ObjectTableModel extends AbstractTableModel
     }
 
     public void clearRowData(int rowIndex) {
-        Object[] rowData = data[rowIndex];
         //clear row data for re-taking value from source
-        Arrays.fill(rowData, null);
+        cells.clearRow(rowIndex);
+        ++cellsGeneration;
+        ObjectTableModelIdentityCellCache ic = identityCells;
+        if (ic != null) {
+            executeContextTask(() -> {
+                ic.remove(getRowAtIndex(rowIndex));
+                return null;
+            }, r -> {});
+        }
     }
 
     /** executed under event thread
@@ -527,17 +1066,26 @@ public class ObjectTableModel extends AbstractTableModel
      * @param columnIndices the target columns
      */
     public void refreshColumns(int... columnIndices) {
-        for (Object[] rowData : data) {
-            for (int columnIndex : columnIndices) {
-                rowData[columnIndex] = null;
-            }
+        if (cells != null) {
+            cells.clearColumns(columnIndices);
+            ++cellsGeneration;
+        }
+        if (identityCells != null) {
+            identityCells.clearColumns(columnIndices);
         }
         fireTableRowsUpdatedAll();
     }
 
+    /**
+     * fires an update event for the added column, coalesced by {@link #fireTableRowsUpdatedAll()}.
+     *  a {@link ObjectTableColumn#isVirtual()} column does not build rows by the event
+     * @param column the added column
+     */
     @Override
     public void columnAdded(ObjectTableColumn column) {
-        fireTableRowsUpdatedAll(); //no data change
+        if (!column.isVirtual() || cells != null) {
+            fireTableRowsUpdatedAll(); //no data change
+        }
     }
 
     @Override
@@ -545,16 +1093,120 @@ public class ObjectTableModel extends AbstractTableModel
         fireTableRowsUpdatedAll(); //no data change
     }
 
-    /** update existing rows without changing selection */
+    /** update existing rows without changing selection.
+     *  calls while a previous event is pending are merged into the pending event */
     public void fireTableRowsUpdatedAll() {
         int rows = getRowCount();
         if (rows > 0) {
-            invokeLater(() -> {
-                int rows2 = Math.min(rows, getRowCount());
-                if (rows2 > 0) {
-                    fireTableRowsUpdated(0, rows2 - 1);
-                }
-            });
+            int pending = rowsUpdatedAllPending.getAndAccumulate(rows, Math::max);
+            if (pending == 0) {
+                invokeLater(() -> {
+                    int rows2 = Math.min(rowsUpdatedAllPending.getAndSet(0), getRowCount());
+                    if (rows2 > 0) {
+                        fireTableRowsUpdated(0, rows2 - 1);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * schedules an update event of the cell, merged with other pending cell updates of the model
+     *   by {@link SwingUpdateCoalescer}: updates of multiple cells are notified as a single event of the range of rows
+     * @param rowIndex the row of the cell
+     * @param columnIndex the column of the cell
+     * @param beforeEvent a task executed in the event thread before the event, nullable
+     * @since 1.8
+     */
+    public void fireTableCellUpdatedLater(int rowIndex, int columnIndex, Runnable beforeEvent) {
+        SwingUpdateCoalescer.get().invokeLaterMerged(List.of(this, "cellUpdated"),
+                new CellUpdates(rowIndex, columnIndex, beforeEvent), CellUpdates::merge, this::fireTableCellUpdates);
+    }
+
+    /**
+     * executed in the event thread: runs tasks of the updates and fires a single event for the range
+     * @param updates merged updates
+     * @since 1.8
+     */
+    public void fireTableCellUpdates(CellUpdates updates) {
+        updates.tasks.forEach(Runnable::run);
+        int lastRow = getRowCount() - 1;
+        for (int[] range : updates.getRanges()) {
+            int maxRow = Math.min(range[1], lastRow);
+            if (range[0] > maxRow) {
+                break;
+            }
+            if (range[0] == range[1] && range[2] == range[3]) {
+                fireTableCellUpdated(range[0], range[2]);
+            } else {
+                fireTableRowsUpdated(range[0], maxRow);
+            }
+        }
+    }
+
+    /**
+     * ranges of updated cells with tasks executed before the event.
+     *  each run of contiguous rows is kept as a separate range, and thus distant cells are notified as separate events
+     * @since 1.8
+     */
+    public static class CellUpdates {
+        /** the first row of a range to {minRow, maxRow, minColumn, maxColumn} */
+        protected TreeMap<Integer, int[]> ranges = new TreeMap<>();
+        protected List<Runnable> tasks = new ArrayList<>(1);
+
+        public CellUpdates(int row, int column, Runnable task) {
+            ranges.put(row, new int[] {row, row, column, column});
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+
+        /**
+         * @param other the next updates, appended to this
+         * @return this
+         */
+        public CellUpdates merge(CellUpdates other) {
+            other.ranges.values().forEach(this::addRange);
+            tasks.addAll(other.tasks);
+            return this;
+        }
+
+        /**
+         * @param range {minRow, maxRow, minColumn, maxColumn}, unified with overlapping or adjacent ranges
+         */
+        protected void addRange(int[] range) {
+            int[] r = range.clone();
+            Map.Entry<Integer, int[]> prev = ranges.floorEntry(r[0]);
+            if (prev != null && prev.getValue()[1] + 1 >= r[0]) {
+                r = union(prev.getValue(), r);
+                ranges.remove(prev.getKey());
+            }
+            for (Map.Entry<Integer, int[]> next = ranges.ceilingEntry(r[0]);
+                 next != null && next.getKey() <= r[1] + 1;
+                 next = ranges.ceilingEntry(r[0])) {
+                r = union(next.getValue(), r);
+                ranges.remove(next.getKey());
+            }
+            ranges.put(r[0], r);
+        }
+
+        protected static int[] union(int[] a, int[] b) {
+            return new int[] {Math.min(a[0], b[0]), Math.max(a[1], b[1]), Math.min(a[2], b[2]), Math.max(a[3], b[3])};
+        }
+
+        /**
+         * @return ranges of {minRow, maxRow, minColumn, maxColumn} in the row order
+         */
+        public Collection<int[]> getRanges() {
+            return ranges.values();
+        }
+
+        public int getMinRow() {
+            return ranges.firstKey();
+        }
+
+        public int getMaxRow() {
+            return ranges.lastEntry().getValue()[1];
         }
     }
 
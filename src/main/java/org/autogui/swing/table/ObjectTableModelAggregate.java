@@ -0,0 +1,540 @@
+package org.autogui.swing.table;
+
+import javax.swing.*;
+import java.text.DecimalFormat;
+import java.util.*;
+
+/**
+ * per-column aggregates (count, sum, min, max and mean) of rows of an {@link ObjectTableModel}.
+ * <pre>
+ *     ObjectTableModelAggregate aggregate = new ObjectTableModelAggregate(model, footer::repaint);
+ *     aggregate.install();
+ *     aggregate.getColumn(modelColumn).getSum();
+ * </pre>
+ *  Rows are scanned by chunks as a {@link ObjectTableModelRowScanner}: cell values are obtained by the task-runner of the context
+ *   in a single pass, and accumulated to running {@link ColumnAggregate}s of the chunk without holding values of rows.
+ *  The partial aggregates of a chunk are kept as a {@link Block} of consecutive rows under the event thread,
+ *   and the aggregates of a column are the combination of partial aggregates of all blocks.
+ *  Row events re-scan only blocks including changed rows:
+ *   updated rows re-scan their blocks, inserted rows are merged into the block at the position,
+ *   and deleted rows shrink blocks and re-scan partially deleted ones.
+ *  A column with {@link ObjectTableColumn#getCellStorageType()} of a primitive number type
+ *   has a sum, a min and a max, and numbers cached as primitives by {@link ObjectTableModelCellCache.CellCacheColumnar}
+ *   are read without boxing. Other columns only count non-null values.
+ * @since 1.8
+ */
+public class ObjectTableModelAggregate extends ObjectTableModelRowScanner<ObjectTableModelAggregate.ColumnAggregate[]> {
+    protected Runnable updateListener;
+    /** consecutive blocks from the row 0. accessed from the event thread */
+    protected List<Block> blocks = new ArrayList<>();
+    /** model column index to the combined aggregate or null, or null if blocks are changed */
+    protected List<ColumnAggregate> columns;
+    /** labels of aggregates by keys, "count", "sum", "min", "max" and "mean" */
+    protected Map<String, String> labels = new HashMap<>();
+    protected DecimalFormat integralFormat = new DecimalFormat("#,##0");
+    protected DecimalFormat decimalFormat = new DecimalFormat("#,##0.###");
+
+    /**
+     * @param model the target model
+     * @param updateListener nullable: called under the event thread after aggregates are changed
+     */
+    public ObjectTableModelAggregate(ObjectTableModel model, Runnable updateListener) {
+        super(model);
+        this.updateListener = updateListener;
+    }
+
+    /**
+     * @param modelColumn a model column index
+     * @return the aggregate of the column, or null if the column is not yet scanned or the row-index column
+     */
+    public ColumnAggregate getColumn(int modelColumn) {
+        List<ColumnAggregate> cs = getColumns();
+        return modelColumn < cs.size() ? cs.get(modelColumn) : null;
+    }
+
+    /**
+     * @return aggregates of columns combined from blocks, indexed by model columns
+     */
+    public List<ColumnAggregate> getColumns() {
+        if (columns == null) {
+            List<ColumnAggregate> cs = new ArrayList<>();
+            for (Block b : blocks) {
+                if (b.columns == null) {
+                    continue;
+                }
+                for (int i = 0; i < b.columns.length; ++i) {
+                    ColumnAggregate partial = b.columns[i];
+                    if (partial == null) {
+                        continue;
+                    }
+                    while (cs.size() <= i) {
+                        cs.add(null);
+                    }
+                    ColumnAggregate c = cs.get(i);
+                    if (c == null) {
+                        c = new ColumnAggregate(partial.getStorageType());
+                        cs.set(i, c);
+                    }
+                    c.combine(partial);
+                }
+            }
+            columns = cs;
+        }
+        return columns;
+    }
+
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    @Override
+    protected void clear() {
+        blocks.clear();
+        columns = null;
+    }
+
+    /**
+     * expands the range to boundaries of blocks including the rows, as partial aggregates of a block are replaced at once
+     * @param from the first row
+     * @param to the last row, inclusive
+     */
+    @Override
+    public void schedule(int from, int to) {
+        int start = 0;
+        for (Block b : blocks) {
+            int end = start + b.size;
+            if (start > to) {
+                break;
+            } else if (end > from) {
+                from = Math.min(from, start);
+                to = Math.max(to, end - 1);
+                b.scheduled = true;
+            }
+            start = end;
+        }
+        super.schedule(from, to);
+    }
+
+    @Override
+    protected ColumnAggregate[] scan(ObjectTableModelRowChunk chunk) {
+        int rows = chunk.getRowCount();
+        ColumnAggregate[] partials = new ColumnAggregate[chunk.getColumnCount()];
+        ObjectTableModelCellCache.PrimitiveRange[] primitives = new ObjectTableModelCellCache.PrimitiveRange[partials.length];
+        for (int c = 0; c < partials.length; ++c) {
+            partials[c] = new ColumnAggregate(chunk.getColumn(c).getCellStorageType());
+            ObjectTableModelCellCache.PrimitiveColumn primitive = (partials[c].isNumeric() ? chunk.getPrimitiveColumn(c) : null);
+            primitives[c] = (primitive == null ? null : primitive.read(chunk.getFrom(), chunk.getFrom() + rows));
+        }
+        for (int r = 0; r < rows; ++r) {
+            if (isStale(chunk)) {
+                return null;
+            }
+            int row = chunk.getFrom() + r;
+            for (int c = 0; c < partials.length; ++c) {
+                ColumnAggregate p = partials[c];
+                if (primitives[c] == null || !p.addFromPrimitive(primitives[c], row)) {
+                    p.add(chunk.getValue(row, c));
+                }
+            }
+        }
+        return partials;
+    }
+
+    @Override
+    protected void apply(ObjectTableModelRowChunk chunk, ColumnAggregate[] partials) {
+        int width = 0;
+        for (int c = 0, cols = chunk.getColumnCount(); c < cols; ++c) {
+            width = Math.max(width, chunk.getColumnIndex(c) + 1);
+        }
+        ColumnAggregate[] byModelColumn = new ColumnAggregate[width];
+        for (int c = 0, cols = chunk.getColumnCount(); c < cols; ++c) {
+            byModelColumn[chunk.getColumnIndex(c)] = partials[c];
+        }
+        replaceBlocks(chunk.getFrom(), chunk.getTo(), byModelColumn);
+        fireUpdate();
+    }
+
+    /**
+     * replaces blocks of the rows by a new block.
+     *  parts of replaced blocks out of the rows remain as scheduled blocks without aggregates,
+     *   which are replaced by following chunks of the scheduled range
+     * @param from the first row
+     * @param to the last row, inclusive
+     * @param partials partial aggregates of the rows
+     */
+    protected void replaceBlocks(int from, int to, ColumnAggregate[] partials) {
+        int start = 0;
+        int first = -1;
+        int last = -1;
+        Block head = null;
+        Block tail = null;
+        for (int i = 0; i < blocks.size(); ++i) {
+            Block b = blocks.get(i);
+            int end = start + b.size;
+            if (start > to) {
+                break;
+            } else if (end > from) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i + 1;
+                if (start < from) {
+                    head = new Block(from - start, null, true);
+                }
+                if (end > to + 1) {
+                    tail = new Block(end - to - 1, null, true);
+                }
+            }
+            start = end;
+        }
+        if (first < 0) { //appended rows
+            first = blocks.size();
+            last = first;
+            if (from > start) {
+                head = new Block(from - start, null, false);
+            }
+        }
+        List<Block> replacement = new ArrayList<>(3);
+        if (head != null) {
+            replacement.add(head);
+        }
+        replacement.add(new Block(to - from + 1, partials, false));
+        if (tail != null) {
+            replacement.add(tail);
+        }
+        blocks.subList(first, last).clear();
+        blocks.addAll(first, replacement);
+        columns = null;
+    }
+
+    /**
+     * merges inserted rows into the block at the position, which is re-scanned with the inserted rows
+     * @param first the first inserted row
+     * @param last the last inserted row, inclusive
+     * @return false if the position is out of blocks
+     */
+    @Override
+    protected boolean rowsInserted(int first, int last) {
+        int n = last - first + 1;
+        int start = 0;
+        for (int i = 0; i < blocks.size(); ++i) {
+            Block b = blocks.get(i);
+            if (start == first) {
+                blocks.add(i, new Block(n, null, false));
+                columns = null;
+                return true;
+            } else if (first < start + b.size) {
+                b.size += n;
+                b.columns = null;
+                b.scheduled = false;
+                columns = null;
+                return true;
+            }
+            start += b.size;
+        }
+        return false;
+    }
+
+    /**
+     * shrinks blocks of deleted rows. partially deleted blocks are re-scanned by {@link #scanned()}
+     * @param first the first deleted row
+     * @param last the last deleted row, inclusive
+     * @return true
+     */
+    @Override
+    protected boolean rowsDeleted(int first, int last) {
+        int start = 0;
+        for (Iterator<Block> iter = blocks.iterator(); iter.hasNext() && start <= last; ) {
+            Block b = iter.next();
+            int end = start + b.size;
+            if (end > first) {
+                int deleted = Math.min(end, last + 1) - Math.max(start, first);
+                b.size -= deleted;
+                if (b.size <= 0) {
+                    iter.remove();
+                } else {
+                    b.columns = null;
+                    b.scheduled = false;
+                }
+            }
+            start = end;
+        }
+        columns = null;
+        return true;
+    }
+
+    /**
+     * schedules blocks without aggregates, i.e. changed by inserted or deleted rows, and notifies the update
+     */
+    @Override
+    protected void scanned() {
+        if (!isScanning()) {
+            List<int[]> ranges = new ArrayList<>();
+            int start = 0;
+            for (Block b : blocks) {
+                if (b.columns == null && !b.scheduled) {
+                    b.scheduled = true;
+                    ranges.add(new int[] {start, start + b.size - 1});
+                }
+                start += b.size;
+            }
+            ranges.forEach(r -> schedule(r[0], Math.min(r[1], targetRows - 1)));
+        }
+        fireUpdate();
+    }
+
+    protected void fireUpdate() {
+        if (updateListener != null) {
+            updateListener.run();
+        }
+    }
+
+    /**
+     * @param key a key of an aggregate, "count", "sum", "min", "max" or "mean"
+     * @param label the displayed label of the aggregate, or null for the default
+     */
+    public void setLabel(String key, String label) {
+        if (label == null) {
+            labels.remove(key);
+        } else {
+            labels.put(key, label);
+        }
+    }
+
+    /**
+     * @param key a key of an aggregate
+     * @return the label set by {@link #setLabel(String, String)},
+     *   or the string of the UI-defaults "TableAggregate.<i>key</i>Text", or the key itself
+     */
+    public String getLabel(String key) {
+        String label = labels.get(key);
+        if (label == null) {
+            label = UIManager.getString("TableAggregate." + key + "Text");
+        }
+        return label == null ? key : label;
+    }
+
+    /**
+     * @param modelColumn a model column index
+     * @return a short text of the aggregate for the column, or an empty string
+     */
+    public String getText(int modelColumn) {
+        ColumnAggregate a = getColumn(modelColumn);
+        if (a == null) {
+            return "";
+        } else if (a.isNumeric()) {
+            return getLabel("sum") + " " + format(a.getSum());
+        } else {
+            return getLabel("count") + " " + format(a.getCount());
+        }
+    }
+
+    /**
+     * @param modelColumn a model column index
+     * @return a text of all aggregates of the column, or null
+     */
+    public String getDescription(int modelColumn) {
+        ColumnAggregate a = getColumn(modelColumn);
+        if (a == null) {
+            return null;
+        } else if (a.isNumeric()) {
+            return getLabel("count") + ": " + format(a.getCount()) +
+                    ", " + getLabel("sum") + ": " + format(a.getSum()) +
+                    ", " + getLabel("min") + ": " + format(a.getMin()) +
+                    ", " + getLabel("max") + ": " + format(a.getMax()) +
+                    ", " + getLabel("mean") + ": " + format(a.getMean());
+        } else {
+            return getLabel("count") + ": " + format(a.getCount());
+        }
+    }
+
+    /**
+     * executed under the event thread, as the formats are not thread-safe
+     * @param n a number or null
+     * @return the formatted number, or "-" for null
+     */
+    public String format(Number n) {
+        if (n == null) {
+            return "-";
+        } else if (n instanceof Double || n instanceof Float) {
+            return decimalFormat.format(n.doubleValue());
+        } else {
+            return integralFormat.format(n.longValue());
+        }
+    }
+
+    /**
+     * consecutive rows with partial aggregates of columns
+     * @since 1.8
+     */
+    public static class Block {
+        protected int size;
+        /** partial aggregates indexed by model columns, or null if the rows are changed and not yet scanned */
+        protected ColumnAggregate[] columns;
+        /** true if the rows are pending in the scanner */
+        protected boolean scheduled;
+
+        public Block(int size, ColumnAggregate[] columns, boolean scheduled) {
+            this.size = size;
+            this.columns = columns;
+            this.scheduled = scheduled;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public ColumnAggregate[] getColumns() {
+            return columns;
+        }
+
+        @Override
+        public String toString() {
+            return "Block(" + size + (columns == null ? ", pending" : "") + ")";
+        }
+    }
+
+    /**
+     * running aggregates of values of a column, without holding the values.
+     *   for a primitive number type, the sum is a long or a double
+     */
+    public static class ColumnAggregate {
+        protected Class<?> storageType;
+        protected boolean integral;
+        protected boolean numeric;
+        protected int count;
+        protected long longSum;
+        protected double doubleSum;
+        protected Number min;
+        protected Number max;
+
+        /**
+         * @param storageType a boxed number type or null
+         */
+        public ColumnAggregate(Class<?> storageType) {
+            this.storageType = storageType;
+            numeric = ObjectTableModelCellCache.PrimitiveColumn.isSupported(storageType);
+            integral = numeric && storageType != Double.class && storageType != Float.class;
+        }
+
+        public Class<?> getStorageType() {
+            return storageType;
+        }
+
+        public boolean isNumeric() {
+            return numeric;
+        }
+
+        public boolean isIntegral() {
+            return integral;
+        }
+
+        /**
+         * @param value a boxed value; null or a non-number value of a numeric column is ignored
+         */
+        public void add(Object value) {
+            if (value == null || (numeric && !(value instanceof Number))) {
+                return;
+            } else if (integral) {
+                addLong(((Number) value).longValue());
+            } else if (numeric) {
+                addDouble(((Number) value).doubleValue());
+            } else {
+                addPresent();
+            }
+        }
+
+        /**
+         * @param primitive values of the chunk copied from the primitive column of the cell cache
+         * @param row the model row
+         * @return true if the cell is computed and read without boxing
+         */
+        public boolean addFromPrimitive(ObjectTableModelCellCache.PrimitiveRange primitive, int row) {
+            if (!primitive.isValid(row)) {
+                return false;
+            } else if (!primitive.isNull(row)) {
+                if (integral) {
+                    addLong(primitive.getAsLong(row));
+                } else {
+                    addDouble(primitive.getAsDouble(row));
+                }
+            }
+            return true;
+        }
+
+        /** counts a non-null value of a non-numeric column */
+        public void addPresent() {
+            ++count;
+        }
+
+        public void addLong(long v) {
+            ++count;
+            longSum += v;
+            min = (min == null || v < min.longValue()) ? Long.valueOf(v) : min;
+            max = (max == null || v > max.longValue()) ? Long.valueOf(v) : max;
+        }
+
+        public void addDouble(double v) {
+            ++count;
+            doubleSum += v;
+            min = (min == null || v < min.doubleValue()) ? Double.valueOf(v) : min;
+            max = (max == null || v > max.doubleValue()) ? Double.valueOf(v) : max;
+        }
+
+        /**
+         * combines aggregates of other rows of the same column
+         * @param other partial aggregates
+         */
+        public void combine(ColumnAggregate other) {
+            count += other.count;
+            longSum += other.longSum;
+            doubleSum += other.doubleSum;
+            if (other.min != null && (min == null || compare(other.min, min) < 0)) {
+                min = other.min;
+            }
+            if (other.max != null && (max == null || compare(other.max, max) > 0)) {
+                max = other.max;
+            }
+        }
+
+        protected int compare(Number a, Number b) {
+            return integral ? Long.compare(a.longValue(), b.longValue()) : Double.compare(a.doubleValue(), b.doubleValue());
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the sum as a Long or a Double, or null for a non-numeric column
+         */
+        public Number getSum() {
+            if (integral) {
+                return longSum;
+            } else if (numeric) {
+                return doubleSum;
+            } else {
+                return null;
+            }
+        }
+
+        /**
+         * @return the mean as a Double, or null if no values
+         */
+        public Number getMean() {
+            if (!numeric || count == 0) {
+                return null;
+            } else {
+                return (integral ? (double) longSum : doubleSum) / count;
+            }
+        }
+
+        public Number getMin() {
+            return min;
+        }
+
+        public Number getMax() {
+            return max;
+        }
+    }
+}
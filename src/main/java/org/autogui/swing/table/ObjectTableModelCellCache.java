@@ -0,0 +1,1177 @@
+package org.autogui.swing.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * the cache of computed cell values of {@link ObjectTableModel}.
+ *  A cell is stored in a row array obtained by {@link #getRow(int)}:
+ *   null means that the cell is not yet computed, and {@link ObjectTableModel#NULL_CELL} means a computed null value.
+ *  Implementations differ in the allocation of row arrays.
+ * <ul>
+ *     <li>{@link CellCacheDense}: allocates all rows at once, same as the former dense 2D array</li>
+ *     <li>{@link CellCacheSparse}: allocates blocks of {@link CellCacheSparse#BLOCK_SIZE} rows at the first access of each block</li>
+ *     <li>{@link CellCacheLru}: holds only recently accessed rows up to a capacity, e.g. a multiple of the visible rows</li>
+ * </ul>
+ * {@link CellCacheColumnar} wraps one of them and stores cells of numeric columns in primitive arrays;
+ *  cells should be accessed by {@link #getCell(int, int)} and {@link #setCell(int, int, Object)}
+ *  instead of elements of row arrays.
+ * The cache is accessed from the event thread.
+ * @since 1.8
+ */
+public interface ObjectTableModelCellCache {
+    /** the number of cells up to which {@link #createDefault(int, int)} creates a dense cache */
+    int DENSE_CELLS_LIMIT = 1 << 20;
+
+    int getRowCount();
+
+    int getColumnCount();
+
+    /**
+     * @param rowIndex the row index
+     * @return the row array of the cached cells, created if absent
+     */
+    Object[] getRow(int rowIndex);
+
+    /**
+     * @param rowIndex the row index
+     * @return the existing row array or null
+     */
+    Object[] getRowIfPresent(int rowIndex);
+
+    /**
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @return the cached cell, or null if not computed
+     */
+    default Object getCell(int rowIndex, int columnIndex) {
+        return getRow(rowIndex)[columnIndex];
+    }
+
+    /**
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @return the cached cell, or null if not computed or the row is not allocated
+     */
+    default Object getCellIfPresent(int rowIndex, int columnIndex) {
+        Object[] rowData = getRowIfPresent(rowIndex);
+        return rowData == null ? null : rowData[columnIndex];
+    }
+
+    /**
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @param value the cell value, {@link ObjectTableModel#NULL_CELL} or null for clearing
+     */
+    default void setCell(int rowIndex, int columnIndex, Object value) {
+        getRow(rowIndex)[columnIndex] = value;
+    }
+
+    /**
+     * copies computed cells of a row of another cache
+     * @param from the source cache
+     * @param fromRowIndex the row index of the source cache
+     * @param rowIndex the row index of this cache
+     */
+    default void copyRow(ObjectTableModelCellCache from, int fromRowIndex, int rowIndex) {
+        for (int c = 0, l = Math.min(getColumnCount(), from.getColumnCount()); c < l; ++c) {
+            Object cell = from.getCellIfPresent(fromRowIndex, c);
+            if (cell != null) {
+                setCell(rowIndex, c, cell);
+            }
+        }
+    }
+
+    /**
+     * clears cells of the row if the row is allocated
+     * @param rowIndex the row index
+     */
+    default void clearRow(int rowIndex) {
+        Object[] rowData = getRowIfPresent(rowIndex);
+        if (rowData != null) {
+            Arrays.fill(rowData, null);
+        }
+    }
+
+    /**
+     * clears cells of the columns in allocated rows
+     * @param columnIndices the column indices
+     */
+    void clearColumns(int... columnIndices);
+
+    /**
+     * replaces a range of rows by empty rows in place, shifting cells of the following rows
+     * @param index the start row index of the range
+     * @param removed the number of removed rows
+     * @param inserted the number of inserted empty rows
+     * @return false if unsupported, and then the cache is unchanged
+     */
+    default boolean replaceRows(int index, int removed, int inserted) {
+        return false;
+    }
+
+    /**
+     * @param rowIndex a row index before {@link #replaceRows(int, int, int)}
+     * @param index the start row index of the range
+     * @param removed the number of removed rows
+     * @param inserted the number of inserted rows
+     * @return the shifted row index, or -1 if the row is removed
+     */
+    static int replacedRowIndex(int rowIndex, int index, int removed, int inserted) {
+        if (rowIndex < index) {
+            return rowIndex;
+        } else if (rowIndex >= index + removed) {
+            return rowIndex - removed + inserted;
+        } else {
+            return -1;
+        }
+    }
+
+    /** clears all cells */
+    void clear();
+
+    /**
+     * @param rowIndex the row index
+     * @param columnIndex the column index
+     * @return an array passed to {@link ObjectTableModel#storeCell(Object[], int, int, Object)} for storing the cell later.
+     *   the default is the row array allocated by {@link #getRow(int)}
+     * @since 1.8
+     */
+    default Object[] getRowForCell(int rowIndex, int columnIndex) {
+        return getRow(rowIndex);
+    }
+
+    /**
+     * @param rowData an array obtained by {@link #getRowForCell(int, int)}
+     * @param rowIndex the row index
+     * @return true if the array is still valid for storing cells of the row
+     * @since 1.8
+     */
+    default boolean isCurrentRow(Object[] rowData, int rowIndex) {
+        return rowIndex < getRowCount() && getRowIfPresent(rowIndex) == rowData;
+    }
+
+    /**
+     * @param cache a cache, nullable
+     * @param columnIndex the column index
+     * @return the primitive column of a {@link CellCacheColumnar}, or null
+     * @since 1.8
+     */
+    static PrimitiveColumn getPrimitiveColumn(ObjectTableModelCellCache cache, int columnIndex) {
+        if (cache instanceof CellCacheColumnar columnar && columnIndex < columnar.getColumnCount()) {
+            return columnar.getPrimitiveColumn(columnIndex);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if {@link #getCellIfPresent(int, int)} can be called from a background task
+     *   while the event thread updates cells, i.e. reading never changes the structure of the cache.
+     *   a read value might be stale, which is detected by {@link ObjectTableModel#getCellsGeneration()}
+     * @since 1.8
+     */
+    default boolean isConcurrentReadable() {
+        return false;
+    }
+
+    /**
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @return a dense cache for small sizes, otherwise a sparse cache
+     */
+    static ObjectTableModelCellCache createDefault(int rows, int columns) {
+        if (((long) rows) * columns <= DENSE_CELLS_LIMIT) {
+            return new CellCacheDense(rows, columns);
+        } else {
+            return new CellCacheSparse(rows, columns);
+        }
+    }
+
+    /** a factory of caches, called when the size of the table is changed */
+    interface CellCacheFactory {
+        ObjectTableModelCellCache create(int rows, int columns);
+    }
+
+    static void clearColumnsOfRow(Object[] rowData, int... columnIndices) {
+        for (int columnIndex : columnIndices) {
+            if (columnIndex < rowData.length) {
+                rowData[columnIndex] = null;
+            }
+        }
+    }
+
+    /** a cache allocating all rows */
+    class CellCacheDense implements ObjectTableModelCellCache {
+        protected Object[][] data;
+        protected int columns;
+
+        public CellCacheDense(int rows, int columns) {
+            this.data = new Object[rows][columns];
+            this.columns = columns;
+        }
+
+        /**
+         * @return the backing row arrays
+         * @since 1.8
+         */
+        public Object[][] getData() {
+            return data;
+        }
+
+        @Override
+        public boolean isConcurrentReadable() {
+            return true;
+        }
+
+        @Override
+        public int getRowCount() {
+            return data.length;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns;
+        }
+
+        @Override
+        public Object[] getRow(int rowIndex) {
+            return data[rowIndex];
+        }
+
+        @Override
+        public Object[] getRowIfPresent(int rowIndex) {
+            return data[rowIndex];
+        }
+
+        @Override
+        public void clearColumns(int... columnIndices) {
+            for (Object[] rowData : data) {
+                ObjectTableModelCellCache.clearColumnsOfRow(rowData, columnIndices);
+            }
+        }
+
+        @Override
+        public boolean replaceRows(int index, int removed, int inserted) {
+            if (removed == inserted) {
+                for (int i = index; i < index + removed; ++i) {
+                    Arrays.fill(data[i], null);
+                }
+            } else {
+                Object[][] next = new Object[data.length - removed + inserted][];
+                System.arraycopy(data, 0, next, 0, index);
+                System.arraycopy(data, index + removed, next, index + inserted, data.length - index - removed);
+                for (int i = index; i < index + inserted; ++i) {
+                    next[i] = new Object[columns];
+                }
+                data = next;
+            }
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            for (Object[] rowData : data) {
+                Arrays.fill(rowData, null);
+            }
+        }
+    }
+
+    /** a cache allocating blocks of rows on demand. clearing and shifting only touch allocated blocks */
+    class CellCacheSparse implements ObjectTableModelCellCache {
+        public static final int BLOCK_SIZE = 256;
+        protected Object[][][] blocks;
+        protected int rows;
+        protected int columns;
+
+        public CellCacheSparse(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+            this.blocks = new Object[(rows + BLOCK_SIZE - 1) / BLOCK_SIZE][][];
+        }
+
+        @Override
+        public boolean isConcurrentReadable() {
+            return true;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns;
+        }
+
+        @Override
+        public Object[] getRow(int rowIndex) {
+            checkRow(rowIndex);
+            int b = rowIndex / BLOCK_SIZE;
+            Object[][] block = blocks[b];
+            if (block == null) {
+                block = new Object[Math.min(BLOCK_SIZE, rows - b * BLOCK_SIZE)][columns];
+                blocks[b] = block;
+            }
+            Object[] rowData = block[rowIndex % BLOCK_SIZE];
+            if (rowData == null) { //a block created by shifting rows
+                rowData = new Object[columns];
+                block[rowIndex % BLOCK_SIZE] = rowData;
+            }
+            return rowData;
+        }
+
+        @Override
+        public Object[] getRowIfPresent(int rowIndex) {
+            checkRow(rowIndex);
+            Object[][] block = blocks[rowIndex / BLOCK_SIZE];
+            return block == null ? null : block[rowIndex % BLOCK_SIZE];
+        }
+
+        protected void checkRow(int rowIndex) {
+            if (rowIndex < 0 || rowIndex >= rows) {
+                throw new ArrayIndexOutOfBoundsException(rowIndex);
+            }
+        }
+
+        @Override
+        public void clearColumns(int... columnIndices) {
+            for (Object[][] block : blocks) {
+                if (block != null) {
+                    for (Object[] rowData : block) {
+                        if (rowData != null) {
+                            ObjectTableModelCellCache.clearColumnsOfRow(rowData, columnIndices);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(blocks, null);
+        }
+
+        /**
+         * full blocks before the range are kept as is, and allocated rows after the range are moved to new blocks
+         * @param index the start row index of the range
+         * @param removed the number of removed rows
+         * @param inserted the number of inserted empty rows
+         * @return true
+         */
+        @Override
+        public boolean replaceRows(int index, int removed, int inserted) {
+            if (removed == inserted) {
+                for (int i = index; i < index + removed; ++i) {
+                    clearRow(i);
+                }
+                return true;
+            }
+            int nextRows = rows - removed + inserted;
+            Object[][][] nextBlocks = new Object[(nextRows + BLOCK_SIZE - 1) / BLOCK_SIZE][][];
+            for (int b = 0; b < blocks.length; ++b) {
+                Object[][] block = blocks[b];
+                if (block == null) {
+                    continue;
+                }
+                if ((b + 1) * BLOCK_SIZE <= index) {
+                    nextBlocks[b] = block;
+                    continue;
+                }
+                for (int i = 0; i < block.length; ++i) {
+                    int next = ObjectTableModelCellCache.replacedRowIndex(b * BLOCK_SIZE + i, index, removed, inserted);
+                    if (block[i] != null && next >= 0) {
+                        int nb = next / BLOCK_SIZE;
+                        if (nextBlocks[nb] == null) {
+                            nextBlocks[nb] = new Object[Math.min(BLOCK_SIZE, nextRows - nb * BLOCK_SIZE)][];
+                        }
+                        nextBlocks[nb][next % BLOCK_SIZE] = block[i];
+                    }
+                }
+            }
+            blocks = nextBlocks;
+            rows = nextRows;
+            return true;
+        }
+
+        /**
+         * @return the number of allocated blocks
+         */
+        public int getAllocatedBlockCount() {
+            int n = 0;
+            for (Object[][] block : blocks) {
+                if (block != null) {
+                    ++n;
+                }
+            }
+            return n;
+        }
+    }
+
+    /** a cache holding recently accessed rows up to a capacity; the least recently accessed row is evicted */
+    class CellCacheLru implements ObjectTableModelCellCache {
+        protected int rows;
+        protected int columns;
+        protected IntSupplier capacity;
+        protected LinkedHashMap<Integer, Object[]> rowMap;
+
+        /**
+         * @param rows the number of rows
+         * @param columns the number of columns
+         * @param capacity the maximum number of held rows, evaluated at each allocation of a row
+         */
+        public CellCacheLru(int rows, int columns, IntSupplier capacity) {
+            this.rows = rows;
+            this.columns = columns;
+            this.capacity = capacity;
+            rowMap = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Object[]> eldest) {
+                    return size() > Math.max(1, CellCacheLru.this.capacity.getAsInt());
+                }
+            };
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns;
+        }
+
+        @Override
+        public Object[] getRow(int rowIndex) {
+            checkRow(rowIndex);
+            return rowMap.computeIfAbsent(rowIndex, i -> new Object[columns]);
+        }
+
+        @Override
+        public Object[] getRowIfPresent(int rowIndex) {
+            checkRow(rowIndex);
+            return rowMap.get(rowIndex);
+        }
+
+        protected void checkRow(int rowIndex) {
+            if (rowIndex < 0 || rowIndex >= rows) {
+                throw new ArrayIndexOutOfBoundsException(rowIndex);
+            }
+        }
+
+        @Override
+        public void clearRow(int rowIndex) {
+            checkRow(rowIndex);
+            rowMap.remove(rowIndex);
+        }
+
+        @Override
+        public void clearColumns(int... columnIndices) {
+            for (Object[] rowData : rowMap.values()) {
+                ObjectTableModelCellCache.clearColumnsOfRow(rowData, columnIndices);
+            }
+        }
+
+        @Override
+        public void clear() {
+            rowMap.clear();
+        }
+
+        @Override
+        public boolean replaceRows(int index, int removed, int inserted) {
+            List<Map.Entry<Integer, Object[]>> entries = new ArrayList<>(rowMap.entrySet()); //in the access order
+            rowMap.clear();
+            for (Map.Entry<Integer, Object[]> e : entries) {
+                int next = ObjectTableModelCellCache.replacedRowIndex(e.getKey(), index, removed, inserted);
+                if (next >= 0) {
+                    rowMap.put(next, e.getValue());
+                }
+            }
+            rows = rows - removed + inserted;
+            return true;
+        }
+
+        /**
+         * @return the number of held rows
+         */
+        public int getAllocatedRowCount() {
+            return rowMap.size();
+        }
+    }
+
+    /**
+     * a cache storing cells of numeric columns in {@link PrimitiveColumn}s, and other cells in a wrapped cache.
+     *  a value not matching the type of the primitive column, e.g. a BigDecimal, is stored in the wrapped cache.
+     */
+    class CellCacheColumnar implements ObjectTableModelCellCache {
+        protected ObjectTableModelCellCache rowCache;
+        /** column-index to a primitive column or null */
+        protected PrimitiveColumn[] primitiveColumns;
+        /** the array returned by {@link #getRowForCell(int, int)} for primitive columns instead of allocating a row,
+         *   renewed when rows are shifted or cleared */
+        protected Object[] primitiveRowToken;
+
+        /**
+         * @param rowCache the cache for non-primitive cells
+         * @param columnTypes column-index to a boxed number type like Integer.class or null.
+         *                     the length can be shorter than the number of columns
+         */
+        public CellCacheColumnar(ObjectTableModelCellCache rowCache, Class<?>[] columnTypes) {
+            this.rowCache = rowCache;
+            primitiveColumns = new PrimitiveColumn[rowCache.getColumnCount()];
+            for (int c = 0, l = Math.min(columnTypes.length, primitiveColumns.length); c < l; ++c) {
+                primitiveColumns[c] = PrimitiveColumn.create(columnTypes[c]);
+            }
+            primitiveRowToken = new Object[primitiveColumns.length];
+        }
+
+        /**
+         * @param rowCache the cache for non-primitive cells
+         * @param columnTypes column-index to a boxed number type or null
+         * @return a columnar cache if some of columnTypes are supported by {@link PrimitiveColumn}, otherwise rowCache itself
+         */
+        public static ObjectTableModelCellCache wrap(ObjectTableModelCellCache rowCache, Class<?>[] columnTypes) {
+            for (int c = 0, l = Math.min(columnTypes.length, rowCache.getColumnCount()); c < l; ++c) {
+                if (PrimitiveColumn.isSupported(columnTypes[c])) {
+                    return new CellCacheColumnar(rowCache, columnTypes);
+                }
+            }
+            return rowCache;
+        }
+
+        public ObjectTableModelCellCache getRowCache() {
+            return rowCache;
+        }
+
+        /**
+         * @param columnIndex the column index
+         * @return the primitive column or null
+         */
+        public PrimitiveColumn getPrimitiveColumn(int columnIndex) {
+            return primitiveColumns[columnIndex];
+        }
+
+        /**
+         * @return true if the wrapped cache is readable; primitive columns are synchronized by themselves
+         */
+        @Override
+        public boolean isConcurrentReadable() {
+            return rowCache.isConcurrentReadable();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rowCache.getRowCount();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return rowCache.getColumnCount();
+        }
+
+        @Override
+        public Object[] getRow(int rowIndex) {
+            return rowCache.getRow(rowIndex);
+        }
+
+        @Override
+        public Object[] getRowIfPresent(int rowIndex) {
+            return rowCache.getRowIfPresent(rowIndex);
+        }
+
+        /**
+         * @param rowIndex the row index
+         * @param columnIndex the column index
+         * @return the shared token for a primitive column without allocating the row, otherwise the row array
+         */
+        @Override
+        public Object[] getRowForCell(int rowIndex, int columnIndex) {
+            if (primitiveColumns[columnIndex] != null) {
+                return primitiveRowToken;
+            } else {
+                return rowCache.getRow(rowIndex);
+            }
+        }
+
+        @Override
+        public boolean isCurrentRow(Object[] rowData, int rowIndex) {
+            return rowIndex < getRowCount() && (rowData == primitiveRowToken || rowCache.getRowIfPresent(rowIndex) == rowData);
+        }
+
+        /**
+         * @param rowIndex the row index
+         * @param columnIndex the column index
+         * @return the cell; a primitive cell is boxed once and kept by {@link PrimitiveColumn#getCached(int)} for renderers
+         */
+        @Override
+        public Object getCell(int rowIndex, int columnIndex) {
+            PrimitiveColumn column = primitiveColumns[columnIndex];
+            if (column == null) {
+                return rowCache.getCell(rowIndex, columnIndex);
+            }
+            Object v = column.getCached(rowIndex);
+            if (v != null) {
+                return v;
+            } else {
+                return rowCache.getCellIfPresent(rowIndex, columnIndex); //a non-primitive value or not computed
+            }
+        }
+
+        @Override
+        public Object getCellIfPresent(int rowIndex, int columnIndex) {
+            PrimitiveColumn column = primitiveColumns[columnIndex];
+            Object v = (column == null ? null : column.get(rowIndex));
+            if (v != null) {
+                return v;
+            } else {
+                return rowCache.getCellIfPresent(rowIndex, columnIndex);
+            }
+        }
+
+        @Override
+        public void setCell(int rowIndex, int columnIndex, Object value) {
+            PrimitiveColumn column = primitiveColumns[columnIndex];
+            if (column != null && column.set(rowIndex, value)) {
+                Object[] rowData = rowCache.getRowIfPresent(rowIndex);
+                if (rowData != null) {
+                    rowData[columnIndex] = null;
+                }
+            } else {
+                rowCache.setCell(rowIndex, columnIndex, value);
+            }
+        }
+
+        @Override
+        public void clearRow(int rowIndex) {
+            rowCache.clearRow(rowIndex);
+            for (PrimitiveColumn column : primitiveColumns) {
+                if (column != null) {
+                    column.clear(rowIndex);
+                }
+            }
+        }
+
+        @Override
+        public void clearColumns(int... columnIndices) {
+            rowCache.clearColumns(columnIndices);
+            for (int columnIndex : columnIndices) {
+                if (columnIndex < primitiveColumns.length && primitiveColumns[columnIndex] != null) {
+                    primitiveColumns[columnIndex].clear();
+                }
+            }
+        }
+
+        @Override
+        public void clear() {
+            rowCache.clear();
+            primitiveRowToken = new Object[primitiveColumns.length];
+            for (PrimitiveColumn column : primitiveColumns) {
+                if (column != null) {
+                    column.clear();
+                }
+            }
+        }
+
+        @Override
+        public boolean replaceRows(int index, int removed, int inserted) {
+            if (!rowCache.replaceRows(index, removed, inserted)) {
+                return false;
+            }
+            primitiveRowToken = new Object[primitiveColumns.length];
+            for (PrimitiveColumn column : primitiveColumns) {
+                if (column != null) {
+                    column.replaceRows(index, removed, inserted);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * primitive values of a numeric column, allocated by blocks of {@link #BLOCK_SIZE} rows.
+     *  the valid bits indicate computed cells, and the null bits indicate {@link ObjectTableModel#NULL_CELL}.
+     *  values are boxed to the column type only when read, and {@link #getCached(int)} keeps the box for repeated reads.
+     *  <p>
+     *  accessors are synchronized by the column, as a background task reads a column while the event thread updates it.
+     *   {@link #read(int, int)} copies a range of rows under a single lock.
+     */
+    abstract class PrimitiveColumn {
+        public static final int BLOCK_SIZE = 1024;
+        protected Class<?> type;
+        protected BitSet valid = new BitSet();
+        protected BitSet nulls = new BitSet();
+        /** boxed values kept by {@link #getCached(int)}, allocated by blocks at the first read of each block.
+         * @since 1.8 */
+        protected Object[][] boxedBlocks = new Object[0][];
+
+        public PrimitiveColumn(Class<?> type) {
+            this.type = type;
+        }
+
+        public static boolean isSupported(Class<?> type) {
+            return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class ||
+                    type == Double.class || type == Float.class;
+        }
+
+        /**
+         * @param type a boxed number type
+         * @return a new column for the type, or null if unsupported
+         */
+        public static PrimitiveColumn create(Class<?> type) {
+            if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) {
+                return new PrimitiveColumnLong(type);
+            } else if (type == Double.class || type == Float.class) {
+                return new PrimitiveColumnDouble(type);
+            } else {
+                return null;
+            }
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public synchronized boolean isValid(int rowIndex) {
+            return valid.get(rowIndex);
+        }
+
+        public synchronized boolean isNull(int rowIndex) {
+            return nulls.get(rowIndex);
+        }
+
+        /**
+         * @return true if values are stored as longs, and {@link #getAsLong(int)} returns exact values
+         * @since 1.8
+         */
+        public abstract boolean isIntegral();
+
+        /**
+         * reads the value without boxing
+         * @param rowIndex the row index
+         * @return the value as a long; meaningful only if valid and non-null
+         * @since 1.8
+         */
+        public synchronized long getAsLong(int rowIndex) {
+            return loadLong(rowIndex);
+        }
+
+        /**
+         * reads the value without boxing
+         * @param rowIndex the row index
+         * @return the value as a double; meaningful only if valid and non-null
+         * @since 1.8
+         */
+        public synchronized double getAsDouble(int rowIndex) {
+            return loadDouble(rowIndex);
+        }
+
+        /**
+         * boxes the value for each call without keeping the box, for reading many rows once
+         * @param rowIndex the row index
+         * @return the boxed value, {@link ObjectTableModel#NULL_CELL} or null if not valid
+         */
+        public synchronized Object get(int rowIndex) {
+            if (!valid.get(rowIndex)) {
+                return null;
+            } else if (nulls.get(rowIndex)) {
+                return ObjectTableModel.NULL_CELL;
+            } else {
+                return box(rowIndex);
+            }
+        }
+
+        /**
+         * boxes the value at the first read and keeps the box, for repeatedly reading visible rows by renderers
+         * @param rowIndex the row index
+         * @return the boxed value, {@link ObjectTableModel#NULL_CELL} or null if not valid
+         * @since 1.8
+         */
+        public synchronized Object getCached(int rowIndex) {
+            if (!valid.get(rowIndex)) {
+                return null;
+            } else if (nulls.get(rowIndex)) {
+                return ObjectTableModel.NULL_CELL;
+            }
+            int b = rowIndex / BLOCK_SIZE;
+            if (b >= boxedBlocks.length) {
+                boxedBlocks = Arrays.copyOf(boxedBlocks, b + 1);
+            }
+            Object[] block = boxedBlocks[b];
+            if (block == null) {
+                block = new Object[BLOCK_SIZE];
+                boxedBlocks[b] = block;
+            }
+            Object v = block[rowIndex % BLOCK_SIZE];
+            if (v == null) {
+                v = box(rowIndex);
+                block[rowIndex % BLOCK_SIZE] = v;
+            }
+            return v;
+        }
+
+        /**
+         * copies values of rows under the lock of the column
+         * @param from the first row index
+         * @param to the end row index, exclusive
+         * @return the copied values
+         * @since 1.8
+         */
+        public synchronized PrimitiveRange read(int from, int to) {
+            boolean integral = isIntegral();
+            PrimitiveRange range = new PrimitiveRange(from, to - from, integral);
+            for (int r = valid.nextSetBit(from); r >= 0 && r < to; r = valid.nextSetBit(r + 1)) {
+                int i = r - from;
+                range.valid.set(i);
+                if (nulls.get(r)) {
+                    range.nulls.set(i);
+                } else if (integral) {
+                    range.longs[i] = loadLong(r);
+                } else {
+                    range.doubles[i] = loadDouble(r);
+                }
+            }
+            return range;
+        }
+
+        /**
+         * @param rowIndex the row index
+         * @param value a value of the type, {@link ObjectTableModel#NULL_CELL} or null for clearing
+         * @return false if the value cannot be stored, and then the cell is cleared
+         */
+        public synchronized boolean set(int rowIndex, Object value) {
+            if (value == null) {
+                clear(rowIndex);
+                return true;
+            } else if (value == ObjectTableModel.NULL_CELL) {
+                valid.set(rowIndex);
+                nulls.set(rowIndex);
+                setBoxed(rowIndex, null);
+                return true;
+            } else if (value.getClass() == type) {
+                store(rowIndex, (Number) value);
+                valid.set(rowIndex);
+                nulls.clear(rowIndex);
+                setBoxed(rowIndex, value);
+                return true;
+            } else {
+                clear(rowIndex);
+                return false;
+            }
+        }
+
+        /**
+         * replaces the kept box only if the block of the row is already read by {@link #getCached(int)}
+         * @param rowIndex the row index
+         * @param value the new box or null
+         */
+        protected void setBoxed(int rowIndex, Object value) {
+            int b = rowIndex / BLOCK_SIZE;
+            if (b < boxedBlocks.length && boxedBlocks[b] != null) {
+                boxedBlocks[b][rowIndex % BLOCK_SIZE] = value;
+            }
+        }
+
+        public synchronized void clear(int rowIndex) {
+            valid.clear(rowIndex);
+            nulls.clear(rowIndex);
+            setBoxed(rowIndex, null);
+        }
+
+        /** clears validity; allocated blocks are reused, and kept boxes are released */
+        public synchronized void clear() {
+            valid.clear();
+            nulls.clear();
+            boxedBlocks = new Object[0][];
+        }
+
+        /**
+         * replaces a range of rows by invalid rows, shifting valid values of the following rows
+         * @param index the start row index of the range
+         * @param removed the number of removed rows
+         * @param inserted the number of inserted rows
+         */
+        public synchronized void replaceRows(int index, int removed, int inserted) {
+            boxedBlocks = new Object[0][];
+            int from = index + removed;
+            int end = Math.max(from, valid.length());
+            BitSet tailValid = valid.get(from, end);
+            BitSet tailNulls = nulls.get(from, end);
+            valid.clear(index, Math.max(index, end));
+            nulls.clear(index, Math.max(index, end));
+            int shift = inserted - removed;
+            if (shift > 0) { //moves from the last not to overwrite following values
+                for (int i = tailValid.previousSetBit(tailValid.length() - 1); i >= 0; i = tailValid.previousSetBit(i - 1)) {
+                    move(from + i, from + i + shift);
+                }
+            } else if (shift < 0) {
+                for (int i = tailValid.nextSetBit(0); i >= 0; i = tailValid.nextSetBit(i + 1)) {
+                    move(from + i, from + i + shift);
+                }
+            }
+            for (int i = tailValid.nextSetBit(0); i >= 0; i = tailValid.nextSetBit(i + 1)) {
+                valid.set(from + i + shift);
+            }
+            for (int i = tailNulls.nextSetBit(0); i >= 0; i = tailNulls.nextSetBit(i + 1)) {
+                nulls.set(from + i + shift);
+            }
+        }
+
+        /**
+         * @param rowIndex the row index
+         * @return the stored value as a long, called under the lock
+         * @since 1.8
+         */
+        protected abstract long loadLong(int rowIndex);
+
+        /**
+         * @param rowIndex the row index
+         * @return the stored value as a double, called under the lock
+         * @since 1.8
+         */
+        protected abstract double loadDouble(int rowIndex);
+
+        protected abstract Object box(int rowIndex);
+
+        protected abstract void store(int rowIndex, Number value);
+
+        /**
+         * copies the primitive value
+         * @param fromRowIndex the source row index
+         * @param toRowIndex the destination row index
+         */
+        protected abstract void move(int fromRowIndex, int toRowIndex);
+
+        /**
+         * @return the number of allocated blocks
+         */
+        public abstract int getAllocatedBlockCount();
+
+        protected static int blockCount(Object[] blocks) {
+            int n = 0;
+            for (Object block : blocks) {
+                if (block != null) {
+                    ++n;
+                }
+            }
+            return n;
+        }
+    }
+
+    /**
+     * values of a range of rows copied from a {@link PrimitiveColumn} by {@link PrimitiveColumn#read(int, int)},
+     *  safely read by a background task
+     * @since 1.8
+     */
+    class PrimitiveRange {
+        protected int from;
+        protected int size;
+        protected long[] longs;
+        protected double[] doubles;
+        protected BitSet valid = new BitSet();
+        protected BitSet nulls = new BitSet();
+
+        /**
+         * @param from the first row index
+         * @param size the number of rows
+         * @param integral if true, values are stored as longs, otherwise doubles
+         */
+        public PrimitiveRange(int from, int size, boolean integral) {
+            this.from = from;
+            this.size = size;
+            if (integral) {
+                longs = new long[size];
+            } else {
+                doubles = new double[size];
+            }
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public boolean isIntegral() {
+            return longs != null;
+        }
+
+        /**
+         * @param rowIndex the row index in the range
+         * @return true if the cell was computed
+         */
+        public boolean isValid(int rowIndex) {
+            return valid.get(rowIndex - from);
+        }
+
+        public boolean isNull(int rowIndex) {
+            return nulls.get(rowIndex - from);
+        }
+
+        /**
+         * @param rowIndex the row index in the range
+         * @return the value as a long; meaningful only if valid and non-null
+         */
+        public long getAsLong(int rowIndex) {
+            return longs != null ? longs[rowIndex - from] : (long) doubles[rowIndex - from];
+        }
+
+        /**
+         * @param rowIndex the row index in the range
+         * @return the value as a double; meaningful only if valid and non-null
+         */
+        public double getAsDouble(int rowIndex) {
+            return longs != null ? longs[rowIndex - from] : doubles[rowIndex - from];
+        }
+    }
+
+    /** a column of integral numbers stored as longs */
+    class PrimitiveColumnLong extends PrimitiveColumn {
+        protected long[][] blocks = new long[0][];
+
+        public PrimitiveColumnLong(Class<?> type) {
+            super(type);
+        }
+
+        /**
+         * @param rowIndex the row index
+         * @return the unboxed value; meaningful only if valid and non-null
+         */
+        public synchronized long getLong(int rowIndex) {
+            return loadLong(rowIndex);
+        }
+
+        @Override
+        public boolean isIntegral() {
+            return true;
+        }
+
+        @Override
+        protected long loadLong(int rowIndex) {
+            int b = rowIndex / BLOCK_SIZE;
+            return b < blocks.length && blocks[b] != null ? blocks[b][rowIndex % BLOCK_SIZE] : 0L;
+        }
+
+        @Override
+        protected double loadDouble(int rowIndex) {
+            return loadLong(rowIndex);
+        }
+
+        @Override
+        protected Object box(int rowIndex) {
+            long v = loadLong(rowIndex);
+            if (type == Integer.class) {
+                return (int) v;
+            } else if (type == Short.class) {
+                return (short) v;
+            } else if (type == Byte.class) {
+                return (byte) v;
+            } else {
+                return v;
+            }
+        }
+
+        @Override
+        protected void store(int rowIndex, Number value) {
+            storeLong(rowIndex, value.longValue());
+        }
+
+        protected void storeLong(int rowIndex, long value) {
+            int b = rowIndex / BLOCK_SIZE;
+            if (b >= blocks.length) {
+                blocks = Arrays.copyOf(blocks, b + 1);
+            }
+            if (blocks[b] == null) {
+                blocks[b] = new long[BLOCK_SIZE];
+            }
+            blocks[b][rowIndex % BLOCK_SIZE] = value;
+        }
+
+        @Override
+        protected void move(int fromRowIndex, int toRowIndex) {
+            storeLong(toRowIndex, loadLong(fromRowIndex));
+        }
+
+        @Override
+        public synchronized int getAllocatedBlockCount() {
+            return blockCount(blocks);
+        }
+    }
+
+    /** a column of floating point numbers stored as doubles */
+    class PrimitiveColumnDouble extends PrimitiveColumn {
+        protected double[][] blocks = new double[0][];
+
+        public PrimitiveColumnDouble(Class<?> type) {
+            super(type);
+        }
+
+        /**
+         * @param rowIndex the row index
+         * @return the unboxed value; meaningful only if valid and non-null
+         */
+        public synchronized double getDouble(int rowIndex) {
+            return loadDouble(rowIndex);
+        }
+
+        @Override
+        public boolean isIntegral() {
+            return false;
+        }
+
+        @Override
+        protected long loadLong(int rowIndex) {
+            return (long) loadDouble(rowIndex);
+        }
+
+        @Override
+        protected double loadDouble(int rowIndex) {
+            int b = rowIndex / BLOCK_SIZE;
+            return b < blocks.length && blocks[b] != null ? blocks[b][rowIndex % BLOCK_SIZE] : 0.0;
+        }
+
+        @Override
+        protected Object box(int rowIndex) {
+            double v = loadDouble(rowIndex);
+            if (type == Float.class) {
+                return (float) v;
+            } else {
+                return v;
+            }
+        }
+
+        @Override
+        protected void store(int rowIndex, Number value) {
+            storeDouble(rowIndex, value.doubleValue());
+        }
+
+        protected void storeDouble(int rowIndex, double value) {
+            int b = rowIndex / BLOCK_SIZE;
+            if (b >= blocks.length) {
+                blocks = Arrays.copyOf(blocks, b + 1);
+            }
+            if (blocks[b] == null) {
+                blocks[b] = new double[BLOCK_SIZE];
+            }
+            blocks[b][rowIndex % BLOCK_SIZE] = value;
+        }
+
+        @Override
+        protected void move(int fromRowIndex, int toRowIndex) {
+            storeDouble(toRowIndex, loadDouble(fromRowIndex));
+        }
+
+        @Override
+        public synchronized int getAllocatedBlockCount() {
+            return blockCount(blocks);
+        }
+    }
+}
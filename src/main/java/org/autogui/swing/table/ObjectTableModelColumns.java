@@ -33,6 +33,8 @@ public class ObjectTableModelColumns
 
     protected ObjectTableModelColumnsListener updater;
     protected int viewUpdating;
+    /** the number of elements of a nested list from which columns of the list become virtual. @since 1.8 */
+    protected int virtualColumnThreshold = 64;
 
     /** a listener interface for dynamic column changes */
     public interface ObjectTableModelColumnsListener {
@@ -51,6 +53,23 @@ public class ObjectTableModelColumns
         return columnModel;
     }
 
+    /**
+     * @param virtualColumnThreshold the number of elements of a nested list from which columns of the list become virtual,
+     *    see {@link GuiSwingTableColumnCollection.ObjectTableColumnCollectionVirtual}
+     * @since 1.8
+     */
+    public void setVirtualColumnThreshold(int virtualColumnThreshold) {
+        this.virtualColumnThreshold = virtualColumnThreshold;
+    }
+
+    /**
+     * @return the threshold of virtual columns of the table, 64 by default
+     * @since 1.8
+     */
+    public int getVirtualColumnThreshold() {
+        return virtualColumnThreshold;
+    }
+
     @Override
     public void addColumnStatic(ObjectTableColumn column) {
         int modelIndex = columns.size();
@@ -288,6 +307,14 @@ public class ObjectTableModelColumns
             return factory;
         }
 
+        /**
+         * @return the column manager of the table
+         * @since 1.8
+         */
+        public ObjectTableModelColumns getColumns() {
+            return columns;
+        }
+
         public ObjectTableColumnSize getColumnSize(Object list) {
             return factory.getColumnSize(list);
         }
@@ -425,7 +452,9 @@ public class ObjectTableModelColumns
 
     /**
      * a row-sorter for dynamic columns
+     * @deprecated since 1.8, tables use {@link ObjectTableModelRowSorter} sorting by a background task
      */
+    @Deprecated
     public static class TableRowSorterDynamic extends TableRowSorter<ObjectTableModel> {
         public TableRowSorterDynamic(ObjectTableModel model) {
             super(model);
@@ -0,0 +1,151 @@
+package org.autogui.swing.table;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * a cache of computed cells of {@link ObjectTableModel} keyed by the identity of row objects,
+ *   complementing the positional {@link ObjectTableModelCellCache}.
+ *  <p>
+ *  After reordering, reversing or filtering the source list, the positional cache is discarded,
+ *   but cells of identical row objects can be taken from this cache without calling getters of columns:
+ *   only new row objects are computed.
+ *   Cells are valid only while row objects are not modified in place;
+ *   {@link ObjectTableModel#refreshRow(int)} and {@link ObjectTableModel#refreshColumns(int...)} remove the cached cells.
+ *  <p>
+ *  Row objects are weakly referenced, and the number of rows is bounded by a capacity,
+ *   evicting least-recently accessed rows, as cell values might strongly reference their row objects.
+ *  The cache is accessed from the task-runner and the event thread, and thus methods are synchronized.
+ * @since 1.8
+ */
+public class ObjectTableModelIdentityCellCache {
+    protected int capacity;
+    protected LinkedHashMap<RowKey, Object[]> rows;
+    protected ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    public ObjectTableModelIdentityCellCache() {
+        this(100_000);
+    }
+
+    /**
+     * @param capacity the maximum number of cached rows
+     */
+    public ObjectTableModelIdentityCellCache(int capacity) {
+        this.capacity = capacity;
+        rows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RowKey, Object[]> eldest) {
+                return size() > ObjectTableModelIdentityCellCache.this.capacity;
+            }
+        };
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param rowObject the row object, nullable
+     * @param columnIndex the column index
+     * @return the cached cell, {@link ObjectTableModel#NULL_CELL} for a cached null, or null if not cached
+     */
+    public synchronized Object get(Object rowObject, int columnIndex) {
+        if (rowObject == null) {
+            return null;
+        }
+        expunge();
+        Object[] rowData = rows.get(new RowKey(rowObject, null));
+        return (rowData == null || columnIndex >= rowData.length) ? null : rowData[columnIndex];
+    }
+
+    /**
+     * @param rowObject the row object, nullable for no caching
+     * @param columnIndex the column index
+     * @param cell the computed cell, {@link ObjectTableModel#NULL_CELL} for null
+     */
+    public synchronized void put(Object rowObject, int columnIndex, Object cell) {
+        if (rowObject == null) {
+            return;
+        }
+        expunge();
+        RowKey key = new RowKey(rowObject, queue);
+        Object[] rowData = rows.get(key);
+        if (rowData == null) {
+            rowData = new Object[columnIndex + 1];
+            rows.put(key, rowData);
+        } else if (rowData.length <= columnIndex) {
+            rowData = Arrays.copyOf(rowData, columnIndex + 1);
+            rows.put(key, rowData); //the existing key is retained
+        }
+        rowData[columnIndex] = cell;
+    }
+
+    /**
+     * @param rowObject the row object whose cells are removed, nullable
+     */
+    public synchronized void remove(Object rowObject) {
+        if (rowObject != null) {
+            rows.remove(new RowKey(rowObject, null));
+        }
+    }
+
+    /**
+     * @param columnIndices the columns whose cells are removed from all rows
+     */
+    public synchronized void clearColumns(int... columnIndices) {
+        rows.values().forEach(rowData -> ObjectTableModelCellCache.clearColumnsOfRow(rowData, columnIndices));
+    }
+
+    public synchronized void clear() {
+        rows.clear();
+        while (queue.poll() != null) {
+            //discard
+        }
+    }
+
+    /**
+     * @return the number of cached rows, including rows whose objects are collected but not yet expunged
+     */
+    public synchronized int size() {
+        expunge();
+        return rows.size();
+    }
+
+    protected void expunge() {
+        Reference<?> ref;
+        while ((ref = queue.poll()) != null) {
+            rows.remove((RowKey) ref);
+        }
+    }
+
+    /** a weak key compared by the identity of the referent */
+    public static class RowKey extends WeakReference<Object> {
+        protected int hash;
+
+        public RowKey(Object rowObject, ReferenceQueue<Object> queue) {
+            super(rowObject, queue);
+            hash = System.identityHashCode(rowObject);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof RowKey k) {
+                Object o = get();
+                return o != null && o == k.get();
+            } else {
+                return false;
+            }
+        }
+    }
+}
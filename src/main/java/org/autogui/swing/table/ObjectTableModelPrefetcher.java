@@ -0,0 +1,406 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.base.mapping.GuiMappingContext;
+import org.autogui.base.mapping.GuiReprValue;
+import org.autogui.base.mapping.ScheduledTaskRunner;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.TableModelListener;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * fetching cell values of visible rows of an {@link ObjectTableModel} in advance.
+ *  <pre>
+ *      model.initTablePrefetcher(scrollPane);
+ *  </pre>
+ *  The prefetcher observes the viewport of the scroll-pane and data changes of the model.
+ *   After a scroll, it collects model rows of the visible rect plus a lookahead window,
+ *    whose cells are not yet cached, and splits them into blocks of {@link #getBlockSize()} rows.
+ *   Each block is fetched by a single task on the task-runner of the context of the model,
+ *    and the results are published to the cell cache by a single {@link ObjectTableModel#fireTableRowsUpdated(int, int)}.
+ *   While a block is pending, {@link ObjectTableModel#getValueAtWithError(int, int)} does not submit tasks for its cells.
+ *   A pending block which goes out of the target rows by a further scroll is cancelled:
+ *    the task skips remaining rows and the cells are left to the default per-cell fetching.
+ *  <p>
+ *  Only columns of the visible rect plus the lookahead window are fetched,
+ *   and thus a wide table with many (virtual) columns does not fetch cells of invisible columns.
+ *  <p>
+ *  Columns whose representation requires the event thread ({@link ObjectTableColumn#isTaskRunnerUsedFor(Supplier)} returns false)
+ *   are left to the default per-cell fetching,
+ *   and a fetched {@link Future} value is waited by {@link ObjectTableModel#taskValueFromSourceAfter(Object[], int, int, Object)}.
+ * @since 1.8
+ */
+public class ObjectTableModelPrefetcher implements ChangeListener {
+    protected ObjectTableModel model;
+    protected int blockSize = 64;
+    /** the lookahead window as a multiple of the number of visible rows */
+    protected double lookaheadFactor = 1.0;
+    /** block-index to pending block. accessed from the event thread */
+    protected Map<Integer, PrefetchBlock> pendingBlocks = new HashMap<>();
+    protected ScheduledTaskRunner<Object> eventRunner;
+    protected TableModelListener modelListener;
+    protected JViewport viewport;
+
+    @SuppressWarnings("this-escape")
+    public ObjectTableModelPrefetcher(ObjectTableModel model) {
+        this.model = model;
+        eventRunner = new ScheduledTaskRunner<>(50, es -> SwingUtilities.invokeLater(this::prefetch));
+    }
+
+    public ObjectTableModel getModel() {
+        return model;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public double getLookaheadFactor() {
+        return lookaheadFactor;
+    }
+
+    public void setLookaheadFactor(double lookaheadFactor) {
+        this.lookaheadFactor = lookaheadFactor;
+    }
+
+    /**
+     * adds listeners to the viewport and the model
+     * @param scrollPane the scroll-pane of the table
+     */
+    public void install(JScrollPane scrollPane) {
+        viewport = scrollPane.getViewport();
+        viewport.addChangeListener(this);
+        modelListener = this::schedule;
+        model.addTableModelListener(modelListener);
+    }
+
+    public void uninstall() {
+        if (viewport != null) {
+            viewport.removeChangeListener(this);
+            viewport = null;
+        }
+        if (modelListener != null) {
+            model.removeTableModelListener(modelListener);
+            modelListener = null;
+        }
+    }
+
+    public void shutdown() {
+        uninstall();
+        eventRunner.shutdown();
+    }
+
+    @Override
+    public void stateChanged(ChangeEvent e) {
+        schedule(e);
+    }
+
+    public void schedule(Object event) {
+        eventRunner.schedule(event);
+    }
+
+    /**
+     * @param rowIndex a model row index
+     * @param columnIndex a model column index
+     * @return true if the cell is included in a block being fetched
+     */
+    public boolean isPending(int rowIndex, int columnIndex) {
+        PrefetchBlock block = pendingBlocks.get(rowIndex / blockSize);
+        return block != null && block.contains(rowIndex, columnIndex);
+    }
+
+    /**
+     * executed under the event thread: submits blocks of rows around the visible rect
+     */
+    public void prefetch() {
+        JTable table = model.getTable();
+        if (table == null || !table.isShowing()) {
+            return;
+        }
+        prefetch(getTargetRows(table), getTargetColumns(table));
+    }
+
+    /**
+     * executed under the event thread: cancels pending blocks out of the target rows
+     *   and submits blocks of the target rows whose cells are not yet cached
+     * @param targetRows model row indices to be fetched
+     * @param targetColumns model column indices to be fetched
+     * @since 1.8
+     */
+    public void prefetch(List<Integer> targetRows, List<Integer> targetColumns) {
+        Executor executor = getExecutor();
+        ObjectTableModelCellCache cells = model.getCellCache();
+        if (executor == null || cells == null) {
+            return;
+        }
+        Set<Integer> targetBlocks = new HashSet<>();
+        for (int row : targetRows) {
+            targetBlocks.add(row / blockSize);
+        }
+        cancelBlocks(targetBlocks);
+
+        PrefetchBlock columnsBlock = new PrefetchBlock(-1, List.of(), model.getCellsGeneration());
+        for (int c : targetColumns) {
+            ObjectTableColumn column = model.getColumnAt(c);
+            if (column.isTaskRunnerUsedFor(columnsBlock)) {
+                columnsBlock.addColumn(c, column);
+            }
+        }
+        if (columnsBlock.columns.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Integer>> blockRows = new TreeMap<>();
+        for (int row : targetRows) {
+            if (row < cells.getRowCount() && !pendingBlocks.containsKey(row / blockSize) &&
+                    isMissing(cells, row, columnsBlock.columnIndices)) {
+                blockRows.computeIfAbsent(row / blockSize, k -> new ArrayList<>())
+                        .add(row);
+            }
+        }
+        blockRows.forEach((b, rows) -> submit(executor, columnsBlock.copy(b, rows)));
+    }
+
+    /**
+     * @return the executor of fetching tasks, the task-runner of the context of the model, or null if no context
+     * @since 1.8
+     */
+    protected Executor getExecutor() {
+        GuiMappingContext context = model.getTaskRunner().getContext();
+        return context == null ? null : context.getTaskRunner()::execute;
+    }
+
+    /**
+     * executed under the event thread: cancels pending blocks which are not in the targets, e.g. scrolled out
+     * @param targetBlocks block indices to be kept
+     * @since 1.8
+     */
+    public void cancelBlocks(Set<Integer> targetBlocks) {
+        for (Iterator<Map.Entry<Integer, PrefetchBlock>> iter = pendingBlocks.entrySet().iterator(); iter.hasNext(); ) {
+            Map.Entry<Integer, PrefetchBlock> e = iter.next();
+            if (!targetBlocks.contains(e.getKey())) {
+                e.getValue().cancel();
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the number of pending blocks
+     * @since 1.8
+     */
+    public int getPendingBlockCount() {
+        return pendingBlocks.size();
+    }
+
+    protected boolean isMissing(ObjectTableModelCellCache cells, int row, List<Integer> columnIndices) {
+        for (int columnIndex : columnIndices) {
+            if (columnIndex < cells.getColumnCount() && cells.getCellIfPresent(row, columnIndex) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param table the table of the model
+     * @return model row indices of the visible rect and the lookahead window
+     */
+    public List<Integer> getTargetRows(JTable table) {
+        int viewRows = table.getRowCount();
+        if (viewRows <= 0) {
+            return List.of();
+        }
+        Rectangle rect = table.getVisibleRect();
+        int top = table.rowAtPoint(new Point(rect.x, rect.y));
+        int bottom = table.rowAtPoint(new Point(rect.x, rect.y + rect.height - 1));
+        if (top < 0) {
+            top = 0;
+        }
+        if (bottom < 0) {
+            bottom = viewRows - 1;
+        }
+        int lookahead = (int) ((bottom - top + 1) * lookaheadFactor);
+        int from = Math.max(0, top - lookahead / 2);
+        int to = Math.min(viewRows - 1, bottom + lookahead);
+        List<Integer> rows = new ArrayList<>(to - from + 1);
+        for (int viewRow = from; viewRow <= to; ++viewRow) {
+            rows.add(table.convertRowIndexToModel(viewRow));
+        }
+        return rows;
+    }
+
+    /**
+     * @param table the table of the model
+     * @return sorted model column indices of the visible rect and the lookahead window
+     * @since 1.8
+     */
+    public List<Integer> getTargetColumns(JTable table) {
+        int viewColumns = table.getColumnCount();
+        if (viewColumns <= 0) {
+            return List.of();
+        }
+        Rectangle rect = table.getVisibleRect();
+        int left = table.columnAtPoint(new Point(rect.x, rect.y));
+        int right = table.columnAtPoint(new Point(rect.x + rect.width - 1, rect.y));
+        if (left < 0) {
+            left = 0;
+        }
+        if (right < 0) {
+            right = viewColumns - 1;
+        }
+        int lookahead = (int) ((right - left + 1) * lookaheadFactor);
+        int from = Math.max(0, left - lookahead / 2);
+        int to = Math.min(viewColumns - 1, right + lookahead);
+        List<Integer> columns = new ArrayList<>(to - from + 1);
+        for (int viewColumn = from; viewColumn <= to; ++viewColumn) {
+            int modelColumn = table.convertColumnIndexToModel(viewColumn);
+            if (modelColumn >= 0 && modelColumn < model.getColumnCount()) {
+                columns.add(modelColumn);
+            }
+        }
+        Collections.sort(columns);
+        return columns;
+    }
+
+    protected void submit(Executor executor, PrefetchBlock block) {
+        int blockIndex = block.blockIndex;
+        block.initSpecifiers();
+        pendingBlocks.put(blockIndex, block);
+        try {
+            executor.execute(() -> {
+                Object[][] values = null;
+                try {
+                    values = block.get();
+                } catch (Throwable ex) {
+                    GuiLogManager.get().logError(ex);
+                }
+                Object[][] result = values;
+                model.invokeLater(() -> publish(block, result));
+            });
+        } catch (Exception ex) { //rejected
+            pendingBlocks.remove(blockIndex);
+        }
+    }
+
+    /**
+     * executed under the event thread: stores fetched values to the cell cache and fires a single update event
+     * @param block the fetched block
+     * @param values the values of the block, nullable
+     */
+    public void publish(PrefetchBlock block, Object[][] values) {
+        if (pendingBlocks.get(block.blockIndex) == block) {
+            pendingBlocks.remove(block.blockIndex);
+        }
+        ObjectTableModelCellCache cells = model.getCellCache();
+        if (values == null || cells == null || block.isCancelled() || model.getCellsGeneration() != block.generation) {
+            return; //discard stale values: cells might be refreshed while fetching
+        }
+        int min = -1;
+        int max = -1;
+        for (int r = 0, rl = block.rows.size(); r < rl; ++r) {
+            int row = block.rows.get(r);
+            if (row >= cells.getRowCount()) {
+                continue;
+            }
+            for (int c = 0, cl = block.columnIndices.size(); c < cl; ++c) {
+                int columnIndex = block.columnIndices.get(c);
+                if (columnIndex < cells.getColumnCount() && cells.getCellIfPresent(row, columnIndex) == null) {
+                    model.taskValueFromSourceAfter(cells.getRowForCell(row, columnIndex), row, columnIndex, values[r][c]); //a future value is waited as the default
+                }
+            }
+            min = (min == -1 ? row : Math.min(min, row));
+            max = Math.max(max, row);
+        }
+        if (min != -1) {
+            model.fireTableRowsUpdated(min, max);
+        }
+    }
+
+    /** a task fetching cells of rows in a block */
+    public class PrefetchBlock implements Supplier<Object[][]> {
+        protected int blockIndex;
+        protected List<Integer> rows;
+        protected int generation;
+        protected List<Integer> columnIndices = new ArrayList<>();
+        protected List<ObjectTableColumn> columns = new ArrayList<>();
+        protected GuiReprValue.ObjectSpecifier[][] specifiers;
+        protected volatile boolean cancelled;
+
+        public PrefetchBlock(int blockIndex, List<Integer> rows, int generation) {
+            this.blockIndex = blockIndex;
+            this.rows = rows;
+            this.generation = generation;
+        }
+
+        public void addColumn(int columnIndex, ObjectTableColumn column) {
+            columnIndices.add(columnIndex);
+            columns.add(column);
+        }
+
+        /**
+         * @param blockIndex the block index of the new block
+         * @param rows the rows of the new block
+         * @return a new block with the same columns
+         */
+        public PrefetchBlock copy(int blockIndex, List<Integer> rows) {
+            PrefetchBlock block = new PrefetchBlock(blockIndex, rows, generation);
+            block.columnIndices.addAll(columnIndices);
+            block.columns.addAll(columns);
+            return block;
+        }
+
+        /** executed under the event thread: specifiers of columns depend on mutable row indices */
+        public void initSpecifiers() {
+            specifiers = new GuiReprValue.ObjectSpecifier[rows.size()][columns.size()];
+            for (int r = 0; r < rows.size(); ++r) {
+                for (int c = 0; c < columns.size(); ++c) {
+                    specifiers[r][c] = columns.get(c).getSpecifier(rows.get(r), columnIndices.get(c));
+                }
+            }
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean contains(int rowIndex, int columnIndex) {
+            return rows.contains(rowIndex) && columnIndices.contains(columnIndex);
+        }
+
+        @Override
+        public Object[][] get() {
+            Object[][] values = new Object[rows.size()][columns.size()];
+            for (int r = 0; r < rows.size(); ++r) {
+                if (cancelled) {
+                    return null;
+                }
+                int row = rows.get(r);
+                Object rowObject = model.getRowAtIndex(row);
+                for (int c = 0; c < columns.size(); ++c) {
+                    try {
+                        values[r][c] = model.getCellValueFromRow(columns.get(c), rowObject, row, columnIndices.get(c), specifiers[r][c]);
+                    } catch (Exception ex) {
+                        values[r][c] = null;
+                    }
+                }
+            }
+            return values;
+        }
+    }
+}
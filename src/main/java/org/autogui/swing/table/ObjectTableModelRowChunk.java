@@ -0,0 +1,205 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.base.mapping.GuiReprValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cell values of a range of rows of an {@link ObjectTableModel}, obtained outside of the event thread.
+ *  {@link #prepare()} is called under the event thread and obtains specifiers of cells,
+ *   and values of columns which cannot be obtained by the task-runner ({@link ObjectTableColumn#isTaskRunnerUsedFor(java.util.function.Supplier)}).
+ *  After that, {@link #getValue(int, int)} can be called from the task-runner.
+ *   It reads a cell from the cell cache of the model if present and the cache is {@link ObjectTableModelCellCache#isConcurrentReadable()}.
+ *  <p>
+ *  A chunk is either a range of rows ({@link #getFrom()} to {@link #getTo()}) with all columns,
+ *   or a list of rows ({@link #getRow(int)}) with specified columns, obtained by {@link #getValueAt(int, int)}.
+ * @since 1.8
+ */
+public class ObjectTableModelRowChunk {
+    protected ObjectTableModel model;
+    protected int generation;
+    protected int from;
+    protected int to;
+    /** explicit model rows, or null for a range of rows */
+    protected int[] rows;
+    protected List<ObjectTableColumn> columns = new ArrayList<>();
+    protected List<Integer> columnIndices = new ArrayList<>();
+    /** local row index to column to a specifier */
+    protected GuiReprValue.ObjectSpecifier[][] specifiers;
+    /** local row index to column to a value obtained under the event thread, or null */
+    protected Object[][] valuesOnEvent;
+    /** the cell cache of the model if readable from the task-runner, or null */
+    protected ObjectTableModelCellCache cells;
+    protected long timeoutMillis = 1000;
+
+    /**
+     * @param model the source model
+     * @param generation the generation of the scanning process when the chunk is created
+     * @param from the first model row
+     * @param to the last model row, inclusive
+     */
+    public ObjectTableModelRowChunk(ObjectTableModel model, int generation, int from, int to) {
+        this.model = model;
+        this.generation = generation;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @param model the source model
+     * @param generation the generation of the process when the chunk is created
+     * @param rows model rows of the chunk, in the order of local row indices. {@link #getFrom()} and {@link #getTo()} become 0 and rows.length-1
+     * @param columnIndices model column indices of the chunk, including the row-index column if specified
+     */
+    public ObjectTableModelRowChunk(ObjectTableModel model, int generation, int[] rows, List<Integer> columnIndices) {
+        this(model, generation, 0, rows.length - 1);
+        this.rows = rows;
+        this.columnIndices.addAll(columnIndices);
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public int getRowCount() {
+        return to - from + 1;
+    }
+
+    /**
+     * @param r a local row index from 0 to {@link #getRowCount()}-1
+     * @return the model row
+     */
+    public int getRow(int r) {
+        return rows != null ? rows[r] : from + r;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    public ObjectTableColumn getColumn(int c) {
+        return columns.get(c);
+    }
+
+    /**
+     * @param c the index of a column in the chunk
+     * @return the model column index
+     */
+    public int getColumnIndex(int c) {
+        return columnIndices.get(c);
+    }
+
+    /**
+     * executed under the event thread: adds all columns except for the row-index column
+     *  (or specified columns by the constructor), and obtains specifiers
+     */
+    public void prepare() {
+        if (columnIndices.isEmpty()) {
+            for (int c = 0, l = model.getColumnCount(); c < l; ++c) {
+                ObjectTableColumn column = model.getColumnAt(c);
+                if (!(column instanceof ObjectTableColumn.ObjectTableColumnRowIndex)) {
+                    columns.add(column);
+                    columnIndices.add(c);
+                }
+            }
+        } else {
+            columnIndices.forEach(c -> columns.add(model.getColumnAt(c)));
+        }
+        ObjectTableModelCellCache cache = model.getCellCache();
+        cells = (cache != null && cache.isConcurrentReadable() ? cache : null);
+        int rows = getRowCount();
+        specifiers = new GuiReprValue.ObjectSpecifier[rows][columns.size()];
+        valuesOnEvent = new Object[rows][];
+        for (int c = 0; c < columns.size(); ++c) {
+            ObjectTableColumn column = columns.get(c);
+            int columnIndex = columnIndices.get(c);
+            boolean onEvent = !column.isTaskRunnerUsedFor(this::toString);
+            for (int r = 0; r < rows; ++r) {
+                specifiers[r][c] = column.getSpecifier(getRow(r), columnIndex);
+                if (onEvent) {
+                    if (valuesOnEvent[r] == null) {
+                        valuesOnEvent[r] = new Object[columns.size()];
+                    }
+                    valuesOnEvent[r][c] = getValueFromColumn(r, c);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param row a model row in the chunk
+     * @param c the index of a column in the chunk
+     * @return the cell value, or null if failed. a {@link Future} value is waited
+     */
+    public Object getValue(int row, int c) {
+        return getValueAt(row - from, c);
+    }
+
+    /**
+     * @param r a local row index from 0 to {@link #getRowCount()}-1
+     * @param c the index of a column in the chunk
+     * @return the cell value, or null if failed. a {@link Future} value is waited
+     */
+    public Object getValueAt(int r, int c) {
+        Object[] rowValues = valuesOnEvent[r];
+        if (rowValues != null && rowValues[c] != null) {
+            return rowValues[c];
+        } else {
+            return getValueFromColumn(r, c);
+        }
+    }
+
+    /**
+     * @param c the index of a column in the chunk
+     * @return the primitive column of the cell cache for the column, or null
+     * @since 1.8
+     */
+    public ObjectTableModelCellCache.PrimitiveColumn getPrimitiveColumn(int c) {
+        return ObjectTableModelCellCache.getPrimitiveColumn(cells, columnIndices.get(c));
+    }
+
+    protected Object getValueFromColumn(int r, int c) {
+        ObjectTableColumn column = columns.get(c);
+        int row = getRow(r);
+        try {
+            Object cell = getCellIfPresent(row, columnIndices.get(c));
+            if (cell != null) {
+                return cell == ObjectTableModel.NULL_CELL ? null : cell;
+            }
+            Object value = model.getCellValueFromRow(column, model.getRowAtIndex(row), row, columnIndices.get(c), specifiers[r][c]);
+            if (value instanceof Future<?> f) {
+                value = f.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            }
+            return value;
+        } catch (Exception ex) {
+            GuiLogManager.get().logError(ex);
+            return null;
+        }
+    }
+
+    protected Object getCellIfPresent(int row, int columnIndex) {
+        ObjectTableModelCellCache c = cells;
+        try {
+            return c == null || row >= c.getRowCount() ? null : c.getCellIfPresent(row, columnIndex);
+        } catch (RuntimeException ex) { //concurrently updated
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return rows != null ? "chunk[" + rows.length + " rows]" : "chunk[" + from + ".." + to + "]";
+    }
+}
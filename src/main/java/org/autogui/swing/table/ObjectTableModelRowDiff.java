@@ -0,0 +1,190 @@
+package org.autogui.swing.table;
+
+import java.util.*;
+
+/**
+ * a difference between two snapshots of rows of {@link ObjectTableModel}.
+ *  <pre>
+ *      old: [prefix][oldMiddle][suffix]
+ *      new: [prefix][newMiddle][suffix]
+ *  </pre>
+ *  The common prefix and suffix are matched by identity, or by {@link Object#equals(Object)} if equality is enabled.
+ *   Rows in the middle are matched by a hash-map from an old row object to its index,
+ *    only if the middle is smaller than a limit.
+ *   Matched rows can carry over their cached cells.
+ *  <p>
+ *   A tail-appending change becomes prefix=old-size, oldMiddle=0 and newMiddle=appended-size,
+ *    which can be notified by a single {@link ObjectTableModel#fireTableRowsInserted(int, int)}.
+ *  <p>
+ *   A diff is computed by a context task and tagged with a generation of the snapshot,
+ *    and the model drops a diff arriving after a newer one.
+ *   A full diff ({@link #isFull()}) has no compared rows, e.g. the first snapshot or a source that cannot be compared.
+ * @since 1.8
+ */
+public class ObjectTableModelRowDiff {
+    protected int oldSize;
+    protected int newSize;
+    protected int prefix;
+    protected int suffix;
+    /** new-index in the middle - prefix to old-index, or -1 if unmatched. null if the middle is not matched */
+    protected int[] middleToOld;
+    protected int generation;
+    protected boolean full;
+
+    public ObjectTableModelRowDiff() {}
+
+    /**
+     * @param newSize the number of new rows, or -1 if unknown
+     * @return a diff requiring refreshing all rows
+     */
+    public static ObjectTableModelRowDiff full(int newSize) {
+        ObjectTableModelRowDiff d = new ObjectTableModelRowDiff();
+        d.full = true;
+        d.oldSize = -1;
+        d.newSize = newSize;
+        return d;
+    }
+
+    /**
+     * @param oldRows the old snapshot
+     * @param newRows the new snapshot
+     * @param equality if true, rows are compared by equals, otherwise by identity
+     * @param middleLimit the maximum size of the middle part of new rows matched by hashing
+     * @return the computed difference
+     */
+    public static ObjectTableModelRowDiff diff(Object[] oldRows, Object[] newRows, boolean equality, int middleLimit) {
+        return diff(Arrays.asList(oldRows), Arrays.asList(newRows), equality, middleLimit);
+    }
+
+    /**
+     * @param oldRows the old snapshot, a random-access list
+     * @param newRows the new rows, a random-access list
+     * @param equality if true, rows are compared by equals, otherwise by identity
+     * @param middleLimit the maximum size of the middle part of new rows matched by hashing
+     * @return the computed difference
+     */
+    public static ObjectTableModelRowDiff diff(List<?> oldRows, List<?> newRows, boolean equality, int middleLimit) {
+        ObjectTableModelRowDiff d = new ObjectTableModelRowDiff();
+        int oldLen = oldRows.size();
+        int newLen = newRows.size();
+        d.oldSize = oldLen;
+        d.newSize = newLen;
+        int min = Math.min(oldLen, newLen);
+        int p = 0;
+        while (p < min && same(oldRows.get(p), newRows.get(p), equality)) {
+            ++p;
+        }
+        int s = 0;
+        while (s < min - p && same(oldRows.get(oldLen - 1 - s), newRows.get(newLen - 1 - s), equality)) {
+            ++s;
+        }
+        d.prefix = p;
+        d.suffix = s;
+
+        int oldMiddle = d.getOldMiddleSize();
+        int newMiddle = d.getNewMiddleSize();
+        if (oldMiddle > 0 && newMiddle > 0 && newMiddle <= middleLimit) {
+            Map<Object, Deque<Integer>> oldIndices = equality ? new HashMap<>() : new IdentityHashMap<>();
+            for (int i = 0; i < oldMiddle; ++i) {
+                Object row = oldRows.get(p + i);
+                if (row != null) {
+                    oldIndices.computeIfAbsent(row, k -> new ArrayDeque<>())
+                            .add(p + i);
+                }
+            }
+            d.middleToOld = new int[newMiddle];
+            for (int i = 0; i < newMiddle; ++i) {
+                Deque<Integer> is = oldIndices.get(newRows.get(p + i));
+                d.middleToOld[i] = (is == null || is.isEmpty()) ? -1 : is.poll();
+            }
+        }
+        return d;
+    }
+
+    /**
+     * updates the old snapshot to the new rows by replacing only the middle part
+     * @param snapshot the old snapshot compared by the diff
+     * @param newRows the new rows compared by the diff
+     */
+    public void apply(List<Object> snapshot, List<?> newRows) {
+        int oldMiddle = getOldMiddleSize();
+        int newMiddle = getNewMiddleSize();
+        if (oldMiddle == newMiddle) {
+            for (int i = prefix, e = prefix + newMiddle; i < e; ++i) {
+                snapshot.set(i, newRows.get(i));
+            }
+        } else {
+            snapshot.subList(prefix, prefix + oldMiddle).clear();
+            snapshot.addAll(prefix, newRows.subList(prefix, prefix + newMiddle));
+        }
+    }
+
+    private static boolean same(Object o, Object n, boolean equality) {
+        return o == n || (equality && Objects.equals(o, n));
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * @return true if rows are not compared and all rows should be refreshed
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    public int getOldSize() {
+        return oldSize;
+    }
+
+    public int getNewSize() {
+        return newSize;
+    }
+
+    public int getPrefix() {
+        return prefix;
+    }
+
+    public int getSuffix() {
+        return suffix;
+    }
+
+    public int getOldMiddleSize() {
+        return oldSize - prefix - suffix;
+    }
+
+    public int getNewMiddleSize() {
+        return newSize - prefix - suffix;
+    }
+
+    public boolean isNoChange() {
+        return getOldMiddleSize() == 0 && getNewMiddleSize() == 0;
+    }
+
+    /**
+     * @param newIndex a row index of the new snapshot
+     * @return the matched old row index or -1
+     */
+    public int getOldIndex(int newIndex) {
+        if (newIndex < prefix) {
+            return newIndex;
+        } else if (newIndex >= newSize - suffix) {
+            return newIndex - newSize + oldSize;
+        } else if (middleToOld != null) {
+            return middleToOld[newIndex - prefix];
+        } else {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(generation=" + generation + (full ? ", full" : "") + ", prefix=" + prefix + ", old=" + getOldMiddleSize() +
+                ", new=" + getNewMiddleSize() + ", suffix=" + suffix + ")";
+    }
+}
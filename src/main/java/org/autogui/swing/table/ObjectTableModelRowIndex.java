@@ -0,0 +1,492 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.base.mapping.GuiMappingContext;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * a text index of rows of an {@link ObjectTableModel} for filtering rows.
+ * <pre>
+ *     ObjectTableModelRowIndex index = new ObjectTableModelRowIndex(model, sorter::setRowFilter);
+ *     index.install();
+ *     index.filter("keyword");
+ * </pre>
+ *  The index holds the lower-cased text of each row, joining {@link ObjectTableColumn#getCellText(Object)} of columns,
+ *   and postings of the rows for each tri-gram of the texts.
+ *  A query is split into terms by white-spaces, and the rows containing all terms are matched:
+ *   for a term with 3 or more characters, candidate rows are the intersection of the postings of its tri-grams,
+ *   and then the candidates are verified by the texts. A shorter term scans texts of all rows.
+ *  <p>
+ *  The index is built by chunks as a {@link ObjectTableModelRowScanner}:
+ *   texts of cells are obtained by the task-runner of the context.
+ *   Appended rows and updated rows are incrementally indexed.
+ *   Inserted and deleted rows in the middle shift the texts and the postings of following rows,
+ *    and only the inserted rows are scanned.
+ *   After indexing, the current query is evaluated by the task-runner,
+ *    and the matched rows are passed to the installer as an {@link IndexRowFilter} under the event thread.
+ *   Until then, the installed filter shifts its rows by {@link IndexRowFilter#rowsInserted(int, int, int)}
+ *    and {@link IndexRowFilter#rowsDeleted(int, int, int)} called by the sorter.
+ * @since 1.8
+ */
+public class ObjectTableModelRowIndex extends ObjectTableModelRowScanner<String[]> {
+    public static final int GRAM_SIZE = 3;
+    protected Consumer<RowFilter<ObjectTableModel, Integer>> filterInstaller;
+
+    /** lower-cased texts of indexed rows. guarded by this */
+    protected List<String> texts = new ArrayList<>();
+    /** tri-gram to rows. guarded by this */
+    protected Map<Long, Postings> grams = new HashMap<>();
+
+    protected String query = "";
+    protected int queryGeneration;
+
+    /**
+     * @param model the target model
+     * @param filterInstaller the receiver of a new filter, or null for the empty query, called under the event thread
+     */
+    public ObjectTableModelRowIndex(ObjectTableModel model, Consumer<RowFilter<ObjectTableModel, Integer>> filterInstaller) {
+        super(model);
+        this.filterInstaller = filterInstaller;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * executed under the event thread: sets the query and evaluates it by the task-runner
+     * @param query the query text. an empty or blank text clears the filter
+     */
+    public void filter(String query) {
+        this.query = (query == null ? "" : query);
+        runQuery();
+    }
+
+    @Override
+    protected void clear() {
+        synchronized (this) {
+            texts.clear();
+            grams.clear();
+        }
+    }
+
+    @Override
+    protected String[] scan(ObjectTableModelRowChunk chunk) {
+        String[] result = new String[chunk.getRowCount()];
+        for (int r = 0; r < result.length; ++r) {
+            if (isStale(chunk)) {
+                return null;
+            }
+            int row = chunk.getFrom() + r;
+            StringBuilder buf = new StringBuilder();
+            for (int c = 0, l = chunk.getColumnCount(); c < l; ++c) {
+                if (c > 0) {
+                    buf.append('\n');
+                }
+                buf.append(getCellText(chunk, row, c));
+            }
+            result[r] = normalize(buf.toString());
+        }
+        return result;
+    }
+
+    protected String getCellText(ObjectTableModelRowChunk chunk, int row, int c) {
+        try {
+            return chunk.getColumn(c).getCellText(chunk.getValue(row, c));
+        } catch (Exception ex) {
+            GuiLogManager.get().logError(ex);
+            return "";
+        }
+    }
+
+    @Override
+    protected void apply(ObjectTableModelRowChunk chunk, String[] chunkTexts) {
+        for (int i = 0; i < chunkTexts.length; ++i) {
+            setText(chunk.getFrom() + i, chunkTexts[i]);
+        }
+    }
+
+    @Override
+    protected void scanned() {
+        runQuery();
+    }
+
+    /**
+     * inserts empty texts and shifts postings of following rows
+     * @param first the first inserted row
+     * @param last the last inserted row, inclusive
+     * @return true if the rows are within the indexed rows
+     */
+    @Override
+    protected boolean rowsInserted(int first, int last) {
+        int n = last - first + 1;
+        synchronized (this) {
+            if (first > texts.size()) {
+                return false;
+            }
+            texts.addAll(first, Collections.nCopies(n, null));
+            grams.values().forEach(p -> p.shift(first, n));
+        }
+        ++queryGeneration; //a running query returns rows before the insertion
+        return true;
+    }
+
+    /**
+     * removes texts and postings of deleted rows, and shifts postings of following rows
+     * @param first the first deleted row
+     * @param last the last deleted row, inclusive
+     * @return true if the rows are within the indexed rows
+     */
+    @Override
+    protected boolean rowsDeleted(int first, int last) {
+        int n = last - first + 1;
+        synchronized (this) {
+            if (last >= texts.size()) {
+                return false;
+            }
+            for (int row = first; row <= last; ++row) {
+                removePostings(row, texts.get(row));
+            }
+            texts.subList(first, last + 1).clear();
+            grams.values().forEach(p -> p.shift(last + 1, -n));
+        }
+        ++queryGeneration;
+        return true;
+    }
+
+    /**
+     * replaces the text of the row and updates postings of changed tri-grams
+     * @param row the model row
+     * @param text the lower-cased text of the row
+     */
+    public synchronized void setText(int row, String text) {
+        while (texts.size() <= row) {
+            texts.add(null);
+        }
+        removePostings(row, texts.set(row, text));
+        for (long gram : getGrams(text)) {
+            grams.computeIfAbsent(gram, k -> new Postings())
+                    .add(row);
+        }
+    }
+
+    protected void removePostings(int row, String prev) {
+        if (prev != null) {
+            for (long gram : getGrams(prev)) {
+                Postings postings = grams.get(gram);
+                if (postings != null) {
+                    postings.remove(row);
+                    if (postings.size() == 0) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized int getIndexedRowCount() {
+        return texts.size();
+    }
+
+    public synchronized int getGramCount() {
+        return grams.size();
+    }
+
+    /**
+     * @param text a lower-cased text
+     * @return distinct tri-grams of the text, packed into longs
+     */
+    public static Set<Long> getGrams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0, l = text.length() - GRAM_SIZE + 1; i < l; ++i) {
+            result.add(getGram(text, i));
+        }
+        return result;
+    }
+
+    public static long getGram(String text, int i) {
+        return (((long) text.charAt(i)) << 32) | (((long) text.charAt(i + 1)) << 16) | text.charAt(i + 2);
+    }
+
+    public static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * executed under the event thread: evaluates the current query by the task-runner, and installs the filter
+     */
+    protected void runQuery() {
+        int gen = ++queryGeneration;
+        String q = query;
+        if (q.isBlank()) {
+            filterInstaller.accept(null);
+            return;
+        }
+        GuiMappingContext context = model.getTaskRunner().getContext();
+        if (context != null) {
+            try {
+                context.getTaskRunner().execute(() -> {
+                    IndexRowFilter filter = matchFilter(q);
+                    model.invokeLater(() -> installFilter(gen, filter));
+                });
+                return;
+            } catch (Exception ex) { //rejected
+                //synchronously
+            }
+        }
+        installFilter(gen, matchFilter(q));
+    }
+
+    protected void installFilter(int gen, IndexRowFilter filter) {
+        if (gen == queryGeneration) {
+            filterInstaller.accept(filter);
+        }
+    }
+
+    /**
+     * @param query the query text
+     * @return a filter of {@link #match(String)} with the number of indexed rows
+     * @since 1.8
+     */
+    public synchronized IndexRowFilter matchFilter(String query) {
+        return new IndexRowFilter(match(query), texts.size());
+    }
+
+    /**
+     * @param query the query text
+     * @return rows containing all terms of the query
+     */
+    public synchronized BitSet match(String query) {
+        String[] terms = normalize(query).trim().split("\\s+");
+        BitSet result = null;
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                continue;
+            }
+            BitSet rows = matchTerm(term, result);
+            result = rows;
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    /**
+     * @param term a lower-cased term
+     * @param restriction nullable: rows to be checked
+     * @return rows containing the term
+     */
+    protected BitSet matchTerm(String term, BitSet restriction) {
+        BitSet result = new BitSet();
+        if (term.length() < GRAM_SIZE) {
+            if (restriction != null) {
+                restriction.stream()
+                        .filter(row -> containsText(row, term))
+                        .forEach(result::set);
+            } else {
+                for (int row = 0, l = texts.size(); row < l; ++row) {
+                    if (containsText(row, term)) {
+                        result.set(row);
+                    }
+                }
+            }
+            return result;
+        }
+        List<Postings> postingsList = new ArrayList<>();
+        for (long gram : getGrams(term)) {
+            Postings postings = grams.get(gram);
+            if (postings == null) {
+                return result;
+            }
+            postingsList.add(postings);
+        }
+        postingsList.sort(Comparator.comparingInt(Postings::size));
+        Postings smallest = postingsList.getFirst();
+        smallest.forEach(row -> {
+            if ((restriction == null || restriction.get(row)) && containsAll(postingsList, row) && containsText(row, term)) {
+                result.set(row);
+            }
+        });
+        return result;
+    }
+
+    private boolean containsAll(List<Postings> postingsList, int row) {
+        for (int i = 1, l = postingsList.size(); i < l; ++i) {
+            if (!postingsList.get(i).contains(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsText(int row, String term) {
+        String text = texts.get(row);
+        return text != null && text.contains(term);
+    }
+
+    /**
+     * rows having a tri-gram: a sorted int array while sparse, and a bit-set when dense
+     */
+    public static class Postings {
+        public static final int DENSE_THRESHOLD = 1024;
+        protected int[] rows = new int[4];
+        protected int size;
+        protected BitSet bits;
+
+        public Postings() {}
+
+        public int size() {
+            return bits != null ? bits.cardinality() : size;
+        }
+
+        public boolean contains(int row) {
+            return bits != null ? bits.get(row) : Arrays.binarySearch(rows, 0, size, row) >= 0;
+        }
+
+        public void add(int row) {
+            if (bits != null) {
+                bits.set(row);
+                return;
+            }
+            int i = (size > 0 && rows[size - 1] < row) ? -(size + 1) : Arrays.binarySearch(rows, 0, size, row);
+            if (i >= 0) {
+                return;
+            }
+            int pos = -(i + 1);
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            System.arraycopy(rows, pos, rows, pos + 1, size - pos);
+            rows[pos] = row;
+            ++size;
+            if (size > DENSE_THRESHOLD && size * 32L > rows[size - 1]) {
+                bits = new BitSet();
+                for (int j = 0; j < size; ++j) {
+                    bits.set(rows[j]);
+                }
+                rows = null;
+                size = 0;
+            }
+        }
+
+        public void remove(int row) {
+            if (bits != null) {
+                bits.clear(row);
+                return;
+            }
+            int i = Arrays.binarySearch(rows, 0, size, row);
+            if (i >= 0) {
+                System.arraycopy(rows, i + 1, rows, i, size - i - 1);
+                --size;
+            }
+        }
+
+        /**
+         * adds the delta to rows after the row
+         * @param from the first shifted row
+         * @param delta the added number. for a negative delta, rows from from+delta to from-1 must be removed
+         */
+        public void shift(int from, int delta) {
+            if (bits != null) {
+                BitSet shifted = bits.get(0, Math.min(from, from + delta));
+                bits.stream()
+                        .filter(row -> row >= from)
+                        .forEach(row -> shifted.set(row + delta));
+                bits = shifted;
+            } else {
+                for (int i = size - 1; i >= 0 && rows[i] >= from; --i) {
+                    rows[i] += delta;
+                }
+            }
+        }
+
+        public void forEach(IntConsumer consumer) {
+            if (bits != null) {
+                bits.stream().forEach(consumer);
+            } else {
+                for (int i = 0; i < size; ++i) {
+                    consumer.accept(rows[i]);
+                }
+            }
+        }
+    }
+
+    /** a row-filter including rows of a bit-set of model indices */
+    public static class IndexRowFilter extends RowFilter<ObjectTableModel, Integer> {
+        protected BitSet rows;
+        /** the number of model rows of the bit-set, or -1 if unknown */
+        protected int rowCount;
+
+        public IndexRowFilter(BitSet rows) {
+            this(rows, -1);
+        }
+
+        /**
+         * @param rows matched model rows
+         * @param rowCount the number of model rows when the rows are matched, or -1 if unknown
+         * @since 1.8
+         */
+        public IndexRowFilter(BitSet rows, int rowCount) {
+            this.rows = rows;
+            this.rowCount = rowCount;
+        }
+
+        public BitSet getRows() {
+            return rows;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * executed under the event thread: shifts matched rows after inserted rows,
+         *  unless the filter is created after the insertion, i.e. the row count is already the new one.
+         *  the inserted rows are excluded until the index evaluates the query again
+         * @param first the first inserted row
+         * @param n the number of inserted rows
+         * @param newRowCount the number of model rows after the insertion
+         * @since 1.8
+         */
+        public void rowsInserted(int first, int n, int newRowCount) {
+            if (rowCount != newRowCount) {
+                shiftRows(first, n);
+                rowCount = newRowCount;
+            }
+        }
+
+        /**
+         * executed under the event thread: removes deleted rows and shifts following rows,
+         *  unless the filter is created after the deletion
+         * @param first the first deleted row
+         * @param n the number of deleted rows
+         * @param newRowCount the number of model rows after the deletion
+         * @since 1.8
+         */
+        public void rowsDeleted(int first, int n, int newRowCount) {
+            if (rowCount != newRowCount) {
+                rows.clear(first, first + n);
+                shiftRows(first + n, -n);
+                rowCount = newRowCount;
+            }
+        }
+
+        protected void shiftRows(int from, int delta) {
+            BitSet shifted = rows.get(0, Math.min(from, from + delta));
+            rows.stream()
+                    .filter(row -> row >= from)
+                    .forEach(row -> shifted.set(row + delta));
+            rows = shifted;
+        }
+
+        @Override
+        public boolean include(Entry<? extends ObjectTableModel, ? extends Integer> entry) {
+            return rows.get(entry.getIdentifier());
+        }
+    }
+}
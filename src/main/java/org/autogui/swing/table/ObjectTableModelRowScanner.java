@@ -0,0 +1,230 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.mapping.GuiMappingContext;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * the base class for scanning rows of an {@link ObjectTableModel} by chunks,
+ *   and maintaining a derived structure incrementally by row events of the model.
+ *  <p>
+ *  Rows are scanned by {@link ObjectTableModelRowChunk}s of {@link #getChunkSize()} rows:
+ *   specifiers of a chunk are obtained under the event thread,
+ *   and {@link #scan(ObjectTableModelRowChunk)} is called by the task-runner of the context.
+ *   The result is passed to {@link #apply(ObjectTableModelRowChunk, Object)} under the event thread.
+ *   Without a context, chunks are synchronously scanned.
+ *  <p>
+ *  Row events update the structure incrementally:
+ *   appended rows and updated rows are scanned,
+ *   and other insertions and deletions are passed to {@link #rowsInserted(int, int)} and {@link #rowsDeleted(int, int)};
+ *    if those return false or some chunks are pending, the structure is rebuilt.
+ *   Update events only filling cached cells ({@link ObjectTableModel#getCellsGeneration()} is not changed) are ignored.
+ * @param <R> the result type of scanning a chunk
+ * @since 1.8
+ */
+public abstract class ObjectTableModelRowScanner<R> implements TableModelListener {
+    protected ObjectTableModel model;
+    protected int chunkSize = 4096;
+
+    /** pending ranges {from, to} of rows. accessed from the event thread */
+    protected Deque<int[]> pendingRanges = new ArrayDeque<>();
+    protected boolean running;
+    protected volatile int buildGeneration;
+    protected int scannedCellsGeneration = -1;
+    /** the number of model rows targeted by the structure */
+    protected int targetRows;
+
+    public ObjectTableModelRowScanner(ObjectTableModel model) {
+        this.model = model;
+    }
+
+    public ObjectTableModel getModel() {
+        return model;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /** adds this to the model as a listener, and starts building */
+    public void install() {
+        model.addTableModelListener(this);
+        rebuild();
+    }
+
+    public void uninstall() {
+        model.removeTableModelListener(this);
+        pendingRanges.clear();
+        ++buildGeneration;
+    }
+
+    /**
+     * @return true if some chunks are pending
+     */
+    public boolean isScanning() {
+        return running || !pendingRanges.isEmpty();
+    }
+
+    @Override
+    public void tableChanged(TableModelEvent e) {
+        int first = e.getFirstRow();
+        int last = e.getLastRow();
+        int cellsGeneration = model.getCellsGeneration();
+        boolean rows = (first != TableModelEvent.HEADER_ROW && last != Integer.MAX_VALUE);
+        if (e.getType() == TableModelEvent.INSERT && rows && first == targetRows) {
+            targetRows += last - first + 1;
+            scannedCellsGeneration = cellsGeneration;
+            schedule(first, last);
+        } else if (e.getType() == TableModelEvent.INSERT && rows && first < targetRows &&
+                    !isScanning() && rowsInserted(first, last)) {
+            targetRows += last - first + 1;
+            scannedCellsGeneration = cellsGeneration;
+            schedule(first, last);
+        } else if (e.getType() == TableModelEvent.DELETE && rows && last < targetRows &&
+                    !isScanning() && rowsDeleted(first, last)) {
+            targetRows -= last - first + 1;
+            scannedCellsGeneration = cellsGeneration;
+            scanned();
+        } else if (e.getType() == TableModelEvent.UPDATE && rows && last < targetRows) {
+            if (cellsGeneration != scannedCellsGeneration) {
+                scannedCellsGeneration = cellsGeneration;
+                schedule(first, last);
+            }
+        } else if (e.getType() != TableModelEvent.UPDATE || cellsGeneration != scannedCellsGeneration ||
+                    model.getRowCount() != targetRows) {
+            rebuild();
+        }
+    }
+
+    /** executed under the event thread: discards the structure and scans all rows */
+    public void rebuild() {
+        ++buildGeneration;
+        pendingRanges.clear();
+        clear();
+        scannedCellsGeneration = model.getCellsGeneration();
+        targetRows = model.getRowCount();
+        if (targetRows > 0) {
+            schedule(0, targetRows - 1);
+        } else {
+            scanned();
+        }
+    }
+
+    /**
+     * executed under the event thread: adds the range of rows to be scanned
+     * @param from the first row
+     * @param to the last row, inclusive
+     */
+    public void schedule(int from, int to) {
+        pendingRanges.addLast(new int[] {from, to});
+        if (!running) {
+            processPending();
+        }
+    }
+
+    /**
+     * executed under the event thread: scans pending chunks
+     */
+    protected void processPending() {
+        while (!pendingRanges.isEmpty()) {
+            int[] range = pendingRanges.pollFirst();
+            int from = range[0];
+            int to = Math.min(range[1], from + chunkSize - 1);
+            if (to < range[1]) {
+                pendingRanges.addFirst(new int[] {to + 1, range[1]});
+            }
+            ObjectTableModelRowChunk chunk = new ObjectTableModelRowChunk(model, buildGeneration, from, Math.min(to, targetRows - 1));
+            if (chunk.getTo() < chunk.getFrom()) {
+                continue;
+            }
+            chunk.prepare();
+            GuiMappingContext context = model.getTaskRunner().getContext();
+            if (context != null) {
+                running = true;
+                try {
+                    context.getTaskRunner().execute(() -> {
+                        R result = isStale(chunk) ? null : scan(chunk);
+                        model.invokeLater(() -> complete(chunk, result));
+                    });
+                    return;
+                } catch (Exception ex) { //rejected
+                    running = false;
+                }
+            }
+            applyIfNotStale(chunk, scan(chunk));
+        }
+        scanned();
+    }
+
+    protected void complete(ObjectTableModelRowChunk chunk, R result) {
+        running = false;
+        applyIfNotStale(chunk, result);
+        processPending();
+    }
+
+    protected void applyIfNotStale(ObjectTableModelRowChunk chunk, R result) {
+        if (!isStale(chunk) && result != null) {
+            apply(chunk, result);
+        }
+    }
+
+    /**
+     * @param chunk a chunk
+     * @return true if the structure is rebuilt after creating the chunk
+     */
+    public boolean isStale(ObjectTableModelRowChunk chunk) {
+        return chunk.getGeneration() != buildGeneration;
+    }
+
+    /**
+     * executed under the event thread: discards the structure
+     */
+    protected abstract void clear();
+
+    /**
+     * executed by the task-runner
+     * @param chunk the prepared chunk
+     * @return the result of the chunk, or null if it is stale
+     */
+    protected abstract R scan(ObjectTableModelRowChunk chunk);
+
+    /**
+     * executed under the event thread: reflects the result to the structure
+     * @param chunk the scanned chunk
+     * @param result the non-null result of {@link #scan(ObjectTableModelRowChunk)}
+     */
+    protected abstract void apply(ObjectTableModelRowChunk chunk, R result);
+
+    /**
+     * executed under the event thread: shifts the structure for rows inserted at the middle of rows.
+     *  the inserted rows are scanned after the call
+     * @param first the first inserted row
+     * @param last the last inserted row, inclusive
+     * @return true if supported. the default returns false and causes rebuilding
+     */
+    protected boolean rowsInserted(int first, int last) {
+        return false;
+    }
+
+    /**
+     * executed under the event thread: removes deleted rows from the structure
+     * @param first the first deleted row
+     * @param last the last deleted row, inclusive
+     * @return true if supported. the default returns false and causes rebuilding
+     */
+    protected boolean rowsDeleted(int first, int last) {
+        return false;
+    }
+
+    /**
+     * executed under the event thread: called after all pending chunks are applied, or rows are deleted
+     */
+    protected void scanned() { }
+}
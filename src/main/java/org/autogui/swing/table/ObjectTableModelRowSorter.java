@@ -0,0 +1,1075 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.base.mapping.GuiMappingContext;
+
+import javax.swing.*;
+import java.nio.file.Path;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * a row-sorter for {@link ObjectTableModel}, sorting rows by a background task.
+ *  <p>
+ *  Instead of comparing cell values obtained by {@link ObjectTableModel#getValueAt(int, int)} at each comparison,
+ *   the sorter extracts one key for each row and each sort column on the task-runner of the context of the model:
+ *  <ul>
+ *      <li>integral numbers as a <code>long[]</code> and other numbers as a <code>double[]</code>,
+ *           for columns with {@link GuiSwingTableColumnNumber.NumberComparator}</li>
+ *      <li>normalized {@link Path}s for columns with {@link GuiSwingTableColumnFilePath.FilePathComparator}</li>
+ *      <li>{@link CollationKey}s for columns without comparators</li>
+ *      <li>values themselves with the comparator of the column, for other columns</li>
+ *  </ul>
+ *  Cell values are read from the cell cache of the model if present ({@link ObjectTableModelCellCache#isConcurrentReadable()}),
+ *   and otherwise obtained with specifiers computed in the task.
+ *   Numbers of primitive columns of {@link ObjectTableModelCellCache.CellCacheColumnar} are read without boxing.
+ *  Then, it sorts a primitive array of row indices by a stable merge sort ({@link #sortIndices(int[], IntBinaryOperator)})
+ *   in the same task, and the event thread installs the resulting view-to-model indices at once.
+ *   The sort itself is single-threaded: it runs on the one thread of the task,
+ *    not as a parallel sort occupying the common pool shared by other tasks.
+ *  A new sort request or a data change cancels the running task.
+ *  Until a task completes, the previous order is kept, and inserted rows are placed at the end of the view.
+ *  <p>
+ *  The keys of the last sort are kept.
+ *   Rows inserted by a row diff retaining cells ({@link ObjectTableModel#isRowDiffRetainingCells()})
+ *    are merged into the current order by a {@link MergeTask} extracting keys only of the inserted rows,
+ *   and deleted rows are just removed from the order and the keys.
+ *  <p>
+ *  Update events only filling cached cells (i.e. {@link ObjectTableModel#getCellsGeneration()} is not changed)
+ *   do not cause re-sorting.
+ *  <p>
+ *  A {@link RowFilter} set by {@link #setRowFilter(RowFilter)} is applied to the sorted rows without re-sorting.
+ *   For a {@link ObjectTableModelRowIndex.IndexRowFilter}, matched rows are taken from its bit-set.
+ * @since 1.8
+ */
+public class ObjectTableModelRowSorter extends RowSorter<ObjectTableModel> {
+    protected ObjectTableModel model;
+    protected List<SortKey> sortKeys = List.of();
+    protected int maxSortKeys = 3;
+    /** sorted model indices before filtering. nullable: null means the identity mapping */
+    protected int[] sortedToModel;
+    /** nullable: null means the identity mapping */
+    protected int[] viewToModel;
+    protected int[] modelToView;
+    protected RowFilter<? super ObjectTableModel, ? super Integer> rowFilter;
+    protected SortTask task;
+    protected int sortGeneration;
+    /** the cells generation of the model at the last installed sort */
+    protected int sortedCellsGeneration = -1;
+    /** the keys of model rows for the current order, or null. @since 1.8 */
+    protected SortKeyColumn[] sortedKeys;
+
+    public ObjectTableModelRowSorter(ObjectTableModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public ObjectTableModel getModel() {
+        return model;
+    }
+
+    public int getMaxSortKeys() {
+        return maxSortKeys;
+    }
+
+    public void setMaxSortKeys(int maxSortKeys) {
+        this.maxSortKeys = maxSortKeys;
+    }
+
+    /**
+     * toggles the sort order of the column by a click of the header.
+     *  if the source of the model is paged, sorting is disabled and it just notifies the user by {@link #sortDisabled(int)}
+     * @param column the model column index
+     */
+    @Override
+    public void toggleSortOrder(int column) {
+        checkColumn(column);
+        if (model.isSourcePaged()) {
+            sortDisabled(column);
+            return;
+        }
+        List<SortKey> keys = new ArrayList<>(getSortKeys());
+        int sortIndex;
+        for (sortIndex = keys.size() - 1; sortIndex >= 0; --sortIndex) {
+            if (keys.get(sortIndex).getColumn() == column) {
+                break;
+            }
+        }
+        if (sortIndex == -1) {
+            keys.addFirst(new SortKey(column, SortOrder.ASCENDING));
+        } else if (sortIndex == 0) {
+            SortKey key = keys.getFirst();
+            keys.set(0, new SortKey(column,
+                    key.getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING));
+        } else {
+            keys.remove(sortIndex);
+            keys.addFirst(new SortKey(column, SortOrder.ASCENDING));
+        }
+        if (keys.size() > maxSortKeys) {
+            keys = keys.subList(0, maxSortKeys);
+        }
+        setSortKeys(keys);
+    }
+
+    protected void checkColumn(int column) {
+        if (column < 0 || column >= model.getColumnCount()) {
+            throw new IndexOutOfBoundsException("column " + column + " out of range");
+        }
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        int[] v2m = viewToModel;
+        if (v2m == null) {
+            if (index < 0 || index >= getModelRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index");
+            }
+            return index;
+        } else {
+            return v2m[index];
+        }
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        int[] m2v = modelToView;
+        if (m2v == null) {
+            if (index < 0 || index >= getModelRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index");
+            }
+            return index;
+        } else {
+            return index < m2v.length ? m2v[index] : -1;
+        }
+    }
+
+    /**
+     * @return the current view-to-model indices, or null for the identity mapping.
+     *   the array is replaced by sorting and filtering, and never modified after installed
+     * @since 1.8
+     */
+    public int[] getViewToModel() {
+        return viewToModel;
+    }
+
+    /**
+     * called by {@link #toggleSortOrder(int)} for a paged source: logs a message shown in the status bar
+     * @param column the model column index
+     * @since 1.8
+     */
+    protected void sortDisabled(int column) {
+        GuiLogManager.get().logFormat("sorting by \"%s\" is disabled: the rows are fetched by pages",
+                model.getColumnName(column));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = (keys == null ? List.of() : List.copyOf(keys));
+        for (SortKey key : newKeys) {
+            checkColumn(key.getColumn());
+        }
+        if (!newKeys.equals(sortKeys)) {
+            sortKeys = newKeys;
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    /**
+     * sets the filter and applies it to the current sorted rows
+     * @param rowFilter the filter or null
+     */
+    public void setRowFilter(RowFilter<? super ObjectTableModel, ? super Integer> rowFilter) {
+        this.rowFilter = rowFilter;
+        installViewToModel(filterRows(sortedToModel));
+    }
+
+    public RowFilter<? super ObjectTableModel, ? super Integer> getRowFilter() {
+        return rowFilter;
+    }
+
+    public boolean isUnsorted() {
+        return sortKeys.isEmpty() || sortKeys.getFirst().getSortOrder() == SortOrder.UNSORTED;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        int[] v2m = viewToModel;
+        return v2m == null ? getModelRowCount() : v2m.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        if (sortedToModel != null && sortedToModel.length != getModelRowCount()) {
+            installSortedToModel(null);
+        }
+        sort();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        checkRange(firstRow, endRow);
+        if (rowFilter instanceof ObjectTableModelRowIndex.IndexRowFilter indexFilter) { //the bit-set of the previous rows
+            indexFilter.rowsInserted(firstRow, endRow - firstRow + 1, getModelRowCount());
+        }
+        if (sortedToModel != null) {
+            int n = endRow - firstRow + 1;
+            int[] s2m = new int[sortedToModel.length + n];
+            for (int i = 0; i < sortedToModel.length; ++i) {
+                int m = sortedToModel[i];
+                s2m[i] = (m >= firstRow ? m + n : m);
+            }
+            for (int i = 0; i < n; ++i) {
+                s2m[sortedToModel.length + i] = firstRow + i;
+            }
+            installSortedToModel(s2m);
+            if (isMergeable()) {
+                merge(firstRow, endRow);
+                return;
+            }
+        } else if (rowFilter != null) {
+            installSortedToModel(null);
+        }
+        sort();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        checkRange(firstRow, endRow);
+        if (rowFilter instanceof ObjectTableModelRowIndex.IndexRowFilter indexFilter) {
+            indexFilter.rowsDeleted(firstRow, endRow - firstRow + 1, getModelRowCount());
+        }
+        if (sortedToModel != null) {
+            int n = endRow - firstRow + 1;
+            int[] s2m = new int[Math.max(0, sortedToModel.length - n)];
+            int j = 0;
+            for (int m : sortedToModel) {
+                if (m < firstRow) {
+                    s2m[j++] = m;
+                } else if (m > endRow) {
+                    s2m[j++] = m - n;
+                }
+            }
+            boolean mergeable = isMergeable();
+            installSortedToModel(j == s2m.length ? s2m : Arrays.copyOf(s2m, j));
+            if (mergeable) { //the remaining rows keep their order
+                SortKeyColumn[] keys = sortedKeys;
+                for (int k = 0; k < keys.length; ++k) {
+                    keys[k] = keys[k].replaceRows(firstRow, n, null);
+                }
+                sortedCellsGeneration = model.getCellsGeneration();
+                return;
+            }
+        } else if (rowFilter != null) {
+            installSortedToModel(null);
+        }
+        sort();
+    }
+
+    /**
+     * @return true if a change of rows can be merged into the current order without re-sorting:
+     *   no running task, the keys of the current order are available and cells of unchanged rows are retained
+     * @since 1.8
+     */
+    protected boolean isMergeable() {
+        return task == null && sortedKeys != null && sortedToModel != null &&
+                !isUnsorted() && !model.isSourcePaged() && model.isRowDiffRetainingCells();
+    }
+
+    protected void checkRange(int firstRow, int endRow) {
+        if (firstRow > endRow || firstRow < 0) {
+            throw new IndexOutOfBoundsException("Invalid range");
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        int cellsGeneration = model.getCellsGeneration();
+        if (cellsGeneration != sortedCellsGeneration &&
+                (task == null || task.cellsGeneration != cellsGeneration)) {
+            sort();
+        }
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    /**
+     * replaces the sorted rows and installs the filtered rows of them
+     * @param s2m the new sorted model indices or null
+     */
+    protected void installSortedToModel(int[] s2m) {
+        sortedToModel = s2m;
+        installViewToModel(filterRows(s2m));
+    }
+
+    /**
+     * @param s2m sorted model indices or null
+     * @return model indices included by the row-filter, or s2m itself if no filter
+     */
+    protected int[] filterRows(int[] s2m) {
+        RowFilter<? super ObjectTableModel, ? super Integer> filter = rowFilter;
+        if (filter == null) {
+            return s2m;
+        }
+        int rows = getModelRowCount();
+        if (s2m == null && filter instanceof ObjectTableModelRowIndex.IndexRowFilter indexFilter) {
+            return indexFilter.getRows().stream()
+                    .takeWhile(i -> i < rows)
+                    .toArray();
+        }
+        FilterEntry entry = new FilterEntry();
+        int n = (s2m == null ? rows : s2m.length);
+        int[] v2m = new int[n];
+        int j = 0;
+        for (int i = 0; i < n; ++i) {
+            entry.row = (s2m == null ? i : s2m[i]);
+            if (filter.include(entry)) {
+                v2m[j++] = entry.row;
+            }
+        }
+        return j == n ? v2m : Arrays.copyOf(v2m, j);
+    }
+
+    /** an entry of a model row, passed to the row-filter */
+    protected class FilterEntry extends RowFilter.Entry<ObjectTableModel, Integer> {
+        protected int row;
+
+        public FilterEntry() {}
+
+        @Override
+        public ObjectTableModel getModel() {
+            return model;
+        }
+
+        @Override
+        public int getValueCount() {
+            return model.getColumnCount();
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return model.getValueAt(row, index);
+        }
+
+        @Override
+        public Integer getIdentifier() {
+            return row;
+        }
+    }
+
+    /**
+     * replaces the mapping and fires a {@link javax.swing.event.RowSorterEvent.Type#SORTED} event
+     *  with the previous mapping
+     * @param v2m the new view-to-model indices or null
+     */
+    protected void installViewToModel(int[] v2m) {
+        int[] last = viewToModel;
+        if (last == null && v2m == null) {
+            return;
+        }
+        int[] m2v = null;
+        if (v2m != null) {
+            m2v = new int[getModelRowCount()];
+            Arrays.fill(m2v, -1);
+            for (int i = 0; i < v2m.length; ++i) {
+                if (v2m[i] < m2v.length) {
+                    m2v[v2m[i]] = i;
+                }
+            }
+        }
+        viewToModel = v2m;
+        modelToView = m2v;
+        fireRowSorterChanged(last);
+    }
+
+    /**
+     * executed under the event thread: cancels the running task and starts a new task for current sort keys.
+     *  If unsorted or the source of the model is paged, it immediately resets the mapping.
+     */
+    public void sort() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        ++sortGeneration;
+        sortedKeys = null;
+        if (isUnsorted() || model.isSourcePaged()) {
+            installSortedToModel(null);
+            sortedCellsGeneration = model.getCellsGeneration();
+            return;
+        }
+        start(new SortTask(sortGeneration, model.getCellsGeneration(), getModelRowCount(), sortKeys));
+    }
+
+    /**
+     * executed under the event thread: starts a task merging inserted rows into the current order
+     * @param firstRow the first inserted model row
+     * @param endRow the last inserted model row
+     * @since 1.8
+     */
+    public void merge(int firstRow, int endRow) {
+        ++sortGeneration;
+        int[] base = Arrays.copyOf(sortedToModel, sortedToModel.length - (endRow - firstRow + 1)); //without appended rows
+        SortKeyColumn[] baseKeys = sortedKeys;
+        sortedKeys = null;
+        sortedCellsGeneration = model.getCellsGeneration(); //cells of other rows are retained
+        start(new MergeTask(sortGeneration, model.getCellsGeneration(), getModelRowCount(), sortKeys,
+                base, baseKeys, firstRow, endRow + 1));
+    }
+
+    protected void start(SortTask t) {
+        task = t;
+        GuiMappingContext context = model.getTaskRunner().getContext();
+        if (!t.prepare() || context == null) {
+            runSynchronously(t);
+        } else {
+            try {
+                context.getTaskRunner().execute(t);
+            } catch (Exception ex) { //rejected
+                runSynchronously(t);
+            }
+        }
+    }
+
+    protected void runSynchronously(SortTask t) {
+        int[] v2m = t.sortRows();
+        if (v2m != null) {
+            installSorted(t, v2m);
+        } else if (!t.isCancelled() && task == t) { //a merge failed
+            task = null;
+            sort();
+        }
+    }
+
+    /**
+     * executed under the event thread: installs the result if the task is the latest one
+     * @param t the completed task
+     * @param v2m the sorted view-to-model indices
+     */
+    protected void installSorted(SortTask t, int[] v2m) {
+        if (task == t && t.generation == sortGeneration && v2m.length == getModelRowCount()) {
+            task = null;
+            sortedCellsGeneration = t.cellsGeneration;
+            sortedKeys = t.keyColumns;
+            installSortedToModel(v2m);
+        }
+    }
+
+    /** a task extracting keys and sorting row indices */
+    public class SortTask implements Runnable {
+        protected int generation;
+        protected int cellsGeneration;
+        protected int rows;
+        protected List<SortKey> keys;
+        protected ObjectTableColumn[] columns;
+        protected boolean[] taskRunnerUsed;
+        /** keys of columns which cannot be obtained by the task-runner, extracted by {@link #prepare()} */
+        protected SortKeyColumn[] keysOnEvent;
+        /** the cell cache of the model if readable from the task, or null */
+        protected ObjectTableModelCellCache cells;
+        /** the range of model rows whose values are extracted */
+        protected int valuesFrom;
+        protected int valuesTo;
+        /** the extracted keys of all rows, set by {@link #sortRows()} */
+        protected SortKeyColumn[] keyColumns;
+        protected volatile boolean cancelled;
+
+        public SortTask(int generation, int cellsGeneration, int rows, List<SortKey> keys) {
+            this.generation = generation;
+            this.cellsGeneration = cellsGeneration;
+            this.rows = rows;
+            this.keys = keys;
+            valuesTo = rows;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * executed under the event thread: extracts keys of columns which cannot be obtained by the task-runner.
+         *  specifiers of other columns are lazily computed by the task.
+         * @return true if some columns can be obtained by the task-runner
+         */
+        public boolean prepare() {
+            int n = keys.size();
+            columns = new ObjectTableColumn[n];
+            taskRunnerUsed = new boolean[n];
+            keysOnEvent = new SortKeyColumn[n];
+            ObjectTableModelCellCache cache = model.getCellCache();
+            cells = (cache != null && cache.isConcurrentReadable() && cache.getRowCount() >= rows ? cache : null);
+            boolean used = false;
+            for (int k = 0; k < n; ++k) {
+                ObjectTableColumn column = model.getColumnAt(keys.get(k).getColumn());
+                columns[k] = column;
+                taskRunnerUsed[k] = column.isTaskRunnerUsedFor(this::toString);
+                if (taskRunnerUsed[k]) {
+                    used = true;
+                } else {
+                    keysOnEvent[k] = extractKeys(k);
+                }
+            }
+            return used;
+        }
+
+        @Override
+        public void run() {
+            try {
+                int[] v2m = sortRows();
+                if (v2m != null) {
+                    model.invokeLater(() -> installSorted(this, v2m));
+                }
+            } catch (Throwable ex) {
+                GuiLogManager.get().logError(ex);
+            }
+        }
+
+        /**
+         * @return sorted view-to-model indices, or null if cancelled
+         */
+        public int[] sortRows() {
+            int n = keys.size();
+            SortKeyColumn[] keyColumns = new SortKeyColumn[n];
+            for (int k = 0; k < n; ++k) {
+                keyColumns[k] = (keysOnEvent[k] != null ? keysOnEvent[k] : extractKeys(k));
+                if (keyColumns[k] == null) {
+                    return null;
+                }
+            }
+            int[] v2m = new int[rows];
+            for (int i = 0; i < rows; ++i) {
+                v2m[i] = i;
+            }
+            sortIndices(v2m, (r1, r2) -> compareRows(keyColumns, r1, r2));
+            if (isCancelled()) {
+                return null;
+            }
+            this.keyColumns = keyColumns;
+            return v2m;
+        }
+
+        /**
+         * @param keyColumns keys of rows for each sort key
+         * @param r1 a model row
+         * @param r2 another model row
+         * @return the comparison of the rows by the sort keys, or by the row indices if same keys
+         */
+        public int compareRows(SortKeyColumn[] keyColumns, int r1, int r2) {
+            for (int k = 0, n = keyColumns.length; k < n; ++k) {
+                int c = keyColumns[k].compare(r1, r2);
+                if (c != 0) {
+                    return keys.get(k).getSortOrder() == SortOrder.DESCENDING ? -c : c;
+                }
+            }
+            return Integer.compare(r1, r2);
+        }
+
+        /**
+         * @param k the index of the sort key
+         * @return keys of rows from {@link #valuesFrom} to {@link #valuesTo},
+         *    by {@link #createPrimitiveKeyColumn(int)} or {@link #createKeyColumn(Comparator, Object[])}, or null if cancelled
+         * @since 1.8
+         */
+        public SortKeyColumn extractKeys(int k) {
+            SortKeyColumn keyColumn = createPrimitiveKeyColumn(k);
+            if (keyColumn == null && !isCancelled()) {
+                Object[] values = getValues(k);
+                keyColumn = (values == null ? null : createKeyColumn(columns[k].getComparator(), values));
+            }
+            return isCancelled() ? null : keyColumn;
+        }
+
+        /**
+         * reads numbers of a primitive column of the cell cache without boxing,
+         *  copying blocks of rows by {@link ObjectTableModelCellCache.PrimitiveColumn#read(int, int)}
+         * @param k the index of the sort key
+         * @return keys of rows from {@link #valuesFrom} to {@link #valuesTo}, or null if the column is not cached as primitives,
+         *    the comparator is not a {@link GuiSwingTableColumnNumber.NumberComparator},
+         *    a value obtained for a missing cell does not fit the column, or cancelled
+         * @since 1.8
+         */
+        public SortKeyColumn createPrimitiveKeyColumn(int k) {
+            int columnIndex = keys.get(k).getColumn();
+            ObjectTableModelCellCache.PrimitiveColumn primitive = ObjectTableModelCellCache.getPrimitiveColumn(cells, columnIndex);
+            if (primitive == null || !(columns[k].getComparator() instanceof GuiSwingTableColumnNumber.NumberComparator)) {
+                return null;
+            }
+            boolean integral = primitive.isIntegral();
+            int n = valuesTo - valuesFrom;
+            long[] longs = (integral ? new long[n] : null);
+            double[] doubles = (integral ? null : new double[n]);
+            BitSet nulls = new BitSet();
+            ObjectTableModelCellCache.PrimitiveRange range = null;
+            for (int r = valuesFrom; r < valuesTo; ++r) {
+                if ((r & 1023) == 0 && isCancelled()) {
+                    return null;
+                }
+                if (range == null || r >= range.getFrom() + range.getSize()) {
+                    range = primitive.read(r, Math.min(valuesTo, r + ObjectTableModelCellCache.PrimitiveColumn.BLOCK_SIZE));
+                }
+                int i = r - valuesFrom;
+                boolean valid = range.isValid(r);
+                if (valid && range.isNull(r)) {
+                    nulls.set(i);
+                } else if (valid && integral) {
+                    longs[i] = range.getAsLong(r);
+                } else if (valid) {
+                    doubles[i] = range.getAsDouble(r);
+                } else {
+                    Object v = getValue(k, r);
+                    if (v == null) {
+                        nulls.set(i);
+                    } else if (integral && (v instanceof Long || v instanceof Integer || v instanceof Short || v instanceof Byte)) {
+                        longs[i] = ((Number) v).longValue();
+                    } else if (!integral && (v instanceof Double || v instanceof Float)) {
+                        doubles[i] = ((Number) v).doubleValue();
+                    } else {
+                        return null;
+                    }
+                }
+            }
+            return integral ? new SortKeyColumnLong(longs, nulls) : new SortKeyColumnDouble(doubles, nulls);
+        }
+
+        /**
+         * @param k the index of the sort key
+         * @return cell values of the column for rows from {@link #valuesFrom} to {@link #valuesTo}, or null if cancelled
+         */
+        public Object[] getValues(int k) {
+            Object[] values = new Object[valuesTo - valuesFrom];
+            for (int r = valuesFrom; r < valuesTo; ++r) {
+                if ((r & 1023) == 0 && isCancelled()) {
+                    return null;
+                }
+                values[r - valuesFrom] = getValue(k, r);
+            }
+            return values;
+        }
+
+        /**
+         * @param k the index of the sort key
+         * @param r the model row
+         * @return the cell value read from the cell cache if present, otherwise obtained from the row object, or null if failed
+         * @since 1.8
+         */
+        public Object getValue(int k, int r) {
+            ObjectTableColumn column = columns[k];
+            int columnIndex = keys.get(k).getColumn();
+            try {
+                Object v = (cells == null ? null : cells.getCellIfPresent(r, columnIndex));
+                if (v == ObjectTableModel.NULL_CELL) {
+                    return null;
+                } else if (v == null) {
+                    v = model.getCellValueFromRow(column, model.getRowAtIndex(r), r, columnIndex,
+                            column.getSpecifier(r, columnIndex));
+                    if (v instanceof Future<?> f) {
+                        v = f.get(1, TimeUnit.SECONDS);
+                    }
+                }
+                return v;
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "sort" + keys;
+        }
+    }
+
+    /**
+     * a task merging inserted rows into the current order:
+     *  it extracts keys only of the inserted rows, sorts them and merges them with the sorted other rows.
+     *  it returns null without cancellation if the keys cannot be merged, e.g. a key type is changed,
+     *   and then the sorter starts a full sort
+     * @since 1.8
+     */
+    public class MergeTask extends SortTask {
+        /** sorted model indices of other rows, already shifted by the insertion */
+        protected int[] base;
+        /** the keys of other rows before the insertion */
+        protected SortKeyColumn[] baseKeys;
+
+        public MergeTask(int generation, int cellsGeneration, int rows, List<SortKey> keys,
+                         int[] base, SortKeyColumn[] baseKeys, int firstRow, int endRowExclusive) {
+            super(generation, cellsGeneration, rows, keys);
+            this.base = base;
+            this.baseKeys = baseKeys;
+            valuesFrom = firstRow;
+            valuesTo = endRowExclusive;
+        }
+
+        @Override
+        public void run() {
+            try {
+                int[] v2m = sortRows();
+                if (v2m != null) {
+                    model.invokeLater(() -> installSorted(this, v2m));
+                } else if (!isCancelled()) {
+                    model.invokeLater(() -> {
+                        if (task == this) {
+                            task = null;
+                            sort();
+                        }
+                    });
+                }
+            } catch (Throwable ex) {
+                GuiLogManager.get().logError(ex);
+            }
+        }
+
+        @Override
+        public int[] sortRows() {
+            int n = keys.size();
+            int count = valuesTo - valuesFrom;
+            SortKeyColumn[] keyColumns = new SortKeyColumn[n];
+            for (int k = 0; k < n; ++k) {
+                SortKeyColumn inserted = (keysOnEvent[k] != null ? keysOnEvent[k] : extractKeys(k));
+                if (inserted == null) {
+                    return null;
+                }
+                keyColumns[k] = baseKeys[k].replaceRows(valuesFrom, 0, inserted);
+                if (keyColumns[k] == null) {
+                    return null;
+                }
+            }
+            int[] inserted = new int[count];
+            for (int i = 0; i < count; ++i) {
+                inserted[i] = valuesFrom + i;
+            }
+            IntBinaryOperator cmp = (r1, r2) -> compareRows(keyColumns, r1, r2);
+            sortIndices(inserted, cmp);
+            int[] v2m = new int[base.length + count];
+            int i = 0;
+            int j = 0;
+            int o = 0;
+            while (i < base.length && j < count) {
+                v2m[o++] = (cmp.applyAsInt(base[i], inserted[j]) <= 0 ? base[i++] : inserted[j++]);
+            }
+            while (i < base.length) {
+                v2m[o++] = base[i++];
+            }
+            while (j < count) {
+                v2m[o++] = inserted[j++];
+            }
+            if (isCancelled()) {
+                return null;
+            }
+            this.keyColumns = keyColumns;
+            return v2m;
+        }
+
+        @Override
+        public String toString() {
+            return "merge" + keys;
+        }
+    }
+
+    /**
+     * sorts indices by a single-threaded stable merge sort without boxing
+     * @param indices the sorted indices
+     * @param comparator the comparator of two indices
+     * @since 1.8
+     */
+    public static void sortIndices(int[] indices, IntBinaryOperator comparator) {
+        int n = indices.length;
+        int[] src = indices;
+        int[] dst = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo;
+                int j = mid;
+                int o = lo;
+                while (i < mid && j < hi) {
+                    dst[o++] = (comparator.applyAsInt(src[i], src[j]) <= 0 ? src[i++] : src[j++]);
+                }
+                while (i < mid) {
+                    dst[o++] = src[i++];
+                }
+                while (j < hi) {
+                    dst[o++] = src[j++];
+                }
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != indices) {
+            System.arraycopy(src, 0, indices, 0, n);
+        }
+    }
+
+    /**
+     * @param comparator the comparator of the column, nullable
+     * @param values the cell values
+     * @return keys for the values
+     */
+    public static SortKeyColumn createKeyColumn(Comparator<?> comparator, Object[] values) {
+        if (comparator instanceof GuiSwingTableColumnNumber.NumberComparator) {
+            SortKeyColumn keys = SortKeyColumnLong.create(values);
+            if (keys == null) {
+                keys = SortKeyColumnDouble.create(values);
+            }
+            if (keys != null) {
+                return keys;
+            }
+        } else if (comparator instanceof GuiSwingTableColumnFilePath.FilePathComparator pathComparator) {
+            Path[] paths = new Path[values.length];
+            for (int i = 0; i < values.length; ++i) {
+                paths[i] = pathComparator.toPath(values[i]);
+            }
+            return new SortKeyColumnObject(paths, Comparator.naturalOrder());
+        } else if (comparator == null) {
+            Collator collator = Collator.getInstance();
+            CollationKey[] keys = new CollationKey[values.length];
+            for (int i = 0; i < values.length; ++i) {
+                keys[i] = (values[i] == null ? null : collator.getCollationKey(values[i].toString()));
+            }
+            return new SortKeyColumnObject(keys, Comparator.naturalOrder());
+        }
+        @SuppressWarnings("unchecked")
+        Comparator<Object> c = (Comparator<Object>) comparator;
+        return new SortKeyColumnObject(values, c);
+    }
+
+    /** extracted keys of a column: a null key precedes non-null keys */
+    public interface SortKeyColumn {
+        int compare(int row1, int row2);
+
+        int size();
+
+        /**
+         * @param index the start row index
+         * @param removed the number of removed rows
+         * @param inserted keys of inserted rows, nullable
+         * @return a new column of keys with the replaced rows, or null if the type of inserted keys differs
+         * @since 1.8
+         */
+        SortKeyColumn replaceRows(int index, int removed, SortKeyColumn inserted);
+    }
+
+    /**
+     * @param bits bits of rows
+     * @param index the start row index
+     * @param removed the number of removed rows
+     * @param inserted bits of inserted rows, nullable
+     * @param insertedSize the number of inserted rows
+     * @return a new bit-set with the replaced rows
+     * @since 1.8
+     */
+    public static BitSet replaceBits(BitSet bits, int index, int removed, BitSet inserted, int insertedSize) {
+        BitSet result = bits.get(0, index);
+        for (int i = bits.nextSetBit(index + removed); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.set(i - removed + insertedSize);
+        }
+        if (inserted != null) {
+            for (int i = inserted.nextSetBit(0); i >= 0; i = inserted.nextSetBit(i + 1)) {
+                result.set(index + i);
+            }
+        }
+        return result;
+    }
+
+    /** keys of integral numbers */
+    public static class SortKeyColumnLong implements SortKeyColumn {
+        protected long[] keys;
+        protected BitSet nulls;
+
+        public SortKeyColumnLong(long[] keys, BitSet nulls) {
+            this.keys = keys;
+            this.nulls = nulls;
+        }
+
+        /**
+         * @param values the values
+         * @return keys, or null if the values contain a non-integral value
+         */
+        public static SortKeyColumnLong create(Object[] values) {
+            long[] keys = new long[values.length];
+            BitSet nulls = new BitSet();
+            for (int i = 0; i < values.length; ++i) {
+                Object v = values[i];
+                if (v == null) {
+                    nulls.set(i);
+                } else if (v instanceof Long || v instanceof Integer || v instanceof Short || v instanceof Byte) {
+                    keys[i] = ((Number) v).longValue();
+                } else {
+                    return null;
+                }
+            }
+            return new SortKeyColumnLong(keys, nulls);
+        }
+
+        @Override
+        public int compare(int row1, int row2) {
+            boolean n1 = nulls.get(row1);
+            boolean n2 = nulls.get(row2);
+            if (n1 || n2) {
+                return n1 == n2 ? 0 : (n1 ? -1 : 1);
+            }
+            return Long.compare(keys[row1], keys[row2]);
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public SortKeyColumn replaceRows(int index, int removed, SortKeyColumn inserted) {
+            if (inserted != null && !(inserted instanceof SortKeyColumnLong)) {
+                return null;
+            }
+            SortKeyColumnLong ins = (SortKeyColumnLong) inserted;
+            int insertedSize = (ins == null ? 0 : ins.keys.length);
+            long[] next = new long[keys.length - removed + insertedSize];
+            System.arraycopy(keys, 0, next, 0, index);
+            if (ins != null) {
+                System.arraycopy(ins.keys, 0, next, index, insertedSize);
+            }
+            System.arraycopy(keys, index + removed, next, index + insertedSize, keys.length - index - removed);
+            return new SortKeyColumnLong(next, replaceBits(nulls, index, removed, ins == null ? null : ins.nulls, insertedSize));
+        }
+    }
+
+    /** keys of floating point numbers */
+    public static class SortKeyColumnDouble implements SortKeyColumn {
+        protected double[] keys;
+        protected BitSet nulls;
+
+        public SortKeyColumnDouble(double[] keys, BitSet nulls) {
+            this.keys = keys;
+            this.nulls = nulls;
+        }
+
+        /**
+         * @param values the values
+         * @return keys, or null if the values contain a non-number or a big number
+         */
+        public static SortKeyColumnDouble create(Object[] values) {
+            double[] keys = new double[values.length];
+            BitSet nulls = new BitSet();
+            for (int i = 0; i < values.length; ++i) {
+                Object v = values[i];
+                if (v == null) {
+                    nulls.set(i);
+                } else if (v instanceof Double || v instanceof Float || v instanceof Long ||
+                        v instanceof Integer || v instanceof Short || v instanceof Byte) {
+                    keys[i] = ((Number) v).doubleValue();
+                } else {
+                    return null;
+                }
+            }
+            return new SortKeyColumnDouble(keys, nulls);
+        }
+
+        @Override
+        public int compare(int row1, int row2) {
+            boolean n1 = nulls.get(row1);
+            boolean n2 = nulls.get(row2);
+            if (n1 || n2) {
+                return n1 == n2 ? 0 : (n1 ? -1 : 1);
+            }
+            return Double.compare(keys[row1], keys[row2]);
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public SortKeyColumn replaceRows(int index, int removed, SortKeyColumn inserted) {
+            double[] insertedKeys;
+            BitSet insertedNulls;
+            if (inserted == null) {
+                insertedKeys = new double[0];
+                insertedNulls = null;
+            } else if (inserted instanceof SortKeyColumnDouble d) {
+                insertedKeys = d.keys;
+                insertedNulls = d.nulls;
+            } else if (inserted instanceof SortKeyColumnLong l) { //integral values are compared as doubles
+                insertedKeys = new double[l.keys.length];
+                for (int i = 0; i < insertedKeys.length; ++i) {
+                    insertedKeys[i] = l.keys[i];
+                }
+                insertedNulls = l.nulls;
+            } else {
+                return null;
+            }
+            double[] next = new double[keys.length - removed + insertedKeys.length];
+            System.arraycopy(keys, 0, next, 0, index);
+            System.arraycopy(insertedKeys, 0, next, index, insertedKeys.length);
+            System.arraycopy(keys, index + removed, next, index + insertedKeys.length, keys.length - index - removed);
+            return new SortKeyColumnDouble(next, replaceBits(nulls, index, removed, insertedNulls, insertedKeys.length));
+        }
+    }
+
+    /** keys of objects compared by a comparator */
+    public static class SortKeyColumnObject implements SortKeyColumn {
+        protected Object[] keys;
+        protected Comparator<Object> comparator;
+
+        @SuppressWarnings("unchecked")
+        public SortKeyColumnObject(Object[] keys, Comparator<?> comparator) {
+            this.keys = keys;
+            this.comparator = (Comparator<Object>) comparator;
+        }
+
+        @Override
+        public int compare(int row1, int row2) {
+            Object k1 = keys[row1];
+            Object k2 = keys[row2];
+            if (k1 == null || k2 == null) {
+                return k1 == k2 ? 0 : (k1 == null ? -1 : 1);
+            }
+            return comparator.compare(k1, k2);
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public SortKeyColumn replaceRows(int index, int removed, SortKeyColumn inserted) {
+            if (inserted != null && !(inserted instanceof SortKeyColumnObject o && o.keys.getClass() == keys.getClass())) {
+                return null;
+            }
+            Object[] insertedKeys = (inserted == null ? new Object[0] : ((SortKeyColumnObject) inserted).keys);
+            Object[] next = Arrays.copyOf(keys, keys.length - removed + insertedKeys.length);
+            System.arraycopy(insertedKeys, 0, next, index, insertedKeys.length);
+            System.arraycopy(keys, index + removed, next, index + insertedKeys.length, keys.length - index - removed);
+            return new SortKeyColumnObject(next, comparator);
+        }
+    }
+}
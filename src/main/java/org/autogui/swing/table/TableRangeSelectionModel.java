@@ -0,0 +1,629 @@
+package org.autogui.swing.table;
+
+import javax.swing.*;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * a {@link ListSelectionModel} holding selected indices as sorted disjoint ranges,
+ *   instead of a bit for each index like {@link DefaultListSelectionModel}.
+ *  Each operation of the model costs by the number of ranges, and thus selecting all rows is O(1) regardless of the number of rows.
+ *  The behavior of selection modes, the anchor and the lead follows {@link DefaultListSelectionModel}.
+ *  <p>
+ *  {@link #getSelectedRows(RowSorter)} returns an immutable snapshot of selected rows,
+ *   which lazily converts ranges to model rows.
+ * @since 1.8
+ */
+public class TableRangeSelectionModel implements ListSelectionModel {
+    /** start to end (inclusive) of disjoint and non-adjacent ranges */
+    protected TreeMap<Integer, Integer> ranges = new TreeMap<>();
+    protected int selectionMode = MULTIPLE_INTERVAL_SELECTION;
+    protected int anchorIndex = -1;
+    protected int leadIndex = -1;
+    protected boolean isAdjusting;
+    protected int firstAdjustedIndex = Integer.MAX_VALUE;
+    protected int lastAdjustedIndex = -1;
+    protected int firstChangedIndex = Integer.MAX_VALUE;
+    protected int lastChangedIndex = -1;
+    protected EventListenerList listenerList = new EventListenerList();
+
+    public TableRangeSelectionModel() {}
+
+    /**
+     * @return a snapshot of {start, end(inclusive)} ranges in ascending order
+     */
+    public List<int[]> getRanges() {
+        List<int[]> rs = new ArrayList<>(ranges.size());
+        ranges.forEach((s, e) -> rs.add(new int[] {s, e}));
+        return rs;
+    }
+
+    public int getRangeCount() {
+        return ranges.size();
+    }
+
+    ///////// range operations: return true if changed
+
+    protected boolean addRange(int from, int to) {
+        if (from > to) {
+            return false;
+        }
+        Map.Entry<Integer, Integer> prev = ranges.floorEntry(from);
+        if (prev != null && prev.getValue() >= to) {
+            return false; //already included
+        }
+        int start = from;
+        int end = to;
+        if (prev != null && prev.getValue() >= from - 1) {
+            start = prev.getKey();
+            end = Math.max(end, prev.getValue());
+            ranges.remove(prev.getKey());
+        }
+        Map.Entry<Integer, Integer> next;
+        while ((next = ranges.ceilingEntry(start)) != null && next.getKey() <= end + 1) {
+            end = Math.max(end, next.getValue());
+            ranges.remove(next.getKey());
+        }
+        ranges.put(start, end);
+        markAsDirty(from, to);
+        return true;
+    }
+
+    protected boolean removeRange(int from, int to) {
+        if (from > to || ranges.isEmpty()) {
+            return false;
+        }
+        boolean changed = false;
+        Map.Entry<Integer, Integer> prev = ranges.lowerEntry(from);
+        if (prev != null && prev.getValue() >= from) {
+            ranges.put(prev.getKey(), from - 1);
+            if (prev.getValue() > to) {
+                ranges.put(to + 1, prev.getValue());
+            }
+            changed = true;
+        }
+        Map.Entry<Integer, Integer> next;
+        while ((next = ranges.ceilingEntry(from)) != null && next.getKey() <= to) {
+            ranges.remove(next.getKey());
+            if (next.getValue() > to) {
+                ranges.put(to + 1, next.getValue());
+            }
+            changed = true;
+        }
+        if (changed) {
+            markAsDirty(from, to);
+        }
+        return changed;
+    }
+
+    protected void markAsDirty(int from, int to) {
+        firstAdjustedIndex = Math.min(firstAdjustedIndex, from);
+        lastAdjustedIndex = Math.max(lastAdjustedIndex, to);
+    }
+
+    protected void updateLeadAnchorIndices(int anchorIndex, int leadIndex) {
+        if (this.anchorIndex != anchorIndex) {
+            markIndexAsDirty(this.anchorIndex);
+            markIndexAsDirty(anchorIndex);
+        }
+        if (this.leadIndex != leadIndex) {
+            markIndexAsDirty(this.leadIndex);
+            markIndexAsDirty(leadIndex);
+        }
+        this.anchorIndex = anchorIndex;
+        this.leadIndex = leadIndex;
+    }
+
+    private void markIndexAsDirty(int index) {
+        if (index >= 0) {
+            markAsDirty(index, index);
+        }
+    }
+
+    ///////// events
+
+    protected void fireValueChanged() {
+        if (lastAdjustedIndex < 0) {
+            return;
+        }
+        int first = firstAdjustedIndex;
+        int last = lastAdjustedIndex;
+        firstAdjustedIndex = Integer.MAX_VALUE;
+        lastAdjustedIndex = -1;
+        if (isAdjusting) {
+            firstChangedIndex = Math.min(firstChangedIndex, first);
+            lastChangedIndex = Math.max(lastChangedIndex, last);
+        }
+        fireValueChanged(first, last, isAdjusting);
+    }
+
+    protected void fireValueChanged(int first, int last, boolean adjusting) {
+        ListSelectionEvent e = null;
+        Object[] listeners = listenerList.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == ListSelectionListener.class) {
+                if (e == null) {
+                    e = new ListSelectionEvent(this, first, last, adjusting);
+                }
+                ((ListSelectionListener) listeners[i + 1]).valueChanged(e);
+            }
+        }
+    }
+
+    @Override
+    public void addListSelectionListener(ListSelectionListener x) {
+        listenerList.add(ListSelectionListener.class, x);
+    }
+
+    @Override
+    public void removeListSelectionListener(ListSelectionListener x) {
+        listenerList.remove(ListSelectionListener.class, x);
+    }
+
+    public ListSelectionListener[] getListSelectionListeners() {
+        return listenerList.getListeners(ListSelectionListener.class);
+    }
+
+    @Override
+    public void setValueIsAdjusting(boolean valueIsAdjusting) {
+        if (valueIsAdjusting != isAdjusting) {
+            isAdjusting = valueIsAdjusting;
+            if (!valueIsAdjusting && lastChangedIndex >= 0) {
+                int first = firstChangedIndex;
+                int last = lastChangedIndex;
+                firstChangedIndex = Integer.MAX_VALUE;
+                lastChangedIndex = -1;
+                fireValueChanged(first, last, false);
+            }
+        }
+    }
+
+    @Override
+    public boolean getValueIsAdjusting() {
+        return isAdjusting;
+    }
+
+    ///////// selection
+
+    @Override
+    public void setSelectionMode(int selectionMode) {
+        switch (selectionMode) {
+            case SINGLE_SELECTION, SINGLE_INTERVAL_SELECTION, MULTIPLE_INTERVAL_SELECTION -> this.selectionMode = selectionMode;
+            default -> throw new IllegalArgumentException("invalid selectionMode");
+        }
+    }
+
+    @Override
+    public int getSelectionMode() {
+        return selectionMode;
+    }
+
+    @Override
+    public int getMinSelectionIndex() {
+        return ranges.isEmpty() ? -1 : ranges.firstKey();
+    }
+
+    @Override
+    public int getMaxSelectionIndex() {
+        return ranges.isEmpty() ? -1 : ranges.lastEntry().getValue();
+    }
+
+    @Override
+    public boolean isSelectedIndex(int index) {
+        Map.Entry<Integer, Integer> e = ranges.floorEntry(index);
+        return index >= 0 && e != null && e.getValue() >= index;
+    }
+
+    @Override
+    public boolean isSelectionEmpty() {
+        return ranges.isEmpty();
+    }
+
+    @Override
+    public int[] getSelectedIndices() {
+        return ranges.entrySet().stream()
+                .flatMapToInt(e -> IntStream.rangeClosed(e.getKey(), e.getValue()))
+                .toArray();
+    }
+
+    @Override
+    public int getSelectedItemsCount() {
+        long n = 0;
+        for (Map.Entry<Integer, Integer> e : ranges.entrySet()) {
+            n += e.getValue() - e.getKey() + 1L;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, n);
+    }
+
+    @Override
+    public int getAnchorSelectionIndex() {
+        return anchorIndex;
+    }
+
+    @Override
+    public int getLeadSelectionIndex() {
+        return leadIndex;
+    }
+
+    @Override
+    public void setAnchorSelectionIndex(int anchorIndex) {
+        updateLeadAnchorIndices(anchorIndex, leadIndex);
+        fireValueChanged();
+    }
+
+    @Override
+    public void setLeadSelectionIndex(int leadIndex) {
+        int anchorIndex = this.anchorIndex;
+        if (leadIndex == -1) {
+            if (anchorIndex == -1) {
+                updateLeadAnchorIndices(anchorIndex, leadIndex);
+                fireValueChanged();
+            }
+            return;
+        } else if (anchorIndex == -1) {
+            return;
+        }
+        if (this.leadIndex == -1) {
+            this.leadIndex = leadIndex;
+        }
+        boolean shouldSelect = isSelectedIndex(anchorIndex);
+        if (selectionMode == SINGLE_SELECTION) {
+            anchorIndex = leadIndex;
+            shouldSelect = true;
+        }
+        int oldMin = Math.min(this.anchorIndex, this.leadIndex);
+        int oldMax = Math.max(this.anchorIndex, this.leadIndex);
+        int newMin = Math.min(anchorIndex, leadIndex);
+        int newMax = Math.max(anchorIndex, leadIndex);
+        updateLeadAnchorIndices(anchorIndex, leadIndex);
+        if (shouldSelect) {
+            removeRange(oldMin, oldMax);
+            addRange(newMin, newMax);
+        } else { //the overlapped range is cleared
+            addRange(oldMin, Math.min(oldMax, newMin - 1));
+            addRange(Math.max(oldMin, newMax + 1), oldMax);
+            removeRange(newMin, newMax);
+        }
+        fireValueChanged();
+    }
+
+    @Override
+    public void clearSelection() {
+        removeRange(getMinSelectionIndex(), getMaxSelectionIndex());
+        fireValueChanged();
+    }
+
+    @Override
+    public void setSelectionInterval(int index0, int index1) {
+        if (index0 < -1 || index1 < -1) {
+            throw new IndexOutOfBoundsException("Index < -1");
+        } else if (index0 == -1 || index1 == -1) {
+            return;
+        }
+        if (selectionMode == SINGLE_SELECTION) {
+            index0 = index1;
+        }
+        updateLeadAnchorIndices(index0, index1);
+        int setMin = Math.min(index0, index1);
+        int setMax = Math.max(index0, index1);
+        //clears outside the new range: DefaultListSelectionModel does not notify the new range if it is already selected
+        removeRange(getMinSelectionIndex(), setMin - 1);
+        removeRange(setMax + 1, getMaxSelectionIndex());
+        addRange(setMin, setMax);
+        fireValueChanged();
+    }
+
+    @Override
+    public void addSelectionInterval(int index0, int index1) {
+        if (index0 < -1 || index1 < -1) {
+            throw new IndexOutOfBoundsException("Index < -1");
+        } else if (index0 == -1 || index1 == -1) {
+            return;
+        }
+        if (selectionMode == SINGLE_SELECTION) {
+            setSelectionInterval(index0, index1);
+            return;
+        }
+        int setMin = Math.min(index0, index1);
+        int setMax = Math.max(index0, index1);
+        if (selectionMode == SINGLE_INTERVAL_SELECTION && !isSelectionEmpty() &&
+                (setMax < getMinSelectionIndex() - 1 || setMin > getMaxSelectionIndex() + 1)) {
+            setSelectionInterval(index0, index1);
+            return;
+        }
+        updateLeadAnchorIndices(index0, index1);
+        addRange(setMin, setMax);
+        fireValueChanged();
+    }
+
+    @Override
+    public void removeSelectionInterval(int index0, int index1) {
+        if (index0 < -1 || index1 < -1) {
+            throw new IndexOutOfBoundsException("Index < -1");
+        } else if (index0 == -1 || index1 == -1) {
+            return;
+        }
+        updateLeadAnchorIndices(index0, index1);
+        int clearMin = Math.min(index0, index1);
+        int clearMax = Math.max(index0, index1);
+        if (selectionMode != MULTIPLE_INTERVAL_SELECTION &&
+                clearMin > getMinSelectionIndex() && clearMax < getMaxSelectionIndex()) {
+            clearMax = getMaxSelectionIndex();
+        }
+        removeRange(clearMin, clearMax);
+        fireValueChanged();
+    }
+
+    @Override
+    public void insertIndexInterval(int index, int length, boolean before) {
+        if (index < 0 || length <= 0) {
+            return;
+        }
+        int insMin = before ? index : index + 1;
+        boolean selectInserted = selectionMode != SINGLE_SELECTION && isSelectedIndex(index);
+        int max = getMaxSelectionIndex();
+        if (max >= insMin) {
+            List<int[]> shifted = new ArrayList<>();
+            Map.Entry<Integer, Integer> split = ranges.lowerEntry(insMin);
+            if (split != null && split.getValue() >= insMin) {
+                ranges.put(split.getKey(), insMin - 1);
+                shifted.add(new int[] {insMin + length, split.getValue() + length});
+            }
+            NavigableMap<Integer, Integer> tail = ranges.tailMap(insMin, true);
+            tail.forEach((s, e) -> shifted.add(new int[] {s + length, e + length}));
+            tail.clear();
+            shifted.forEach(r -> ranges.put(r[0], r[1]));
+            markAsDirty(insMin, max + length);
+        }
+        if (selectInserted) {
+            addRange(insMin, insMin + length - 1);
+        }
+        int lead = (leadIndex > index || (before && leadIndex == index)) ? leadIndex + length : leadIndex;
+        int anchor = (anchorIndex > index || (before && anchorIndex == index)) ? anchorIndex + length : anchorIndex;
+        if (lead != leadIndex || anchor != anchorIndex) {
+            updateLeadAnchorIndices(anchor, lead);
+        }
+        fireValueChanged();
+    }
+
+    @Override
+    public void removeIndexInterval(int index0, int index1) {
+        if (index0 < -1 || index1 < -1) {
+            throw new IndexOutOfBoundsException("index0 or index1 < -1");
+        }
+        int rmMin = Math.min(index0, index1);
+        int rmMax = Math.max(index0, index1);
+        int gap = rmMax - rmMin + 1;
+        int max = getMaxSelectionIndex();
+        if (max >= rmMin) {
+            removeRange(rmMin, rmMax);
+            NavigableMap<Integer, Integer> tail = ranges.tailMap(rmMax + 1, true);
+            List<int[]> shifted = new ArrayList<>(tail.size());
+            tail.forEach((s, e) -> shifted.add(new int[] {s - gap, e - gap}));
+            tail.clear();
+            shifted.forEach(r -> addRange(r[0], r[1])); //might be joined with the previous range
+            markAsDirty(rmMin, max);
+        }
+        int lead = shiftForRemoval(leadIndex, rmMin, rmMax, gap);
+        int anchor = shiftForRemoval(anchorIndex, rmMin, rmMax, gap);
+        if (lead != leadIndex || anchor != anchorIndex) {
+            updateLeadAnchorIndices(anchor, lead);
+        }
+        fireValueChanged();
+    }
+
+    private static int shiftForRemoval(int index, int rmMin, int rmMax, int gap) {
+        if (index == 0 && rmMin == 0) {
+            return index;
+        } else if (index > rmMax) {
+            return index - gap;
+        } else if (index >= rmMin) {
+            return rmMin - 1;
+        } else {
+            return index;
+        }
+    }
+
+    /**
+     * @param sorter the row-sorter of the table, nullable
+     * @return a snapshot of selected rows converted to model rows
+     */
+    public SelectedRows getSelectedRows(RowSorter<?> sorter) {
+        return SelectedRows.of(this, sorter);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + ranges + " anchor=" + anchorIndex + " lead=" + leadIndex;
+    }
+
+    /**
+     * an immutable snapshot of selected view rows as ranges, lazily converted to model rows.
+     *   the list can be iterated outside the event thread:
+     *   the conversion relies on the view-to-model mapping array of {@link ObjectTableModelRowSorter} at creating the snapshot,
+     *   or model rows are collected at creating for other sorters
+     */
+    public static class SelectedRows extends AbstractList<Integer> implements RandomAccess {
+        /** starts of ranges */
+        protected int[] starts;
+        /** the number of selected rows before each range */
+        protected int[] offsets;
+        protected int size;
+        /** nullable: null means the identity mapping */
+        protected int[] viewToModel;
+
+        /**
+         * @param ranges {start, end(inclusive)} view ranges in ascending order
+         * @param viewToModel view index to model index, nullable
+         */
+        public SelectedRows(List<int[]> ranges, int[] viewToModel) {
+            starts = new int[ranges.size()];
+            offsets = new int[ranges.size()];
+            int n = 0;
+            for (int i = 0; i < starts.length; ++i) {
+                int[] r = ranges.get(i);
+                starts[i] = r[0];
+                offsets[i] = n;
+                n += r[1] - r[0] + 1;
+            }
+            size = n;
+            this.viewToModel = viewToModel;
+        }
+
+        /**
+         * @param selectionModel the row-selection model of a table
+         * @param sorter the row-sorter of the table, nullable
+         * @return a snapshot of the selection; ranges are obtained in O(ranges) from a {@link TableRangeSelectionModel}
+         */
+        public static SelectedRows of(ListSelectionModel selectionModel, RowSorter<?> sorter) {
+            return of(selectionModel, sorter, sorter == null ? Integer.MAX_VALUE : sorter.getViewRowCount());
+        }
+
+        /**
+         * @param selectionModel the row-selection model of a table
+         * @param sorter the row-sorter of the table, nullable
+         * @param viewRows the number of view rows; selected rows after the count are excluded
+         * @return a snapshot of the selection
+         * @since 1.8
+         */
+        public static SelectedRows of(ListSelectionModel selectionModel, RowSorter<?> sorter, int viewRows) {
+            List<int[]> ranges;
+            if (selectionModel instanceof TableRangeSelectionModel rangeModel) {
+                ranges = rangeModel.getRanges();
+            } else {
+                ranges = new ArrayList<>();
+                for (int i = selectionModel.getMinSelectionIndex(), max = selectionModel.getMaxSelectionIndex(); i <= max; ++i) {
+                    if (i >= 0 && selectionModel.isSelectedIndex(i)) {
+                        if (!ranges.isEmpty() && ranges.getLast()[1] == i - 1) {
+                            ranges.getLast()[1] = i;
+                        } else {
+                            ranges.add(new int[] {i, i});
+                        }
+                    }
+                }
+            }
+            if (!ranges.isEmpty() && ranges.getLast()[1] >= viewRows) {
+                ranges = ranges.stream()
+                        .filter(r -> r[0] < viewRows)
+                        .map(r -> new int[] {r[0], Math.min(r[1], viewRows - 1)})
+                        .toList();
+            }
+            if (sorter == null) {
+                return new SelectedRows(ranges, null);
+            } else if (sorter instanceof ObjectTableModelRowSorter objectSorter) {
+                return new SelectedRows(ranges, objectSorter.getViewToModel());
+            } else {
+                int[] modelRows = new SelectedRows(ranges, null).viewRows()
+                        .map(sorter::convertRowIndexToModel)
+                        .toArray();
+                return new SelectedRows(IntStream.range(0, modelRows.length)
+                        .mapToObj(i -> new int[] {i, i})
+                        .toList(), modelRows);
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            return getModelRow(index);
+        }
+
+        /**
+         * @param index the index in the selection
+         * @return the model row of the index-th selected row in the view order
+         */
+        public int getModelRow(int index) {
+            int view = getViewRow(index);
+            return viewToModel == null ? view : viewToModel[view];
+        }
+
+        /**
+         * @param index the index in the selection
+         * @return the view row of the index-th selected row
+         */
+        public int getViewRow(int index) {
+            Objects.checkIndex(index, size);
+            int r = Arrays.binarySearch(offsets, index);
+            if (r < 0) {
+                r = -r - 2;
+            }
+            return starts[r] + (index - offsets[r]);
+        }
+
+        /**
+         * @return selected view rows in ascending order, iterating ranges
+         * @since 1.8
+         */
+        public IntStream viewRows() {
+            return IntStream.range(0, starts.length)
+                    .flatMap(i -> IntStream.range(starts[i],
+                            starts[i] + (i + 1 < starts.length ? offsets[i + 1] : size) - offsets[i]));
+        }
+
+        /**
+         * @return model rows of {@link #viewRows()}
+         */
+        public IntStream modelRows() {
+            int[] v2m = viewToModel;
+            return v2m == null ? viewRows() : viewRows().map(v -> v2m[v]);
+        }
+
+        public int[] toModelRows() {
+            return modelRows().toArray();
+        }
+
+        /**
+         * @param items the list indexed by model rows
+         * @param <E> the element type
+         * @return a lazy view of elements of items at selected rows
+         */
+        public <E> List<E> toItems(List<E> items) {
+            return toItems(items::get);
+        }
+
+        /**
+         * @param modelRowToItem the function from a model row to an element
+         * @param <E> the element type
+         * @return a lazy view of the function results for selected rows
+         */
+        public <E> List<E> toItems(IntFunction<E> modelRowToItem) {
+            return new SelectedItems<>(this, modelRowToItem);
+        }
+    }
+
+    /**
+     * a lazy view of elements of selected rows
+     * @param <E> the element type
+     */
+    public static class SelectedItems<E> extends AbstractList<E> implements RandomAccess {
+        protected SelectedRows rows;
+        protected IntFunction<E> modelRowToItem;
+
+        public SelectedItems(SelectedRows rows, IntFunction<E> modelRowToItem) {
+            this.rows = rows;
+            this.modelRowToItem = modelRowToItem;
+        }
+
+        public SelectedRows getRows() {
+            return rows;
+        }
+
+        @Override
+        public E get(int index) {
+            return modelRowToItem.apply(rows.getModelRow(index));
+        }
+
+        @Override
+        public int size() {
+            return rows.size();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.JsonWriter;
+import org.autogui.base.log.GuiLogEntryProgress;
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.base.mapping.GuiMappingContext;
+import org.autogui.base.mapping.GuiReprValue;
+import org.autogui.base.mapping.GuiRepresentation;
+import org.autogui.swing.table.ToStringCopyCell.TableMenuCompositeToStringCopy;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * streaming export of rows of an {@link ObjectTableModel} as CSV, TSV or JSON Lines.
+ * <pre>
+ *     new TableRowExporter(model, modelRows, columns, TableRowExporter.Format.CSV)
+ *         .export(path);
+ * </pre>
+ *  Rows are read by {@link ObjectTableModelRowChunk}s of {@link #getChunkSize()} rows:
+ *   specifiers of a chunk are obtained under the event thread,
+ *   and the values are obtained and written by the task-runner of the context (or synchronously without a context).
+ *   The next chunk is started after writing the previous one,
+ *   and thus the memory usage is bounded by the chunk size regardless of the number of rows.
+ *  <p>
+ *  The output is written through a buffered UTF-8 writer. The process is reported to a {@link GuiLogEntryProgress};
+ *   stopping the progress interrupts the writing thread and cancels the export, leaving the partially written file.
+ *   The progress is bound to the writing thread only while writing a chunk.
+ *  <p>
+ *  If {@link ObjectTableModel#getCellsGeneration()} is changed during the export, i.e. the rows are refreshed,
+ *   the model rows no longer refer to the exported rows, and thus the export is aborted.
+ * @since 1.8
+ */
+public class TableRowExporter {
+    protected ObjectTableModel model;
+    /** model rows in the output order */
+    protected int[] rows;
+    protected List<TableMenuCompositeToStringCopy> columns;
+    protected Format format;
+    protected int chunkSize = 1024;
+
+    protected Writer writer;
+    protected GuiLogEntryProgress progress;
+    protected Consumer<TableRowExporter> finishListener;
+    protected int nextRow;
+    /** updated by the writing thread */
+    protected volatile int writtenRows;
+    protected volatile boolean cancelled;
+    protected boolean finished;
+    /** the generation of cells at starting. @since 1.8 */
+    protected int cellsGeneration;
+    /** true if the export is stopped by changed rows. @since 1.8 */
+    protected boolean aborted;
+
+    public enum Format {
+        /** comma-separated values with a header line, quoted by RFC 4180 */
+        CSV("csv"),
+        /** tab-separated values compatible with copying row cells as text */
+        TSV("tsv"),
+        /** a JSON object of a row per line */
+        JSON_LINES("jsonl");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * @param path a file path
+         * @return the format matching the extension of the path, or {@link #TSV}
+         */
+        public static Format fromPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            for (Format f : values()) {
+                if (name.endsWith("." + f.getExtension())) {
+                    return f;
+                }
+            }
+            return name.endsWith(".json") ? JSON_LINES : TSV;
+        }
+    }
+
+    /**
+     * @param model the source model
+     * @param rows model rows in the output order
+     * @param columns exported columns in the output order; {@link TableMenuCompositeToStringCopy#getIndex()} is a model column index
+     * @param format the output format
+     */
+    public TableRowExporter(ObjectTableModel model, int[] rows, List<TableMenuCompositeToStringCopy> columns, Format format) {
+        this.model = model;
+        this.rows = rows;
+        this.columns = columns;
+        this.format = format;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * @param finishListener nullable: called under the event thread after finishing, cancelling or failing
+     */
+    public void setFinishListener(Consumer<TableRowExporter> finishListener) {
+        this.finishListener = finishListener;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return true if the export is stopped as the rows of the model are changed
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * executed under the event thread: opens the file and starts writing
+     * @param path the output file
+     */
+    public void export(Path path) {
+        try {
+            export(Files.newBufferedWriter(path, StandardCharsets.UTF_8), path.toString());
+        } catch (IOException ex) {
+            GuiLogManager.get().logError(ex);
+        }
+    }
+
+    /**
+     * executed under the event thread: starts writing to the writer. the writer will be closed after the process
+     * @param writer the output
+     * @param name the name of the output for the message of the progress
+     */
+    public void export(Writer writer, String name) {
+        this.writer = writer;
+        progress = GuiLogManager.get().logProgress(Math.max(1, rows.length));
+        progress.setThread(null); //not the event thread: bound to the writing thread by each chunk
+        progress.setMessage("exporting " + rows.length + " rows to " + name);
+        cellsGeneration = model.getCellsGeneration();
+        nextRow = 0;
+        writtenRows = 0;
+        try {
+            writeHeader();
+            writeNextChunk();
+        } catch (Throwable ex) {
+            fail(ex);
+        }
+    }
+
+    /**
+     * executed under the event thread: prepares the next chunk and writes it by the task-runner
+     */
+    protected void writeNextChunk() {
+        while (!cancelled && nextRow < rows.length) {
+            if (isRowsChanged()) {
+                return;
+            }
+            int to = Math.min(rows.length, nextRow + chunkSize);
+            int[] chunkRows = new int[to - nextRow];
+            System.arraycopy(rows, nextRow, chunkRows, 0, chunkRows.length);
+            ObjectTableModelRowChunk chunk = new ObjectTableModelRowChunk(model, 0, chunkRows,
+                    columns.stream()
+                            .map(TableMenuCompositeToStringCopy::getIndex)
+                            .toList());
+            chunk.prepare();
+            nextRow = to;
+            GuiMappingContext context = model.getTaskRunner().getContext();
+            if (context != null) {
+                try {
+                    context.getTaskRunner().execute(() -> {
+                        Throwable error = writeChunkWithProgressThread(chunk);
+                        model.invokeLater(() -> complete(error));
+                    });
+                    return;
+                } catch (Exception ex) { //rejected
+                    //write synchronously
+                }
+            }
+            Throwable error = writeChunkWithProgressThread(chunk);
+            if (error != null) {
+                fail(error);
+                return;
+            }
+        }
+        if (!isRowsChanged()) {
+            finish();
+        }
+    }
+
+    /**
+     * executed under the event thread: aborts the export if the cells generation is changed
+     * @return true if aborted
+     * @since 1.8
+     */
+    protected boolean isRowsChanged() {
+        if (!cancelled && model.getCellsGeneration() != cellsGeneration) {
+            aborted = true;
+            cancelled = true;
+            finish();
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    protected Throwable writeChunkWithProgressThread(ObjectTableModelRowChunk chunk) {
+        progress.setThread(Thread.currentThread()); //stopping the progress interrupts the writing thread
+        try {
+            writeChunk(chunk);
+            return null;
+        } catch (Throwable ex) {
+            return ex;
+        } finally {
+            progress.setThread(null);
+            if (Thread.interrupted()) { //stopped after writing: the pooled thread is not left interrupted
+                cancelled = true;
+            }
+        }
+    }
+
+    protected void complete(Throwable error) {
+        if (error != null) {
+            fail(error);
+        } else {
+            writeNextChunk();
+        }
+    }
+
+    /**
+     * executed by the task-runner
+     * @param chunk the prepared chunk
+     * @throws IOException a writing error
+     */
+    protected void writeChunk(ObjectTableModelRowChunk chunk) throws IOException {
+        for (int r = 0, n = chunk.getRowCount(); r < n; ++r) {
+            progress.checkInterruption();
+            if (cancelled) {
+                return;
+            }
+            writeRow(chunk, r);
+            ++writtenRows;
+        }
+        progress.setValue(writtenRows);
+    }
+
+    public int getWrittenRows() {
+        return writtenRows;
+    }
+
+    protected void writeHeader() throws IOException {
+        if (format == Format.CSV) {
+            for (int c = 0; c < columns.size(); ++c) {
+                if (c > 0) {
+                    writer.write(',');
+                }
+                writer.write(quoteForCsv(columns.get(c).getName()));
+            }
+            writer.write('\n');
+        }
+    }
+
+    protected void writeRow(ObjectTableModelRowChunk chunk, int r) throws IOException {
+        if (format == Format.JSON_LINES) {
+            Map<String, Object> json = new LinkedHashMap<>(columns.size());
+            for (int c = 0; c < columns.size(); ++c) {
+                TableMenuCompositeToStringCopy column = columns.get(c);
+                Object colValue = column.toJsonWithName(chunk.getValueAt(r, c));
+                if (colValue instanceof GuiReprValue.NamedValue named) {
+                    named.putTo(json);
+                } else if (colValue != null) {
+                    json.put(column.getName(), colValue);
+                }
+            }
+            new JsonWriter(writer).withNewLines(false).write(json);
+        } else {
+            for (int c = 0; c < columns.size(); ++c) {
+                if (c > 0) {
+                    writer.write(format == Format.CSV ? ',' : '\t');
+                }
+                GuiRepresentation.TreeString tree = columns.get(c).toHumanReadableStringTree(chunk.getValueAt(r, c));
+                if (tree == null) {
+                    continue;
+                }
+                if (format == Format.CSV) {
+                    writer.write(quoteForCsv(tree.toString()));
+                } else {
+                    writer.write(String.join("\t", tree.toColumns()));
+                }
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * @param str a column string
+     * @return the str, or the str quoted by double-quotations if it contains a comma, a double-quotation or a new-line
+     */
+    public static String quoteForCsv(String str) {
+        if (str == null) {
+            return "";
+        } else if (str.chars().anyMatch(ch -> ch == ',' || ch == '"' || ch == '\n' || ch == '\r')) {
+            return '"' + str.replace("\"", "\"\"") + '"';
+        } else {
+            return str;
+        }
+    }
+
+    protected void fail(Throwable error) {
+        if (!(error instanceof GuiLogEntryProgress.GuiLogEntryProgressInterruptedException)) {
+            GuiLogManager.get().logError(error);
+        }
+        cancelled = true;
+        finish();
+    }
+
+    protected void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            GuiLogManager.get().logError(ex);
+        }
+        if (aborted) {
+            progress.setMessage("stopped exporting rows: the rows are changed after writing " + writtenRows + " rows");
+        } else if (cancelled) {
+            progress.setMessage("cancelled exporting rows: written " + writtenRows + " rows");
+        } else {
+            progress.setMessage("exported " + rows.length + " rows");
+        }
+        progress.close();
+        if (finishListener != null) {
+            finishListener.accept(this);
+        }
+    }
+}
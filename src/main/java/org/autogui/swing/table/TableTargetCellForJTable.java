@@ -5,6 +5,7 @@ import org.autogui.base.mapping.GuiReprCollectionTable.CellValue;
 
 import javax.swing.*;
 import javax.swing.table.TableModel;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
@@ -29,15 +30,20 @@ public class TableTargetCellForJTable implements GuiReprCollectionTable.TableTar
 
     @Override
     public int[] getSelectedRows() {
-        return getSelectedRowsView()
-                .map(table::convertRowIndexToModel)
-                .toArray();
+        return getSelectedRowsSnapshot().toModelRows();
+    }
+
+    /**
+     * @return a snapshot of selected rows, iterated by ranges of the selection
+     * @since 1.8
+     */
+    public TableRangeSelectionModel.SelectedRows getSelectedRowsSnapshot() {
+        return TableRangeSelectionModel.SelectedRows.of(table.getSelectionModel(), table.getRowSorter(), table.getRowCount());
     }
 
     public IntStream getSelectedRowsView() {
-        int rows = table.getRowCount();
-        return IntStream.of(table.getSelectedRows())
-                .filter(r -> 0 <= r && r < rows);
+        return TableRangeSelectionModel.SelectedRows.of(table.getSelectionModel(), null, table.getRowCount())
+                .viewRows();
     }
 
     @Override
@@ -70,14 +76,31 @@ public class TableTargetCellForJTable implements GuiReprCollectionTable.TableTar
                 .collect(Collectors.toList());
     }
 
+    /**
+     * @return a lazy list of {model row, model column} of all columns of selected rows
+     */
     @Override
-    public Iterable<int[]> getSelectedRowAllCellIndices() {
-        return getSelectedRowsView()
-                .boxed()
-                .flatMap(r -> IntStream.range(0, table.getColumnCount())
-                        .mapToObj(c -> convertViewToData(r, c)))
-                        .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    public List<int[]> getSelectedRowAllCellIndices() {
+        TableRangeSelectionModel.SelectedRows rows = getSelectedRowsSnapshot();
+        int[] columns = IntStream.range(0, table.getColumnCount())
+                .map(table::convertColumnIndexToModel)
+                .toArray();
+        return new AbstractList<>() {
+            @Override
+            public int[] get(int index) {
+                return new int[] {rows.getModelRow(index / columns.length), columns[index % columns.length]};
+            }
+
+            @Override
+            public int size() {
+                return rows.size() * columns.length;
+            }
+        };
+    }
+
+    @Override
+    public List<int[]> getSelectedRowAllCellIndicesAsList() {
+        return getSelectedRowAllCellIndices();
     }
 
     public int[] convertViewToData(int viewRow, int viewColumn) {
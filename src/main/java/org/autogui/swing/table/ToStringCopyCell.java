@@ -3,6 +3,7 @@ package org.autogui.swing.table;
 import org.autogui.base.mapping.GuiMappingContext;
 import org.autogui.base.mapping.GuiReprCollectionTable.CellValue;
 import org.autogui.base.mapping.GuiReprCollectionTable.TableTargetCell;
+import org.autogui.base.mapping.GuiReprValue;
 import org.autogui.base.mapping.GuiRepresentation;
 import org.autogui.swing.GuiSwingJsonTransfer;
 import org.autogui.swing.GuiSwingTaskRunner;
@@ -78,6 +79,29 @@ public class ToStringCopyCell {
                 return context.getRepresentation().toHumanReadableStringTree(context, value);
             }
         }
+
+        /**
+         * @return the name of the column, or "#" for the row-index column
+         * @since 1.8
+         */
+        public String getName() {
+            return context == null ? "#" : context.getName();
+        }
+
+        /**
+         * @param value a cell value
+         * @return a JSON value of the cell, or a {@link org.autogui.base.mapping.GuiReprValue.NamedValue}, or null
+         * @since 1.8
+         */
+        public Object toJsonWithName(Object value) {
+            if (context == null && value instanceof Number) {
+                return new GuiReprValue.NamedValue(getName(), value);
+            } else if (context != null) {
+                return context.getRepresentation().toJsonWithNamed(context, value);
+            } else {
+                return null;
+            }
+        }
     }
 
     public static TableMenuCompositeSharedToStringCopy shared = new TableMenuCompositeSharedToStringCopy();
@@ -97,9 +121,13 @@ public class ToStringCopyCell {
             if (table instanceof CollectionTable) {
                 context = ((CollectionTable) table).getSwingViewContext();
             }
-            return Arrays.asList(
+            List<CategorizedMenuItem> items = new ArrayList<>(Arrays.asList(
                     new ToStringCopyForCellsAction(context, cs, !row),
-                    new ToStringSaveForCellsAction(context, cs, !row, table));
+                    new ToStringSaveForCellsAction(context, cs, !row, table)));
+            if (row && table.getModel() instanceof ObjectTableModel) {
+                items.add(new ToStringExportForRowsAction(context, cs, table));
+            }
+            return items;
         }
     }
 
@@ -239,6 +267,52 @@ public class ToStringCopyCell {
         }
     }
 
+    /**
+     * the action for exporting selected rows to a CSV, TSV or JSON Lines file by a {@link TableRowExporter}.
+     *  the format is selected by the extension of the file
+     * @since 1.8
+     */
+    @SuppressWarnings("this-escape")
+    public static class ToStringExportForRowsAction extends ToStringCopyForCellsAction {
+        @Serial private static final long serialVersionUID = 1L;
+        protected JTable table;
+
+        public ToStringExportForRowsAction(GuiMappingContext context, List<TableMenuCompositeToStringCopy> activatedColumns, JTable table) {
+            super(context, activatedColumns, false);
+            putValue(NAME, "Export Rows as CSV/TSV/JSON Lines...");
+            putValue(ACCELERATOR_KEY, null);
+            this.table = table;
+        }
+
+        @Override
+        public void actionPerformedOnTableCell(ActionEvent e, TableTargetCell target) {
+            String name = "rows";
+            if (table instanceof ValuePane<?>) {
+                name = ((ValuePane<?>) table).getSwingViewContext().getName();
+            }
+            SettingsWindow.FileDialogManager fd = SettingsWindow.getFileDialogManager();
+            Path p = fd.showConfirmDialogIfOverwriting(table,
+                    fd.showSaveDialog(table, null, name + "." + TableRowExporter.Format.CSV.getExtension()));
+            if (p != null) {
+                new TableRowExporter((ObjectTableModel) table.getModel(), target.getSelectedRows(), getColumnsInViewOrder(),
+                        TableRowExporter.Format.fromPath(p))
+                        .export(p);
+            }
+        }
+
+        public List<TableMenuCompositeToStringCopy> getColumnsInViewOrder() {
+            return activatedColumns.stream()
+                    .filter(c -> table.convertColumnIndexToView(c.getIndex()) >= 0)
+                    .sorted(Comparator.comparingInt(c -> table.convertColumnIndexToView(c.getIndex())))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public String getSubCategory() {
+            return PopupExtension.MENU_SUB_CATEGORY_EXPORT;
+        }
+    }
+
     ///////////////
 
     public static TableMenuCompositeSharedToStringPaste pasteShared = new TableMenuCompositeSharedToStringPaste();
@@ -326,9 +400,8 @@ public class ToStringCopyCell {
             Iterable<int[]> is = onlyApplyingSelectedColumns ?
                     target.getSelectedCellIndices() :
                     target.getSelectedRowAllCellIndices();
-            Set<Integer> rows = IntStream.of(target.getSelectedRows())
-                    .boxed()
-                    .collect(Collectors.toSet());
+            BitSet rows = new BitSet();
+            IntStream.of(target.getSelectedRows()).forEach(rows::set);
             runner.executeContextTask(() -> {
                         int rowIndex = 0;
                         GuiSwingJsonTransfer.JsonFillLoop fillLoop = new GuiSwingJsonTransfer.JsonFillLoop();
@@ -339,7 +412,7 @@ public class ToStringCopyCell {
                         }
 
                         //if specified rows that are not included in the selected rows, move them to freeRows
-                        fillLoop.moveSpecifiedToFree(r -> !rows.contains(r));
+                        fillLoop.moveSpecifiedToFree(r -> !rows.get(r));
                         return fillLoop;
                     },
                     r -> r.executeIfPresent(
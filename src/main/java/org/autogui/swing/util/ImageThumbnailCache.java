@@ -0,0 +1,149 @@
+package org.autogui.swing.util;
+
+import org.autogui.base.log.GuiLogManager;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * a cache of thumbnails of images in cells, with an optional on-disk cache.
+ *  <p>
+ *  Thumbnails are generated in the background and held in memory as {@link ScaledImageCache}.
+ *   A decoded {@link BufferedImage} is just scaled.
+ *   Other images, like an image still produced by a toolkit, are loaded from the file path given by
+ *    {@link #request(Object, Image, Path, int, int, Runnable)} for each cell.
+ *   If {@link #setDiskDirectory(Path)} is set, such thumbnails are also saved as PNG files named by a digest of the path,
+ *    the modified time, the file size and the thumbnail size, and loaded without decoding the file in later sessions.
+ * @since 1.8
+ */
+public class ImageThumbnailCache extends ScaledImageCache {
+    protected static ImageThumbnailCache sharedThumbnails;
+
+    protected Path diskDirectory;
+    /** the file paths of requested source images */
+    protected Map<Image, Path> sourcePaths = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @return a cache shared by image columns of tables, bounded by 32MB without a disk cache
+     */
+    public static ImageThumbnailCache getSharedThumbnails() {
+        synchronized (ImageThumbnailCache.class) {
+            if (sharedThumbnails == null) {
+                sharedThumbnails = new ImageThumbnailCache(32L * 1024 * 1024);
+            }
+            return sharedThumbnails;
+        }
+    }
+
+    public ImageThumbnailCache(long maxBytes) {
+        super(maxBytes);
+    }
+
+    /**
+     * @param diskDirectory the directory of saved thumbnails, created if missing, or null for no disk cache
+     */
+    public synchronized void setDiskDirectory(Path diskDirectory) {
+        this.diskDirectory = diskDirectory;
+    }
+
+    public synchronized Path getDiskDirectory() {
+        return diskDirectory;
+    }
+
+    /**
+     * executed from the event thread
+     * @param requester the requester, nullable. a renderer shared by cells should be null
+     * @param source the source image
+     * @param path the file of the source image, resolved for each cell, nullable
+     * @param width the width of the thumbnail
+     * @param height the height of the thumbnail
+     * @param callback executed in the event thread after the thumbnail is cached, nullable
+     * @return the cached thumbnail, or null if it is not yet ready or not cacheable
+     */
+    public BufferedImage request(Object requester, Image source, Path path, int width, int height, Runnable callback) {
+        if (source != null && path != null) {
+            sourcePaths.put(source, path);
+        }
+        return request(requester, source, width, height, callback);
+    }
+
+    /**
+     * @param source the source image
+     * @param width the width of the thumbnail
+     * @param height the height of the thumbnail
+     * @return a scaled image of a decoded {@link BufferedImage}, or a thumbnail of the file of the source
+     *     loaded from the disk cache or decoded from the file and saved to the cache
+     * @throws Exception an error while scaling
+     */
+    @Override
+    protected BufferedImage render(Image source, int width, int height) throws Exception {
+        Path path = (source instanceof BufferedImage ? null : sourcePaths.get(source));
+        if (path == null) {
+            return scale(source, width, height);
+        }
+        Path file = getDiskFile(path, width, height);
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                BufferedImage img = ImageIO.read(file.toFile());
+                if (img != null && img.getWidth() == width && img.getHeight() == height) {
+                    return img;
+                }
+            } catch (Exception ex) {
+                //broken cache file: re-generated
+            }
+        }
+        BufferedImage img = scale(new TiledImageSource(path).readOverview(Math.max(width, height) * 2), width, height);
+        if (file != null) {
+            save(file, img);
+        }
+        return img;
+    }
+
+    /**
+     * @param path the file of the source image
+     * @param width the width of the thumbnail
+     * @param height the height of the thumbnail
+     * @return the cache file for the thumbnail, or null if the disk cache is disabled or the file is not readable
+     */
+    public Path getDiskFile(Path path, int width, int height) {
+        Path dir = getDiskDirectory();
+        if (dir == null || path == null) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            String key = String.format("%s\t%d\t%d\t%dx%d", path.toAbsolutePath().normalize(),
+                    attrs.lastModifiedTime().toMillis(), attrs.size(), width, height);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return dir.resolve(HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + ".png");
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    protected void save(Path file, BufferedImage img) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "thumbnail", ".tmp");
+            try {
+                ImageIO.write(img, "png", tmp.toFile());
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (Exception ex) {
+            GuiLogManager.get().logError(ex);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package org.autogui.swing.util;
+
+import org.autogui.base.log.GuiLogManager;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * a memory-bounded cache of scaled renditions of images.
+ *  <p>
+ *  {@link #request(Image, int, int, Runnable)} returns a cached rendition of a source image for the size,
+ *   or starts a background task scaling the source and returns null.
+ *   After the task, the callback is executed in the event thread, e.g. repainting the component.
+ *   Thus, painting can just draw a ready image without scaling the full-resolution source every time.
+ *  <p>
+ *  Entries are keyed by the identity of the source image and the size.
+ *   Source images are weakly referenced, and the total bytes of renditions are bounded by evicting
+ *    least-recently used entries.
+ *   An image edited in place needs {@link #remove(Image)} before requesting renditions again.
+ *  <p>
+ *  A request with a requester, e.g. a component, supersedes a pending request of the same requester:
+ *   intermediate sizes while zooming are dropped before scaling.
+ *  Methods are synchronized as scaling tasks put renditions from other threads.
+ * @since 1.8
+ */
+public class ScaledImageCache {
+    protected static ScaledImageCache shared;
+
+    protected long maxBytes;
+    protected long bytes;
+    protected LinkedHashMap<ImageKey, BufferedImage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    protected Map<ImageKey, PendingRequest> pending = new HashMap<>();
+    /** the last requested key of each requester */
+    protected Map<Object, ImageKey> requests = new WeakHashMap<>();
+
+    /**
+     * @return a cache shared by image panes, bounded by 64MB
+     */
+    public static ScaledImageCache getShared() {
+        synchronized (ScaledImageCache.class) {
+            if (shared == null) {
+                shared = new ScaledImageCache(64L * 1024 * 1024);
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * @param maxBytes the maximum total bytes of cached renditions, estimated as 4 bytes per pixel
+     */
+    public ScaledImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the service executing scaling tasks
+     */
+    public Executor getService() {
+        return SwingDeferredRunner.getDefaultService();
+    }
+
+    /**
+     * @param width the width of a rendition
+     * @param height the height of a rendition
+     * @return true if a rendition of the size can be cached, i.e. positive and at most a quarter of the max bytes
+     */
+    public boolean isCacheable(int width, int height) {
+        return width > 0 && height > 0 && getBytes(width, height) <= maxBytes / 4;
+    }
+
+    public static long getBytes(int width, int height) {
+        return (long) width * (long) height * 4L;
+    }
+
+    /**
+     * @param source the source image
+     * @param width the width of the rendition
+     * @param height the height of the rendition
+     * @return the cached rendition or null
+     */
+    public synchronized BufferedImage get(Image source, int width, int height) {
+        return entries.get(new ImageKey(source, width, height));
+    }
+
+    /**
+     * executed from the event thread: {@link #request(Object, Image, int, int, Runnable)} without a requester
+     * @param source the source image, fully loaded like {@link BufferedImage}
+     * @param width the width of the rendition
+     * @param height the height of the rendition
+     * @param callback executed in the event thread after the rendition is cached, nullable
+     * @return the cached rendition, or null if it is not yet ready or not cacheable
+     */
+    public BufferedImage request(Image source, int width, int height, Runnable callback) {
+        return request(null, source, width, height, callback);
+    }
+
+    /**
+     * executed from the event thread
+     * @param requester the requester of the rendition like a component, nullable.
+     *                   a pending request is dropped before scaling if all of its requesters made other requests
+     * @param source the source image, fully loaded like {@link BufferedImage}
+     * @param width the width of the rendition
+     * @param height the height of the rendition
+     * @param callback executed in the event thread after the rendition is cached, nullable.
+     *                  only the callback of the first request is kept for each requester
+     * @return the cached rendition, or null if it is not yet ready or not cacheable
+     */
+    public BufferedImage request(Object requester, Image source, int width, int height, Runnable callback) {
+        if (source == null || !isCacheable(width, height)) {
+            return null;
+        }
+        ImageKey key = new ImageKey(source, width, height);
+        PendingRequest p;
+        synchronized (this) {
+            if (requester != null) {
+                requests.put(requester, key);
+            }
+            BufferedImage img = entries.get(key);
+            if (img != null) {
+                return img;
+            }
+            p = pending.get(key);
+            boolean started = (p != null);
+            if (!started) {
+                p = new PendingRequest();
+                pending.put(key, p);
+            }
+            if (p.requesters.add(requester) && callback != null) {
+                p.callbacks.add(callback);
+            }
+            if (started) {
+                return null;
+            }
+        }
+        PendingRequest request = p;
+        getService().execute(() -> runRequest(key, request, source, width, height));
+        return null;
+    }
+
+    /**
+     * executed by a background task: renders and puts the rendition unless the request is superseded.
+     *  if the request is removed by {@link #remove(Image)} while rendering, the rendition is discarded
+     *   and the callbacks are executed for requesting again
+     * @param key the key of the rendition
+     * @param request the pending request
+     * @param source the source image
+     * @param width the width of the rendition
+     * @param height the height of the rendition
+     */
+    protected void runRequest(ImageKey key, PendingRequest request, Image source, int width, int height) {
+        try {
+            if (isSuperseded(key, request)) {
+                synchronized (this) {
+                    pending.remove(key, request);
+                }
+                return;
+            }
+            BufferedImage img = render(source, width, height);
+            List<Runnable> callbacks;
+            synchronized (this) {
+                if (pending.remove(key, request)) {
+                    put(key, img);
+                }
+                callbacks = new ArrayList<>(request.callbacks);
+            }
+            callbacks.forEach(SwingUtilities::invokeLater);
+        } catch (Throwable ex) {
+            synchronized (this) {
+                pending.remove(key, request);
+            }
+            GuiLogManager.get().logError(ex);
+        }
+    }
+
+    /**
+     * @param key the key of the pending request
+     * @param request the pending request
+     * @return true if every requester of the request made another request after the request
+     */
+    protected synchronized boolean isSuperseded(ImageKey key, PendingRequest request) {
+        for (Object requester : request.requesters) {
+            if (requester == null || key.equals(requests.get(requester))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** requesters and callbacks of a pending rendition, accessed under the lock of the cache */
+    public static class PendingRequest {
+        /** requesters compared by identity, including null for a request without a requester */
+        protected Set<Object> requesters = Collections.newSetFromMap(new IdentityHashMap<>());
+        protected List<Runnable> callbacks = new ArrayList<>(1);
+
+        public PendingRequest() {}
+    }
+
+    /**
+     * executed by a background task
+     * @param source the source image
+     * @param width the width of the rendition
+     * @param height the height of the rendition
+     * @return a new rendition, the default is {@link #scale(Image, int, int)}
+     * @throws Exception an error while rendering
+     */
+    protected BufferedImage render(Image source, int width, int height) throws Exception {
+        return scale(source, width, height);
+    }
+
+    protected synchronized void put(ImageKey key, BufferedImage img) {
+        BufferedImage prev = entries.put(key, img);
+        if (prev != null) {
+            bytes -= getBytes(prev.getWidth(), prev.getHeight());
+        }
+        bytes += getBytes(img.getWidth(), img.getHeight());
+        Iterator<Map.Entry<ImageKey, BufferedImage>> iter = entries.entrySet().iterator();
+        while (bytes > maxBytes && iter.hasNext()) {
+            Map.Entry<ImageKey, BufferedImage> e = iter.next();
+            if (e.getKey().equals(key)) {
+                continue;
+            }
+            bytes -= getBytes(e.getValue().getWidth(), e.getValue().getHeight());
+            iter.remove();
+        }
+        if (bytes > maxBytes / 2) { //renditions of collected sources are no longer used
+            entries.entrySet().removeIf(e -> {
+                if (e.getKey().get() == null) {
+                    bytes -= getBytes(e.getValue().getWidth(), e.getValue().getHeight());
+                    return true;
+                } else {
+                    return false;
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the estimated total bytes of cached renditions
+     */
+    public synchronized long getCachedBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * removes all renditions of the source image, and discards results of pending requests for the source
+     * @param source the source image
+     */
+    public synchronized void remove(Image source) {
+        pending.keySet().removeIf(k -> k.get() == source);
+        entries.entrySet().removeIf(e -> {
+            if (e.getKey().get() == source) {
+                bytes -= getBytes(e.getValue().getWidth(), e.getValue().getHeight());
+                return true;
+            } else {
+                return false;
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * scales the source by repeatedly halving the size with bilinear interpolation while shrinking,
+     *   which keeps the quality of a large reduction
+     * @param source the source image
+     * @param width the width of the result
+     * @param height the height of the result
+     * @return a new image of the size
+     */
+    public static BufferedImage scale(Image source, int width, int height) {
+        Image current = source;
+        int w = current.getWidth(null);
+        int h = current.getHeight(null);
+        boolean first = true;
+        while (true) {
+            int nw = (w / 2 >= width) ? w / 2 : width;
+            int nh = (h / 2 >= height) ? h / 2 : height;
+            BufferedImage next = new BufferedImage(nw, nh, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nw, nh, null);
+            } finally {
+                g.dispose();
+            }
+            if (!first) {
+                ((BufferedImage) current).flush();
+            }
+            first = false;
+            current = next;
+            w = nw;
+            h = nh;
+            if (nw == width && nh == height) {
+                return next;
+            }
+        }
+    }
+
+    /** a key of a weakly referenced source image compared by identity and the size of a rendition */
+    public static class ImageKey extends WeakReference<Image> {
+        protected int width;
+        protected int height;
+        protected int hash;
+
+        public ImageKey(Image source, int width, int height) {
+            super(source);
+            this.width = width;
+            this.height = height;
+            hash = (System.identityHashCode(source) * 31 + width) * 31 + height;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            } else if (obj instanceof ImageKey k) {
+                Image o = get();
+                return o != null && o == k.get() && width == k.width && height == k.height;
+            } else {
+                return false;
+            }
+        }
+    }
+}
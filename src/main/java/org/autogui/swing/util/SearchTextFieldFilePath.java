@@ -7,6 +7,8 @@ import java.awt.datatransfer.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Serial;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -592,6 +594,10 @@ public class SearchTextFieldFilePath extends SearchTextField {
     public static class SearchTextFieldModelFilePath implements SearchTextFieldModel {
         protected PopupCategorized.CategorizedMenuItem selection;
         protected FileSystemView iconSource;
+        /** @since 1.8 */
+        protected DirectoryListCache listCache = DirectoryListCache.getShared();
+        /** @since 1.8 */
+        protected FileIconCache iconCache;
 
         public SearchTextFieldModelFilePath() {}
 
@@ -620,7 +626,8 @@ public class SearchTextFieldFilePath extends SearchTextField {
                 }
 
                 if (editable) {
-                    items.addAll(getCompletionItems(text, path));
+                    items.addAll(getCompletionItems(text, path, publisher,
+                            partial -> publishPartial(publisher, items, partial)));
                     if (publisher.isSearchCancelled()) {
                         return items;
                     }
@@ -632,7 +639,8 @@ public class SearchTextFieldFilePath extends SearchTextField {
                     if (publisher.isSearchCancelled()) {
                         return items;
                     }
-                    items.addAll(getChildItems(path));
+                    items.addAll(getChildItems(path, publisher,
+                            partial -> publishPartial(publisher, items, partial)));
                 }
 
                 return items;
@@ -641,6 +649,54 @@ public class SearchTextFieldFilePath extends SearchTextField {
             }
         }
 
+        /**
+         * publishes items with intermediate items of a directory listing
+         * @param publisher the publisher
+         * @param items the items so far
+         * @param partial the intermediate items
+         * @since 1.8
+         */
+        protected void publishPartial(SearchTextFieldPublisher publisher, List<PopupCategorized.CategorizedMenuItem> items, List<FileItem> partial) {
+            List<PopupCategorized.CategorizedMenuItem> result = new ArrayList<>(items.size() + partial.size());
+            result.addAll(items);
+            result.addAll(partial);
+            publisher.publishSearch(result);
+        }
+
+        /**
+         * @return the cache of directory listings, nullable
+         * @since 1.8
+         */
+        public DirectoryListCache getListCache() {
+            return listCache;
+        }
+
+        /**
+         * @param listCache the cache of directory listings, or null for listing at every search
+         * @since 1.8
+         */
+        public void setListCache(DirectoryListCache listCache) {
+            this.listCache = listCache;
+        }
+
+        /**
+         * @param dir the directory
+         * @param publisher the publisher for checking cancellation
+         * @param partial a consumer of intermediate entries, nullable
+         * @return entries of the directory, or null if cancelled
+         * @throws IOException listing error
+         * @since 1.8
+         */
+        public List<Path> list(Path dir, SearchTextFieldPublisher publisher, Consumer<List<Path>> partial) throws IOException {
+            if (listCache != null) {
+                return listCache.list(dir, publisher, partial);
+            } else {
+                try (var list = Files.list(dir)) {
+                    return list.collect(Collectors.toList());
+                }
+            }
+        }
+
         public Path setSelection(String text) {
             Path path = Paths.get(text);
             selection = getFileItem(path, MENU_CATEGORY_FILE_CURRENT, false);
@@ -648,6 +704,18 @@ public class SearchTextFieldFilePath extends SearchTextField {
         }
 
         public List<FileItem> getCompletionItems(String text, Path path) {
+            return getCompletionItems(text, path, new SearchTextFieldPublisherEmpty(), null);
+        }
+
+        /**
+         * @param text the searched text
+         * @param path the path of the text
+         * @param publisher the publisher for checking cancellation
+         * @param partial a consumer of intermediate items while listing the directory, nullable
+         * @return candidate items in the directory
+         * @since 1.8
+         */
+        public List<FileItem> getCompletionItems(String text, Path path, SearchTextFieldPublisher publisher, Consumer<List<FileItem>> partial) {
             try {
                 Path dir;
                 String head;
@@ -659,12 +727,12 @@ public class SearchTextFieldFilePath extends SearchTextField {
                     head = toFileNameString(path).toLowerCase();
                 }
                 if (dir != null && Files.isDirectory(dir)) {
-                    try (var list = Files.list(dir)) {
-                        return list
-                                .filter(p -> p.getFileName().toString().toLowerCase().startsWith(head))
-                                .map(p -> getFileItem(p, MENU_CATEGORY_FILE_CANDIDATE, true))
-                                .collect(Collectors.toList());
-                    }
+                    Function<List<Path>, List<FileItem>> toItems = list -> list.stream()
+                            .filter(p -> p.getFileName().toString().toLowerCase().startsWith(head))
+                            .map(p -> getFileItem(p, MENU_CATEGORY_FILE_CANDIDATE, true))
+                            .collect(Collectors.toList());
+                    List<Path> list = list(dir, publisher, partial == null ? null : ps -> partial.accept(toItems.apply(ps)));
+                    return list == null ? Collections.emptyList() : toItems.apply(list);
                 } else {
                     return Collections.emptyList();
                 }
@@ -693,6 +761,17 @@ public class SearchTextFieldFilePath extends SearchTextField {
         }
 
         public List<FileItem> getChildItems(Path path) {
+            return getChildItems(path, new SearchTextFieldPublisherEmpty(), null);
+        }
+
+        /**
+         * @param path the path of the searched text
+         * @param publisher the publisher for checking cancellation
+         * @param partial a consumer of intermediate items while listing the directory, nullable
+         * @return items in the directory or the parent directory
+         * @since 1.8
+         */
+        public List<FileItem> getChildItems(Path path, SearchTextFieldPublisher publisher, Consumer<List<FileItem>> partial) {
             try {
                 String category;
                 if (!Files.isDirectory(path)) {
@@ -704,12 +783,12 @@ public class SearchTextFieldFilePath extends SearchTextField {
                 } else {
                     category = MENU_CATEGORY_FILE_CHILD;
                 }
-                try (var list = Files.list(path)) {
-                    return list
-                            .sorted(this::compare)
-                            .map(p -> getFileItem(p, category, true))
-                            .collect(Collectors.toList());
-                }
+                Function<List<Path>, List<FileItem>> toItems = list -> list.stream()
+                        .sorted(this::compare)
+                        .map(p -> getFileItem(p, category, true))
+                        .collect(Collectors.toList());
+                List<Path> list = list(path, publisher, partial == null ? null : ps -> partial.accept(toItems.apply(ps)));
+                return list == null || publisher.isSearchCancelled() ? Collections.emptyList() : toItems.apply(list);
             } catch (Exception ex) {
                 return Collections.emptyList();
             }
@@ -759,24 +838,27 @@ public class SearchTextFieldFilePath extends SearchTextField {
 
 
         public FileItem getFileItem(Path path, String category, boolean nameOnly) {
-            if (iconSource == null) {
-                iconSource = FileSystemView.getFileSystemView();
-            }
+            FileIconCache icons = getIconCache();
             return new FileItem(path, p -> {
                 if (path == null) {
                     return null;
                 } else {
-                    Icon icon = iconSource.getSystemIcon(p.toFile());
-                    if (icon != null) {
-                        return new IconWrapper(icon,
-                            UIManagerUtil.getInstance().getScaledSizeInt(16));
-                    } else {
-                        return null;
-                    }
+                    return icons.getIcon(p, nameOnly);
                 }
             }, category, "", nameOnly);
         }
 
+        /**
+         * @return the shared icon cache, or a new cache for the {@link #iconSource} if it is set
+         * @since 1.8
+         */
+        public FileIconCache getIconCache() {
+            if (iconCache == null) {
+                iconCache = (iconSource == null ? FileIconCache.getShared() : new FileIconCache(iconSource, 256));
+            }
+            return iconCache;
+        }
+
         @Override
         public void select(PopupCategorized.CategorizedMenuItem item) {
             this.selection = item;
@@ -788,6 +870,302 @@ public class SearchTextFieldFilePath extends SearchTextField {
         }
     }
 
+    /**
+     * a cache of directory listings for completion.
+     *  <p>
+     *  A listing is streamed with checking cancellation by the next keystroke,
+     *   and intermediate entries are passed to a consumer at intervals.
+     *   Completed listings are held in an LRU cache of directories.
+     *  A cached listing is dropped when a {@link WatchService} reports a change of the directory,
+     *   and is also checked with the modified time of the directory,
+     *    as some watch services are polling-based and notify changes with delay.
+     * @since 1.8
+     */
+    public static class DirectoryListCache {
+        protected static DirectoryListCache shared;
+
+        protected int capacity;
+        protected int maxEntries;
+        protected long publishIntervalMillis = 100;
+        protected LinkedHashMap<Path, DirectoryListing> listings;
+        protected WatchService watchService;
+        protected boolean watchUnsupported;
+        protected Map<WatchKey, Path> watchKeys = new HashMap<>();
+
+        public static DirectoryListCache getShared() {
+            synchronized (DirectoryListCache.class) {
+                if (shared == null) {
+                    shared = new DirectoryListCache(16, 200_000);
+                }
+                return shared;
+            }
+        }
+
+        /**
+         * @param capacity the maximum number of cached directories
+         * @param maxEntries the maximum number of entries of a cached directory
+         */
+        public DirectoryListCache(int capacity, int maxEntries) {
+            this.capacity = capacity;
+            this.maxEntries = maxEntries;
+            listings = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, DirectoryListing> eldest) {
+                    if (size() > DirectoryListCache.this.capacity) {
+                        eldest.getValue().cancel();
+                        return true;
+                    } else {
+                        return false;
+                    }
+                }
+            };
+        }
+
+        public void setPublishIntervalMillis(long publishIntervalMillis) {
+            this.publishIntervalMillis = publishIntervalMillis;
+        }
+
+        /**
+         * executed from a background thread
+         * @param dir the directory, also used as the key
+         * @param publisher the publisher for checking cancellation
+         * @param partial a consumer of intermediate entries, nullable
+         * @return entries of the directory, or null if cancelled
+         * @throws IOException listing error
+         */
+        public List<Path> list(Path dir, SearchTextFieldPublisher publisher, Consumer<List<Path>> partial) throws IOException {
+            synchronized (this) {
+                DirectoryListing listing = listings.get(dir);
+                if (listing != null) {
+                    if (listing.isValid()) {
+                        return listing.entries;
+                    }
+                    listings.remove(dir);
+                    listing.cancel();
+                }
+            }
+            WatchKey key = register(dir);
+            FileTime modified = getLastModifiedTime(dir);
+            List<Path> entries = new ArrayList<>();
+            long lastPublish = System.currentTimeMillis();
+            try (var list = Files.list(dir)) {
+                Iterator<Path> iter = list.iterator();
+                while (iter.hasNext()) {
+                    entries.add(iter.next());
+                    if ((entries.size() % 256) == 0) {
+                        if (publisher.isSearchCancelled()) {
+                            cancel(key);
+                            return null;
+                        }
+                        long time = System.currentTimeMillis();
+                        if (partial != null && time - lastPublish >= publishIntervalMillis) {
+                            partial.accept(Collections.unmodifiableList(new ArrayList<>(entries)));
+                            lastPublish = time;
+                        }
+                    }
+                }
+            } catch (IOException | UncheckedIOException ex) {
+                cancel(key);
+                throw ex;
+            }
+            entries = Collections.unmodifiableList(entries);
+            synchronized (this) {
+                if (entries.size() <= maxEntries && (key == null || key.isValid())) {
+                    listings.put(dir, new DirectoryListing(this, entries, key, dir, modified));
+                } else {
+                    cancel(key);
+                }
+            }
+            return entries;
+        }
+
+        protected static FileTime getLastModifiedTime(Path dir) {
+            try {
+                return Files.getLastModifiedTime(dir);
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+
+        /**
+         * @param dir the directory
+         * @return a registered key, or null if the file system does not support watching
+         */
+        protected synchronized WatchKey register(Path dir) {
+            if (watchUnsupported) {
+                return null;
+            }
+            try {
+                if (watchService == null) {
+                    watchService = FileSystems.getDefault().newWatchService();
+                    Thread watcher = new Thread(this::runWatcher, DirectoryListCache.class.getSimpleName());
+                    watcher.setDaemon(true);
+                    watcher.start();
+                }
+                if (dir.getFileSystem() != FileSystems.getDefault()) {
+                    return null;
+                }
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.OVERFLOW);
+                watchKeys.put(key, dir);
+                return key;
+            } catch (UnsupportedOperationException ex) {
+                watchUnsupported = true;
+                return null;
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+
+        protected synchronized void cancel(WatchKey key) {
+            if (key != null) {
+                key.cancel();
+                watchKeys.remove(key);
+            }
+        }
+
+        /** the loop of the watcher thread: drops listings of changed directories */
+        protected void runWatcher() {
+            try {
+                while (true) {
+                    WatchKey key = watchService.take();
+                    key.pollEvents();
+                    synchronized (this) {
+                        Path dir = watchKeys.remove(key);
+                        DirectoryListing listing = (dir == null ? null : listings.get(dir));
+                        if (listing != null && listing.key == key) {
+                            listings.remove(dir);
+                        }
+                        key.cancel();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                //finish
+            }
+        }
+
+        public synchronized int size() {
+            return listings.size();
+        }
+
+        public synchronized void clear() {
+            listings.values().forEach(DirectoryListing::cancel);
+            listings.clear();
+        }
+    }
+
+    /**
+     * a cached listing of a directory
+     * @since 1.8
+     */
+    public static class DirectoryListing {
+        protected DirectoryListCache cache;
+        protected List<Path> entries;
+        protected WatchKey key;
+        protected Path dir;
+        protected FileTime modified;
+
+        public DirectoryListing(DirectoryListCache cache, List<Path> entries, WatchKey key, Path dir, FileTime modified) {
+            this.cache = cache;
+            this.entries = entries;
+            this.key = key;
+            this.dir = dir;
+            this.modified = modified;
+        }
+
+        public List<Path> getEntries() {
+            return entries;
+        }
+
+        public boolean isValid() {
+            return (key == null || key.isValid()) &&
+                    modified != null && modified.equals(DirectoryListCache.getLastModifiedTime(dir));
+        }
+
+        public void cancel() {
+            cache.cancel(key);
+        }
+    }
+
+    /**
+     * an LRU cache of file icons of {@link FileSystemView#getSystemIcon(File)}.
+     *  icons of completed file names are shared by the type: directories, or files with the same extension,
+     *   except for extensions whose files usually have their own icons like "exe"
+     * @since 1.8
+     */
+    public static class FileIconCache {
+        protected static FileIconCache shared;
+
+        protected FileSystemView iconSource;
+        protected int capacity;
+        protected LinkedHashMap<Object, Icon> icons;
+        protected Set<String> perFileExtensions = new HashSet<>(Arrays.asList("exe", "lnk", "ico", "app", "url"));
+
+        public static FileIconCache getShared() {
+            synchronized (FileIconCache.class) {
+                if (shared == null) {
+                    shared = new FileIconCache(FileSystemView.getFileSystemView(), 256);
+                }
+                return shared;
+            }
+        }
+
+        public FileIconCache(FileSystemView iconSource, int capacity) {
+            this.iconSource = iconSource;
+            this.capacity = capacity;
+            icons = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Icon> eldest) {
+                    return size() > FileIconCache.this.capacity;
+                }
+            };
+        }
+
+        /**
+         * @param path the file
+         * @param byType if true, the icon is shared by the type of the file
+         * @return the scaled icon or null
+         */
+        public Icon getIcon(Path path, boolean byType) {
+            Object key = byType ? getTypeKey(path) : path;
+            synchronized (this) {
+                if (icons.containsKey(key)) {
+                    return icons.get(key);
+                }
+            }
+            Icon icon = iconSource.getSystemIcon(path.toFile());
+            Icon wrapped = (icon == null ? null : new IconWrapper(icon, UIManagerUtil.getInstance().getScaledSizeInt(16)));
+            synchronized (this) {
+                icons.put(key, wrapped);
+            }
+            return wrapped;
+        }
+
+        /**
+         * @param path the file
+         * @return a key for the type of the file
+         */
+        public Object getTypeKey(Path path) {
+            String name = toFileNameString(path).toLowerCase();
+            if (path.getParent() == null || name.isEmpty()) {
+                return path;
+            } else if (Files.isDirectory(path)) {
+                return "/";
+            }
+            int dot = name.lastIndexOf('.');
+            String ext = (dot > 0 ? name.substring(dot + 1) : "");
+            if (perFileExtensions.contains(ext)) {
+                return path;
+            } else {
+                return "." + ext;
+            }
+        }
+
+        public synchronized int size() {
+            return icons.size();
+        }
+    }
+
     public static class IconWrapper implements Icon {
         protected Icon icon;
         protected float width;
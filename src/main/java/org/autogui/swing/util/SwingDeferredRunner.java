@@ -44,6 +44,17 @@ public class SwingDeferredRunner {
         SwingUtilities.invokeLater(ScheduledTaskRunner.depthRunner(r));
     }
 
+    /**
+     * run the task by {@link SwingUpdateCoalescer#invokeLater(Object, Runnable)} of the shared coalescer:
+     *  a pending task of the same key is replaced by the task
+     * @param key the key of the update, e.g. {@code List.of(view, "setValue")}
+     * @param r the task
+     * @since 1.8
+     */
+    public static void invokeLaterCoalesced(Object key, Runnable r) {
+        SwingUpdateCoalescer.get().invokeLater(key, r);
+    }
+
     /**
      *  run the task by {@link SwingUtilities#invokeAndWait(Runnable)} with wrapping by
      *   {@link ScheduledTaskRunner#withDepthInfo(String, Runnable)} and 
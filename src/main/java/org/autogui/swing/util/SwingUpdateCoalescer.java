@@ -0,0 +1,257 @@
+package org.autogui.swing.util;
+
+import org.autogui.base.log.GuiLogManager;
+import org.autogui.base.mapping.ScheduledTaskRunner;
+
+import javax.swing.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * a coalescer of updates to the event dispatching thread, capping the rate of flushing by a frame interval.
+ *  <p>
+ *  {@link #invokeLater(Object, Runnable)} holds only the latest task for each key,
+ *   e.g. a pair of a view and a kind of updating like setting a value,
+ *   and {@link #invokeLaterMerged(Object, Object, BinaryOperator, Consumer)}
+ *   merges a pending value with a new value, e.g. ranges of updated cells of a table.
+ *  Pending tasks are executed at once in the order of their first submissions by a single flushing task,
+ *   which is posted to the event thread at most once per {@link #getFrameIntervalMillis()}.
+ *   If the interval has been elapsed from the last flushing, the flushing task is immediately posted.
+ *  <p>
+ *  Background updates at a high rate post only a few runnables per frame instead of a runnable per change,
+ *   and the numbers of submitted, coalesced and pending tasks can be observed as metrics.
+ * @since 1.8
+ */
+public class SwingUpdateCoalescer {
+    protected static SwingUpdateCoalescer instance;
+
+    protected long frameIntervalMillis = 16;
+    protected LinkedHashMap<Object, Runnable> pending = new LinkedHashMap<>();
+    protected boolean scheduled;
+    protected long lastFlushTime;
+    protected ScheduledExecutorService timer;
+
+    protected long submittedCount;
+    protected long coalescedCount;
+    protected long flushCount;
+    protected int maxPendingCount;
+    protected long lastFlushNanos;
+
+    public static SwingUpdateCoalescer get() {
+        synchronized (SwingUpdateCoalescer.class) {
+            if (instance == null) {
+                instance = new SwingUpdateCoalescer();
+            }
+            return instance;
+        }
+    }
+
+    public SwingUpdateCoalescer() {}
+
+    /**
+     * @param frameIntervalMillis the minimum interval between flushing, 0 for flushing at every event-thread turn
+     */
+    public synchronized void setFrameIntervalMillis(long frameIntervalMillis) {
+        this.frameIntervalMillis = Math.max(0, frameIntervalMillis);
+    }
+
+    public synchronized long getFrameIntervalMillis() {
+        return frameIntervalMillis;
+    }
+
+    /**
+     * executed from any thread: schedules the task, replacing a pending task of the same key
+     * @param key the key of the update compared by equals, e.g. {@code List.of(view, "setValue")}
+     * @param task the task executed in the event thread
+     */
+    public void invokeLater(Object key, Runnable task) {
+        Runnable r = ScheduledTaskRunner.depthRunner(task);
+        synchronized (this) {
+            ++submittedCount;
+            if (pending.replace(key, r) != null) {
+                ++coalescedCount;
+            } else {
+                pending.put(key, r);
+                maxPendingCount = Math.max(maxPendingCount, pending.size());
+            }
+            schedule();
+        }
+    }
+
+    /**
+     * executed from any thread: schedules the task with the value, merged with a pending value of the same key
+     * @param key the key of the update compared by equals
+     * @param value the new value
+     * @param merge a function taking the pending value and the new value, and returning a merged value
+     * @param task the task executed in the event thread with the merged value
+     * @param <T> the type of values
+     */
+    public <T> void invokeLaterMerged(Object key, T value, BinaryOperator<T> merge, Consumer<T> task) {
+        synchronized (this) {
+            ++submittedCount;
+            Runnable existing = pending.get(key);
+            if (existing instanceof MergedTask<?> m) {
+                @SuppressWarnings("unchecked")
+                MergedTask<T> mt = (MergedTask<T>) m;
+                mt.value = merge.apply(mt.value, value);
+                ++coalescedCount;
+            } else {
+                pending.put(key, new MergedTask<>(this, value, task));
+                if (existing != null) { //a plain task of the same key is replaced
+                    ++coalescedCount;
+                } else {
+                    maxPendingCount = Math.max(maxPendingCount, pending.size());
+                }
+            }
+            schedule();
+        }
+    }
+
+    /** a pending task holding a merged value */
+    public static class MergedTask<T> implements Runnable {
+        protected final Object lock;
+        protected T value;
+        protected Runnable task;
+
+        @SuppressWarnings("this-escape")
+        public MergedTask(Object lock, T value, Consumer<T> task) {
+            this.lock = lock;
+            this.value = value;
+            this.task = ScheduledTaskRunner.depthRunner(() -> task.accept(getValue()));
+        }
+
+        /**
+         * @return the merged value, which is merged under the lock of the coalescer
+         */
+        public T getValue() {
+            synchronized (lock) {
+                return value;
+            }
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /** executed under the lock */
+    protected void schedule() {
+        if (scheduled) {
+            return;
+        }
+        scheduled = true;
+        long delay = lastFlushTime + frameIntervalMillis - System.currentTimeMillis();
+        if (delay <= 0) {
+            SwingUtilities.invokeLater(this::flush);
+        } else {
+            getTimer().schedule(() -> SwingUtilities.invokeLater(this::flush), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    protected ScheduledExecutorService getTimer() {
+        if (timer == null) {
+            timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread th = new Thread(r, SwingUpdateCoalescer.class.getSimpleName());
+                th.setDaemon(true);
+                return th;
+            });
+        }
+        return timer;
+    }
+
+    /**
+     * executed in the event thread: runs all pending tasks.
+     *  tasks submitted while flushing are executed by the next flushing
+     */
+    public void flush() {
+        Map<Object, Runnable> tasks;
+        synchronized (this) {
+            tasks = pending;
+            pending = new LinkedHashMap<>();
+            scheduled = false;
+            lastFlushTime = System.currentTimeMillis();
+            ++flushCount;
+        }
+        long start = System.nanoTime();
+        for (Runnable r : tasks.values()) {
+            try {
+                r.run();
+            } catch (Throwable ex) {
+                GuiLogManager.get().logError(ex);
+            }
+        }
+        synchronized (this) {
+            lastFlushNanos = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * executed in the event thread: runs the pending task of the key before the next flushing, if exists.
+     *  a following step that needs the result of the update can call the method first
+     * @param key the key of the update
+     */
+    public void flush(Object key) {
+        Runnable r;
+        synchronized (this) {
+            r = pending.remove(key);
+        }
+        if (r != null) {
+            try {
+                r.run();
+            } catch (Throwable ex) {
+                GuiLogManager.get().logError(ex);
+            }
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting for the next flushing
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the maximum number of pending tasks observed so far
+     */
+    public synchronized int getMaxPendingCount() {
+        return maxPendingCount;
+    }
+
+    public synchronized long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    /**
+     * @return the number of submissions replaced or merged with pending tasks
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public synchronized long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * @return the duration of running tasks by the last flushing in nanoseconds
+     */
+    public synchronized long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+
+    /** clears the counters of metrics */
+    public synchronized void resetMetrics() {
+        submittedCount = 0;
+        coalescedCount = 0;
+        flushCount = 0;
+        maxPendingCount = pending.size();
+        lastFlushNanos = 0;
+    }
+}
@@ -8,9 +8,11 @@ import javax.swing.table.TableColumn;
 import javax.swing.table.TableColumnModel;
 import javax.swing.table.TableModel;
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
 import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.io.Serial;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.Executors;
@@ -25,10 +27,26 @@ import java.util.stream.IntStream;
  *      f.addListenersToTable();
  *  </pre>
  *  for customizing table-column width, you will need to call <code>table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);</code>
+ * <p>
+ *  Since 1.8, fitting is restricted to the visible rows of the table plus a margin of {@link #getMarginFactor()},
+ *   and other rows keep the default row-height of the table as an estimation until they are scrolled into the view.
+ *   Measured heights of cells are cached for each model row with the cell value and the column width:
+ *   a cell is measured again only if the identity of the value or the width is changed.
  */
 public class TableRowHeightFitter {
     protected JTable table;
-    protected int[][] cellHeights = new int[1][1];
+    /** model row to measured heights of cells of the row. @since 1.8 */
+    protected Map<Integer, RowCellHeights> rowCellHeights;
+    /** @since 1.8 */
+    protected int maxCachedRows = 4096;
+    /** the margin around visible rows as a multiple of the number of visible rows. @since 1.8 */
+    protected double marginFactor = 1.0;
+    /** the number of fitted rows while the table is not visible. @since 1.8 */
+    protected int invisibleRows = 64;
+    /** @since 1.8 */
+    protected JViewport viewport;
+    /** @since 1.8 */
+    protected ChangeListener viewportListener;
     protected Graphics tester;
 
     protected boolean enabled = true;
@@ -74,11 +92,70 @@ public class TableRowHeightFitter {
     @SuppressWarnings("this-escape")
     public TableRowHeightFitter(JTable table) {
         this.table = table;
+        rowCellHeights = new LinkedHashMap<>(16, 0.75f, true) {
+            @Serial private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, RowCellHeights> eldest) {
+                return size() > maxCachedRows;
+            }
+        };
     }
 
     public void addListenersToTable() {
         addListenerToTableModel(table.getModel());
         addListenerToTableColumnModel(table.getColumnModel());
+        addListenerToViewport();
+    }
+
+    /**
+     * adds a listener to the parent viewport of the table, for fitting rows scrolled into the view.
+     *  the viewport is updated when the parent of the table is changed
+     * @since 1.8
+     */
+    public void addListenerToViewport() {
+        viewportListener = e -> {
+            if (isEnabled()) {
+                scheduleFitAll();
+            }
+        };
+        table.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0) {
+                updateViewport();
+            }
+        });
+        updateViewport();
+    }
+
+    /**
+     * @since 1.8
+     */
+    public void updateViewport() {
+        JViewport next = (table.getParent() instanceof JViewport v ? v : null);
+        if (next != viewport) {
+            if (viewport != null) {
+                viewport.removeChangeListener(viewportListener);
+            }
+            viewport = next;
+            if (viewport != null) {
+                viewport.addChangeListener(viewportListener);
+            }
+        }
+    }
+
+    public int getMaxCachedRows() {
+        return maxCachedRows;
+    }
+
+    public void setMaxCachedRows(int maxCachedRows) {
+        this.maxCachedRows = maxCachedRows;
+    }
+
+    public double getMarginFactor() {
+        return marginFactor;
+    }
+
+    public void setMarginFactor(double marginFactor) {
+        this.marginFactor = marginFactor;
     }
 
     public TableModelListener addListenerToTableModel(TableModel model) {
@@ -94,6 +171,7 @@ public class TableRowHeightFitter {
     }
 
     public void scheduleFitByEvent(TableModelEvent event) {
+        invalidateByEvent(event);
         if (event.getType() == TableModelEvent.UPDATE) {
             TableColumn column = null;
             int col = event.getColumn();
@@ -112,6 +190,31 @@ public class TableRowHeightFitter {
         }
     }
 
+    /**
+     * removes cached heights of rows of the event, as an updated cell might have the identical but modified value.
+     *  inserted and deleted rows shift model rows, and thus clear all cached heights
+     * @param event a model event
+     * @since 1.8
+     */
+    public void invalidateByEvent(TableModelEvent event) {
+        int fr = event.getFirstRow();
+        int lr = event.getLastRow();
+        if (event.getType() != TableModelEvent.UPDATE || fr == TableModelEvent.HEADER_ROW ||
+                lr == Integer.MAX_VALUE || lr - fr + 1 >= rowCellHeights.size()) {
+            clearCache();
+        } else {
+            int column = event.getColumn();
+            for (int row = fr; row <= lr; ++row) {
+                RowCellHeights cache = rowCellHeights.get(row);
+                if (cache != null && column != TableModelEvent.ALL_COLUMNS) {
+                    cache.invalidate(column);
+                } else if (cache != null) {
+                    rowCellHeights.remove(row);
+                }
+            }
+        }
+    }
+
     public TableColumnModelListener addListenerToTableColumnModel(TableColumnModel model) {
         for (int i = 0, l = model.getColumnCount(); i < l; ++i) {
             addChangeWidthListener(model.getColumn(i));
@@ -274,7 +377,7 @@ public class TableRowHeightFitter {
     }
 
     /**
-     * re-calculate heights of all rows
+     * re-calculate heights of all visible rows. cached heights are reused for unchanged cells
      */
     public void fitAll() {
         fit(tableAllColumns());
@@ -287,36 +390,23 @@ public class TableRowHeightFitter {
                 .collect(Collectors.toList());
     }
 
-    /**
-     * update cell heights cache if needed
-     */
-    protected void updateCellHeightsBySizeChange() {
-        int colSize = table.getColumnCount() + 1; //[0] means the max of [1],[2],...
-        int rowSize = Math.max(1, table.getRowCount());
-
-        int oldColSize = cellHeights[0].length;
-        int oldRowSize = cellHeights.length;
-
-        if (colSize != oldColSize || rowSize != oldRowSize) {
-            cellHeights = new int[rowSize][colSize];
-        }
+    public void clearCache() {
+        rowCellHeights.clear();
     }
 
-
     public void fit(Collection<TableColumn> targetColumns) {
         fit(targetColumns, i -> true);
     }
 
     public void fit(Collection<TableColumn> targetColumns, IntPredicate rowUpdate) {
-        updateCellHeightsBySizeChange();
         if (DEBUG) {
             log("width changed %s", targetColumns.stream()
                     .map(TableColumn::getModelIndex)
                     .sorted()
                     .collect(Collectors.toList()));
         }
-
-        for (int i = 0, rows = table.getRowCount(); i < rows; ++i) {
+        int[] range = getTargetViewRows();
+        for (int i = range[0]; i <= range[1]; ++i) {
             int modelIndex = table.convertRowIndexToModel(i);
             if (rowUpdate.test(modelIndex)) {
                 fitRow(i, modelIndex, targetColumns);
@@ -324,28 +414,130 @@ public class TableRowHeightFitter {
         }
     }
 
+    /**
+     * @return {from, to(inclusive)} view rows of the visible rect with the margin,
+     *     or first rows if the table is not visible. {0, -1} if no rows
+     * @since 1.8
+     */
+    public int[] getTargetViewRows() {
+        int rows = table.getRowCount();
+        Rectangle rect = table.getVisibleRect();
+        if (rows <= 0) {
+            return new int[] {0, -1};
+        } else if (rect.isEmpty()) {
+            return new int[] {0, Math.min(rows, invisibleRows) - 1};
+        }
+        int top = table.rowAtPoint(new Point(rect.x, rect.y));
+        int bottom = table.rowAtPoint(new Point(rect.x, rect.y + rect.height - 1));
+        if (top < 0) {
+            top = 0;
+        }
+        if (bottom < 0) {
+            bottom = rows - 1;
+        }
+        int margin = (int) ((bottom - top + 1) * marginFactor);
+        return new int[] {Math.max(0, top - margin), Math.min(rows - 1, bottom + margin)};
+    }
+
     protected void log(String fmt, Object... args) {
         System.err.printf(fmt, args);
     }
 
     public void fitRow(int viewRow, int row, Collection<TableColumn> targetColumns) {
-        var rowCellHeights = cellHeights[row]; //[0] means the max
-        int[] oldHeights = DEBUG ? Arrays.copyOf(rowCellHeights, rowCellHeights.length) : null;
-        int oldMaxRowHeight = rowCellHeights[0];
+        int columnCount = table.getColumnCount();
+        RowCellHeights cache = rowCellHeights.get(row);
+        if (cache == null) {
+            cache = new RowCellHeights(columnCount);
+            rowCellHeights.put(row, cache);
+            targetColumns = tableAllColumns(); //other columns are not measured yet
+        }
+        var heights = cache.heights(columnCount); //[0] means the max
+        int[] oldHeights = DEBUG ? Arrays.copyOf(heights, heights.length) : null;
+        int oldMaxRowHeight = heights[0];
         int rowHeight = 10;
         for (var column : targetColumns) {
-            int cellHeight = fitCellWithMargin(viewRow, column);
-            rowCellHeights[column.getModelIndex() + 1] = cellHeight;
+            int modelIndex = column.getModelIndex();
+            int viewColumn = table.convertColumnIndexToView(modelIndex);
+            if (viewColumn < 0 || modelIndex >= columnCount) {
+                continue;
+            }
+            Object value = table.getValueAt(viewRow, viewColumn);
+            int width = column.getWidth();
+            if (!cache.isCached(modelIndex, value, width)) {
+                cache.set(modelIndex, value, width, fitCellWithMargin(viewRow, column));
+            }
         }
-        for (int i = 1, l = rowCellHeights.length; i < l; ++i) {
-            rowHeight = Math.max(rowHeight, rowCellHeights[i]);
+        heights = cache.heights(columnCount);
+        for (int i = 1, l = heights.length; i < l; ++i) {
+            rowHeight = Math.max(rowHeight, heights[i]);
         }
         if (oldMaxRowHeight != rowHeight || table.getRowHeight(viewRow) != rowHeight) {
-            rowCellHeights[0] = rowHeight;
+            heights[0] = rowHeight;
             table.setRowHeight(viewRow, rowHeight);
         }
         if (DEBUG) {
-            log("fitRow %s", debugInfo(row, oldHeights, rowCellHeights));
+            log("fitRow %s", debugInfo(row, oldHeights, heights));
+        }
+    }
+
+    /**
+     * measured heights of cells of a row, with the cell values and the column widths at the measurement
+     * @since 1.8
+     */
+    public static class RowCellHeights {
+        /** [0] means the max of [1],[2],... */
+        protected int[] heights;
+        protected Object[] values;
+        protected int[] widths;
+
+        public RowCellHeights(int columns) {
+            heights = new int[columns + 1];
+            values = new Object[columns];
+            widths = new int[columns];
+            Arrays.fill(widths, -1);
+        }
+
+        /**
+         * @param columns the current number of columns
+         * @return heights of cells with the max at [0], resized for the columns
+         */
+        public int[] heights(int columns) {
+            if (values.length != columns) {
+                int old = values.length;
+                heights = Arrays.copyOf(heights, columns + 1);
+                values = Arrays.copyOf(values, columns);
+                widths = Arrays.copyOf(widths, columns);
+                if (old < columns) {
+                    Arrays.fill(widths, old, columns, -1);
+                }
+            }
+            return heights;
+        }
+
+        /**
+         * @param column a model column index
+         * @param value the current value of the cell
+         * @param width the current width of the column
+         * @return true if the height of the cell was measured with the identical value and the width
+         */
+        public boolean isCached(int column, Object value, int width) {
+            return column < values.length && widths[column] == width && values[column] == value;
+        }
+
+        /**
+         * @param column a model column index, whose cell is measured again
+         * @since 1.8
+         */
+        public void invalidate(int column) {
+            if (column < widths.length) {
+                widths[column] = -1;
+            }
+        }
+
+        public void set(int column, Object value, int width, int height) {
+            values[column] = value;
+            widths[column] = width;
+            heights[column + 1] = height;
         }
     }
 
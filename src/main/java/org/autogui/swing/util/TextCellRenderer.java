@@ -5,6 +5,7 @@ import javax.swing.border.Border;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
 import java.awt.font.TextAttribute;
 import java.awt.font.TextHitInfo;
 import java.awt.font.TextLayout;
@@ -49,6 +50,18 @@ public class TextCellRenderer<ValueType> extends JPanel
     protected Color selectionBackground;
     /** @since 1.2 */
     protected Color originalBackground = Color.white;
+    /** nullable. @since 1.8 */
+    protected LinesCache linesCache;
+    /** @since 1.8 */
+    protected boolean plainLineFastPath = true;
+    /** metrics of {@link #plainLineMetricsFont}, cached for the fast path. @since 1.8 */
+    protected LineMetrics plainLineMetrics;
+    /** @since 1.8 */
+    protected Font plainLineMetricsFont;
+    /** @since 1.8 */
+    protected FontRenderContext plainLineMetricsContext;
+    /** the font of plain lines without the font attribute. @since 1.8 */
+    protected Font plainLineDefaultFont;
 
     @SuppressWarnings("this-escape")
     public TextCellRenderer() {
@@ -101,6 +114,62 @@ public class TextCellRenderer<ValueType> extends JPanel
         return value;
     }
 
+    /**
+     * sets a cache of built lines, which can be shared by renderers.
+     *  the cache is valid only if {@link #createLine(LineInfo, int, int, String)} depends on
+     *  the text, the font and {@link #getLinesCacheStyle()}
+     * @param linesCache the cache, e.g. {@link LinesCache#getShared()}, or null for disabling
+     * @since 1.8
+     */
+    public void setLinesCache(LinesCache linesCache) {
+        this.linesCache = linesCache;
+    }
+
+    /**
+     * @return the cache of built lines, nullable
+     * @since 1.8
+     */
+    public LinesCache getLinesCache() {
+        return linesCache;
+    }
+
+    /**
+     * @return a part of the key of {@link #getLinesCache()} in addition to the class, the text and the font,
+     *           e.g. attributes used by {@link #createLine(LineInfo, int, int, String)}. nullable
+     * @since 1.8
+     */
+    public Object getLinesCacheStyle() {
+        return null;
+    }
+
+    /**
+     * @param plainLineFastPath if true, a single plain line is measured and drawn without text-layouts
+     *                           (see {@link #isPlainLineFastPath()}). the default is true.
+     *                           a subclass customizing {@link #paintStartX(int, LineInfo, float, LineInfo, TextLayout, FontRenderContext)}
+     *                            for a single line needs to disable it
+     * @since 1.8
+     */
+    public void setPlainLineFastPath(boolean plainLineFastPath) {
+        this.plainLineFastPath = plainLineFastPath;
+    }
+
+    /**
+     * @return true if the fast path is enabled and the current value is a single line
+     *    without indents, find-ranges and text-selections, consisting of Latin characters with a uniform font and color ({@link LineInfo#isPlain()}).
+     *    such a line is measured with cached line-metrics and drawn by {@link Graphics2D#drawString(String, float, float)}
+     * @since 1.8
+     */
+    public boolean isPlainLineFastPath() {
+        if (!plainLineFastPath || lines.size() != 1) {
+            return false;
+        }
+        LineInfo line = lines.getFirst();
+        return line.getIndent() == 0 &&
+                line.getFindRanges().isEmpty() &&
+                Math.min(Math.max(selectionStart, line.start), line.end) == Math.min(Math.max(selectionEnd, line.start), line.end) &&
+                line.isPlain();
+    }
+
     public List<LineInfo> getLines() {
         return lines;
     }
@@ -623,18 +692,38 @@ public class TextCellRenderer<ValueType> extends JPanel
      * @return max size of {@link LineInfo#getWidth()} in the lines
      */
     public int buildLines(String text, List<LineInfo> lines) {
+        LinesCache cache = linesCache;
+        if (cache != null) {
+            return cache.buildLines(this, text, lines);
+        } else {
+            return buildLinesWithoutCache(text, lines);
+        }
+    }
+
+    /**
+     * @param text source text
+     * @param lines cleared and appended by {@link #createLine(LineInfo, int, int, String)}
+     * @return max size of {@link LineInfo#getWidth()} in the lines
+     * @since 1.8
+     */
+    public int buildLinesWithoutCache(String text, List<LineInfo> lines) {
         lines.clear();
         int i = 0;
         int maxWidth = 0;
         int lineIndex = 0;
         LineInfo prev = null;
-        for (String line : text.split("\\n", -1)) {
+        while (true) {
+            int next = text.indexOf('\n', i);
+            String line = text.substring(i, next < 0 ? text.length() : next);
             LineInfo info = createLine(prev, lineIndex, i, line);
             lines.add(info);
             prev = info;
-            i += line.length() + 1;
             ++lineIndex;
             maxWidth = Math.max(maxWidth, info.getWidth());
+            if (next < 0) {
+                break;
+            }
+            i = next + 1;
         }
         return maxWidth;
     }
@@ -1024,6 +1113,9 @@ public class TextCellRenderer<ValueType> extends JPanel
         //   the code do not support the feature and try to implement custom highlighting
 
         paintSetUpGraphics(g2);
+        if (isPlainLineFastPath()) {
+            return paintOrLayoutPlainLine(g2, paint, insets, lines.getFirst());
+        }
         FontRenderContext frc = g2.getFontRenderContext();
         float x = insets.left;
         float y = insets.top;
@@ -1046,7 +1138,7 @@ public class TextCellRenderer<ValueType> extends JPanel
             TextLayout l = paint ?
                     line.getLayout(frc, this.selectionStart, this.selectionEnd,
                         foregroundColor, backgroundColor, selectionTextColor, selectionColor, textToBackToColor) :
-                    new TextLayout(line.attributedString.getIterator(), frc);
+                    line.getPlainLayout(frc);
 //            TextLayout l = line.getLayout(frc);
 
             float ascent = l.getAscent();
@@ -1074,6 +1166,58 @@ public class TextCellRenderer<ValueType> extends JPanel
         return new float[] { x + lineWidthMax + insets.right, y + insets.bottom};
     }
 
+    /**
+     * the fast path of {@link #paintOrLayoutComponentLines(Graphics, boolean)} for a plain line
+     * @param g2 the target graphics, already set up
+     * @param paint if true, do drawing
+     * @param insets the insets of the border
+     * @param line the single plain line
+     * @return width and height
+     * @since 1.8
+     */
+    protected float[] paintOrLayoutPlainLine(Graphics2D g2, boolean paint, Insets insets, LineInfo line) {
+        FontRenderContext frc = g2.getFontRenderContext();
+        Font font = line.getPlainFont();
+        if (font == null) {
+            font = getPlainLineDefaultFont();
+        }
+        String str = line.getPlainText();
+        if (plainLineMetrics == null || !font.equals(plainLineMetricsFont) || !frc.equals(plainLineMetricsContext)) {
+            plainLineMetrics = font.getLineMetrics(str, frc);
+            plainLineMetricsFont = font;
+            plainLineMetricsContext = frc;
+        }
+        float advance = (float) font.getStringBounds(str, frc).getWidth();
+        float x = insets.left;
+        float baseY = insets.top + plainLineMetrics.getAscent();
+        if (paint) {
+            Color foregroundColor = getForeground();
+            Color backgroundColor = getBackground();
+            Color customColor = line.getPlainForeground();
+            Color f = (customColor != null ? customColor : foregroundColor);
+            Color textColor = textToBackToColor.computeIfAbsent(f, tc -> new HashMap<>())
+                    .computeIfAbsent(backgroundColor, bc -> line.getColor(f, foregroundColor, backgroundColor));
+            Font prevFont = g2.getFont();
+            g2.setFont(font);
+            g2.setPaint(textColor);
+            g2.drawString(str, x, baseY);
+            g2.setFont(prevFont);
+        }
+        return new float[] {x + advance + insets.right,
+                baseY + plainLineMetrics.getDescent() + plainLineMetrics.getLeading() + insets.bottom};
+    }
+
+    /**
+     * @return the font of text-layouts for a string without the font attribute, used by the fast path
+     * @since 1.8
+     */
+    public Font getPlainLineDefaultFont() {
+        if (plainLineDefaultFont == null) {
+            plainLineDefaultFont = Font.getFont(Collections.emptyMap());
+        }
+        return plainLineDefaultFont;
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         paintOrLayoutComponentLines(g, true);
@@ -1222,6 +1366,17 @@ public class TextCellRenderer<ValueType> extends JPanel
 
         protected List<int[]> findRanges;
 
+        /** the layout without colors for measuring, shared by copies. @since 1.8 */
+        protected TextLayout plainLayout;
+        /** @since 1.8 */
+        protected FontRenderContext plainLayoutContext;
+        /** the cached line of the copy, receiving the last layout. nullable. @since 1.8 */
+        protected LineInfo prototype;
+        /** the text of a plain line, or "" for a non-plain line. null if not yet checked. @since 1.8 */
+        protected String plainText;
+        /** the attributes of all characters of a plain line. @since 1.8 */
+        protected Map<AttributedCharacterIterator.Attribute, Object> plainAttributes = Collections.emptyMap();
+
         public LineInfo(AttributedString attributedString, int start, int end) {
             if (attributedString.getIterator().current() == CharacterIterator.DONE) {
                 //empty string cause an error at creating TextLayout
@@ -1239,6 +1394,105 @@ public class TextCellRenderer<ValueType> extends JPanel
             return indent + (end - start);
         }
 
+        /**
+         * @return a new line sharing the attributed-string and layouts, without find-ranges.
+         *     a subclass with additional properties needs to override the method
+         * @since 1.8
+         */
+        public LineInfo copy() {
+            LineInfo l = new LineInfo(attributedString, start, end);
+            copyTo(l);
+            return l;
+        }
+
+        /**
+         * @param l the copied line
+         * @since 1.8
+         */
+        protected void copyTo(LineInfo l) {
+            l.indent = indent;
+            l.layout = layout;
+            l.layoutState = layoutState;
+            l.selectionStart = selectionStart;
+            l.selectionEnd = selectionEnd;
+            l.plainLayout = plainLayout;
+            l.plainLayoutContext = plainLayoutContext;
+            l.prototype = (prototype == null ? this : prototype);
+            l.plainText = plainText;
+            l.plainAttributes = plainAttributes;
+        }
+
+        /**
+         * @return true if the attributed-string consists of Latin characters
+         *    and all characters have the same attributes, only {@link TextAttribute#FONT} and {@link TextAttribute#FOREGROUND}:
+         *    drawing by {@link Graphics2D#drawString(String, float, float)} with {@link #getPlainFont()}
+         *     is same as drawing the text-layout
+         * @since 1.8
+         */
+        public boolean isPlain() {
+            if (plainText == null) {
+                AttributedCharacterIterator iter = attributedString.getIterator();
+                StringBuilder buf = new StringBuilder(iter.getEndIndex() - iter.getBeginIndex());
+                iter.first();
+                Map<AttributedCharacterIterator.Attribute, Object> attrs = iter.getAttributes();
+                boolean plain = iter.getRunLimit() >= iter.getEndIndex() &&
+                        attrs.keySet().stream().allMatch(k -> k.equals(TextAttribute.FONT) || k.equals(TextAttribute.FOREGROUND)) &&
+                        (!attrs.containsKey(TextAttribute.FONT) || attrs.get(TextAttribute.FONT) instanceof Font) &&
+                        (!attrs.containsKey(TextAttribute.FOREGROUND) || attrs.get(TextAttribute.FOREGROUND) instanceof Color);
+                for (char c = iter.first(); plain && c != CharacterIterator.DONE; c = iter.next()) {
+                    plain = (c < 0x250); //Basic Latin to Latin Extended-B
+                    buf.append(c);
+                }
+                plainText = plain ? buf.toString() : "";
+                plainAttributes = plain ? attrs : Collections.emptyMap();
+            }
+            return !plainText.isEmpty();
+        }
+
+        /**
+         * @return the text of the plain line, or "" if not {@link #isPlain()}
+         * @since 1.8
+         */
+        public String getPlainText() {
+            isPlain();
+            return plainText;
+        }
+
+        /**
+         * @return the font attribute of the plain line, or null if the line has no font attribute
+         * @since 1.8
+         */
+        public Font getPlainFont() {
+            isPlain();
+            return (Font) plainAttributes.get(TextAttribute.FONT);
+        }
+
+        /**
+         * @return the foreground attribute of the plain line, or null if the line has no foreground attribute
+         * @since 1.8
+         */
+        public Color getPlainForeground() {
+            isPlain();
+            return (Color) plainAttributes.get(TextAttribute.FOREGROUND);
+        }
+
+        /**
+         * @param frc the font-rendering-context
+         * @return a cached text-layout without colors, for measuring the size
+         * @since 1.8
+         */
+        public TextLayout getPlainLayout(FontRenderContext frc) {
+            if (plainLayout == null || !frc.equals(plainLayoutContext)) {
+                plainLayout = new TextLayout(attributedString.getIterator(), frc);
+                plainLayoutContext = frc;
+                if (prototype != null) {
+                    prototype.plainLayout = plainLayout;
+                    prototype.plainLayoutContext = frc;
+                }
+            }
+            return plainLayout;
+        }
+
         /**
          * @param indent number of indent characters
          */
@@ -1286,6 +1540,12 @@ public class TextCellRenderer<ValueType> extends JPanel
             AttributedString selStr = colorUpdate(attributedString, foreground, background,
                     selectionForeground, selectionBackground, textToBackToColor);
             layout = new TextLayout(selStr.getIterator(), frc);
+            if (prototype != null) { //next copies of the cached line can reuse the layout
+                prototype.layout = layout;
+                prototype.layoutState = newLayoutState;
+                prototype.selectionStart = ss;
+                prototype.selectionEnd = se;
+            }
             return layout;
         }
 
@@ -1435,6 +1695,99 @@ public class TextCellRenderer<ValueType> extends JPanel
         }
     }
 
+    /**
+     * a bounded LRU cache of built lines, keyed by the renderer class, the text, the font and {@link #getLinesCacheStyle()}.
+     *  Renderers sharing the cache obtain copies of cached lines by {@link LineInfo#copy()}:
+     *   the copies share attributed-strings and text-layouts,
+     *   and thus re-rendering the same texts, like scrolling a list, does not re-create them.
+     *  Texts longer than {@link #getMaxTextLength()} are not cached.
+     *  The cache is accessed from the event thread.
+     * @since 1.8
+     */
+    public static class LinesCache {
+        protected static LinesCache shared;
+
+        protected int capacity;
+        protected int maxTextLength;
+        protected LinkedHashMap<List<Object>, CachedLines> entries;
+
+        /**
+         * @return a cache shared by renderers of log entries
+         */
+        public static LinesCache getShared() {
+            if (shared == null) {
+                shared = new LinesCache(1000, 10_000);
+            }
+            return shared;
+        }
+
+        /**
+         * @param capacity the maximum number of cached texts
+         * @param maxTextLength the maximum length of a cached text
+         */
+        public LinesCache(int capacity, int maxTextLength) {
+            this.capacity = capacity;
+            this.maxTextLength = maxTextLength;
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, CachedLines> eldest) {
+                    return size() > LinesCache.this.capacity;
+                }
+            };
+        }
+
+        public int getMaxTextLength() {
+            return maxTextLength;
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public void clear() {
+            entries.clear();
+        }
+
+        /**
+         * @param renderer the renderer building lines by {@link #buildLinesWithoutCache(String, List)} if the text is not cached
+         * @param text the source text
+         * @param lines cleared and appended copies of cached lines
+         * @return max size of {@link LineInfo#getWidth()} in the lines
+         */
+        public int buildLines(TextCellRenderer<?> renderer, String text, List<LineInfo> lines) {
+            if (text.length() > maxTextLength) {
+                return renderer.buildLinesWithoutCache(text, lines);
+            }
+            List<Object> key = Arrays.asList(renderer.getClass(), text, renderer.getFont(), renderer.getLinesCacheStyle());
+            CachedLines cached = entries.get(key);
+            if (cached == null) {
+                List<LineInfo> built = new ArrayList<>();
+                int maxWidth = renderer.buildLinesWithoutCache(text, built);
+                cached = new CachedLines(built, maxWidth);
+                entries.put(key, cached);
+            }
+            lines.clear();
+            for (LineInfo line : cached.lines) {
+                lines.add(line.copy());
+            }
+            return cached.maxWidth;
+        }
+    }
+
+    /**
+     * built lines of a text
+     * @since 1.8
+     */
+    public static class CachedLines {
+        public List<LineInfo> lines;
+        public int maxWidth;
+
+        public CachedLines(List<LineInfo> lines, int maxWidth) {
+            this.lines = lines;
+            this.maxWidth = maxWidth;
+        }
+    }
+
     /**
      * focusing information for a matched  pattern position
      */
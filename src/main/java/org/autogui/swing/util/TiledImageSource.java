@@ -0,0 +1,384 @@
+package org.autogui.swing.util;
+
+import org.autogui.base.log.GuiLogManager;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+
+/**
+ * a file-backed image decoded by tiles for viewing very large images.
+ *  <p>
+ *  {@link #load(Path)} decodes only a subsampled overview of the file and returns it as the image value,
+ *   and the source is associated with the overview image; {@link #get(Image)} takes the source.
+ *   The tiled mode is view-only: the value never holds the full-resolution pixels,
+ *    and {@link #getFullImage(Image)} decodes them from the file on demand, e.g. for exporting.
+ *  {@link #paint(Graphics2D, Image, int, int, Dimension, Runnable)} draws the part in the clip at a scaled size
+ *   by tiles decoded with {@link ImageReadParam#setSourceRegion(Rectangle)}
+ *    and {@link ImageReadParam#setSourceSubsampling(int, int, int, int)} for the scale.
+ *   Missing tiles are decoded by a background task, in the order of latest requests,
+ *    and the overview is drawn in place of them until they are ready.
+ *  <p>
+ *  Decoded tiles are held in an LRU cache bounded by the number of tiles.
+ * @since 1.8
+ */
+public class TiledImageSource {
+    protected static Map<Image, TiledImageSource> sources = Collections.synchronizedMap(new WeakHashMap<>());
+
+    protected Path path;
+    /** nullable */
+    protected BufferedImage overview;
+    protected int width;
+    protected int height;
+    protected int tileSize;
+    protected int tileCapacity;
+    protected LinkedHashMap<List<Integer>, BufferedImage> tiles;
+    protected Deque<List<Integer>> queue = new ArrayDeque<>();
+    protected Set<List<Integer>> pending = new HashSet<>();
+    protected Runnable queueCallback;
+    protected boolean running;
+
+    /**
+     * @param image an image
+     * @return the source associated with the image by {@link #load(Path)} or {@link #register(Image)}, or null
+     */
+    public static TiledImageSource get(Image image) {
+        return image == null ? null : sources.get(image);
+    }
+
+    /**
+     * @param path an image file
+     * @return the overview image of the file of at most 1024 pixels, associated with a new source
+     * @throws IOException reading error
+     */
+    public static BufferedImage load(Path path) throws IOException {
+        TiledImageSource source = new TiledImageSource(path);
+        BufferedImage overview = source.readOverview(1024);
+        source.setOverview(overview);
+        source.register(overview);
+        return overview;
+    }
+
+    /**
+     * @param image an image
+     * @return the full-resolution image decoded from the file if the image is associated with a source, otherwise the image itself
+     * @throws IOException reading error
+     */
+    public static Image getFullImage(Image image) throws IOException {
+        TiledImageSource source = get(image);
+        return source == null ? image : source.readFullImage();
+    }
+
+    /**
+     * @param path an image file
+     * @return the size of the first image in the file without decoding pixels, or null if no reader supports the file
+     * @throws IOException reading error
+     */
+    public static Dimension readSize(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            ImageReader reader = getReader(in);
+            if (reader == null) {
+                return null;
+            }
+            try {
+                reader.setInput(in, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    protected static ImageReader getReader(ImageInputStream in) {
+        if (in == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        return readers.hasNext() ? readers.next() : null;
+    }
+
+    /**
+     * @param path an image file
+     * @throws IOException reading error or an unsupported file
+     */
+    public TiledImageSource(Path path) throws IOException {
+        this(path, 512, 64);
+    }
+
+    /**
+     * @param path an image file
+     * @param tileSize the width and height of a decoded tile
+     * @param tileCapacity the maximum number of cached tiles
+     * @throws IOException reading error or an unsupported file
+     */
+    public TiledImageSource(Path path, int tileSize, int tileCapacity) throws IOException {
+        this.path = path;
+        this.tileSize = tileSize;
+        this.tileCapacity = tileCapacity;
+        Dimension size = readSize(path);
+        if (size == null) {
+            throw new IOException("unsupported image: " + path);
+        }
+        width = size.width;
+        height = size.height;
+        tiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Integer>, BufferedImage> eldest) {
+                return size() > TiledImageSource.this.tileCapacity;
+            }
+        };
+    }
+
+    /**
+     * @param overview the subsampled image drawn for small sizes and in place of missing tiles, nullable
+     */
+    public void setOverview(BufferedImage overview) {
+        this.overview = overview;
+    }
+
+    public BufferedImage getOverview() {
+        return overview;
+    }
+
+    /**
+     * associates the image, like an overview, with the source
+     * @param image the image
+     */
+    public void register(Image image) {
+        sources.put(image, this);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the full-resolution size
+     */
+    public Dimension getSize() {
+        return new Dimension(width, height);
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * @param maxSize the maximum width and height of the overview
+     * @return the whole image decoded with subsampling
+     * @throws IOException reading error
+     */
+    public BufferedImage readOverview(int maxSize) throws IOException {
+        int sub = Math.max(1, (Math.max(width, height) + maxSize - 1) / maxSize);
+        return read(new Rectangle(0, 0, width, height), sub);
+    }
+
+    /**
+     * @return the whole image decoded at the full resolution
+     * @throws IOException reading error
+     */
+    public BufferedImage readFullImage() throws IOException {
+        return read(new Rectangle(0, 0, width, height), 1);
+    }
+
+    /**
+     * @param region the source region
+     * @param subsampling the subsampling for both axes, 1 for the full resolution
+     * @return the decoded region
+     * @throws IOException reading error
+     */
+    public BufferedImage read(Rectangle region, int subsampling) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            ImageReader reader = getReader(in);
+            if (reader == null) {
+                throw new IOException("unsupported image: " + path);
+            }
+            try {
+                reader.setInput(in, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(region);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * @param scale the ratio of the scaled size to the full-resolution size
+     * @return the largest power of 2 at most 1/scale, or 1 for zooming
+     */
+    public static int getSubsampling(double scale) {
+        int sub = 1;
+        while (scale > 0 && sub * 2 * scale <= 1.0) {
+            sub *= 2;
+        }
+        return sub;
+    }
+
+    /**
+     * @param column the column index of the tile for the subsampling
+     * @param row the row index of the tile for the subsampling
+     * @param subsampling the subsampling
+     * @return the source region of the tile, clipped by the image
+     */
+    public Rectangle getTileRegion(int column, int row, int subsampling) {
+        int span = tileSize * subsampling;
+        return new Rectangle(column * span, row * span,
+                Math.min(span, width - column * span), Math.min(span, height - row * span));
+    }
+
+    /**
+     * @param column the column index of the tile
+     * @param row the row index of the tile
+     * @param subsampling the subsampling
+     * @param callback executed in the event thread after decoding the tile if it is not cached, nullable
+     * @return the cached tile or null
+     */
+    public BufferedImage getTile(int column, int row, int subsampling, Runnable callback) {
+        List<Integer> key = List.of(column, row, subsampling);
+        boolean start;
+        synchronized (this) {
+            BufferedImage tile = tiles.get(key);
+            if (tile != null) {
+                return tile;
+            }
+            if (pending.add(key)) {
+                queue.addFirst(key);
+            } else { //latest requests first
+                queue.remove(key);
+                queue.addFirst(key);
+            }
+            queueCallback = callback;
+            while (queue.size() > tileCapacity) { //stale requests
+                pending.remove(queue.removeLast());
+            }
+            start = !running;
+            running = true;
+        }
+        if (start) {
+            SwingDeferredRunner.getDefaultService().execute(this::runQueue);
+        }
+        return null;
+    }
+
+    /** decodes queued tiles */
+    protected void runQueue() {
+        while (true) {
+            List<Integer> key;
+            Runnable callback;
+            synchronized (this) {
+                key = queue.pollFirst();
+                callback = queueCallback;
+                if (key == null) {
+                    running = false;
+                    return;
+                }
+            }
+            try {
+                BufferedImage tile = read(getTileRegion(key.get(0), key.get(1), key.get(2)), key.get(2));
+                synchronized (this) {
+                    tiles.put(key, tile);
+                }
+                if (callback != null) {
+                    SwingUtilities.invokeLater(callback);
+                }
+            } catch (Throwable ex) {
+                GuiLogManager.get().logError(ex);
+            } finally {
+                synchronized (this) {
+                    pending.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized int getCachedTileCount() {
+        return tiles.size();
+    }
+
+    public synchronized void clearTiles() {
+        tiles.clear();
+    }
+
+    /**
+     * draws tiles intersecting the clip of the graphics
+     * @param g the graphics
+     * @param overview the overview image drawn if the scaled size is smaller than it or in place of missing tiles, nullable
+     * @param left the x position of the image
+     * @param top the y position of the image
+     * @param size the scaled size of the image
+     * @param repaint executed in the event thread after decoding missing tiles, nullable
+     */
+    public void paint(Graphics2D g, Image overview, int left, int top, Dimension size, Runnable repaint) {
+        if (width <= 0 || height <= 0 || size.width <= 0 || size.height <= 0) {
+            return;
+        }
+        Object hint = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        try {
+            int overviewWidth = overview == null ? 0 : overview.getWidth(null);
+            if (overview != null && size.width <= overviewWidth) {
+                g.drawImage(overview, left, top, size.width, size.height, null);
+                return;
+            }
+            double sx = size.width / (double) width;
+            double sy = size.height / (double) height;
+            int sub = getSubsampling(Math.min(sx, sy));
+            int span = tileSize * sub;
+
+            Rectangle clip = g.getClipBounds();
+            Rectangle dest = new Rectangle(left, top, size.width, size.height);
+            if (clip != null) {
+                dest = dest.intersection(clip);
+                if (dest.isEmpty()) {
+                    return;
+                }
+            }
+            int col0 = Math.max(0, (int) ((dest.x - left) / sx) / span);
+            int col1 = Math.min((width - 1) / span, (int) ((dest.x + dest.width - left) / sx) / span);
+            int row0 = Math.max(0, (int) ((dest.y - top) / sy) / span);
+            int row1 = Math.min((height - 1) / span, (int) ((dest.y + dest.height - top) / sy) / span);
+            for (int row = row0; row <= row1; ++row) {
+                for (int col = col0; col <= col1; ++col) {
+                    Rectangle r = getTileRegion(col, row, sub);
+                    int dx1 = left + (int) Math.round(r.x * sx);
+                    int dy1 = top + (int) Math.round(r.y * sy);
+                    int dx2 = left + (int) Math.round((r.x + r.width) * sx);
+                    int dy2 = top + (int) Math.round((r.y + r.height) * sy);
+                    BufferedImage tile = getTile(col, row, sub, repaint);
+                    if (tile != null) {
+                        g.drawImage(tile, dx1, dy1, dx2, dy2, 0, 0, tile.getWidth(), tile.getHeight(), null);
+                    } else if (overview != null) {
+                        double ox = overviewWidth / (double) width;
+                        double oy = overview.getHeight(null) / (double) height;
+                        g.drawImage(overview, dx1, dy1, dx2, dy2,
+                                (int) (r.x * ox), (int) (r.y * oy),
+                                (int) Math.ceil((r.x + r.width) * ox), (int) Math.ceil((r.y + r.height) * oy), null);
+                    }
+                }
+            }
+        } finally {
+            if (hint != null) {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, hint);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.autogui.base.mapping;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class GuiPreferencesBlobStoreTest {
+    Path dir;
+    GuiPreferencesBlobStore store;
+
+    public GuiPreferencesBlobStoreTest() {}
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("autogui-blobs");
+        store = new GuiPreferencesBlobStore(dir);
+        store.setThreshold(10);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    @Test
+    public void testStoredValueSmall() {
+        Assert.assertEquals("a small source is stored as is",
+                "\"hello\"",
+                store.toStoredValue("\"hello\""));
+    }
+
+    @Test
+    public void testStoredValueLarge() {
+        String src = "\"hello, world\"";
+        String ref = store.toStoredValue(src);
+        Assert.assertTrue("a large source becomes a reference: " + ref,
+                GuiPreferencesBlobStore.isReference(ref));
+        Assert.assertTrue("blob file",
+                Files.isRegularFile(store.getFile(GuiPreferencesBlobStore.getDigest(ref))));
+        Assert.assertEquals("read the blob",
+                src,
+                store.fromStoredValue(ref));
+    }
+
+    @Test
+    public void testStoredValueShared() {
+        String src = "\"hello, world\"";
+        Assert.assertEquals("same contents share the reference",
+                store.toStoredValue(src),
+                store.toStoredValue(src));
+    }
+
+    @Test
+    public void testGc() throws Exception {
+        String ref1 = store.toStoredValue("\"hello, world\"");
+        String ref2 = store.toStoredValue("\"hello, world 2\"");
+
+        GuiPreferences.GuiValueStoreOnMemory root = new GuiPreferences.GuiValueStoreOnMemory();
+        root.putString("value", ref1);
+        root.getChild("$saved").getChild("$0").putString("value", ref1);
+
+        Assert.assertEquals("references are counted",
+                Map.of(GuiPreferencesBlobStore.getDigest(ref1), 2),
+                store.countReferences(root));
+
+        Path file2 = store.getFile(GuiPreferencesBlobStore.getDigest(ref2));
+        Files.setLastModifiedTime(file2, FileTime.fromMillis(0));
+        Files.setLastModifiedTime(store.getFile(GuiPreferencesBlobStore.getDigest(ref1)), FileTime.fromMillis(0));
+
+        Assert.assertEquals("gc removes only the unreferenced blob",
+                1,
+                store.gc(root));
+        Assert.assertFalse("removed blob",
+                Files.exists(file2));
+        Assert.assertEquals("referenced blob",
+                "\"hello, world\"",
+                store.fromStoredValue(ref1));
+    }
+
+    @Test
+    public void testGcMemoryRoot() throws Exception {
+        String ref = store.toStoredValue("\"hello, world\"");
+        GuiPreferences.GuiValueStoreOnMemory copy = new GuiPreferences.GuiValueStoreOnMemory();
+        copy.putString("value", ref);
+        store.addMemoryRoot(copy);
+        Path file = store.getFile(GuiPreferencesBlobStore.getDigest(ref));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        Assert.assertEquals("a blob referenced from an on-memory copy is kept",
+                0,
+                store.gc(new GuiPreferences.GuiValueStoreOnMemory()));
+        Assert.assertTrue("kept blob",
+                Files.exists(file));
+    }
+
+    @Test
+    public void testStoredValueEscaped() {
+        store.setThreshold(100);
+        String src = "$blob:sha256:0";
+        String stored = store.toStoredValue(src);
+        Assert.assertFalse("a small source like a reference is escaped: " + stored,
+                GuiPreferencesBlobStore.isReference(stored));
+        Assert.assertEquals("unescaped",
+                src,
+                store.fromStoredValue(stored));
+        Assert.assertEquals("a source without the prefix",
+                "x",
+                store.fromStoredValue(store.toStoredValue("x")));
+    }
+
+    @Test
+    public void testResolveReferences() {
+        String ref = store.toStoredValue("\"hello, world\"");
+        Assert.assertEquals("resolved references",
+                Map.of("a", List.of(Map.of("value", "\"hello, world\"", "$value", "$blob:x")), "b", ref),
+                store.resolveReferences(Map.of("a", List.of(Map.of("value", ref, "$value", store.toStoredValue("$blob:x"))), "b", ref)));
+    }
+}
@@ -0,0 +1,134 @@
+package org.autogui.base.mapping;
+
+import org.autogui.GuiIncluded;
+import org.autogui.base.type.GuiTypeBuilder;
+import org.autogui.base.type.GuiTypeObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+public class GuiPreferencesTest {
+    GuiMappingContext contextObj;
+    GuiMappingContext contextStr;
+    GuiMappingContext contextX;
+
+    GuiPreferences prefs;
+    GuiPreferences prefsOther;
+
+    public GuiPreferencesTest() {}
+
+    @GuiIncluded
+    public static class TestPrefsObj {
+        @GuiIncluded(index = 0)
+        public String value;
+
+        @GuiIncluded(index = 1)
+        public int x;
+
+        public TestPrefsObj() {}
+    }
+
+    @Before
+    public void setUp() {
+        GuiReprObjectPane objPane = new GuiReprObjectPane(GuiRepresentation.getDefaultSet());
+        GuiTypeObject typeObject = (GuiTypeObject) new GuiTypeBuilder().get(TestPrefsObj.class);
+        contextObj = new GuiReprObjectPaneTest.GuiMappingContextForDebug(typeObject, objPane, null,
+                GuiMappingContext.GuiSourceValue.of(new TestPrefsObj()));
+        objPane.match(contextObj);
+        contextStr = contextObj.getChildByName("value");
+        contextX = contextObj.getChildByName("x");
+
+        prefs = new GuiPreferences(new GuiPreferences.GuiValueStoreOnMemory(), contextObj);
+        prefsOther = new GuiPreferences(new GuiPreferences.GuiValueStoreOnMemory(), contextObj);
+        Instant time = Instant.now();
+        for (GuiPreferences p : new GuiPreferences[] {prefs, prefsOther}) {
+            p.getValueStore().putString("k", "v");
+            p.getChild(contextStr).getValueStore().putString("w", "100");
+            p.getChild(contextX).getValueStore().putString("w", "200");
+            p.getChild(contextStr).addHistoryValue("hello", time);
+        }
+    }
+
+    @Test
+    public void testOverwriteNoChange() {
+        Set<GuiMappingContext> changed = new HashSet<>();
+        prefs.overwriteByAnotherPrefs(prefsOther, changed);
+        Assert.assertEquals("same trees cause no changes",
+                Set.of(),
+                changed);
+    }
+
+    @Test
+    public void testOverwriteChangedEntry() {
+        prefsOther.getChild(contextX).getValueStore().putString("w", "300");
+        Set<GuiMappingContext> changed = new HashSet<>();
+        prefs.overwriteByAnotherPrefs(prefsOther, changed);
+        Assert.assertEquals("only the changed prefs",
+                Set.of(contextX),
+                changed);
+        Assert.assertEquals("written entry",
+                "300",
+                prefs.getChild(contextX).getValueStore().getString("w", ""));
+    }
+
+    @Test
+    public void testOverwriteChangedHistory() {
+        prefsOther.getChild(contextStr).addHistoryValue("world");
+        Set<GuiMappingContext> changed = new HashSet<>();
+        prefs.overwriteByAnotherPrefs(prefsOther, changed);
+        Assert.assertEquals("only the changed history",
+                Set.of(contextStr),
+                changed);
+        Assert.assertTrue("same history",
+                prefs.getChild(contextStr).equalsHistoryValues(prefsOther.getChild(contextStr).getHistoryValues()));
+    }
+
+    @Test
+    public void testOverwriteRemovedEntry() {
+        prefsOther.getValueStore().remove("k");
+        Set<GuiMappingContext> changed = new HashSet<>();
+        prefs.overwriteByAnotherPrefs(prefsOther, changed);
+        Assert.assertEquals("the removed entry changes the root",
+                Set.of(contextObj),
+                changed);
+        Assert.assertFalse("removed entry",
+                prefs.getValueStore().hasEntryKey("k"));
+    }
+
+    @Test
+    public void testHistoryValueDeferred() {
+        GuiPreferences loaded = new GuiPreferences(prefs.getValueStore(), contextObj);
+        GuiPreferences.HistoryValueEntry e = loaded.getChild(contextStr).getHistoryValues().getFirst();
+        Assert.assertTrue("a loaded entry is not decoded",
+                e.isValueDeferred());
+        Assert.assertTrue("match without decoding",
+                e.matchEntry(prefsOther.getChild(contextStr).getHistoryValues().getFirst()));
+        Assert.assertEquals("decoded on demand",
+                "hello",
+                e.getValue());
+        Assert.assertFalse("decoded entry",
+                e.isValueDeferred());
+    }
+
+    @Test
+    public void testHistoryValueLookupDeferred() {
+        prefs.getChild(contextStr).addHistoryValue("world", Instant.now());
+        GuiPreferences loaded = new GuiPreferences(prefs.getValueStore(), contextObj);
+        GuiPreferences loadedStr = loaded.getChild(contextStr);
+        GuiPreferences.HistoryValueEntry e = loadedStr.getHistoryValue("other");
+        Assert.assertEquals("a new entry for an unmatched value",
+                -1,
+                e.getIndex());
+        Assert.assertTrue("unmatched entries are not decoded",
+                loadedStr.getHistoryValues().stream()
+                        .allMatch(GuiPreferences.HistoryValueEntry::isValueDeferred));
+        GuiPreferences.HistoryValueEntry matched = loadedStr.getHistoryValue("hello");
+        Assert.assertEquals("matched by the stored source",
+                "hello",
+                matched.getValue());
+    }
+}
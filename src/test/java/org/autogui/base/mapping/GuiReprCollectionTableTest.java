@@ -1,6 +1,7 @@
 package org.autogui.base.mapping;
 
 import org.autogui.GuiIncluded;
+import org.autogui.GuiPagedSource;
 import org.autogui.base.type.GuiTypeBuilder;
 import org.autogui.base.type.GuiTypeObject;
 import org.autogui.base.type.GuiUpdatedValue;
@@ -11,6 +12,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 import java.util.Objects;
 
 public class GuiReprCollectionTableTest {
@@ -102,6 +104,9 @@ public class GuiReprCollectionTableTest {
         @GuiIncluded
         public List<List<String>> valueListList;
 
+        @GuiIncluded
+        public GuiPagedSource<String> pagedList;
+
         public TestReprCol() {}
     }
 
@@ -354,4 +359,70 @@ public class GuiReprCollectionTableTest {
                         Arrays.asList("aaa", "bbb", "ccc")),
                 obj.valueListList);
     }
+
+    @Test
+    public void testPagedWrappingList() {
+        List<Integer> fetched = new ArrayList<>();
+        GuiPagedSource<String> source = new GuiPagedSource<>() {
+            @Override
+            public int size() {
+                return 1000;
+            }
+
+            @Override
+            public List<String> getPage(int offset, int length) {
+                fetched.add(offset);
+                return IntStream.range(offset, Math.min(size(), offset + length))
+                        .mapToObj(i -> "e" + i)
+                        .toList();
+            }
+
+            @Override
+            public int getPageSize() {
+                return 10;
+            }
+        };
+        GuiReprCollectionTable.ListConverterPaged converter = new GuiReprCollectionTable.ListConverterPaged(2);
+        List<?> list = converter.toList(source);
+        Assert.assertEquals("paged list size", 1000, list.size());
+        Assert.assertEquals("paged list element", "e15", list.get(15));
+        Assert.assertEquals("paged list element of cached page", "e19", list.get(19));
+        Assert.assertEquals("a page is fetched once", List.of(10), fetched);
+
+        list.get(25);
+        list.get(35);
+        list.get(15);
+        Assert.assertEquals("pages are retained up to max pages, evicted in LRU order",
+                List.of(10, 20, 30, 10), fetched);
+        Assert.assertEquals("the number of retained pages",
+                2, ((GuiReprCollectionTable.PagedWrappingList) list).getFetchedPageCount());
+
+        Assert.assertSame("the converter reuses the list for the same source",
+                list, converter.toList(source));
+        Assert.assertSame("the list is converted to itself as a paged source",
+                list, converter.fromList(list));
+
+        GuiReprCollectionTable.PagedWrappingList paged = (GuiReprCollectionTable.PagedWrappingList) list;
+        Assert.assertFalse("the page is not loaded", paged.isLoaded(55));
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> loaded = new ArrayList<>();
+        paged.loadLater(55, tasks::add, () -> loaded.add("loaded"));
+        paged.loadLater(56, tasks::add, null);
+        Assert.assertEquals("a task for the page", 1, tasks.size());
+        tasks.getFirst().run();
+        Assert.assertTrue("the page is loaded by the task", paged.isLoaded(56));
+        Assert.assertEquals("after the load", List.of("loaded"), loaded);
+        Assert.assertArrayEquals("the range of the page", new int[] {50, 60}, paged.getPageRange(55));
+    }
+
+    @Test
+    public void testPagedElementReadOnly() {
+        GuiMappingContext pagedList = contextObj.getChildByName("pagedList").getChildren().getFirst();
+        GuiMappingContext element = pagedList.getReprCollectionTable().getElementContext(pagedList);
+        GuiMappingContext child = element.getChildren().getFirst();
+        Assert.assertFalse("an element value of a paged source is read-only",
+                child.getReprValue().isEditable(child));
+        Assert.assertTrue("an element value of a list is editable",
+                contextValChild.getReprValue().isEditable(contextValChild));
+    }
 }
@@ -1,6 +1,7 @@
 package org.autogui.base.type;
 
 import org.autogui.GuiIncluded;
+import org.autogui.GuiPagedSource;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -37,6 +38,9 @@ public class GuiTypeCollectionTest {
         @GuiIncluded
         public List<Integer> col;
 
+        @GuiIncluded
+        public GuiPagedSource<Integer> paged;
+
         public TestObjCol() {}
     }
 
@@ -117,5 +121,28 @@ public class GuiTypeCollectionTest {
                 obj.col.get(1).longValue());
     }
 
-
+    @Test
+    public void testCollectionPaged() {
+        GuiTypeCollectionPaged paged = (GuiTypeCollectionPaged) ((GuiTypeMemberProperty) typeObject.getMemberByName("paged")).getType();
+        Assert.assertEquals("paged source element type is the param type",
+                builder.get(Integer.class),
+                paged.getElementType());
+        GuiPagedSource<Integer> source = new GuiPagedSource<>() {
+            @Override
+            public int size() {
+                return 100;
+            }
+
+            @Override
+            public List<Integer> getPage(int offset, int length) {
+                return Collections.singletonList(offset * 10);
+            }
+        };
+        Assert.assertEquals("paged executeGetElement fetches a single element page",
+                GuiUpdatedValue.of(30),
+                paged.executeGetElement(source, 3));
+        Assert.assertEquals("paged getSize returns the size of the source",
+                100,
+                paged.getSize(source));
+    }
 }
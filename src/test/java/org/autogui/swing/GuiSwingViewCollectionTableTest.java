@@ -6,6 +6,7 @@ import org.autogui.base.mapping.GuiMappingContext;
 import org.autogui.base.mapping.GuiReprValue;
 import org.autogui.base.type.GuiTypeBuilder;
 import org.autogui.base.type.GuiTypeObject;
+import org.autogui.swing.table.GuiSwingTableColumnCollection;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -472,6 +473,9 @@ public class GuiSwingViewCollectionTableTest extends  GuiSwingTestCase {
 
         Assert.assertEquals("prop world 30",
                 "x30-14", runGet(() -> colTable.getValueAt(30, 15)));
+
+        Assert.assertTrue("virtual column for many elements",
+                runGet(() -> colTable.getColumnModel().getColumn(15)) instanceof GuiSwingTableColumnCollection.VirtualTableColumn);
     }
 
 
@@ -0,0 +1,91 @@
+package org.autogui.swing.log;
+
+import org.autogui.base.log.GuiLogEntryString;
+import org.autogui.base.log.GuiLogManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GuiSwingLogFindIndexTest {
+    GuiSwingLogList.GuiSwingLogListModel model;
+    GuiSwingLogFindIndex index;
+
+    public GuiSwingLogFindIndexTest() {}
+
+    @Before
+    public void setUp() {
+        model = new GuiSwingLogList.GuiSwingLogListModel();
+        for (int i = 0; i < 1000; ++i) {
+            model.addLogEntry(new GuiLogEntryString(i % 100 == 0 ? "hello " + i : "line " + i), true);
+        }
+        index = new GuiSwingLogFindIndex(model, new GuiLogManager());
+    }
+
+    private void run(Runnable r) throws Exception {
+        SwingUtilities.invokeAndWait(r);
+    }
+
+    private void setQueryAndWait(String query) throws Exception {
+        run(() -> index.setQuery(query));
+        for (int i = 0; i < 100; ++i) {
+            boolean[] complete = new boolean[1];
+            run(() -> complete[0] = index.isComplete());
+            if (complete[0]) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        Assert.fail("not completed");
+    }
+
+    private List<Integer> rows(int from, int to, boolean forward) throws Exception {
+        List<Integer> rs = new ArrayList<>();
+        run(() -> rs.addAll(index.rows(from, to, forward)));
+        return rs;
+    }
+
+    @Test
+    public void testQuery() throws Exception {
+        setQueryAndWait("hello");
+        Assert.assertEquals("matched rows", 10, index.size());
+        Assert.assertEquals("forward range", List.of(200, 300), rows(150, 300, true));
+        Assert.assertEquals("backward range", List.of(300, 200), rows(300, 150, false));
+
+        setQueryAndWait("\t");
+        Assert.assertEquals("no rows", 0, index.size());
+        run(() -> index.close());
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        setQueryAndWait("hello");
+        run(() -> {
+            model.addLogEntry(new GuiLogEntryString("hello new"), true);
+            model.setEntryLimit(1001);
+            model.addLogEntry(new GuiLogEntryString("other"), true); //removes the first entry
+        });
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i < 10; ++i) {
+            expected.add(i * 100 - 1);
+        }
+        expected.add(999);
+        Assert.assertEquals("shifted rows and an appended row", expected, rows(0, 1000, true));
+        Assert.assertEquals("the first hello entry is removed", 10, index.size());
+        run(() -> index.close());
+    }
+
+    @Test
+    public void testCandidateByDisplayedText() {
+        GuiLogManager manager = new GuiLogManager();
+        GuiLogEntryString e = new GuiLogEntryString("key\tvalue");
+        String text = GuiSwingLogEntryString.GuiSwingLogStringRenderer.formatEntry(manager, e);
+        Assert.assertTrue("displayed text", text.endsWith(" key    value"));
+        Assert.assertTrue("expanded tab", index.isCandidate(e, "key    value"));
+        Assert.assertTrue("time", index.isCandidate(e, manager.formatTime(e.getTime())));
+        Assert.assertFalse("raw tab", index.isCandidate(e, "key\tvalue"));
+    }
+}
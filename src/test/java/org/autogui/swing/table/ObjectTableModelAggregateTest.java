@@ -0,0 +1,111 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ObjectTableModelAggregateTest {
+    ObjectTableModel model;
+    ObjectTableModelAggregate aggregate;
+    List<Object> source;
+    int updates;
+
+    public ObjectTableModelAggregateTest() {}
+
+    @Before
+    public void setUp() {
+        source = new ArrayList<>(List.of(30, 10, 20));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o, null)
+                .withCellStorageType(Integer.class));
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> ((Integer) o) / 4.0, null)
+                .withCellStorageType(Double.class));
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> (((Integer) o) > 15 ? "x" : null), null));
+        aggregate = new ObjectTableModelAggregate(model, () -> ++updates);
+        aggregate.setChunkSize(2);
+        aggregate.install();
+    }
+
+    @Test
+    public void testScan() {
+        ObjectTableModelAggregate.ColumnAggregate ints = aggregate.getColumn(0);
+        Assert.assertEquals("integral sum", 60L, ints.getSum());
+        Assert.assertEquals("integral min", 10L, ints.getMin());
+        Assert.assertEquals("integral max", 30L, ints.getMax());
+        Assert.assertEquals("mean", 20.0, ints.getMean());
+
+        ObjectTableModelAggregate.ColumnAggregate doubles = aggregate.getColumn(1);
+        Assert.assertEquals("floating sum", 15.0, doubles.getSum());
+        Assert.assertEquals("floating min", 2.5, doubles.getMin());
+
+        ObjectTableModelAggregate.ColumnAggregate others = aggregate.getColumn(2);
+        Assert.assertFalse("non-numeric", others.isNumeric());
+        Assert.assertEquals("count of non-null", 2, others.getCount());
+        Assert.assertEquals("text", "sum 60", aggregate.getText(0));
+        Assert.assertTrue("notified", updates > 0);
+    }
+
+    @Test
+    public void testIncremental() {
+        source.add(1, 100);
+        model.refreshDataAll();
+        Assert.assertEquals("inserted in the middle", 160L, aggregate.getColumn(0).getSum());
+        Assert.assertEquals("max after insertion", 100L, aggregate.getColumn(0).getMax());
+
+        source.remove(2); //10
+        model.refreshDataAll();
+        Assert.assertEquals("deleted", 150L, aggregate.getColumn(0).getSum());
+        Assert.assertEquals("min after deleting the min", 20L, aggregate.getColumn(0).getMin());
+        Assert.assertEquals("count", 3, aggregate.getColumn(0).getCount());
+        Assert.assertEquals("count of non-null after shifting", 3, aggregate.getColumn(2).getCount());
+    }
+
+    @Test
+    public void testUpdateByBlocks() {
+        model.refreshData(); //the first snapshot for following diffs
+        source.set(2, 5); //the block of the row 2
+        model.refreshData();
+        Assert.assertEquals("updated", 45L, aggregate.getColumn(0).getSum());
+        Assert.assertEquals("min", 5L, aggregate.getColumn(0).getMin());
+        Assert.assertEquals("count of non-null", 1, aggregate.getColumn(2).getCount());
+
+        source.addAll(1, List.of(1, 2, 3));
+        model.refreshData();
+        Assert.assertEquals("inserted", 51L, aggregate.getColumn(0).getSum());
+        source.subList(0, 3).clear(); //30, 1, 2
+        model.refreshData();
+        Assert.assertEquals("deleted", 18L, aggregate.getColumn(0).getSum());
+        Assert.assertEquals("max after deletion", 10L, aggregate.getColumn(0).getMax());
+        Assert.assertEquals("blocks cover rows",
+                source.size(), aggregate.getBlocks().stream().mapToInt(ObjectTableModelAggregate.Block::size).sum());
+        Assert.assertTrue("all blocks are scanned",
+                aggregate.getBlocks().stream().allMatch(b -> b.getColumns() != null));
+    }
+
+    @Test
+    public void testColumnCombine() {
+        ObjectTableModelAggregate.ColumnAggregate a = new ObjectTableModelAggregate.ColumnAggregate(Long.class);
+        a.add(1L);
+        a.add(null);
+        a.add(3L);
+        ObjectTableModelAggregate.ColumnAggregate b = new ObjectTableModelAggregate.ColumnAggregate(Long.class);
+        b.add(10L);
+        b.add(-2L);
+        a.combine(b);
+        Assert.assertEquals("sum", 12L, a.getSum());
+        Assert.assertEquals("min", -2L, a.getMin());
+        Assert.assertEquals("max", 10L, a.getMax());
+        Assert.assertEquals("count", 4, a.getCount());
+    }
+
+    @Test
+    public void testLabel() {
+        aggregate.setLabel("sum", "total");
+        Assert.assertEquals("custom label", "total 60", aggregate.getText(0));
+        Assert.assertEquals("formatted", "1,234.5", aggregate.format(1234.5));
+    }
+}
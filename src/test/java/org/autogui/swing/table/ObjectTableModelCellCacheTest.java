@@ -0,0 +1,300 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ObjectTableModelCellCacheTest {
+    public ObjectTableModelCellCacheTest() {}
+
+    @Test
+    public void testDefault() {
+        Assert.assertTrue("small size is dense",
+                ObjectTableModelCellCache.createDefault(100, 10) instanceof ObjectTableModelCellCache.CellCacheDense);
+        Assert.assertTrue("large size is sparse",
+                ObjectTableModelCellCache.createDefault(5_000_000, 20) instanceof ObjectTableModelCellCache.CellCacheSparse);
+    }
+
+    @Test
+    public void testSparseAllocation() {
+        ObjectTableModelCellCache.CellCacheSparse cache = new ObjectTableModelCellCache.CellCacheSparse(5_000_000, 20);
+        Assert.assertEquals("no blocks at first",
+                0, cache.getAllocatedBlockCount());
+        Assert.assertNull("absent row",
+                cache.getRowIfPresent(4_999_999));
+
+        cache.getRow(4_999_999)[3] = "hello";
+        cache.getRow(1000)[3] = ObjectTableModel.NULL_CELL;
+        Assert.assertEquals("allocated only touched blocks",
+                2, cache.getAllocatedBlockCount());
+        Assert.assertEquals("cached cell",
+                "hello", cache.getRow(4_999_999)[3]);
+        Assert.assertSame("null cell",
+                ObjectTableModel.NULL_CELL, cache.getRowIfPresent(1000)[3]);
+
+        cache.clearColumns(3);
+        Assert.assertNull("cleared column",
+                cache.getRow(4_999_999)[3]);
+        Assert.assertEquals("clearing columns does not allocate blocks",
+                2, cache.getAllocatedBlockCount());
+
+        cache.getRow(1001)[0] = "x";
+        cache.clearRow(1001);
+        Assert.assertNull("cleared row",
+                cache.getRow(1001)[0]);
+    }
+
+    @Test
+    public void testLruEviction() {
+        ObjectTableModelCellCache.CellCacheLru cache = new ObjectTableModelCellCache.CellCacheLru(1000, 2, () -> 3);
+        for (int i = 0; i < 5; ++i) {
+            cache.getRow(i)[0] = "v" + i;
+        }
+        Assert.assertEquals("bounded by the capacity",
+                3, cache.getAllocatedRowCount());
+        Assert.assertNull("evicted row",
+                cache.getRowIfPresent(0));
+        Assert.assertEquals("recent row",
+                "v4", cache.getRowIfPresent(4)[0]);
+    }
+
+    @Test
+    public void testColumnar() {
+        ObjectTableModelCellCache cache = ObjectTableModelCellCache.CellCacheColumnar.wrap(
+                new ObjectTableModelCellCache.CellCacheSparse(5_000_000, 3), new Class<?>[] {Integer.class, null, Double.class});
+        Assert.assertTrue("wrapped by a columnar cache",
+                cache instanceof ObjectTableModelCellCache.CellCacheColumnar);
+        ObjectTableModelCellCache.CellCacheColumnar columnar = (ObjectTableModelCellCache.CellCacheColumnar) cache;
+
+        cache.setCell(4_000_000, 0, 123);
+        cache.setCell(4_000_000, 2, 1.5);
+        cache.setCell(10, 0, ObjectTableModel.NULL_CELL);
+        Assert.assertEquals("boxed int value",
+                123, cache.getCell(4_000_000, 0));
+        Assert.assertEquals("boxed double value",
+                1.5, cache.getCell(4_000_000, 2));
+        Assert.assertSame("null cell",
+                ObjectTableModel.NULL_CELL, cache.getCell(10, 0));
+        Assert.assertNull("not computed",
+                cache.getCell(11, 0));
+        Assert.assertNull("primitive cells do not allocate rows",
+                cache.getRowIfPresent(4_000_000));
+        Assert.assertEquals("primitive value",
+                123L, ((ObjectTableModelCellCache.PrimitiveColumnLong) columnar.getPrimitiveColumn(0)).getLong(4_000_000));
+
+        cache.setCell(5, 0, 7L);
+        Assert.assertEquals("a value of another type is stored in the row cache",
+                7L, cache.getRowIfPresent(5)[0]);
+        cache.setCell(5, 0, 8);
+        Assert.assertEquals("re-stored as a primitive",
+                8, cache.getCell(5, 0));
+        Assert.assertNull("the row cache is cleared",
+                cache.getRowIfPresent(5)[0]);
+
+        cache.setCell(6, 1, "str");
+        cache.clearColumns(0);
+        Assert.assertNull("cleared primitive column",
+                cache.getCell(4_000_000, 0));
+        Assert.assertEquals("other columns are kept",
+                1.5, cache.getCell(4_000_000, 2));
+        Assert.assertEquals("object column",
+                "str", cache.getCell(6, 1));
+
+        Assert.assertSame("no numeric columns",
+                ObjectTableModelCellCache.CellCacheDense.class,
+                ObjectTableModelCellCache.CellCacheColumnar.wrap(new ObjectTableModelCellCache.CellCacheDense(10, 2), new Class<?>[] {null, String.class}).getClass());
+    }
+
+    @Test
+    public void testColumnarPrimitiveAccess() throws Exception {
+        ObjectTableModelCellCache cache = ObjectTableModelCellCache.CellCacheColumnar.wrap(
+                new ObjectTableModelCellCache.CellCacheSparse(1000, 2), new Class<?>[] {Integer.class, Float.class});
+        cache.setCell(3, 0, 42);
+        cache.setCell(3, 1, 2.5f);
+        ObjectTableModelCellCache.PrimitiveColumn ints = ObjectTableModelCellCache.getPrimitiveColumn(cache, 0);
+        ObjectTableModelCellCache.PrimitiveColumn floats = ObjectTableModelCellCache.getPrimitiveColumn(cache, 1);
+        Assert.assertTrue("integral", ints.isIntegral());
+        Assert.assertEquals("unboxed long", 42L, ints.getAsLong(3));
+        Assert.assertEquals("unboxed double", 2.5, floats.getAsDouble(3), 0.0);
+        Assert.assertFalse("floating", floats.isIntegral());
+
+        Object[] token = cache.getRowForCell(5, 0);
+        Assert.assertNull("no row is allocated for a primitive cell", cache.getRowIfPresent(5));
+        Assert.assertTrue("the token is current", cache.isCurrentRow(token, 5));
+        cache.replaceRows(0, 0, 1);
+        Assert.assertFalse("the token is renewed by shifting rows", cache.isCurrentRow(token, 5));
+        Assert.assertNull("not primitive", ObjectTableModelCellCache.getPrimitiveColumn(
+                new ObjectTableModelCellCache.CellCacheDense(1, 1), 0));
+    }
+
+    @Test
+    public void testColumnarBoxedOnce() throws Exception {
+        ObjectTableModelCellCache cache = ObjectTableModelCellCache.CellCacheColumnar.wrap(
+                new ObjectTableModelCellCache.CellCacheSparse(3000, 1), new Class<?>[] {Long.class});
+        cache.setCell(2000, 0, 123456L);
+        Object v = cache.getCell(2000, 0);
+        Assert.assertEquals("boxed value", 123456L, v);
+        Assert.assertSame("the box is kept for the render path", v, cache.getCell(2000, 0));
+        cache.setCell(2000, 0, 654321L);
+        Assert.assertEquals("an updated value replaces the kept box", 654321L, cache.getCell(2000, 0));
+        cache.replaceRows(0, 0, 1);
+        Assert.assertEquals("shifted value", 654321L, cache.getCell(2001, 0));
+        Assert.assertNull("shifted out", cache.getCell(2000, 0));
+    }
+
+    @Test
+    public void testColumnarReadRange() throws Exception {
+        ObjectTableModelCellCache cache = ObjectTableModelCellCache.CellCacheColumnar.wrap(
+                new ObjectTableModelCellCache.CellCacheSparse(100, 1), new Class<?>[] {Double.class});
+        cache.setCell(10, 0, 1.5);
+        cache.setCell(11, 0, ObjectTableModel.NULL_CELL);
+        ObjectTableModelCellCache.PrimitiveRange range = ObjectTableModelCellCache.getPrimitiveColumn(cache, 0).read(10, 20);
+        Assert.assertEquals("copied value", 1.5, range.getAsDouble(10), 0.0);
+        Assert.assertTrue("copied null", range.isValid(11) && range.isNull(11));
+        Assert.assertFalse("not computed", range.isValid(12));
+    }
+
+    @Test
+    public void testModelStoresPrimitiveWithoutRows() {
+        List<Object> source = new ArrayList<>(List.of(1, 2, 3));
+        ObjectTableModel model = new ObjectTableModel();
+        model.setCellColumnarEnabled(true);
+        model.setCellCacheFactory(ObjectTableModelCellCache.CellCacheSparse::new);
+        model.setSource(() -> source);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> ((Integer) o) * 2, null)
+                .withCellStorageType(Integer.class));
+        Assert.assertEquals("computed value", 4, model.getValueAt(1, 0));
+        Assert.assertEquals("stored as a primitive", 4L,
+                ObjectTableModelCellCache.getPrimitiveColumn(model.getCellCache(), 0).getAsLong(1));
+        Assert.assertNull("no boxed row", model.getCellCache().getRowIfPresent(1));
+    }
+
+    @Test
+    public void testIdentityCache() {
+        ObjectTableModelIdentityCellCache cache = new ObjectTableModelIdentityCellCache(2);
+        String a = new String("a");
+        String b = new String("a");
+        cache.put(a, 1, "x");
+        cache.put(b, 0, ObjectTableModel.NULL_CELL);
+        Assert.assertEquals("cached by identity", "x", cache.get(a, 1));
+        Assert.assertNull("an equal but distinct row", cache.get(b, 1));
+        Assert.assertSame("null cell", ObjectTableModel.NULL_CELL, cache.get(b, 0));
+
+        cache.put("c", 0, "y");
+        Assert.assertEquals("bounded by the capacity", 2, cache.size());
+        Assert.assertNull("evicted least-recently accessed row", cache.get(a, 1));
+
+        cache.clearColumns(0);
+        Assert.assertNull("cleared column", cache.get(b, 0));
+    }
+
+    @Test
+    public void testIdentityCacheAfterReorder() {
+        List<Object> source = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            source.add(new StringBuilder("row" + i));
+        }
+        int[] calls = new int[1];
+        ObjectTableModel model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.setIdentityCellCache(new ObjectTableModelIdentityCellCache());
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> {
+            ++calls[0];
+            return o.toString();
+        }, null));
+        for (int i = 0; i < 10; ++i) {
+            model.getValueAt(i, 0);
+        }
+        Assert.assertEquals("computed all rows", 10, calls[0]);
+
+        Collections.reverse(source);
+        source.set(0, new StringBuilder("new"));
+        model.refreshDataAll();
+        Assert.assertEquals("reversed row", "row8", model.getValueAt(1, 0));
+        for (int i = 0; i < 10; ++i) {
+            model.getValueAt(i, 0);
+        }
+        Assert.assertEquals("computed only the new row", 11, calls[0]);
+
+        model.refreshRow(1);
+        Assert.assertEquals("refreshed row", "row8", model.getValueAt(1, 0));
+        Assert.assertEquals("re-computed the refreshed row", 12, calls[0]);
+    }
+
+    @Test
+    public void testIdentityCacheRowIndexColumn() throws Exception {
+        List<Object> source = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            source.add(new StringBuilder("row" + i));
+        }
+        ObjectTableModel model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.setIdentityCellCache(new ObjectTableModelIdentityCellCache());
+        SwingUtilities.invokeAndWait(() -> {
+            model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnRowIndex());
+            model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(Object::toString, null));
+        });
+        SwingUtilities.invokeAndWait(() -> {}); //flushes updates by added columns
+        for (int i = 0; i < 5; ++i) {
+            model.getValueAt(i, 0);
+            model.getValueAt(i, 1);
+        }
+
+        Collections.reverse(source);
+        model.refreshDataAll();
+        for (int i = 0; i < 5; ++i) {
+            Assert.assertEquals("row number of the reordered row " + i, i, model.getValueAt(i, 0));
+            Assert.assertEquals("cached value of the reordered row " + i, "row" + (4 - i), model.getValueAt(i, 1));
+        }
+    }
+
+    @Test
+    public void testCellUpdatesRanges() {
+        ObjectTableModel.CellUpdates updates = new ObjectTableModel.CellUpdates(10, 0, null);
+        updates.merge(new ObjectTableModel.CellUpdates(500, 1, null))
+                .merge(new ObjectTableModel.CellUpdates(11, 2, null))
+                .merge(new ObjectTableModel.CellUpdates(9, 0, null))
+                .merge(new ObjectTableModel.CellUpdates(499, 1, null));
+        List<String> ranges = updates.getRanges().stream()
+                .map(r -> r[0] + "-" + r[1] + ":" + r[2] + "-" + r[3])
+                .toList();
+        Assert.assertEquals("a range per run of rows", List.of("9-11:0-2", "499-500:1-1"), ranges);
+
+        updates.merge(new ObjectTableModel.CellUpdates(12, 0, null).merge(new ObjectTableModel.CellUpdates(498, 0, null)));
+        Assert.assertEquals("extended runs", 2, updates.getRanges().size());
+        updates.merge(new ObjectTableModel.CellUpdates(13, 0, null).merge(new ObjectTableModel.CellUpdates(497, 0, null)));
+        Assert.assertEquals("first row", 9, updates.getMinRow());
+        Assert.assertEquals("last row", 500, updates.getMaxRow());
+    }
+
+    @Test
+    public void testReplaceRows() {
+        List<ObjectTableModelCellCache> caches = List.of(
+                new ObjectTableModelCellCache.CellCacheDense(1000, 2),
+                new ObjectTableModelCellCache.CellCacheSparse(1000, 2),
+                new ObjectTableModelCellCache.CellCacheLru(1000, 2, () -> 100),
+                ObjectTableModelCellCache.CellCacheColumnar.wrap(new ObjectTableModelCellCache.CellCacheSparse(1000, 2), new Class<?>[] {Integer.class}));
+        for (ObjectTableModelCellCache cache : caches) {
+            String name = cache.getClass().getSimpleName();
+            cache.setCell(10, 0, 10);
+            cache.setCell(500, 0, 500);
+            cache.setCell(500, 1, "x");
+            Assert.assertTrue(name, cache.replaceRows(100, 1, 300));
+            Assert.assertEquals(name + " row count", 1299, cache.getRowCount());
+            Assert.assertEquals(name + " before the range", 10, cache.getCellIfPresent(10, 0));
+            Assert.assertEquals(name + " shifted", 500, cache.getCellIfPresent(799, 0));
+            Assert.assertEquals(name + " shifted object", "x", cache.getCellIfPresent(799, 1));
+            Assert.assertNull(name + " inserted", cache.getCellIfPresent(100, 0));
+
+            Assert.assertTrue(name, cache.replaceRows(50, 600, 0));
+            Assert.assertEquals(name + " removed", 699, cache.getRowCount());
+            Assert.assertEquals(name + " shifted back", 500, cache.getCellIfPresent(199, 0));
+            Assert.assertNull(name + " moved out", cache.getCellIfPresent(799 - 600 + 1, 0));
+        }
+    }
+}
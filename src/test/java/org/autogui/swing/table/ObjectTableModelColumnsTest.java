@@ -0,0 +1,68 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ObjectTableModelColumnsTest {
+    ObjectTableModel model;
+    List<Object> source;
+    int updates;
+
+    public ObjectTableModelColumnsTest() {}
+
+    @Before
+    public void setUp() {
+        source = new ArrayList<>(List.of(1, 2, 3));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.addTableModelListener(e -> ++updates);
+    }
+
+    static class VirtualColumn extends ObjectTableColumn.ObjectTableColumnLabel<Object, Object> {
+        public VirtualColumn() {
+            super(o -> o, null);
+        }
+
+        @Override
+        public boolean isVirtual() {
+            return true;
+        }
+    }
+
+    @Test
+    public void testColumnAddedBeforeRows() throws Exception {
+        model.getColumns().addColumnStatic(new VirtualColumn());
+        SwingUtilities.invokeAndWait(() -> {});
+        Assert.assertEquals("no event without rows", 0, updates);
+        Assert.assertNull("rows are not built by adding columns", model.getCellCache());
+    }
+
+    @Test
+    public void testColumnAdded() throws Exception {
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o, null));
+        Assert.assertNotNull("rows are built by a column", model.getCellCache());
+        SwingUtilities.invokeAndWait(() -> {});
+        Assert.assertEquals("an event for a column", 1, updates);
+
+        SwingUtilities.invokeAndWait(() -> { //columns are added by the event thread
+            for (int i = 0; i < 10; ++i) {
+                model.getColumns().addColumnStatic(new VirtualColumn());
+            }
+        });
+        SwingUtilities.invokeAndWait(() -> {});
+        Assert.assertEquals("a single event for virtual columns", 2, updates);
+    }
+
+    @Test
+    public void testVirtualColumnThreshold() {
+        ObjectTableModel other = new ObjectTableModel();
+        model.getColumns().setVirtualColumnThreshold(10);
+        Assert.assertEquals("per table", 10, model.getColumns().getVirtualColumnThreshold());
+        Assert.assertEquals("default", 64, other.getColumns().getVirtualColumnThreshold());
+    }
+}
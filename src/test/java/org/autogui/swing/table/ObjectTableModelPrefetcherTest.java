@@ -0,0 +1,87 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class ObjectTableModelPrefetcherTest {
+    ObjectTableModel model;
+    List<Object> source;
+    List<Runnable> tasks;
+    ObjectTableModelPrefetcher prefetcher;
+
+    public ObjectTableModelPrefetcherTest() {}
+
+    @Before
+    public void setUp() throws Exception {
+        source = IntStream.range(0, 1000).boxed().collect(Collectors.toCollection(ArrayList::new));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> ((Integer) o) * 10, null));
+        model.getRowCount();
+        tasks = new ArrayList<>();
+        prefetcher = new ObjectTableModelPrefetcher(model) {
+            @Override
+            protected Executor getExecutor() {
+                return tasks::add;
+            }
+        };
+        prefetcher.setBlockSize(10);
+    }
+
+    private List<Integer> rows(int from, int to) {
+        return IntStream.range(from, to).boxed().toList();
+    }
+
+    private void runTasks() throws Exception {
+        tasks.forEach(Runnable::run);
+        tasks.clear();
+        SwingUtilities.invokeAndWait(() -> {}); //published by the event thread
+    }
+
+    @Test
+    public void testPrefetchAhead() throws Exception {
+        prefetcher.prefetch(rows(0, 30), List.of(0));
+        Assert.assertEquals("a task per block", 3, tasks.size());
+        Assert.assertTrue("pending cell", prefetcher.isPending(25, 0));
+        Assert.assertFalse("out of the window", prefetcher.isPending(35, 0));
+
+        runTasks();
+        Assert.assertEquals("no pending blocks", 0, prefetcher.getPendingBlockCount());
+        Assert.assertEquals("fetched cell", 250, model.getCellCache().getCellIfPresent(25, 0));
+        Assert.assertNull("not fetched", model.getCellCache().getCellIfPresent(35, 0));
+
+        prefetcher.prefetch(rows(0, 30), List.of(0));
+        Assert.assertTrue("cached rows are not fetched again", tasks.isEmpty());
+    }
+
+    @Test
+    public void testCancelByScroll() throws Exception {
+        prefetcher.prefetch(rows(0, 20), List.of(0));
+        prefetcher.prefetch(rows(500, 520), List.of(0));
+        Assert.assertEquals("blocks of both windows are submitted", 4, tasks.size());
+        Assert.assertFalse("scrolled out block is cancelled", prefetcher.isPending(5, 0));
+        Assert.assertTrue("visible block", prefetcher.isPending(505, 0));
+
+        runTasks();
+        Assert.assertNull("cancelled block is not published", model.getCellCache().getCellIfPresent(5, 0));
+        Assert.assertEquals("visible block is published", 5050, model.getCellCache().getCellIfPresent(505, 0));
+    }
+
+    @Test
+    public void testStaleGeneration() throws Exception {
+        prefetcher.prefetch(rows(0, 10), List.of(0));
+        source.set(5, 7);
+        SwingUtilities.invokeAndWait(model::refreshDataAll); //discards cells while fetching
+        runTasks();
+        Assert.assertEquals("stale block is discarded", 0, prefetcher.getPendingBlockCount());
+        Assert.assertNull("stale value is not published", model.getCellCache().getCellIfPresent(5, 0));
+    }
+}
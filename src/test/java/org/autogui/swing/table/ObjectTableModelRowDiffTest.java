@@ -0,0 +1,174 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ObjectTableModelRowDiffTest {
+    ObjectTableModel model;
+    List<Object> source;
+    List<String> events;
+
+    public ObjectTableModelRowDiffTest() {}
+
+    @Before
+    public void setUp() throws Exception {
+        source = new ArrayList<>(List.of("a", "b", "c"));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        events = new ArrayList<>();
+        model.getRowCount();
+        model.refreshData(); //takes the first snapshot
+        SwingUtilities.invokeAndWait(() -> {}); //flushes deferred events of the first refresh
+        model.addTableModelListener(e -> events.add(
+                (e.getType() == TableModelEvent.INSERT ? "ins" : e.getType() == TableModelEvent.DELETE ? "del" : "up") +
+                        "(" + e.getFirstRow() + "," + e.getLastRow() + ")=" + model.getRowCount()));
+    }
+
+    @Test
+    public void testDiffAppend() {
+        ObjectTableModelRowDiff d = ObjectTableModelRowDiff.diff(new Object[] {"a", "b"}, new Object[] {"a", "b", "c"}, false, 100);
+        Assert.assertEquals("append as prefix",
+                2, d.getPrefix());
+        Assert.assertEquals("appended rows",
+                1, d.getNewMiddleSize());
+        Assert.assertEquals("no removed rows",
+                0, d.getOldMiddleSize());
+    }
+
+    @Test
+    public void testDiffMiddleMatched() {
+        String x = "x";
+        String y = "y";
+        ObjectTableModelRowDiff d = ObjectTableModelRowDiff.diff(new Object[] {"a", x, y, "b"}, new Object[] {"a", y, "z", x, "b"}, false, 100);
+        Assert.assertEquals("prefix", 1, d.getPrefix());
+        Assert.assertEquals("suffix", 1, d.getSuffix());
+        Assert.assertEquals("moved y", 2, d.getOldIndex(1));
+        Assert.assertEquals("new z", -1, d.getOldIndex(2));
+        Assert.assertEquals("moved x", 1, d.getOldIndex(3));
+        Assert.assertEquals("suffix b", 3, d.getOldIndex(4));
+    }
+
+    @Test
+    public void testDiffIdentity() {
+        String s1 = new String("a");
+        String s2 = new String("a");
+        Assert.assertEquals("identity does not match equal objects",
+                0, ObjectTableModelRowDiff.diff(new Object[] {s1}, new Object[] {s2}, false, 100).getPrefix());
+        Assert.assertEquals("equality matches equal objects",
+                1, ObjectTableModelRowDiff.diff(new Object[] {s1}, new Object[] {s2}, true, 100).getPrefix());
+    }
+
+    @Test
+    public void testRefreshAppend() {
+        model.setRowDiffRetainingCells(true);
+        source.add("d");
+        model.refreshData();
+        Assert.assertEquals("a single insertion",
+                List.of("ins(3,3)=4"), events);
+    }
+
+    @Test
+    public void testRefreshRemove() {
+        model.setRowDiffRetainingCells(true);
+        source.remove(1);
+        model.refreshData();
+        Assert.assertEquals("a single deletion",
+                List.of("del(1,1)=2"), events);
+    }
+
+    @Test
+    public void testRefreshReplace() {
+        model.setRowDiffRetainingCells(true);
+        source.set(1, "x");
+        source.add(2, "y");
+        model.refreshData();
+        Assert.assertEquals("deletion and insertion with consistent row counts",
+                List.of("del(1,1)=2", "ins(1,2)=4"), events);
+    }
+
+    @Test
+    public void testRefreshAppendNotRetaining() {
+        model.setRowDiffRetainingCells(false);
+        source.add("d");
+        model.refreshData();
+        Assert.assertEquals("insertion and updates of other rows",
+                List.of("ins(3,3)=4", "up(0,2)=4"), events);
+    }
+
+    @Test
+    public void testRefreshShiftsCells() throws Exception {
+        model.setRowDiffRetainingCells(true);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o + "!", null));
+        model.refreshDataAll();
+        model.refreshData(); //the cells are rebuilt for the column, and then follow the snapshot
+        SwingUtilities.invokeAndWait(() -> {}); //flushes deferred events of the added column
+        model.getCellCache().setCell(2, 0, "c!");
+        events.clear();
+        source.add(0, "z");
+        model.refreshData();
+        Assert.assertEquals("only the insertion with retaining cells",
+                List.of("ins(0,0)=4"), events);
+        Assert.assertEquals("shifted cell",
+                "c!", model.getCellCache().getCellIfPresent(3, 0));
+        Assert.assertNull("inserted row",
+                model.getCellCache().getCellIfPresent(0, 0));
+    }
+
+    @Test
+    public void testRefreshMutatedInPlace() throws Exception {
+        List<Object> row = new ArrayList<>(List.of("b"));
+        source.set(1, row);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o + "!", null));
+        model.refreshDataAll();
+        model.refreshData();
+        SwingUtilities.invokeAndWait(() -> {});
+        Assert.assertEquals("initial value",
+                "[b]!", model.getValueAt(1, 0));
+        row.set(0, "x");
+        source.add("d");
+        events.clear();
+        model.refreshData();
+        Assert.assertEquals("the mutated row is re-fetched by default",
+                "[x]!", model.getValueAt(1, 0));
+        Assert.assertEquals("insertion and updates of other rows",
+                List.of("ins(3,3)=4", "up(0,2)=4"), events);
+    }
+
+    @Test
+    public void testOutOfOrderDiff() {
+        source.add("d");
+        ObjectTableModelRowDiff first = model.getRowDiffFromSource();
+        source.add("e");
+        ObjectTableModelRowDiff second = model.getRowDiffFromSource();
+        Assert.assertEquals("the next generation",
+                first.getGeneration() + 1, second.getGeneration());
+
+        model.refreshDataByDiff(second);
+        Assert.assertEquals("a diff not following the applied one refreshes all rows",
+                5, model.getRowCount());
+        events.clear();
+        model.refreshDataByDiff(first);
+        Assert.assertEquals("an older diff is dropped",
+                List.of(), events);
+
+        source.remove(0);
+        model.refreshData();
+        Assert.assertEquals("following diffs are applied",
+                List.of("del(0,0)=4", "up(0,3)=4"), events);
+    }
+
+    @Test
+    public void testSnapshotUpdatedInPlace() {
+        List<Object> snapshot = new ArrayList<>(List.of("a", "b", "c", "d"));
+        List<Object> rows = List.of("a", "x", "y", "z", "d");
+        ObjectTableModelRowDiff d = ObjectTableModelRowDiff.diff(snapshot, rows, false, 100);
+        d.apply(snapshot, rows);
+        Assert.assertEquals("replaced middle", rows, snapshot);
+    }
+}
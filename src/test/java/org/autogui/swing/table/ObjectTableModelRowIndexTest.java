@@ -0,0 +1,133 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class ObjectTableModelRowIndexTest {
+    ObjectTableModel model;
+    ObjectTableModelRowSorter sorter;
+    ObjectTableModelRowIndex index;
+    List<Object> source;
+
+    public ObjectTableModelRowIndexTest() {}
+
+    @Before
+    public void setUp() {
+        source = new ArrayList<>(List.of("Hello World", "hello autogui", "Swing Table", "world table"));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(Object::toString, null));
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o.toString().length(), null));
+        sorter = new ObjectTableModelRowSorter(model);
+        index = new ObjectTableModelRowIndex(model, sorter::setRowFilter);
+        index.setChunkSize(3);
+        index.install();
+    }
+
+    private List<Object> getViewRows() {
+        return IntStream.range(0, sorter.getViewRowCount())
+                .mapToObj(i -> source.get(sorter.convertRowIndexToModel(i)))
+                .toList();
+    }
+
+    private BitSet bits(int... rows) {
+        BitSet bits = new BitSet();
+        IntStream.of(rows).forEach(bits::set);
+        return bits;
+    }
+
+    @Test
+    public void testMatch() {
+        Assert.assertEquals("indexed by chunks",
+                4, index.getIndexedRowCount());
+        Assert.assertEquals("tri-gram terms ignoring cases",
+                bits(0, 3), index.match("WORLD"));
+        Assert.assertEquals("all terms",
+                bits(3), index.match("world tab"));
+        Assert.assertEquals("short terms",
+                bits(1), index.match("o au"));
+        Assert.assertEquals("other columns",
+                bits(0, 2, 3), index.match("11"));
+        Assert.assertEquals("no match",
+                bits(), index.match("xyz"));
+    }
+
+    @Test
+    public void testFilter() {
+        index.filter("table");
+        Assert.assertEquals("filtered rows",
+                List.of("Swing Table", "world table"), getViewRows());
+        Assert.assertEquals("excluded row",
+                -1, sorter.convertRowIndexToView(0));
+
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.DESCENDING)));
+        Assert.assertEquals("sorted and filtered rows",
+                List.of("world table", "Swing Table"), getViewRows());
+
+        index.filter(" ");
+        Assert.assertEquals("cleared filter",
+                List.of("world table", "Swing Table", "Hello World", "hello autogui"), getViewRows());
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        index.filter("hello");
+        source.add("Hello Table");
+        model.refreshDataAll();
+        Assert.assertEquals("appended row",
+                List.of("Hello World", "hello autogui", "Hello Table"), getViewRows());
+
+        source.set(0, "Goodbye");
+        model.refreshDataAll();
+        SwingUtilities.invokeAndWait(() -> {}); //updating rows
+        Assert.assertEquals("updated row",
+                List.of("hello autogui", "Hello Table"), getViewRows());
+    }
+
+    @Test
+    public void testInsertAndDelete() {
+        index.filter("table");
+        model.refreshData(); //the first snapshot for following diffs
+
+        source.add(1, "Table top");
+        model.refreshData();
+        sorter.rowsInserted(1, 1);
+        Assert.assertEquals("inserted row",
+                List.of("Table top", "Swing Table", "world table"), getViewRows());
+        Assert.assertEquals("shifted postings",
+                bits(0, 2), index.match("hello"));
+        Assert.assertEquals("indexed rows",
+                5, index.getIndexedRowCount());
+
+        source.remove(0);
+        model.refreshData();
+        sorter.rowsDeleted(0, 0);
+        Assert.assertEquals("deleted row",
+                List.of("Table top", "Swing Table", "world table"), getViewRows());
+        Assert.assertEquals("removed postings",
+                bits(1), index.match("hello"));
+        Assert.assertEquals("shifted postings after deletion",
+                bits(3), index.match("world"));
+    }
+
+    @Test
+    public void testFilterShift() {
+        ObjectTableModelRowIndex.IndexRowFilter filter = new ObjectTableModelRowIndex.IndexRowFilter(bits(0, 2), 3);
+        filter.rowsInserted(1, 2, 5);
+        Assert.assertEquals("shifted by insertion",
+                bits(0, 4), filter.getRows());
+        filter.rowsInserted(1, 2, 5);
+        Assert.assertEquals("a filter of the new rows",
+                bits(0, 4), filter.getRows());
+        filter.rowsDeleted(0, 1, 4);
+        Assert.assertEquals("shifted by deletion",
+                bits(3), filter.getRows());
+    }
+}
@@ -0,0 +1,169 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class ObjectTableModelRowSorterTest {
+    ObjectTableModel model;
+    ObjectTableModelRowSorter sorter;
+    List<Object> source;
+
+    public ObjectTableModelRowSorterTest() {}
+
+    int fullSorts;
+
+    @Before
+    public void setUp() {
+        source = new ArrayList<>(List.of(30, 10, 20));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o, null)
+                .withComparator(new GuiSwingTableColumnNumber.NumberComparator()));
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(Object::toString, null));
+        sorter = new ObjectTableModelRowSorter(model) {
+            @Override
+            public void sort() {
+                ++fullSorts;
+                super.sort();
+            }
+        };
+    }
+
+    private List<Object> getViewRows() {
+        return IntStream.range(0, sorter.getViewRowCount())
+                .mapToObj(i -> source.get(sorter.convertRowIndexToModel(i)))
+                .toList();
+    }
+
+    @Test
+    public void testSortLong() {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        Assert.assertEquals("sorted by long keys",
+                List.of(10, 20, 30), getViewRows());
+        Assert.assertEquals("model to view",
+                2, sorter.convertRowIndexToView(0));
+    }
+
+    @Test
+    public void testSortDescendingWithNull() {
+        source.add(null);
+        source.add(15.5);
+        model.refreshDataAll();
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.DESCENDING)));
+        Assert.assertEquals("sorted by double keys; null precedes others in ascending order",
+                Arrays.asList(30, 20, 15.5, 10, null), getViewRows());
+    }
+
+    @Test
+    public void testSortCollation() {
+        source.clear();
+        source.addAll(List.of("b", "A", "a", "B"));
+        model.refreshDataAll();
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(1, SortOrder.ASCENDING)));
+        Assert.assertEquals("sorted by collation keys",
+                List.of("a", "A", "b", "B"), getViewRows());
+    }
+
+    @Test
+    public void testInsertKeepsMapping() {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        source.addFirst(5);
+        model.refreshDataAll();
+        sorter.rowsInserted(0, 0);
+        Assert.assertEquals("re-sorted after the insertion",
+                List.of(5, 10, 20, 30), getViewRows());
+    }
+
+    @Test
+    public void testToggle() {
+        sorter.toggleSortOrder(0);
+        sorter.toggleSortOrder(0);
+        Assert.assertEquals("toggled to descending",
+                List.of(new RowSorter.SortKey(0, SortOrder.DESCENDING)), sorter.getSortKeys());
+        Assert.assertEquals("descending rows",
+                List.of(30, 20, 10), getViewRows());
+    }
+
+    @Test
+    public void testMergeInserted() {
+        model.setRowDiffRetainingCells(true);
+        model.refreshData(); //the first snapshot for following diffs
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        fullSorts = 0;
+        source.addAll(1, List.of(25, 5));
+        model.refreshData();
+        sorter.rowsInserted(1, 2); //a diff from [30,10,20] to [30,25,5,10,20]
+        Assert.assertEquals("merged into the order",
+                List.of(5, 10, 20, 25, 30), getViewRows());
+        Assert.assertEquals("no full sort", 0, fullSorts);
+
+        source.remove(1);
+        model.refreshData();
+        sorter.rowsDeleted(1, 1); //[30,5,10,20]
+        Assert.assertEquals("deletion keeps the order",
+                List.of(5, 10, 20, 30), getViewRows());
+        source.add(0, 15);
+        model.refreshData();
+        sorter.rowsInserted(0, 0);
+        Assert.assertEquals("merged with the shifted keys",
+                List.of(5, 10, 15, 20, 30), getViewRows());
+        Assert.assertEquals("no full sort", 0, fullSorts);
+    }
+
+    @Test
+    public void testMergeNotRetaining() {
+        model.setRowDiffRetainingCells(false);
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        fullSorts = 0;
+        source.addFirst(5);
+        model.refreshDataAll();
+        sorter.rowsInserted(0, 0);
+        Assert.assertEquals("sorted", List.of(5, 10, 20, 30), getViewRows());
+        Assert.assertEquals("a full sort", 1, fullSorts);
+    }
+
+    @Test
+    public void testSortByCachedCells() {
+        model.getRowCount();
+        model.getCellCache().setCell(0, 0, 1); //30 -> 1
+        model.getCellCache().setCell(2, 0, ObjectTableModel.NULL_CELL); //20 -> null
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(0, SortOrder.ASCENDING)));
+        Assert.assertEquals("keys are read from the cell cache",
+                List.of(20, 30, 10), getViewRows());
+    }
+
+    @Test
+    public void testSortIndicesStable() {
+        Random random = new Random(1);
+        int[] keys = random.ints(1000, 0, 50).toArray();
+        int[] indices = IntStream.range(0, keys.length).toArray();
+        ObjectTableModelRowSorter.sortIndices(indices, (i, j) -> Integer.compare(keys[i], keys[j]));
+        Integer[] expected = IntStream.range(0, keys.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(expected, (i, j) -> Integer.compare(keys[i], keys[j]));
+        Assert.assertArrayEquals("stable order",
+                Arrays.stream(expected).mapToInt(Integer::intValue).toArray(), indices);
+    }
+
+    @Test
+    public void testSortByPrimitiveCells() throws Exception {
+        model.setCellColumnarEnabled(true);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> -((Integer) o), null)
+                .withComparator(new GuiSwingTableColumnNumber.NumberComparator())
+                .withCellStorageType(Integer.class));
+        SwingUtilities.invokeAndWait(() -> {}); //flushes deferred events of the added column
+        model.refreshDataAll();
+        model.getCellCache().setCell(1, 2, 100); //10 -> 100
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(2, SortOrder.ASCENDING)));
+        Assert.assertTrue("primitive column", ObjectTableModelCellCache.getPrimitiveColumn(model.getCellCache(), 2) != null);
+        Assert.assertEquals("sorted by cached and computed primitives",
+                List.of(30, 20, 10), getViewRows());
+    }
+}
@@ -0,0 +1,57 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.mapping.GuiReprValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SpecifierManagerIndexTest {
+    public SpecifierManagerIndexTest() {}
+
+    @Test
+    public void testScopedIndex() {
+        GuiSwingTableColumn.SpecifierManagerIndex outer = new GuiSwingTableColumn.SpecifierManagerIndex(() -> GuiReprValue.NONE);
+        GuiSwingTableColumn.SpecifierManagerIndex inner = new GuiSwingTableColumn.SpecifierManagerIndex(outer::getSpecifier);
+        outer.setIndex(1);
+        inner.setIndex(2);
+
+        GuiReprValue.ObjectSpecifier spec = inner.withIndex(5, () ->
+                GuiSwingTableColumn.SpecifierManagerIndex.withIndices(Map.of(outer, 4), inner::getSpecifier));
+        Assert.assertEquals("scoped inner index", 5, spec.getIndex());
+        Assert.assertEquals("scoped outer index", 4, spec.getParent().getIndex());
+        Assert.assertEquals("restored outer", 1, outer.getIndex());
+        Assert.assertEquals("restored inner", 2, inner.getIndex());
+        Assert.assertEquals("shared indices", 1, inner.getSpecifier().getParent().getIndex());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        GuiSwingTableColumn.SpecifierManagerIndex m = new GuiSwingTableColumn.SpecifierManagerIndex(() -> GuiReprValue.NONE);
+        ExecutorService service = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                results.add(service.submit(() -> {
+                    for (int i = 0; i < 10_000; ++i) {
+                        if (((GuiReprValue.ObjectSpecifierIndex) m.getSpecifierForIndex(i)).getIndex() != i) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> r : results) {
+                Assert.assertTrue("specifiers with the scoped index", r.get());
+            }
+            Assert.assertEquals("shared index unchanged", 0, m.getIndex());
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.autogui.swing.table;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class TableRangeSelectionModelTest {
+    public TableRangeSelectionModelTest() {}
+
+    @Test
+    public void testSameAsDefault() {
+        for (int mode : new int[] {ListSelectionModel.MULTIPLE_INTERVAL_SELECTION,
+                ListSelectionModel.SINGLE_INTERVAL_SELECTION, ListSelectionModel.SINGLE_SELECTION}) {
+            Random rand = new Random(mode + 1234);
+            DefaultListSelectionModel expected = new DefaultListSelectionModel();
+            TableRangeSelectionModel actual = new TableRangeSelectionModel();
+            expected.setSelectionMode(mode);
+            actual.setSelectionMode(mode);
+            for (int i = 0; i < 3000; ++i) {
+                int op = rand.nextInt(9);
+                int a = rand.nextInt(60);
+                int b = a + rand.nextInt(10);
+                apply(expected, op, a, b);
+                apply(actual, op, a, b);
+                String msg = "mode=" + mode + " step=" + i + " op=" + op + " (" + a + "," + b + ") " + actual;
+                Assert.assertArrayEquals(msg, expected.getSelectedIndices(), actual.getSelectedIndices());
+                Assert.assertEquals(msg + " anchor", expected.getAnchorSelectionIndex(), actual.getAnchorSelectionIndex());
+                Assert.assertEquals(msg + " lead", expected.getLeadSelectionIndex(), actual.getLeadSelectionIndex());
+                Assert.assertEquals(msg + " min", expected.getMinSelectionIndex(), actual.getMinSelectionIndex());
+                Assert.assertEquals(msg + " max", expected.getMaxSelectionIndex(), actual.getMaxSelectionIndex());
+            }
+        }
+    }
+
+    private void apply(ListSelectionModel m, int op, int a, int b) {
+        switch (op) {
+            case 0, 1 -> m.addSelectionInterval(a, b);
+            case 2 -> m.setSelectionInterval(b, a);
+            case 3 -> m.removeSelectionInterval(a, b);
+            case 4 -> m.insertIndexInterval(a, b - a + 1, a % 2 == 0);
+            case 5 -> m.removeIndexInterval(a, b);
+            case 6 -> m.setLeadSelectionIndex(b);
+            case 7 -> m.setAnchorSelectionIndex(a);
+            default -> {
+                if (a % 10 == 0) {
+                    m.clearSelection();
+                } else {
+                    m.addSelectionInterval(b, a);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSelectAllAndEvents() {
+        TableRangeSelectionModel m = new TableRangeSelectionModel();
+        List<int[]> events = new ArrayList<>();
+        m.addListSelectionListener(e -> events.add(new int[] {e.getFirstIndex(), e.getLastIndex(), e.getValueIsAdjusting() ? 1 : 0}));
+
+        m.setSelectionInterval(0, 9_999_999);
+        Assert.assertEquals("a range", 1, m.getRangeCount());
+        Assert.assertEquals("count", 10_000_000, m.getSelectedItemsCount());
+        m.removeSelectionInterval(10, 19);
+        Assert.assertEquals("split", 2, m.getRangeCount());
+        Assert.assertFalse("removed", m.isSelectedIndex(15));
+
+        m.setValueIsAdjusting(true);
+        m.addSelectionInterval(10, 12);
+        m.addSelectionInterval(13, 19);
+        m.setValueIsAdjusting(false);
+        Assert.assertEquals("joined", 1, m.getRangeCount());
+        Assert.assertArrayEquals("accumulated event after adjusting",
+                new int[] {10, 19, 0}, events.getLast());
+    }
+
+    @Test
+    public void testSelectedRows() {
+        TableRangeSelectionModel m = new TableRangeSelectionModel();
+        m.addSelectionInterval(1, 2);
+        m.addSelectionInterval(5, 5);
+        TableRangeSelectionModel.SelectedRows rows = new TableRangeSelectionModel.SelectedRows(m.getRanges(),
+                new int[] {9, 8, 7, 6, 5, 4});
+        Assert.assertEquals("size", 3, rows.size());
+        Assert.assertEquals("model rows by the view-to-model", List.of(8, 7, 4), rows);
+        Assert.assertEquals("lazy items", List.of("8", "7", "4"), rows.toItems(String::valueOf));
+        Assert.assertArrayEquals("view rows by ranges", new int[] {1, 2, 5}, rows.viewRows().toArray());
+        Assert.assertArrayEquals("model rows by ranges", new int[] {8, 7, 4}, rows.toModelRows());
+        Assert.assertArrayEquals("clamped by the row count", new int[] {1, 2},
+                TableRangeSelectionModel.SelectedRows.of(m, null, 4).toModelRows());
+
+        m.clearSelection();
+        Assert.assertEquals("snapshot", 3, rows.size());
+
+        List<String> source = Arrays.asList("a", "b", "c");
+        m.setSelectionInterval(0, 2);
+        Assert.assertEquals("identity mapping", source, TableRangeSelectionModel.SelectedRows.of(m, null).toItems(source));
+    }
+}
@@ -0,0 +1,106 @@
+package org.autogui.swing.table;
+
+import org.autogui.base.mapping.GuiReprValue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TableRowExporterTest {
+    ObjectTableModel model;
+    List<Object> source;
+    List<ToStringCopyCell.TableMenuCompositeToStringCopy> columns;
+    TableRowExporter exporter;
+
+    public TableRowExporterTest() {}
+
+    @Before
+    public void setUp() {
+        source = new ArrayList<>(List.of("hello", "a,b", "say \"hi\"", "tab\there"));
+        model = new ObjectTableModel();
+        model.setSource(() -> source);
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> {
+            if (exporter != null && o.equals("say \"hi\"")) {
+                exporter.cancel();
+            } else if (o.equals("refresh")) {
+                source.set(0, "refreshed");
+                model.refreshDataAll();
+            }
+            return o;
+        }, null));
+        model.getColumns().addColumnStatic(new ObjectTableColumn.ObjectTableColumnLabel<Object, Object>(o -> o.toString().length(), null));
+        columns = List.of(
+                new NamedColumn(1, "length"),
+                new NamedColumn(0, "text"));
+    }
+
+    /** a column with a name and JSON values without a context */
+    static class NamedColumn extends ToStringCopyCell.TableMenuCompositeToStringCopy {
+        String name;
+
+        public NamedColumn(int index, String name) {
+            super(index);
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Object toJsonWithName(Object value) {
+            return new GuiReprValue.NamedValue(name, value);
+        }
+    }
+
+    private String export(TableRowExporter exporter) {
+        StringWriter w = new StringWriter();
+        exporter.setChunkSize(1);
+        exporter.export(w, "test");
+        Assert.assertTrue("finished", exporter.isFinished());
+        return w.toString();
+    }
+
+    @Test
+    public void testCsv() {
+        Assert.assertEquals("header, reordered columns and quoted values",
+                "length,text\n5,hello\n3,\"a,b\"\n",
+                export(new TableRowExporter(model, new int[] {0, 1}, columns, TableRowExporter.Format.CSV)));
+    }
+
+    @Test
+    public void testTsv() {
+        Assert.assertEquals("rows in the specified order and quoted tabs",
+                "8,\"tab\there\"\n5\thello\n".replace(",", "\t"),
+                export(new TableRowExporter(model, new int[] {3, 0}, columns, TableRowExporter.Format.TSV)));
+    }
+
+    @Test
+    public void testJsonLines() {
+        Assert.assertEquals("a JSON object per line",
+                "{\"length\":5,\"text\":\"hello\"}\n{\"length\":3,\"text\":\"a,b\"}\n",
+                export(new TableRowExporter(model, new int[] {0, 1}, columns, TableRowExporter.Format.JSON_LINES)));
+    }
+
+    @Test
+    public void testCancel() {
+        exporter = new TableRowExporter(model, new int[] {0, 1, 2, 3}, columns, TableRowExporter.Format.TSV);
+        String out = export(exporter);
+        Assert.assertTrue("cancelled", exporter.isCancelled());
+        Assert.assertEquals("stopped after the row of cancelling", 3, exporter.getWrittenRows());
+        Assert.assertEquals("written rows", "5\thello\n3\ta,b\n8\t\"say \"\"hi\"\"\"\n", out);
+    }
+
+    @Test
+    public void testAbortByChangedRows() {
+        source.set(1, "refresh");
+        exporter = new TableRowExporter(model, new int[] {0, 1, 2, 3}, columns, TableRowExporter.Format.TSV);
+        String out = export(exporter);
+        Assert.assertTrue("aborted", exporter.isAborted());
+        Assert.assertEquals("rows before the change", "5\thello\n7\trefresh\n", out);
+    }
+}
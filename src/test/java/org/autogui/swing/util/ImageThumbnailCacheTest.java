@@ -0,0 +1,97 @@
+package org.autogui.swing.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class ImageThumbnailCacheTest {
+    Path dir;
+    Path file;
+    BufferedImage source;
+
+    public ImageThumbnailCacheTest() {}
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("thumbnails");
+        source = new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = source.createGraphics();
+        g.setColor(Color.green);
+        g.fillRect(0, 0, 200, 100);
+        g.dispose();
+        file = dir.resolve("source.png");
+        ImageIO.write(source, "png", file.toFile());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private ImageThumbnailCache createCache() {
+        ImageThumbnailCache cache = new ImageThumbnailCache(1024 * 1024);
+        cache.setDiskDirectory(dir.resolve("cache"));
+        return cache;
+    }
+
+    private BufferedImage requestAndWait(ImageThumbnailCache cache, Image src, Path path) throws Exception {
+        for (int i = 0; i < 100; ++i) {
+            BufferedImage[] img = new BufferedImage[1];
+            SwingUtilities.invokeAndWait(() -> img[0] = cache.request(null, src, path, 40, 20, null));
+            if (img[0] != null) {
+                return img[0];
+            }
+            Thread.sleep(10);
+        }
+        Assert.fail("no thumbnail");
+        return null;
+    }
+
+    private long countCacheFiles() throws Exception {
+        if (!Files.isDirectory(dir.resolve("cache"))) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(dir.resolve("cache"))) {
+            return files.filter(p -> p.toString().endsWith(".png")).count();
+        }
+    }
+
+    @Test
+    public void testDiskCache() throws Exception {
+        Image fileImage = Toolkit.getDefaultToolkit().createImage(file.toString()); //not decoded
+        BufferedImage thumb = requestAndWait(createCache(), fileImage, file);
+        Assert.assertEquals("thumbnail color", Color.green.getRGB(), thumb.getRGB(20, 10));
+        Path saved = createCache().getDiskFile(file, 40, 20);
+        Assert.assertTrue("saved", Files.isRegularFile(saved));
+
+        ImageThumbnailCache next = createCache();
+        BufferedImage loaded = requestAndWait(next, fileImage, file);
+        Assert.assertNotSame("loaded from the disk", thumb, loaded);
+        Assert.assertEquals("same thumbnail", thumb.getRGB(20, 10), loaded.getRGB(20, 10));
+        Assert.assertEquals("single file", 1, countCacheFiles());
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10_000));
+        Assert.assertNotEquals("keyed by the modified time", saved, next.getDiskFile(file, 40, 20));
+        Assert.assertNull("no path", next.getDiskFile(null, 40, 20));
+    }
+
+    @Test
+    public void testDecodedImageIsScaled() throws Exception {
+        BufferedImage thumb = requestAndWait(createCache(), source, file);
+        Assert.assertEquals("thumbnail color", Color.green.getRGB(), thumb.getRGB(20, 10));
+        Assert.assertEquals("no disk cache for a decoded image", 0, countCacheFiles());
+    }
+}
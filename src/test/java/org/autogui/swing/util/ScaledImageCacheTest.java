@@ -0,0 +1,113 @@
+package org.autogui.swing.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class ScaledImageCacheTest {
+    ScaledImageCache cache;
+    BufferedImage source;
+
+    public ScaledImageCacheTest() {}
+
+    @Before
+    public void setUp() {
+        cache = new ScaledImageCache(ScaledImageCache.getBytes(100, 100) * 4);
+        source = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = source.createGraphics();
+        g.setColor(Color.red);
+        g.fillRect(0, 0, 400, 400);
+        g.dispose();
+    }
+
+    private BufferedImage requestAndWait(Image src, int w, int h) throws Exception {
+        for (int i = 0; i < 100; ++i) {
+            BufferedImage[] img = new BufferedImage[1];
+            SwingUtilities.invokeAndWait(() -> img[0] = cache.request(src, w, h, null));
+            if (img[0] != null) {
+                return img[0];
+            }
+            Thread.sleep(10);
+        }
+        Assert.fail("not scaled");
+        return null;
+    }
+
+    @Test
+    public void testRequest() throws Exception {
+        BufferedImage scaled = requestAndWait(source, 30, 20);
+        Assert.assertEquals("width", 30, scaled.getWidth());
+        Assert.assertEquals("height", 20, scaled.getHeight());
+        Assert.assertEquals("color", Color.red.getRGB(), scaled.getRGB(15, 10));
+        Assert.assertSame("cached", scaled, cache.get(source, 30, 20));
+        Assert.assertNull("other size", cache.get(source, 31, 20));
+        Assert.assertNull("too large", cache.request(source, 400, 400, null));
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        for (int i = 0; i < 5; ++i) {
+            requestAndWait(source, 100, 100 - i);
+        }
+        Assert.assertTrue("bounded bytes: " + cache.getCachedBytes(), cache.getCachedBytes() <= cache.getMaxBytes());
+        Assert.assertNull("evicted", cache.get(source, 100, 100));
+        Assert.assertNotNull("latest", cache.get(source, 100, 96));
+
+        cache.remove(source);
+        Assert.assertEquals("removed", 0, cache.size());
+        Assert.assertEquals("no bytes", 0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void testRemoveEditedImage() throws Exception {
+        requestAndWait(source, 30, 20);
+        Graphics2D g = source.createGraphics();
+        g.setColor(Color.blue);
+        g.fillRect(0, 0, 400, 400);
+        g.dispose();
+        Assert.assertEquals("cached old rendition", Color.red.getRGB(), requestAndWait(source, 30, 20).getRGB(15, 10));
+
+        cache.remove(source);
+        Assert.assertEquals("new rendition of the edited image", Color.blue.getRGB(), requestAndWait(source, 30, 20).getRGB(15, 10));
+    }
+
+    @Test
+    public void testSupersededRequest() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        List<String> rendered = new ArrayList<>();
+        ScaledImageCache queued = new ScaledImageCache(cache.getMaxBytes()) {
+            @Override
+            public Executor getService() {
+                return tasks::add;
+            }
+
+            @Override
+            protected BufferedImage render(Image source, int width, int height) throws Exception {
+                rendered.add(width + "x" + height);
+                return super.render(source, width, height);
+            }
+        };
+        Object pane = new Object();
+        Object other = new Object();
+        int[] callbacks = new int[1];
+        queued.request(pane, source, 10, 10, () -> ++callbacks[0]);
+        queued.request(pane, source, 20, 20, () -> ++callbacks[0]);
+        queued.request(other, source, 20, 20, () -> ++callbacks[0]);
+        queued.request(pane, source, 30, 30, () -> ++callbacks[0]);
+        queued.request(other, source, 30, 30, null);
+        Assert.assertEquals("a task per size", 3, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        SwingUtilities.invokeAndWait(() -> {});
+        Assert.assertEquals("intermediate sizes are dropped", List.of("30x30"), rendered);
+        Assert.assertEquals("the callback of the last request", 1, callbacks[0]);
+        Assert.assertNotNull("rendered", queued.get(source, 30, 30));
+    }
+}
@@ -0,0 +1,99 @@
+package org.autogui.swing.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SearchTextFieldFilePathTest {
+    Path dir;
+    SearchTextFieldFilePath.DirectoryListCache cache;
+
+    public SearchTextFieldFilePathTest() {}
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("listing");
+        for (int i = 0; i < 1000; ++i) {
+            Files.createFile(dir.resolve(String.format("file%04d.txt", i)));
+        }
+        Files.createDirectory(dir.resolve("sub"));
+        cache = new SearchTextFieldFilePath.DirectoryListCache(4, 10_000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cache.clear();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    static class Publisher extends SearchTextField.SearchTextFieldPublisherEmpty {
+        boolean cancelled;
+
+        public Publisher(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public boolean isSearchCancelled() {
+            return cancelled;
+        }
+    }
+
+    @Test
+    public void testCachedListing() throws Exception {
+        List<Integer> partialSizes = new ArrayList<>();
+        cache.setPublishIntervalMillis(0);
+        List<Path> entries = cache.list(dir, new Publisher(false), ps -> partialSizes.add(ps.size()));
+        Assert.assertEquals("all entries", 1001, entries.size());
+        Assert.assertFalse("intermediate entries", partialSizes.isEmpty());
+        Assert.assertTrue("partial", partialSizes.getFirst() < 1001);
+        Assert.assertSame("cached", entries, cache.list(dir, new Publisher(false), null));
+
+        Files.createFile(dir.resolve("added.txt"));
+        List<Path> updated = entries;
+        for (int i = 0; i < 300 && updated == entries; ++i) {
+            Thread.sleep(10);
+            updated = cache.list(dir, new Publisher(false), null);
+        }
+        Assert.assertEquals("invalidated by the change", 1002, updated.size());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        Assert.assertNull("cancelled", cache.list(dir, new Publisher(true), null));
+        Assert.assertEquals("not cached", 0, cache.size());
+    }
+
+    @Test
+    public void testModelCompletion() throws Exception {
+        SearchTextFieldFilePath.SearchTextFieldModelFilePath model = new SearchTextFieldFilePath.SearchTextFieldModelFilePath();
+        model.setListCache(cache);
+        List<String> names = model.getCompletionItems(dir.resolve("file099").toString(), dir.resolve("file099")).stream()
+                .map(SearchTextFieldFilePath.FileItem::getName)
+                .sorted()
+                .collect(Collectors.toList());
+        Assert.assertEquals("completed names", 10, names.size());
+        Assert.assertEquals("first", "file0990.txt", names.getFirst());
+        Assert.assertEquals("child items from the cached listing", 1001, model.getChildItems(dir).size());
+        Assert.assertEquals("a single cached directory", 1, cache.size());
+    }
+
+    @Test
+    public void testIconTypeKey() {
+        SearchTextFieldFilePath.FileIconCache icons = SearchTextFieldFilePath.FileIconCache.getShared();
+        Assert.assertEquals("by extension", icons.getTypeKey(dir.resolve("file0001.txt")), icons.getTypeKey(dir.resolve("file0002.txt")));
+        Assert.assertEquals("directory", "/", icons.getTypeKey(dir.resolve("sub")));
+        Assert.assertEquals("per file", dir.resolve("a.exe"), icons.getTypeKey(dir.resolve("a.exe")));
+    }
+}
@@ -0,0 +1,92 @@
+package org.autogui.swing.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SwingUpdateCoalescerTest {
+    SwingUpdateCoalescer coalescer;
+
+    public SwingUpdateCoalescerTest() {}
+
+    @Before
+    public void setUp() {
+        coalescer = new SwingUpdateCoalescer();
+        coalescer.setFrameIntervalMillis(50);
+    }
+
+    private void waitFlushed() throws Exception {
+        for (int i = 0; i < 100; ++i) {
+            SwingUtilities.invokeAndWait(() -> {});
+            if (coalescer.getPendingCount() == 0) {
+                SwingUtilities.invokeAndWait(() -> {});
+                return;
+            }
+            Thread.sleep(10);
+        }
+        Assert.fail("not flushed");
+    }
+
+    @Test
+    public void testLatestPerKey() throws Exception {
+        List<String> done = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 1000; ++i) {
+                int n = i;
+                coalescer.invokeLater("a", () -> done.add("a" + n));
+                coalescer.invokeLater("b", () -> done.add("b" + n));
+            }
+            Assert.assertEquals("pending keys", 2, coalescer.getPendingCount());
+        });
+        waitFlushed();
+        Assert.assertEquals("latest tasks in the order of keys", List.of("a999", "b999"), done);
+        Assert.assertEquals("submitted", 2000, coalescer.getSubmittedCount());
+        Assert.assertEquals("coalesced", 1998, coalescer.getCoalescedCount());
+        Assert.assertEquals("max pending", 2, coalescer.getMaxPendingCount());
+        Assert.assertEquals("single flush", 1, coalescer.getFlushCount());
+    }
+
+    @Test
+    public void testMerged() throws Exception {
+        List<Integer> done = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 1; i <= 100; ++i) {
+                coalescer.invokeLaterMerged("sum", i, Integer::sum, done::add);
+            }
+        });
+        waitFlushed();
+        Assert.assertEquals("merged value", List.of(5050), done);
+    }
+
+    @Test
+    public void testFrameInterval() throws Exception {
+        List<Long> times = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            coalescer.invokeLater("t", () -> times.add(System.currentTimeMillis()));
+            waitFlushed();
+        }
+        Assert.assertEquals("flushes", 3, times.size());
+        for (int i = 1; i < times.size(); ++i) {
+            Assert.assertTrue("capped interval: " + times, times.get(i) - times.get(i - 1) >= 40);
+        }
+    }
+
+    @Test
+    public void testFlushKey() throws Exception {
+        List<String> done = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            coalescer.invokeLater("a", () -> done.add("a"));
+            coalescer.invokeLater("b", () -> done.add("b"));
+            coalescer.flush("a");
+            Assert.assertEquals("the task of the key", List.of("a"), done);
+            Assert.assertEquals("other pending task", 1, coalescer.getPendingCount());
+            coalescer.flush("a");
+        });
+        waitFlushed();
+        Assert.assertEquals("each task runs once", List.of("a", "b"), done);
+    }
+}
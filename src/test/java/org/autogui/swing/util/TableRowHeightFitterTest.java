@@ -0,0 +1,85 @@
+package org.autogui.swing.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableColumn;
+
+public class TableRowHeightFitterTest {
+    JTable table;
+    DefaultTableModel model;
+    TableRowHeightFitter fitter;
+    int measured;
+
+    public TableRowHeightFitterTest() {}
+
+    @Before
+    public void setUp() {
+        model = new DefaultTableModel(1000, 2);
+        for (int i = 0; i < 1000; ++i) {
+            model.setValueAt("row " + i, i, 0);
+            model.setValueAt(i, i, 1);
+        }
+        table = new JTable(model);
+        JViewport viewport = new JViewport();
+        viewport.setView(table);
+        viewport.setSize(200, table.getRowHeight() * 10);
+        table.setSize(table.getPreferredSize());
+        fitter = new TableRowHeightFitter(table) {
+            @Override
+            public int fitCellWithMargin(int viewRow, TableColumn column) {
+                ++measured;
+                return 30;
+            }
+        };
+    }
+
+    @Test
+    public void testVisibleRows() {
+        Assert.assertArrayEquals("visible 10 rows with the margin",
+                new int[] {0, 19}, fitter.getTargetViewRows());
+        fitter.fitAll();
+        Assert.assertEquals("measured only visible rows", 20 * 2, measured);
+        Assert.assertEquals("fitted row", 30, table.getRowHeight(19));
+        Assert.assertEquals("estimated row", table.getRowHeight(), table.getRowHeight(20));
+    }
+
+    @Test
+    public void testCache() {
+        fitter.fitAll();
+        measured = 0;
+        fitter.fitAll();
+        Assert.assertEquals("all cached", 0, measured);
+
+        model.setValueAt("changed", 3, 0);
+        fitter.fitAll();
+        Assert.assertEquals("changed value", 1, measured);
+
+        table.getColumnModel().getColumn(1).setWidth(120);
+        measured = 0;
+        fitter.fitAll();
+        int[] rows = fitter.getTargetViewRows();
+        Assert.assertEquals("changed width", rows[1] - rows[0] + 1, measured);
+    }
+
+    @Test
+    public void testInvalidateByUpdate() {
+        StringBuilder value = new StringBuilder("mutable");
+        model.setValueAt(value, 3, 0);
+        fitter.addListenerToTableModel(model);
+        fitter.fitAll();
+        measured = 0;
+        value.append(" and modified");
+        model.fireTableCellUpdated(3, 0);
+        fitter.fitAll();
+        Assert.assertEquals("identical but updated value", 1, measured);
+
+        measured = 0;
+        model.fireTableRowsUpdated(5, 6);
+        fitter.fitAll();
+        Assert.assertEquals("updated rows", 2 * 2, measured);
+    }
+}
@@ -0,0 +1,140 @@
+package org.autogui.swing.util;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.font.TextAttribute;
+import java.awt.image.BufferedImage;
+import java.text.AttributedString;
+import java.util.Arrays;
+import java.util.List;
+
+public class TextCellRendererTest {
+    TextCellRenderer<String> renderer;
+    TextCellRenderer<String> renderer2;
+    TextCellRenderer.LinesCache cache;
+
+    public TextCellRendererTest() {}
+
+    @Before
+    public void setUp() {
+        cache = new TextCellRenderer.LinesCache(2, 100);
+        renderer = new TextCellRenderer<>();
+        renderer2 = new TextCellRenderer<>();
+        renderer.setLinesCache(cache);
+        renderer2.setLinesCache(cache);
+    }
+
+    @Test
+    public void testBuildLines() {
+        TextCellRenderer<String> uncached = new TextCellRenderer<>();
+        uncached.setValue("hello\n\nworld!", false);
+        renderer.setValue("hello\n\nworld!", false);
+        List<TextCellRenderer.LineInfo> lines = renderer.getLines();
+        Assert.assertEquals("lines", 3, lines.size());
+        Assert.assertEquals("empty line", 6, lines.get(1).start);
+        Assert.assertEquals("last line", 13, lines.get(2).end);
+        Assert.assertEquals("same size as without the cache", uncached.getPreferredSize(), renderer.getPreferredSize());
+    }
+
+    @Test
+    public void testShared() {
+        renderer.setValue("hello\nworld", false);
+        renderer2.setValue("hello\nworld", false);
+        Assert.assertEquals("a cached text", 1, cache.size());
+        TextCellRenderer.LineInfo line = renderer.getLines().getFirst();
+        TextCellRenderer.LineInfo line2 = renderer2.getLines().getFirst();
+        Assert.assertNotSame("copied lines", line, line2);
+        Assert.assertSame("shared string", line.attributedString, line2.attributedString);
+        Assert.assertSame("shared layout", line.plainLayout, line2.plainLayout);
+
+        renderer.updateFindPattern("wor");
+        renderer.setFindHighlights();
+        Assert.assertEquals("find ranges", 1, renderer.getLines().get(1).getFindRanges().size());
+        Assert.assertTrue("independent find ranges", renderer2.getLines().get(1).getFindRanges().isEmpty());
+
+        renderer.setValue("a", false);
+        renderer.setValue("b", false);
+        Assert.assertEquals("bounded", 2, cache.size());
+        renderer.setValue("x".repeat(101), false);
+        Assert.assertEquals("long text is not cached", 2, cache.size());
+    }
+
+    @Test
+    public void testPlainLineFastPath() {
+        TextCellRenderer<String> full = new TextCellRenderer<>();
+        full.setPlainLineFastPath(false);
+        for (String text : new String[] {"hello, world", "", "  x  "}) {
+            renderer.setValue(text, false);
+            full.setValue(text, false);
+            Assert.assertTrue("fast path: " + text, renderer.isPlainLineFastPath());
+            Assert.assertFalse("disabled: " + text, full.isPlainLineFastPath());
+            Assert.assertArrayEquals("same size: " + text, full.buildSize(), renderer.buildSize(), 0.001f);
+        }
+
+        renderer.setValue("hello\nworld", false);
+        Assert.assertFalse("multiple lines", renderer.isPlainLineFastPath());
+        renderer.setValue("\u3042", false);
+        Assert.assertFalse("non-Latin", renderer.isPlainLineFastPath());
+
+        renderer.setValue("hello", false);
+        renderer.setSelectionRange(1, 3);
+        Assert.assertFalse("text selection", renderer.isPlainLineFastPath());
+        renderer.clearSelectionRange();
+        renderer.updateFindPattern("ell");
+        renderer.setFindHighlights();
+        Assert.assertFalse("find highlights", renderer.isPlainLineFastPath());
+    }
+
+    @Test
+    public void testPlainLinePaint() {
+        TextCellRenderer<String> full = new TextCellRenderer<>();
+        full.setPlainLineFastPath(false);
+        renderer.setValue("Hello, world: 123", false);
+        full.setValue("Hello, world: 123", false);
+        int[] pixels = paint(renderer);
+        Assert.assertTrue("painted text", Arrays.stream(pixels).anyMatch(p -> p != pixels[0]));
+        Assert.assertArrayEquals("same pixels", paint(full), pixels);
+    }
+
+    static class AttributedRenderer extends TextCellRenderer<String> {
+        boolean header;
+
+        @Override
+        public LineInfo createLine(LineInfo prevLine, int lineIndex, int start, String line) {
+            AttributedString a = new AttributedString(line);
+            if (!line.isEmpty()) {
+                a.addAttribute(TextAttribute.FONT, new Font(Font.SERIF, Font.BOLD, 14), 0, line.length());
+                a.addAttribute(TextAttribute.FOREGROUND, Color.red, header ? 1 : 0, line.length());
+            }
+            return new LineInfo(a, start, line.length() + start);
+        }
+    }
+
+    @Test
+    public void testPlainLineFastPathWithAttributes() {
+        AttributedRenderer attributed = new AttributedRenderer();
+        AttributedRenderer full = new AttributedRenderer();
+        full.setPlainLineFastPath(false);
+        attributed.setValue("Hello, world: 123", false);
+        full.setValue("Hello, world: 123", false);
+        Assert.assertTrue("uniform attributes", attributed.isPlainLineFastPath());
+        Assert.assertArrayEquals("same size", full.buildSize(), attributed.buildSize(), 0.001f);
+        Assert.assertArrayEquals("same pixels", paint(full), paint(attributed));
+
+        attributed.header = true;
+        attributed.setValue("Hello", false);
+        Assert.assertFalse("multiple attribute runs", attributed.isPlainLineFastPath());
+    }
+
+    private int[] paint(TextCellRenderer<String> r) {
+        r.setSize(r.getPreferredSize());
+        BufferedImage img = new BufferedImage(r.getWidth(), r.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        r.paint(g);
+        g.dispose();
+        return img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth());
+    }
+}
@@ -0,0 +1,80 @@
+package org.autogui.swing.util;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TiledImageSourceTest {
+    Path file;
+
+    public TiledImageSourceTest() {}
+
+    @Before
+    public void setUp() throws Exception {
+        BufferedImage img = new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.red);
+        g.fillRect(0, 0, 1500, 2000);
+        g.setColor(Color.blue);
+        g.fillRect(1500, 0, 1500, 2000);
+        g.dispose();
+        file = Files.createTempFile("tiled", ".png");
+        ImageIO.write(img, "png", file.toFile());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        Assert.assertEquals("size by the header", new Dimension(3000, 2000), TiledImageSource.readSize(file));
+        BufferedImage overview = TiledImageSource.load(file);
+        Assert.assertTrue("subsampled overview", overview.getWidth() <= 1024 && overview.getHeight() <= 1024);
+        TiledImageSource source = TiledImageSource.get(overview);
+        Assert.assertNotNull("associated", source);
+        Assert.assertSame("the overview of the view", overview, source.getOverview());
+        Assert.assertEquals("full size", new Dimension(3000, 2000), source.getSize());
+        BufferedImage full = (BufferedImage) TiledImageSource.getFullImage(overview);
+        Assert.assertEquals("full resolution on demand", new Dimension(3000, 2000), new Dimension(full.getWidth(), full.getHeight()));
+        Assert.assertEquals("full-resolution pixel", Color.blue.getRGB(), full.getRGB(2999, 1999));
+        Assert.assertSame("a non-tiled image as is", full, TiledImageSource.getFullImage(full));
+
+        Assert.assertEquals("zoom", 1, TiledImageSource.getSubsampling(2.0));
+        Assert.assertEquals("half", 2, TiledImageSource.getSubsampling(0.5));
+        Assert.assertEquals("less than a quarter", 4, TiledImageSource.getSubsampling(0.2));
+    }
+
+    @Test
+    public void testPaintTiles() throws Exception {
+        TiledImageSource source = new TiledImageSource(file, 256, 100);
+        BufferedImage overview = source.readOverview(100);
+        BufferedImage canvas = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = canvas.createGraphics();
+        g.setClip(100, 50, 100, 100);
+        Dimension size = new Dimension(3000, 2000);
+        //the clip at the full resolution covers (100,50)-(200,150): a single tile
+        source.paint(g, overview, 0, 0, size, null);
+        for (int i = 0; i < 100 && source.getCachedTileCount() == 0; ++i) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals("only the visible tile", 1, source.getCachedTileCount());
+        source.paint(g, overview, 0, 0, size, null);
+        g.dispose();
+        Assert.assertEquals("painted tile", Color.red.getRGB(), canvas.getRGB(150, 100));
+        Assert.assertEquals("out of clip", Color.black.getRGB(), canvas.getRGB(10, 10));
+
+        BufferedImage region = source.read(new Rectangle(1400, 0, 200, 100), 2);
+        Assert.assertEquals("subsampled width", 100, region.getWidth());
+        Assert.assertEquals("left of region", Color.red.getRGB(), region.getRGB(10, 10));
+        Assert.assertEquals("right of region", Color.blue.getRGB(), region.getRGB(90, 10));
+    }
+}